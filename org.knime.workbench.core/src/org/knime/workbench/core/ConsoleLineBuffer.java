@@ -0,0 +1,239 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026: created
+ */
+package org.knime.workbench.core;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.swt.widgets.Display;
+import org.knime.workbench.core.util.CoalescingUIScheduler;
+
+/**
+ * Bounded ring buffer collecting the messages written to the {@link ConsoleViewAppender}s. Messages are written from
+ * arbitrary threads and never block on the display; they are drained into the console once per frame in one
+ * <code>asyncExec</code>, consecutive messages of the same appender (i.e. the same color) printed at once.
+ *
+ * <p>
+ * If messages are logged faster than they are drained, the buffer overflows according to the policy set with the
+ * system property {@value #PROPERTY_OVERFLOW}: either the oldest buffered messages are dropped (default,
+ * <code>drop_oldest</code>) or new messages are dropped and summarized by a single line once the buffer is drained
+ * (<code>summarize</code>). The capacity defaults to {@value #DEFAULT_CAPACITY} messages
+ * ({@value #PROPERTY_CAPACITY}), the frame rate to {@value #DEFAULT_FRAME_RATE} Hz ({@value #PROPERTY_FRAME_RATE}).
+ *
+ * <p>
+ * Nothing in here must log via the <code>NodeLogger</code>, it would end up in this buffer again.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class ConsoleLineBuffer {
+
+    /** System property to set the maximum number of buffered console messages. */
+    static final String PROPERTY_CAPACITY = "knime.workbench.console.capacity";
+
+    /** System property to set the overflow policy, either <code>drop_oldest</code> or <code>summarize</code>. */
+    static final String PROPERTY_OVERFLOW = "knime.workbench.console.overflow";
+
+    /** System property to set the number of console updates per second. */
+    static final String PROPERTY_FRAME_RATE = "knime.workbench.console.framerate";
+
+    private static final int DEFAULT_CAPACITY = 10000;
+
+    private static final int DEFAULT_FRAME_RATE = 30;
+
+    /** What to do with messages written while the buffer is full. */
+    enum OverflowPolicy {
+        /** Drop the oldest buffered messages in favor of the new ones. */
+        DROP_OLDEST,
+        /** Drop the new messages and print a summary line instead. */
+        SUMMARIZE;
+    }
+
+    private final OverflowPolicy m_policy;
+
+    private final CoalescingUIScheduler m_scheduler;
+
+    /** Ring buffer of the appenders and their messages, guarded by this. */
+    private ConsoleViewAppender[] m_appenders;
+
+    private String[] m_messages;
+
+    private int m_head;
+
+    private int m_size;
+
+    /** Messages dropped since the last frame with the {@link OverflowPolicy#SUMMARIZE} policy, guarded by this. */
+    private long m_unreportedDrops;
+
+    /** Swapped with the ring buffer in each frame; only accessed in the display thread. */
+    private ConsoleViewAppender[] m_drainAppenders;
+
+    private String[] m_drainMessages;
+
+    private final AtomicLong m_droppedCount = new AtomicLong();
+
+    ConsoleLineBuffer() {
+        this(Integer.getInteger(PROPERTY_CAPACITY, DEFAULT_CAPACITY),
+            parsePolicy(System.getProperty(PROPERTY_OVERFLOW)),
+            Integer.getInteger(PROPERTY_FRAME_RATE, DEFAULT_FRAME_RATE));
+    }
+
+    /**
+     * @param capacity the maximum number of buffered messages
+     * @param policy what to do if the buffer is full
+     * @param frameRate the number of console updates per second
+     */
+    ConsoleLineBuffer(final int capacity, final OverflowPolicy policy, final int frameRate) {
+        final int cap = Math.max(1, capacity);
+        m_appenders = new ConsoleViewAppender[cap];
+        m_messages = new String[cap];
+        m_drainAppenders = new ConsoleViewAppender[cap];
+        m_drainMessages = new String[cap];
+        m_policy = policy;
+        // the default display is looked up per frame, messages may be logged before it exists; once it is disposed
+        // there is nothing to print to anymore
+        m_scheduler = new CoalescingUIScheduler(Display::getDefault, 1000 / Math.max(1, Math.min(frameRate, 1000)),
+            this::applyFrame, null);
+    }
+
+    private static OverflowPolicy parsePolicy(final String value) {
+        if (value != null) {
+            try {
+                return OverflowPolicy.valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) { // NOSONAR fall back to the default, can't log here
+            }
+        }
+        return OverflowPolicy.DROP_OLDEST;
+    }
+
+    /**
+     * @return the total number of messages dropped because the buffer was full
+     */
+    long getDroppedCount() {
+        return m_droppedCount.get();
+    }
+
+    /**
+     * Adds a message to be printed with the next frame. Never blocks on the display; can be called from any thread.
+     *
+     * @param appender the appender the message has been written to
+     * @param message the message
+     */
+    void add(final ConsoleViewAppender appender, final String message) {
+        synchronized (this) {
+            final int capacity = m_messages.length;
+            if (m_size < capacity) {
+                final int tail = (m_head + m_size) % capacity;
+                m_appenders[tail] = appender;
+                m_messages[tail] = message;
+                m_size++;
+            } else {
+                m_droppedCount.incrementAndGet();
+                if (m_policy == OverflowPolicy.SUMMARIZE) {
+                    m_unreportedDrops++;
+                } else {
+                    // buffer is full, i.e. the tail is the head: overwrite the oldest message
+                    m_appenders[m_head] = appender;
+                    m_messages[m_head] = message;
+                    m_head = (m_head + 1) % capacity;
+                }
+            }
+        }
+        m_scheduler.request();
+    }
+
+    /** Called in the display thread, prints all buffered messages. */
+    private void applyFrame() {
+        final ConsoleViewAppender[] appenders = m_drainAppenders;
+        final String[] messages = m_drainMessages;
+        final int head;
+        final int size;
+        final long unreportedDrops;
+        synchronized (this) {
+            m_drainAppenders = m_appenders;
+            m_drainMessages = m_messages;
+            m_appenders = appenders;
+            m_messages = messages;
+            head = m_head;
+            size = m_size;
+            unreportedDrops = m_unreportedDrops;
+            m_head = 0;
+            m_size = 0;
+            m_unreportedDrops = 0;
+        }
+        drain(m_drainAppenders, m_drainMessages, head, size);
+        if (unreportedDrops > 0) {
+            ConsoleViewAppender.WARN_APPENDER.print(String.format(
+                "... %d log messages not shown, the console could not keep up (see log file) ...%n", unreportedDrops));
+        }
+    }
+
+    private static void drain(final ConsoleViewAppender[] appenders, final String[] messages, final int head,
+        final int size) {
+        final var batch = new StringBuilder();
+        ConsoleViewAppender current = null;
+        for (var i = 0; i < size; i++) {
+            final int idx = (head + i) % messages.length;
+            if (appenders[idx] != current) {
+                print(current, batch);
+                current = appenders[idx];
+            }
+            batch.append(messages[idx]);
+            appenders[idx] = null;
+            messages[idx] = null;
+        }
+        print(current, batch);
+    }
+
+    private static void print(final ConsoleViewAppender appender, final StringBuilder batch) {
+        if (appender != null && batch.length() > 0) {
+            appender.print(batch.toString());
+        }
+        batch.setLength(0);
+    }
+}
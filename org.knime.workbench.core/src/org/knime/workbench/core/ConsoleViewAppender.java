@@ -61,7 +61,8 @@
 
 /**
  * This is an implementation of a writer which logs to the ConsoleView inside
- * Eclipse.
+ * Eclipse. Written messages are collected in a bounded buffer shared by all
+ * appenders and printed once per frame, see {@link ConsoleLineBuffer}.
  *
  * @author Florian Georg, University of Konstanz
  */
@@ -91,6 +92,9 @@ public final class ConsoleViewAppender extends Writer {
 
     private final Color m_color;
 
+    /** Buffers the messages of all appenders (to keep their order) until printed. */
+    private static final ConsoleLineBuffer BUFFER = new ConsoleLineBuffer();
+
     /** Appender: fatal error. */
     public static final ConsoleViewAppender FATAL_ERROR_APPENDER =
             new ConsoleViewAppender(COLOR_FATAL_ERROR, "Fatal Error",
@@ -155,6 +159,17 @@ public NodeLogger.LEVEL getLevel() {
         return m_level;
     }
 
+    /**
+     * Returns the number of messages that have not been shown in the console because they have been logged faster
+     * than the console could print them. The messages are still contained in the log file.
+     *
+     * @return the number of dropped console messages since startup
+     * @since 5.1
+     */
+    public static long getDroppedMessageCount() {
+        return BUFFER.getDroppedCount();
+    }
+
     /**
      * Looks up the console view that is responsible for the given event, does
      * not activate the view.
@@ -183,15 +198,17 @@ private MessageConsole findConsole(final String consoleName) {
     public void write(final char[] cbuf, final int off, final int len)
             throws IOException {
         // make new string here as the caller reuses the char[]
-        final String str = new String(cbuf, off, len);
+        BUFFER.add(this, new String(cbuf, off, len));
+    }
 
-        Display.getDefault().asyncExec(new Runnable() {
-            @Override
-            public void run() {
-                m_out.setColor(m_color);
-                m_out.print(str);
-            }
-        });
+    /**
+     * Prints the text in this appender's color, must be called in the display thread.
+     *
+     * @param text the (possibly batched) messages to print
+     */
+    void print(final String text) {
+        m_out.setColor(m_color);
+        m_out.print(text);
     }
 
     /**
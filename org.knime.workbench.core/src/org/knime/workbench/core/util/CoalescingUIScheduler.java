@@ -0,0 +1,172 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026: created
+ */
+package org.knime.workbench.core.util;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import org.eclipse.swt.SWTException;
+import org.eclipse.swt.widgets.Display;
+
+/**
+ * Runs a task in the display thread at most once per frame interval, no matter how often and from which threads it
+ * is requested. Requests never block: the first request after a frame posts one <code>asyncExec</code>, which delays
+ * the frame via <code>timerExec</code> if the previous frame started less than an interval ago; all further requests
+ * until the frame starts are coalesced into it. Requests made while the frame runs (e.g. by the frame itself, to keep
+ * an animation going) schedule the next frame.
+ *
+ * <p>
+ * Producers record their updates in a thread-safe structure (a dirty set, a queue, ...) and call {@link #request()};
+ * the frame task drains the structure. With an interval of 0 the frame runs with the next <code>asyncExec</code>
+ * slice.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 5.1
+ */
+public final class CoalescingUIScheduler {
+
+    private final Supplier<Display> m_display;
+
+    private final int m_interval;
+
+    private final Runnable m_frame;
+
+    private final Runnable m_onDisplayDisposed;
+
+    /** Whether a frame is pending (posted to the display but not yet started). */
+    private final AtomicBoolean m_frameScheduled = new AtomicBoolean();
+
+    /** Only accessed in the display thread. */
+    private long m_lastFrameTimestamp;
+
+    /**
+     * @param display the display to run the frames in
+     * @param interval the minimum time in ms between the start of two frames, 0 for no pacing
+     * @param frame the task to run in the display thread
+     * @param onDisplayDisposed called (in the requesting or the display thread) instead of the frame if the display
+     *            has been disposed, e.g. to release the pending updates; may be <code>null</code>
+     */
+    public CoalescingUIScheduler(final Display display, final int interval, final Runnable frame,
+        final Runnable onDisplayDisposed) {
+        this(() -> display, interval, frame, onDisplayDisposed);
+    }
+
+    /**
+     * @param display supplies the display to run the frames in, asked on each request after a frame (e.g.
+     *            <code>Display::getDefault</code> for producers that live longer than a display)
+     * @param interval the minimum time in ms between the start of two frames, 0 for no pacing
+     * @param frame the task to run in the display thread
+     * @param onDisplayDisposed called (in the requesting or the display thread) instead of the frame if the display
+     *            has been disposed, e.g. to release the pending updates; may be <code>null</code>
+     */
+    public CoalescingUIScheduler(final Supplier<Display> display, final int interval, final Runnable frame,
+        final Runnable onDisplayDisposed) {
+        m_display = display;
+        m_interval = Math.max(0, interval);
+        m_frame = frame;
+        m_onDisplayDisposed = onDisplayDisposed;
+    }
+
+    /**
+     * Returns the frame interval for the frame rate set by the given system property.
+     *
+     * @param property the name of the system property holding the number of frames per second
+     * @param defaultFrameRate the frame rate if the property isn't set
+     * @return the interval in ms between two frames, at least 1
+     */
+    public static int frameInterval(final String property, final int defaultFrameRate) {
+        final int frameRate = Integer.getInteger(property, defaultFrameRate);
+        return 1000 / Math.max(1, Math.min(frameRate, 1000));
+    }
+
+    /**
+     * Requests the frame task to be run. Never blocks; can be called from any thread.
+     */
+    public void request() {
+        if (m_frameScheduled.compareAndSet(false, true)) {
+            final Display display = m_display.get();
+            try {
+                if (!display.isDisposed()) {
+                    display.asyncExec(() -> scheduleFrame(display));
+                    return;
+                }
+            } catch (SWTException e) { // NOSONAR disposed concurrently, handled below
+            }
+            displayDisposed();
+        }
+    }
+
+    /** Called in the display thread, delays the frame so that at most one frame is run per interval. */
+    private void scheduleFrame(final Display display) {
+        final long wait = m_interval - (System.currentTimeMillis() - m_lastFrameTimestamp);
+        if (wait > 0) {
+            display.timerExec((int)wait, () -> runFrame(display));
+        } else {
+            runFrame(display);
+        }
+    }
+
+    private void runFrame(final Display display) {
+        if (display.isDisposed()) {
+            displayDisposed();
+            return;
+        }
+        m_lastFrameTimestamp = System.currentTimeMillis();
+        // reset before running the frame so that requests made in the meantime schedule the next frame
+        m_frameScheduled.set(false);
+        m_frame.run();
+    }
+
+    private void displayDisposed() {
+        m_frameScheduled.set(false);
+        if (m_onDisplayDisposed != null) {
+            m_onDisplayDisposed.run();
+        }
+    }
+}
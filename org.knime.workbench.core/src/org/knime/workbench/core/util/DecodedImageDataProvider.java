@@ -0,0 +1,101 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026: created
+ */
+package org.knime.workbench.core.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.ImageDataProvider;
+
+/**
+ * Image data provider that remembers the image data decoded by another provider per zoom level. Used by the
+ * {@link ImageRepository} to decode icons on a background thread so that only the creation of the {@code Image}
+ * itself is left to the thread requesting the icon.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class DecodedImageDataProvider implements ImageDataProvider {
+
+    private final ImageDataProvider m_delegate;
+
+    private final Map<Integer, ImageData> m_imageData = new ConcurrentHashMap<>(4);
+
+    /**
+     * @param delegate the provider actually decoding the image data
+     */
+    DecodedImageDataProvider(final ImageDataProvider delegate) {
+        m_delegate = delegate;
+    }
+
+    /**
+     * Decodes the image data for the given zoom levels (if not done yet).
+     *
+     * @param zooms the zoom levels
+     * @return this
+     */
+    DecodedImageDataProvider decode(final int... zooms) {
+        for (int zoom : zooms) {
+            getImageData(zoom);
+        }
+        return this;
+    }
+
+    @Override
+    public ImageData getImageData(final int zoom) {
+        ImageData data = m_imageData.get(zoom);
+        if (data == null) {
+            data = m_delegate.getImageData(zoom);
+            if (data != null) {
+                m_imageData.putIfAbsent(zoom, data);
+            }
+        }
+        return data;
+    }
+}
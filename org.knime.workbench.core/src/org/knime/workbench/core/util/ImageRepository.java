@@ -50,6 +50,15 @@
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.runtime.FileLocator;
 import org.eclipse.core.runtime.Path;
@@ -57,7 +66,9 @@
 import org.eclipse.jface.resource.ImageDescriptor;
 import org.eclipse.jface.resource.ImageRegistry;
 import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.ImageDataProvider;
 import org.eclipse.swt.widgets.Display;
+import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.NodeFactory;
 import org.knime.core.node.NodeLogger;
 import org.knime.core.node.NodeModel;
@@ -93,6 +104,19 @@ public final class ImageRepository {
     // used for the missing icon
     private static final String MISSING_ICON_KEY = "###MISSING_ICON###";
 
+    private static final AtomicInteger DECODER_THREAD_COUNTER = new AtomicInteger();
+
+    // decodes icons requested by prefetchIconImages; image data only, the images are created when requested
+    private static final ExecutorService ICON_DECODER =
+        Executors.newFixedThreadPool(Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2)), r -> {
+            final Thread t = new Thread(r, "KNIME Icon Decoder-" + DECODER_THREAD_COUNTER.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+
+    // icons decoded (or being decoded) in the background, keyed like the image registry; removed once registered
+    private static final Map<String, CompletableFuture<ImageDataProvider>> DECODED_ICONS = new ConcurrentHashMap<>();
+
     /**
      * Enumeration for shared images.
      *
@@ -673,27 +697,101 @@ public static Image getIconImage(final URL resourceURL) {
         if (img != null) {
             return img;
         }
+        // use the image data if the icon has been prefetched, otherwise decode it here
+        ImageDataProvider provider = getDecodedIcon(key);
         try {
-            // the KNIME image provider ensures correct size of the icon
-            img = new Image(Display.getDefault(), new KNIMEIconImageProvider(resourceURL));
+            if (provider == null) {
+                // the KNIME image provider ensures correct size of the icon
+                provider = new KNIMEIconImageProvider(resourceURL);
+            }
+            img = new Image(Display.getDefault(), provider);
         } catch (IOException e) {
             LOGGER.coding("Unable to locate node icon. Using default icon instead." + e.getMessage(), e);
 //            return getIconImage(SharedImages.DefaultNodeIcon);
             return null;
         }
-        // AP-20006 - race condition while creating and adding the image.
-        // NB: The image registry used in KNIMECorePlugin is a ThreadsafeImageRegistry - apparently not thread safe..
-        synchronized (imageRegistry) {
-            var img2 = imageRegistry.get(key);
-            if (img2 == null) {
-                imageRegistry.put(key, img);
-            } else {
-                img.dispose();
-                img = img2;
+        img = putIfAbsent(imageRegistry, key, img);
+        DECODED_ICONS.remove(key);
+        return img;
+     }
+
+    /**
+     * Decodes the icons at the given locations on a background thread pool, such that subsequent calls to
+     * {@link #getIconImage(URL)} only need to create the image from the already decoded image data. Icons that are
+     * already in the repository or being decoded are skipped. The method returns immediately.
+     *
+     * @param iconURLs the icons to decode, <code>null</code> entries are ignored
+     * @since 5.1
+     */
+    public static void prefetchIconImages(final Collection<URL> iconURLs) {
+        final var imageRegistry = KNIMECorePlugin.getDefault().getImageRegistry();
+        final int[] zooms = Boolean.getBoolean(KNIMEConstants.PROPERTY_HIGH_DPI_SUPPORT) //
+            ? new int[]{100, 150, 200} : new int[]{100};
+        for (URL url : iconURLs) {
+            if (url == null) {
+                continue;
+            }
+            final String key = url.toString() + ICONIFIED_KEY;
+            if (imageRegistry.getDescriptor(key) == null) {
+                DECODED_ICONS.computeIfAbsent(key, k -> CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return new DecodedImageDataProvider(new KNIMEIconImageProvider(url)).decode(zooms);
+                    } catch (IOException e) { // NOSONAR reported when the icon is actually requested
+                        return null;
+                    }
+                }, ICON_DECODER));
             }
-            return img;
         }
-     }
+    }
+
+    /**
+     * Never blocks: the caller (usually the display thread) decodes the icon itself rather than waiting for a decoder
+     * thread that may still be busy with other icons. A pending decode of the icon is canceled in that case.
+     *
+     * @return the prefetched image data for the given key or <code>null</code> if the icon hasn't been prefetched or
+     *         isn't decoded yet
+     */
+    private static ImageDataProvider getDecodedIcon(final String key) {
+        final CompletableFuture<ImageDataProvider> decoded = DECODED_ICONS.get(key);
+        if (decoded == null) {
+            return null;
+        }
+        try {
+            final ImageDataProvider provider = decoded.getNow(null);
+            if (provider == null) {
+                // not started yet or still running; if still queued, it won't be decoded twice
+                decoded.cancel(false);
+            }
+            return provider;
+        } catch (CompletionException | CancellationException e) { // NOSONAR decoded again by the caller
+            return null;
+        }
+    }
+
+    /**
+     * Adds the image to the registry unless another thread has been faster.
+     *
+     * @return the image that is registered, the passed image is disposed if it is not
+     */
+    private static Image putIfAbsent(final ImageRegistry imageRegistry, final String key, final Image img) {
+        final Image registered;
+        if (imageRegistry instanceof ThreadsafeImageRegistry) {
+            registered = ((ThreadsafeImageRegistry)imageRegistry).putIfAbsent(key, img);
+        } else {
+            // AP-20006 - race condition while creating and adding the image.
+            synchronized (imageRegistry) {
+                final var img2 = imageRegistry.get(key);
+                if (img2 == null) {
+                    imageRegistry.put(key, img);
+                }
+                registered = img2 == null ? img : img2;
+            }
+        }
+        if (registered != img) {
+            img.dispose();
+        }
+        return registered;
+    }
 
      public static ImageDescriptor getIconDescriptor(final URL resourceURL) {
          if (resourceURL == null) {
@@ -59,7 +59,7 @@ public class ThreadsafeImageRegistry extends ImageRegistry {
 
     private ResourceManager manager;
 
-    private Map<String, Entry> table;
+    private volatile Map<String, Entry> table;
 
     private Runnable disposeRunnable = new Runnable() {
         @Override
@@ -73,10 +73,10 @@ public void run() {
      */
     private static class Entry {
     	/** the image */
-        protected Image image;
+        protected volatile Image image;
 
         /** the descriptor */
-        protected ImageDescriptor descriptor;
+        protected volatile ImageDescriptor descriptor;
     }
 
     private static class OriginalImageDescriptor extends ImageDescriptor {
@@ -316,6 +316,33 @@ public void put(final String key, final Image image) {
         }
     }
 
+    /**
+     * Adds an image to this registry unless there already is an image or descriptor for the given key. Other than
+     * calling {@link #get(String)} followed by {@link #put(String, Image)} this is atomic, i.e. threads concurrently
+     * creating the same image don't need to synchronize on the registry.
+     *
+     * @param key the key
+     * @param image the image, should not be <code>null</code>
+     * @return the image registered for the key, i.e. either the passed image or the one that has been registered
+     *         before; in the latter case the caller is responsible for disposing the passed image
+     * @since 5.1
+     */
+    public Image putIfAbsent(final String key, final Image image) {
+        Assert.isNotNull(image, "Cannot register a null image."); //$NON-NLS-1$
+        Entry entry = new Entry();
+        entry.image = image;
+        entry.descriptor = new OriginalImageDescriptor(image, manager.getDevice());
+        if (getTable().putIfAbsent(key, entry) != null) {
+            return get(key);
+        }
+
+        try {
+            manager.create(entry.descriptor);
+        } catch (DeviceResourceException e) {
+        }
+        return image;
+    }
+
     /**
      * Removes an image from this registry.
      * If an SWT image was allocated, it is disposed.
@@ -340,10 +367,17 @@ private void putEntry(final String key, final Entry entry) {
     }
 
     private Map<String, Entry> getTable() {
-        if (table == null) {
-            table = new ConcurrentHashMap<String, Entry>(16);
+        Map<String, Entry> t = table;
+        if (t == null) {
+            synchronized (this) {
+                t = table;
+                if (t == null) {
+                    t = new ConcurrentHashMap<String, Entry>(16);
+                    table = t;
+                }
+            }
         }
-        return table;
+        return t;
     }
 
     /**
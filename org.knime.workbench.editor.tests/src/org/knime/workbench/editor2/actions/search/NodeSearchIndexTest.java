@@ -0,0 +1,332 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026: created
+ */
+package org.knime.workbench.editor2.actions.search;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.io.File;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.NodeDialogPane;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.NodeSettingsRO;
+import org.knime.core.node.NodeSettingsWO;
+import org.knime.core.node.NodeView;
+import org.knime.core.node.port.PortObjectSpec;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.workflow.NodeAnnotationData;
+import org.knime.core.node.workflow.NodeContainer;
+import org.knime.core.node.workflow.WorkflowCipherPrompt;
+import org.knime.core.node.workflow.WorkflowCreationHelper;
+import org.knime.core.node.workflow.WorkflowLoadHelper;
+import org.knime.core.node.workflow.WorkflowManager;
+import org.knime.core.node.workflow.contextv2.WorkflowContextV2;
+import org.knime.core.util.FileUtil;
+
+/**
+ * Tests for {@link NodeSearchIndex}: ranking of the results and keeping the index up to date when nodes are added,
+ * removed, renamed, annotated, locked and unlocked.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class NodeSearchIndexTest {
+
+    /** Workflow events are delivered asynchronously, wait at most this long for the index to catch up. */
+    private static final long TIMEOUT = 5000;
+
+    private static final PortType[] NO_PORTS = new PortType[0];
+
+    private WorkflowManager m_wfm;
+
+    private NodeSearchIndex m_index;
+
+    /** Creates an empty workflow. */
+    @Before
+    public void createWorkflow() {
+        m_wfm = WorkflowManager.ROOT.createAndAddProject("Test" + UUID.randomUUID(), new WorkflowCreationHelper(null));
+    }
+
+    /** Disposes the index and the workflow. */
+    @After
+    public void disposeWorkflow() {
+        if (m_index != null) {
+            m_index.dispose();
+        }
+        WorkflowManager.ROOT.removeProject(m_wfm.getID());
+    }
+
+    /**
+     * Checks that nodes whose name starts with the query rank before nodes with a word starting with it, before nodes
+     * containing it in their name, before nodes with only other matching text; ties ordered by depth and name.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Test
+    public void testRanking() throws Exception {
+        final var contains = addMetanode(m_wfm, "Prefilter");
+        final var rowFilter = addMetanode(m_wfm, "Row Filter");
+        final var nested = addMetanode(rowFilter, "Nested Filter");
+        final var startsWith = addMetanode(m_wfm, "Filter Rows");
+        final var annotated = addMetanode(m_wfm, "Joiner");
+        annotate(annotated, "Filter out the duplicates first");
+        final var columnFilter = addMetanode(m_wfm, "Column Filter");
+        m_index = new NodeSearchIndex(m_wfm);
+
+        assertThat("Unexpected ranking", m_index.search("filter", 10),
+            is(List.of(startsWith, columnFilter, rowFilter, nested, contains, annotated)));
+        assertThat("Unexpected ranking of a short query", m_index.search("FI", 10),
+            is(List.of(startsWith, columnFilter, rowFilter, nested, contains, annotated)));
+        assertThat("Results not limited", m_index.search("filter", 2), is(List.of(startsWith, columnFilter)));
+        assertThat("Empty query must return the top-level nodes", m_index.search("", 10).size(), is(5));
+        assertThat("Node ID not found", m_index.search(nested.getID().toString(), 10), is(List.of(nested)));
+        assertThat("Unexpected match", m_index.search("filter rows x", 10), is(List.of()));
+    }
+
+    /**
+     * Checks that native nodes are found by the simple name of their factory class without the "NodeFactory" suffix,
+     * but not by the factory's package.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Test
+    public void testFactoryName() throws Exception {
+        final var node = m_wfm.getNodeContainer(m_wfm.createAndAddNode(new SalesReportNodeFactory()));
+        m_index = new NodeSearchIndex(m_wfm);
+
+        assertThat("Node not found by its factory name", m_index.search("salesreport", 10), is(List.of(node)));
+        assertThat("Factory package must not be indexed", m_index.search("editor2.actions", 10), is(List.of()));
+    }
+
+    /**
+     * Checks that the index follows nodes being added (also into nested metanodes), renamed, annotated and removed
+     * (including the contents of removed metanodes).
+     *
+     * @throws Exception if an error occurs
+     */
+    @Test
+    public void testIncrementalUpdates() throws Exception {
+        final var outer = addMetanode(m_wfm, "Outer");
+        m_index = new NodeSearchIndex(m_wfm);
+
+        final var added = addMetanode(m_wfm, "Pivoting");
+        assertThat("Added node not found", awaitSearch("pivot", List.of(added)), is(List.of(added)));
+        final var inner = addMetanode(outer, "Inner Pivoting");
+        assertThat("Node added to a nested workflow not found", awaitSearch("pivot", List.of(added, inner)),
+            is(List.of(added, inner)));
+        final var innermost = addMetanode(inner, "Innermost");
+
+        added.setName("Unpivoting");
+        assertThat("Renamed node not found by its new name", awaitSearch("unpivot", List.of(added)),
+            is(List.of(added)));
+        assertThat("Renamed node found by its old name", awaitSearch("pivoting", List.of(inner, added)),
+            is(List.of(inner, added)));
+
+        annotate(added, "Sales per region");
+        assertThat("Node not found by its new annotation", awaitSearch("region", List.of(added)), is(List.of(added)));
+
+        m_wfm.removeNode(outer.getID());
+        assertThat("Contents of removed metanode still found", awaitSearch("inner", List.of()), is(List.of()));
+        assertThat("Removed node still found", awaitSearch("outer", List.of()), is(List.of()));
+        assertThat("Nested node of removed metanode still found",
+            m_index.search(innermost.getID().toString(), 10), is(List.of()));
+
+        m_wfm.removeNode(added.getID());
+        assertThat("Removed node still found", awaitSearch("unpivot", List.of()), is(List.of()));
+    }
+
+    /**
+     * Checks that the contents of a locked metanode are only searchable once it is unlocked.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Test
+    public void testLockAndUnlock() throws Exception {
+        final var unsaved = addMetanode(m_wfm, "Vault");
+        addMetanode(unsaved, "Secret Sauce");
+        unsaved.setWorkflowPassword("1234", "digits");
+        // the metanode stays unlocked for the session that set the password, it is locked when loaded again
+        reloadWorkflow();
+        final var vault = (WorkflowManager)m_wfm.getNodeContainer(unsaved.getID());
+        assertThat("Metanode not locked after loading", vault.isUnlocked(), is(false));
+        final var secret = vault.getNodeContainers().iterator().next();
+        m_index = new NodeSearchIndex(m_wfm);
+
+        assertThat("Contents of a locked metanode found", m_index.search("secret", 10), is(List.of()));
+        assertThat("Locked metanode itself not found", m_index.search("vault", 10), is(List.of(vault)));
+
+        assertThat("Unlocking failed", vault.unlock(new PasswordPrompt("1234")), is(true));
+        assertThat("Contents of an unlocked metanode not found", awaitSearch("secret", List.of(secret)),
+            is(List.of(secret)));
+    }
+
+    /** Saves the workflow and replaces it with the one loaded from the saved files. */
+    private void reloadWorkflow() throws Exception {
+        final File dir = FileUtil.createTempDir("NodeSearchIndexTest");
+        m_wfm.save(dir, new ExecutionMonitor(), false);
+        WorkflowManager.ROOT.removeProject(m_wfm.getID());
+        m_wfm = WorkflowManager.loadProject(dir, new ExecutionMonitor(),
+            new WorkflowLoadHelper(WorkflowContextV2.forTemporaryWorkflow(dir.toPath(), null))).getWorkflowManager();
+    }
+
+    /**
+     * Searches until the result equals the expected one (workflow events are delivered asynchronously) or the
+     * timeout is reached.
+     */
+    private List<NodeContainer> awaitSearch(final String query, final List<NodeContainer> expected)
+        throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + TIMEOUT;
+        List<NodeContainer> result = m_index.search(query, 10);
+        while (!result.equals(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            result = m_index.search(query, 10);
+        }
+        return result;
+    }
+
+    private static WorkflowManager addMetanode(final WorkflowManager parent, final String name) {
+        return parent.createAndAddSubWorkflow(NO_PORTS, NO_PORTS, name);
+    }
+
+    private static void annotate(final NodeContainer nc, final String text) {
+        final var data = new NodeAnnotationData(false);
+        data.setText(text);
+        nc.getNodeAnnotation().copyFrom(data, false);
+    }
+
+    /** Prompt answering with a fixed password. */
+    private static final class PasswordPrompt extends WorkflowCipherPrompt {
+
+        private final String m_password;
+
+        PasswordPrompt(final String password) {
+            m_password = password;
+        }
+
+        @Override
+        public String prompt(final String message, final String errorFromPrevious) {
+            return m_password;
+        }
+
+        @Override
+        public boolean isPromptForComponent() {
+            return false;
+        }
+    }
+
+    /** Factory of a node without ports or settings, only its class name matters. */
+    public static final class SalesReportNodeFactory extends NodeFactory<NodeModel> {
+
+        @Override
+        public NodeModel createNodeModel() {
+            return new NodeModel(0, 0) {
+                @Override
+                protected PortObjectSpec[] configure(final PortObjectSpec[] inSpecs) {
+                    return new PortObjectSpec[0];
+                }
+
+                @Override
+                protected void loadInternals(final File nodeInternDir, final ExecutionMonitor exec) {
+                    // no internals
+                }
+
+                @Override
+                protected void saveInternals(final File nodeInternDir, final ExecutionMonitor exec) {
+                    // no internals
+                }
+
+                @Override
+                protected void saveSettingsTo(final NodeSettingsWO settings) {
+                    // no settings
+                }
+
+                @Override
+                protected void validateSettings(final NodeSettingsRO settings) {
+                    // no settings
+                }
+
+                @Override
+                protected void loadValidatedSettingsFrom(final NodeSettingsRO settings) {
+                    // no settings
+                }
+
+                @Override
+                protected void reset() {
+                    // nothing to reset
+                }
+            };
+        }
+
+        @Override
+        protected int getNrNodeViews() {
+            return 0;
+        }
+
+        @Override
+        public NodeView<NodeModel> createNodeView(final int viewIndex, final NodeModel nodeModel) {
+            return null;
+        }
+
+        @Override
+        protected boolean hasDialog() {
+            return false;
+        }
+
+        @Override
+        protected NodeDialogPane createNodeDialogPane() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026: created
+ */
+package org.knime.workbench.editor2.editparts.snap;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link SnapOffsets}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class SnapOffsetsTest {
+
+    private static final int[] OFFSETS = {10, 20, 20, 40};
+
+    /**
+     * Checks that there is no nearest offset in an empty array.
+     */
+    @Test
+    public void testNearestInEmptyArray() {
+        assertThat("Unexpected index in empty array", SnapOffsets.nearest(new int[0], 5), is(-1));
+    }
+
+    /**
+     * Checks that an offset equal to the value is found.
+     */
+    @Test
+    public void testNearestExactMatch() {
+        assertThat("Exact match not found", SnapOffsets.nearest(OFFSETS, 10), is(0));
+        assertThat("Exact match not found", OFFSETS[SnapOffsets.nearest(OFFSETS, 20)], is(20));
+        assertThat("Exact match not found", SnapOffsets.nearest(OFFSETS, 40), is(3));
+        assertThat("Exact match not found", SnapOffsets.nearest(new int[]{7}, 7), is(0));
+    }
+
+    /**
+     * Checks that the closer one of the two enclosing offsets is found, the smaller one on a tie.
+     */
+    @Test
+    public void testNearestBetweenOffsets() {
+        assertThat("Closer smaller offset not found", SnapOffsets.nearest(OFFSETS, 14.9), is(0));
+        assertThat("Closer larger offset not found", SnapOffsets.nearest(OFFSETS, 15.1), is(1));
+        assertThat("Smaller offset must win a tie", SnapOffsets.nearest(OFFSETS, 15), is(0));
+        assertThat("Closer larger offset not found", OFFSETS[SnapOffsets.nearest(OFFSETS, 29)], is(20));
+        assertThat("Closer larger offset not found", SnapOffsets.nearest(OFFSETS, 31), is(3));
+        assertThat("Smaller offset must win a tie", OFFSETS[SnapOffsets.nearest(OFFSETS, 30)], is(20));
+    }
+
+    /**
+     * Checks that values outside of the offsets' range snap to the first or last offset.
+     */
+    @Test
+    public void testNearestOutOfRange() {
+        assertThat("First offset not found", SnapOffsets.nearest(OFFSETS, -100), is(0));
+        assertThat("First offset not found", SnapOffsets.nearest(OFFSETS, 9.5), is(0));
+        assertThat("Last offset not found", SnapOffsets.nearest(OFFSETS, 40.5), is(3));
+        assertThat("Last offset not found", SnapOffsets.nearest(OFFSETS, Integer.MAX_VALUE), is(3));
+        assertThat("Single offset not found", SnapOffsets.nearest(new int[]{7}, -7), is(0));
+    }
+
+    /**
+     * Checks that merged offsets are sorted and contain both sides.
+     */
+    @Test
+    public void testMerge() {
+        final SnapOffsets a = new SnapOffsets.Builder().add("k", 30).add("k", 10).build();
+        final SnapOffsets b = new SnapOffsets.Builder().add("k", 20).add("other", 5).build();
+        final SnapOffsets merged = a.merge(b);
+        assertThat("Unexpected merged offsets", merged.get("k"), is(new int[]{10, 20, 30}));
+        assertThat("Unexpected merged offsets", merged.get("other"), is(new int[]{5}));
+        assertThat("Unexpected offsets of unknown key", merged.get("unknown"), is(new int[0]));
+    }
+}
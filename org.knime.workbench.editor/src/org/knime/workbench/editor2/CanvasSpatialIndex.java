@@ -0,0 +1,318 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026: created
+ */
+package org.knime.workbench.editor2;
+
+import java.beans.PropertyChangeListener;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.draw2d.Connection;
+import org.eclipse.draw2d.FigureListener;
+import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw2d.geometry.Point;
+import org.eclipse.draw2d.geometry.PointList;
+import org.eclipse.draw2d.geometry.Rectangle;
+import org.eclipse.gef.EditPartViewer;
+import org.eclipse.gef.GraphicalEditPart;
+
+/**
+ * A uniform grid over the workflow canvas that maps the bounds of the node, annotation, port bar and connection figures
+ * to their edit parts, such that hit tests (e.g. while dragging a node for bisect/replace or while dragging the
+ * marquee) only need to look at the edit parts near the location instead of all of them. Connections are indexed per
+ * segment, i.e. a long diagonal connection doesn't occupy all the cells of its bounding box.
+ *
+ * <p>
+ * The edit parts register themselves when activated; the index follows their figures, i.e. it is updated whenever a
+ * figure is moved or resized (node UI information changes) or the points of a connection change (bendpoints, moved
+ * nodes). There is one index per viewer, see {@link #get(EditPartViewer)}. All methods must be called in the display
+ * thread.
+ *
+ * <p>
+ * Coordinates are those of the figures in the workflow layers, i.e. unscaled and not scrolled; absolute (viewer
+ * control) coordinates are converted with {@link #toIndexCoordinates(Rectangle)}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 5.1
+ */
+public final class CanvasSpatialIndex {
+
+    private static final String VIEWER_PROPERTY = CanvasSpatialIndex.class.getName();
+
+    /** Width and height of a grid cell. */
+    static final int CELL_SIZE = 256;
+
+    /** Connection segments are expanded by this, covering the line width and hit tolerance. */
+    private static final int CONNECTION_TOLERANCE = 8;
+
+    private final EditPartViewer m_viewer;
+
+    private final Map<Long, Set<GraphicalEditPart>> m_cells = new HashMap<>();
+
+    private final Map<GraphicalEditPart, Entry> m_entries = new HashMap<>();
+
+    /** The indexed cells of an edit part and the listeners keeping them up to date. */
+    private static final class Entry {
+        private Set<Long> m_cellKeys = Collections.emptySet();
+
+        private FigureListener m_figureListener;
+
+        private PropertyChangeListener m_pointsListener;
+    }
+
+    private CanvasSpatialIndex(final EditPartViewer viewer) {
+        m_viewer = viewer;
+    }
+
+    /**
+     * Returns the index of the given viewer, it is created on first access.
+     *
+     * @param viewer the workflow editor's viewer
+     * @return the index, <code>null</code> if the viewer is <code>null</code>
+     */
+    public static CanvasSpatialIndex get(final EditPartViewer viewer) {
+        if (viewer == null) {
+            return null;
+        }
+        CanvasSpatialIndex index = find(viewer);
+        if (index == null) {
+            index = new CanvasSpatialIndex(viewer);
+            viewer.setProperty(VIEWER_PROPERTY, index);
+        }
+        return index;
+    }
+
+    /**
+     * @param viewer a viewer, may be <code>null</code>
+     * @return the index of the viewer or <code>null</code> if no edit part has been registered with it
+     */
+    static CanvasSpatialIndex find(final EditPartViewer viewer) {
+        final Object index = viewer == null ? null : viewer.getProperty(VIEWER_PROPERTY);
+        return index instanceof CanvasSpatialIndex ? (CanvasSpatialIndex)index : null;
+    }
+
+    /**
+     * Adds the edit part to the index, it is kept up to date until the edit part is {@link #remove(GraphicalEditPart)
+     * removed}. Adding an edit part twice has no effect.
+     *
+     * @param part the edit part to add, its figure must have been created
+     */
+    public void add(final GraphicalEditPart part) {
+        if (m_entries.containsKey(part)) {
+            return;
+        }
+        final var entry = new Entry();
+        m_entries.put(part, entry);
+        final IFigure figure = part.getFigure();
+        entry.m_figureListener = source -> update(part);
+        figure.addFigureListener(entry.m_figureListener);
+        if (figure instanceof Connection) {
+            entry.m_pointsListener = evt -> update(part);
+            figure.addPropertyChangeListener(Connection.PROPERTY_POINTS, entry.m_pointsListener);
+        }
+        update(part);
+    }
+
+    /**
+     * Removes the edit part from the index.
+     *
+     * @param part the edit part to remove
+     */
+    public void remove(final GraphicalEditPart part) {
+        final Entry entry = m_entries.remove(part);
+        if (entry == null) {
+            return;
+        }
+        removeFromCells(part, entry.m_cellKeys);
+        final IFigure figure = part.getFigure();
+        figure.removeFigureListener(entry.m_figureListener);
+        if (entry.m_pointsListener != null) {
+            figure.removePropertyChangeListener(Connection.PROPERTY_POINTS, entry.m_pointsListener);
+        }
+    }
+
+    /**
+     * @return whether no edit part is indexed
+     */
+    boolean isEmpty() {
+        return m_entries.isEmpty();
+    }
+
+    /**
+     * Returns the edit parts whose figure may intersect the given area. The result is a superset: callers still need
+     * to test the actual figures, but only of the few edit parts near the area.
+     *
+     * @param area the area in index coordinates
+     * @return the candidate edit parts
+     */
+    Set<GraphicalEditPart> query(final Rectangle area) {
+        final Set<GraphicalEditPart> result = new LinkedHashSet<>();
+        final int minX = Math.floorDiv(area.x, CELL_SIZE);
+        final int maxX = Math.floorDiv(area.x + Math.max(0, area.width), CELL_SIZE);
+        final int minY = Math.floorDiv(area.y, CELL_SIZE);
+        final int maxY = Math.floorDiv(area.y + Math.max(0, area.height), CELL_SIZE);
+        for (int cx = minX; cx <= maxX; cx++) {
+            for (int cy = minY; cy <= maxY; cy++) {
+                final Set<GraphicalEditPart> parts = m_cells.get(key(cx, cy));
+                if (parts != null) {
+                    result.addAll(parts);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the edit parts whose figure may contain the given point.
+     *
+     * @param p the point in index coordinates
+     * @return the candidate edit parts
+     */
+    Set<GraphicalEditPart> query(final Point p) {
+        final Set<GraphicalEditPart> parts =
+            m_cells.get(key(Math.floorDiv(p.x, CELL_SIZE), Math.floorDiv(p.y, CELL_SIZE)));
+        return parts == null ? Collections.emptySet() : new LinkedHashSet<>(parts);
+    }
+
+    /**
+     * Converts absolute coordinates (as used by the viewer, e.g. of the mouse location) into index coordinates, taking
+     * zoom and scroll position into account.
+     *
+     * @param absolute the absolute area, not modified
+     * @return a new rectangle in index coordinates
+     */
+    Rectangle toIndexCoordinates(final Rectangle absolute) {
+        final Rectangle r = absolute.getCopy();
+        final Object contents = m_viewer.getContents();
+        if (contents instanceof GraphicalEditPart) {
+            ((GraphicalEditPart)contents).getFigure().translateToRelative(r);
+        }
+        return r;
+    }
+
+    /**
+     * @param absolute a point in absolute coordinates, not modified
+     * @return a new point in index coordinates
+     * @see #toIndexCoordinates(Rectangle)
+     */
+    Point toIndexCoordinates(final Point absolute) {
+        final Point p = absolute.getCopy();
+        final Object contents = m_viewer.getContents();
+        if (contents instanceof GraphicalEditPart) {
+            ((GraphicalEditPart)contents).getFigure().translateToRelative(p);
+        }
+        return p;
+    }
+
+    private void update(final GraphicalEditPart part) {
+        final Entry entry = m_entries.get(part);
+        if (entry == null) {
+            return;
+        }
+        final Set<Long> cellKeys = computeCellKeys(part.getFigure());
+        if (cellKeys.equals(entry.m_cellKeys)) {
+            return;
+        }
+        removeFromCells(part, entry.m_cellKeys);
+        for (Long cellKey : cellKeys) {
+            m_cells.computeIfAbsent(cellKey, k -> new LinkedHashSet<>()).add(part);
+        }
+        entry.m_cellKeys = cellKeys;
+    }
+
+    private void removeFromCells(final GraphicalEditPart part, final Set<Long> cellKeys) {
+        for (Long cellKey : cellKeys) {
+            final Set<GraphicalEditPart> parts = m_cells.get(cellKey);
+            if (parts != null) {
+                parts.remove(part);
+                if (parts.isEmpty()) {
+                    m_cells.remove(cellKey);
+                }
+            }
+        }
+    }
+
+    private static Set<Long> computeCellKeys(final IFigure figure) {
+        final Set<Long> cellKeys = new LinkedHashSet<>();
+        if (figure instanceof Connection) {
+            final PointList points = ((Connection)figure).getPoints();
+            if (points != null && points.size() > 1) {
+                final Point p1 = new Point();
+                final Point p2 = new Point();
+                for (var i = 1; i < points.size(); i++) {
+                    points.getPoint(p1, i - 1);
+                    points.getPoint(p2, i);
+                    addCellKeys(new Rectangle(p1, p2).expand(CONNECTION_TOLERANCE, CONNECTION_TOLERANCE), cellKeys);
+                }
+                return cellKeys;
+            }
+        }
+        final Rectangle bounds = figure.getBounds();
+        if (bounds != null && !bounds.isEmpty()) {
+            addCellKeys(bounds, cellKeys);
+        }
+        return cellKeys;
+    }
+
+    private static void addCellKeys(final Rectangle r, final Set<Long> cellKeys) {
+        final int maxX = Math.floorDiv(r.x + r.width, CELL_SIZE);
+        final int maxY = Math.floorDiv(r.y + r.height, CELL_SIZE);
+        for (int cx = Math.floorDiv(r.x, CELL_SIZE); cx <= maxX; cx++) {
+            for (int cy = Math.floorDiv(r.y, CELL_SIZE); cy <= maxY; cy++) {
+                cellKeys.add(key(cx, cy));
+            }
+        }
+    }
+
+    private static long key(final int cx, final int cy) {
+        return ((long)cx << 32) | (cy & 0xFFFFFFFFL);
+    }
+}
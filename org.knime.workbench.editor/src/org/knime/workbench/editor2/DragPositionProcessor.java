@@ -52,6 +52,7 @@
 
 import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.Map;
 
 import org.eclipse.draw2d.FigureCanvas;
 import org.eclipse.draw2d.IFigure;
@@ -59,6 +60,7 @@
 import org.eclipse.draw2d.geometry.Rectangle;
 import org.eclipse.gef.EditPart;
 import org.eclipse.gef.EditPartViewer;
+import org.eclipse.gef.GraphicalEditPart;
 import org.eclipse.gef.editparts.AbstractGraphicalEditPart;
 import org.eclipse.gef.editparts.ZoomManager;
 import org.eclipse.jface.viewers.StructuredSelection;
@@ -216,7 +218,7 @@ void processDragEventAtPoint(final Point p, final boolean shouldAffectMark,
         }
 
         if (ep == null) {
-            ep = m_parentViewer.findObjectAt(m_lastPosition);
+            ep = findObjectAt(m_lastPosition);
         }
 
         final NodeContainerEditPart priorNodeSelection = m_node;
@@ -408,6 +410,60 @@ org.eclipse.draw2d.geometry.Point getLastPosition() {
     // Only private functionality follows
     //
 
+    /**
+     * Finds the node, connection or annotation at the given location using the viewer's {@link CanvasSpatialIndex},
+     * which only tests the figures close to the location; falls back to {@link EditPartViewer#findObjectAt} if there
+     * is no index. Connections are preferred over nodes and nodes over annotations (as they are painted above). Like
+     * {@link EditPartViewer#findObjectAt}, the innermost edit part at the location is returned, e.g. the port of a
+     * node rather than the node itself.
+     *
+     * @param location the location in viewer (absolute) coordinates
+     * @return the edit part at that location or the viewer's contents if there is none
+     */
+    private EditPart findObjectAt(final org.eclipse.draw2d.geometry.Point location) {
+        final CanvasSpatialIndex index = CanvasSpatialIndex.find(m_parentViewer);
+        if ((index == null) || index.isEmpty()) {
+            return m_parentViewer.findObjectAt(location);
+        }
+
+        final org.eclipse.draw2d.geometry.Point p = index.toIndexCoordinates(location);
+        GraphicalEditPart hit = null;
+        int hitRank = -1;
+        for (final GraphicalEditPart candidate : index.query(p)) {
+            final int rank = getHitRank(candidate);
+            final IFigure figure = candidate.getFigure();
+            if ((rank > hitRank) && figure.isShowing() && figure.containsPoint(p)) {
+                hit = candidate;
+                hitRank = rank;
+            }
+        }
+        return (hit == null) ? m_parentViewer.getContents() : findInnermostPartAt(hit, p);
+    }
+
+    /** Descends into the figure of the given (hit) edit part, e.g. to its ports. */
+    private EditPart findInnermostPartAt(final GraphicalEditPart hit, final org.eclipse.draw2d.geometry.Point p) {
+        final Map<?, ?> visualPartMap = m_parentViewer.getVisualPartMap();
+        for (IFigure figure = hit.getFigure().findFigureAt(p.x, p.y); (figure != null) && (figure != hit.getFigure());
+                figure = figure.getParent()) {
+            final Object part = visualPartMap.get(figure);
+            if (part instanceof EditPart) {
+                return (EditPart)part;
+            }
+        }
+        return hit;
+    }
+
+    private static int getHitRank(final GraphicalEditPart part) {
+        if (part instanceof ConnectionContainerEditPart) {
+            return 3;
+        } else if (part instanceof NodeContainerEditPart) {
+            return 2;
+        } else if (part instanceof AnnotationEditPart) {
+            return 1;
+        }
+        return 0;
+    }
+
     private void translateFigureLocation(final Rectangle bounds) {
         final Viewport vp = ((FigureCanvas)m_parentViewer.getControl()).getViewport();
         final org.eclipse.draw2d.geometry.Point location = vp.getViewLocation();
@@ -272,6 +272,7 @@
 import org.knime.workbench.editor2.actions.ZoomOutAlternateIncrementAction;
 import org.knime.workbench.editor2.actions.ZoomResetAction;
 import org.knime.workbench.editor2.actions.search.FindResults;
+import org.knime.workbench.editor2.actions.search.NodeSearchIndex;
 import org.knime.workbench.editor2.commands.CreateNewConnectedMetaNodeCommand;
 import org.knime.workbench.editor2.commands.CreateNewConnectedNodeCommand;
 import org.knime.workbench.editor2.commands.CreateNodeCommand;
@@ -300,6 +301,7 @@
 import org.knime.workbench.explorer.view.dialogs.SnapshotPanel;
 import org.knime.workbench.ui.KNIMEUIPlugin;
 import org.knime.workbench.ui.SyncExecQueueDispatcher;
+import org.knime.workbench.ui.UIEventBatchDispatcher;
 import org.knime.workbench.ui.navigator.ProjectWorkflowMap;
 import org.knime.workbench.ui.navigator.WorkflowEditorAdapter;
 import org.knime.workbench.ui.preferences.PreferenceConstants;
@@ -384,6 +386,8 @@ public class WorkflowEditor extends GraphicalEditor implements
 
     private FindResults m_lastSearchResults;
 
+    private NodeSearchIndex m_searchIndex;
+
     private WorkflowEditorMode m_editorMode;
 
     /** path to the workflow directory (that contains the workflow.knime file). */
@@ -421,6 +425,11 @@ public class WorkflowEditor extends GraphicalEditor implements
 
     private final Semaphore m_workflowCanBeDeleted = new Semaphore(1);
 
+    /** Coalescing keys for the {@link UIEventBatchDispatcher}, i.e. at most one such update per editor is pending. */
+    private final Object m_connectionHighlightUpdateKey = new Object();
+
+    private final Object m_updateActionsKey = new Object();
+
     /**
      * Refresher for the workflow editor. Only non-null if underlying workflow manager is of type
      * {@link AsyncWorkflowManagerUI}.
@@ -675,6 +684,9 @@ public void dispose() {
         if (m_lastSearchResults != null) {
             m_lastSearchResults.dispose();
         }
+        if (m_searchIndex != null) {
+            m_searchIndex.dispose();
+        }
         if (m_fileResource != null && m_manager != null) {
             // disposed is also called when workflow load fails or is canceled
             ProjectWorkflowMap.unregisterClientFrom(m_fileResource, this);
@@ -3061,6 +3073,22 @@ public void setSearchResults(final FindResults results) {
         }
     }
 
+    /**
+     * Returns the index searched by the find-node pop over. It is created on first use and from then on kept up to
+     * date with the workflow (including its metanodes and components) until this editor is disposed.
+     *
+     * @return the node search index of this editor's workflow
+     * @throws IllegalStateException if this editor has no (local) workflow manager
+     * @since 5.1
+     */
+    public NodeSearchIndex getSearchIndex() {
+        if (m_searchIndex == null) {
+            m_searchIndex = new NodeSearchIndex(getWorkflowManager()
+                .orElseThrow(() -> new IllegalStateException("Could not get the workflow manager of the editor.")));
+        }
+        return m_searchIndex;
+    }
+
     /**
      * @return true if there are search results
      */
@@ -3714,7 +3742,30 @@ public static int getActiveEditorGridXOffset(final int xOffset) {
     @Override
     public void workflowChanged(final WorkflowEvent event) {
         LOGGER.debug("Workflow event triggered: " + event.toString());
-        SyncExecQueueDispatcher.asyncExec(() -> {
+        switch (event.getType()) {
+            case CONNECTION_ADDED:
+                // We need an additional cycle delay for the situation in which this connection add
+                //  was achieved by dragging on the port of a not-currently-selected-node; in that case
+                //  we need the seletion process of that node to complete before telling the connection
+                //  highlighter to highlight connections based on the current workflow selection.
+                UIEventBatchDispatcher.asyncExec(() -> UIEventBatchDispatcher
+                    .asyncExec(m_connectionHighlightUpdateKey, () -> {
+                        if (WorkflowEditor.this.isClosed()) {
+                            return;
+                        }
+
+                        m_connectionHighlighter.selectionChanged(WorkflowEditor.this,
+                                                                 getSite().getSelectionProvider().getSelection());
+                    }));
+                // fall through
+            case CONNECTION_REMOVED:
+                // connection edit parts are updated incrementally by the WorkflowRootEditPart
+                updateActionsBatched();
+                return;
+            default:
+                // handled below
+        }
+        UIEventBatchDispatcher.asyncExec(() -> {
             if (WorkflowEditor.this.isClosed()) {
                 return;
             }
@@ -3742,22 +3793,6 @@ public void workflowChanged(final WorkflowEvent event) {
                         }
                     }
                     break;
-                case CONNECTION_ADDED:
-                    SyncExecQueueDispatcher.asyncExec(() -> {
-                        // We need an additional cycle delay for the situation in which this connection add
-                        //  was achieved by dragging on the port of a not-currently-selected-node; in that case
-                        //  we need the seletion process of that node to complete before telling the connection
-                        //  highlighter to highlight connections based on the current workflow selection.
-                        if (WorkflowEditor.this.isClosed()) {
-                            return;
-                        }
-
-                        m_connectionHighlighter.selectionChanged(WorkflowEditor.this,
-                                                                 getSite().getSelectionProvider().getSelection());
-                    });
-                case CONNECTION_REMOVED:
-                    getViewer().getContents().refresh();
-                    break;
                 case WORKFLOW_DIRTY:
                     if (isComponentProjectWFM()) {
                         //filter out the dirty events due to node state changes
@@ -3775,7 +3810,16 @@ public void workflowChanged(final WorkflowEvent event) {
                 default:
                     // all other event types are handled somewhere else, e.g. in edit policies etc
             }
-            updateActions();
+            updateActionsBatched();
+        });
+    }
+
+    /** Updates the actions with the current batch of UI events, once for all events of the same editor. */
+    private void updateActionsBatched() {
+        UIEventBatchDispatcher.asyncExec(m_updateActionsKey, () -> {
+            if (!WorkflowEditor.this.isClosed()) {
+                updateActions();
+            }
         });
     }
 
@@ -208,7 +208,7 @@ private void calculateConnections(final Collection<GraphicalEditPart> newSelecti
     private void calculateNewSelection(final Collection<GraphicalEditPart> newSelections,
             final Collection<GraphicalEditPart> deselections) {
         Rectangle marqueeRect = getMarqueeSelectionRectangle();
-        for (Iterator<GraphicalEditPart> itr = getAllChildren().iterator(); itr.hasNext();) {
+        for (Iterator<GraphicalEditPart> itr = getCandidates(marqueeRect).iterator(); itr.hasNext();) {
             GraphicalEditPart child = itr.next();
             IFigure figure = child.getFigure();
             if (!child.isSelectable()
@@ -315,6 +315,29 @@ private void eraseTargetFeedback() {
         }
     }
 
+    /**
+     * Returns the edit parts that need to be tested against the marquee. If the viewer has a
+     * {@link CanvasSpatialIndex}, these are only the edit parts near the marquee. In toggle mode all edit parts are
+     * returned as the ones outside of the marquee are (de-)selected, too.
+     */
+    private Collection<GraphicalEditPart> getCandidates(final Rectangle marqueeRect) {
+        final CanvasSpatialIndex index = isToggle() ? null : CanvasSpatialIndex.find(getCurrentViewer());
+        if (index == null || index.isEmpty()) {
+            return getAllChildren();
+        }
+        final boolean includeNodes = marqueeBehavior == BEHAVIOR_NODES_CONTAINED
+                || marqueeBehavior == BEHAVIOR_NODES_AND_CONNECTIONS_TOUCHED;
+        final boolean includeConnections = marqueeBehavior == BEHAVIOR_CONNECTIONS_TOUCHED
+                || marqueeBehavior == BEHAVIOR_NODES_AND_CONNECTIONS_TOUCHED;
+        final List<GraphicalEditPart> candidates = new ArrayList<GraphicalEditPart>();
+        for (GraphicalEditPart part : index.query(index.toIndexCoordinates(marqueeRect))) {
+            if (part instanceof ConnectionEditPart ? includeConnections : includeNodes) {
+                candidates.add(part);
+            }
+        }
+        return candidates;
+    }
+
     private Set<GraphicalEditPart> getAllChildren() {
         if (allChildren.isEmpty()) {
             getAllChildren(getCurrentViewer().getRootEditPart(), allChildren);
@@ -49,9 +49,9 @@
 package org.knime.workbench.editor2.actions.search;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -98,8 +98,8 @@
 import org.knime.core.ui.node.workflow.SubNodeContainerUI;
 import org.knime.core.ui.node.workflow.WorkflowManagerUI;
 import org.knime.core.ui.util.SWTUtilities;
+import org.knime.core.ui.wrapper.NodeContainerWrapper;
 import org.knime.core.ui.wrapper.WorkflowManagerWrapper;
-import org.knime.core.ui.wrapper.Wrapper;
 import org.knime.workbench.editor2.WorkflowEditor;
 import org.knime.workbench.editor2.WorkflowManagerInput;
 import org.knime.workbench.editor2.editparts.NodeContainerEditPart;
@@ -108,12 +108,9 @@
 /**
  * The genesis for this dialog is https://knime-com.atlassian.net/browse/AP-6904
  *
- * Note, for 4.1.0 we will only search the currently open (currently focused editor) worfklow - no children
- *  nor parents. (This is not completely true, technically - we have provided an easter egg for Iris.)
- *
- * Future optimizations:
- *          - move to using multiple Tries for faster search results
- *          - potentially cache a "global" list and listen for node additions and deletions to update the cache
+ * The search covers the currently open (currently focused editor) workflow and, recursively, the contents of its
+ *  metanodes and components, using the editor's incrementally maintained {@link NodeSearchIndex}. Selecting a node
+ *  inside a metanode or component opens its editor. (Additionally we have provided an easter egg for Iris.)
  *
  * @author loki der quaeler
  */
@@ -121,6 +118,7 @@ public class FindNodePopOver extends PopupDialog {
     static final Pattern NODE_ID_PATTERN = Pattern.compile("^[\\d]{1,2}:?");
 
     private static final int MAX_CHARACTER_LENGTH_FOR_NODE_ANNOTATION_IN_LABEL = 33;
+    private static final int MAX_RESULTS = 1000;
     private static final Point POP_OVER_SIZE = new Point(500, 375);
 
     private static final Pattern EASTER_EGG_NODE_ID_PATTERN = Pattern.compile("^[\\d]{1,2}:[\\d]{1,8}");
@@ -136,7 +134,9 @@ public class FindNodePopOver extends PopupDialog {
     private final WorkflowManager m_workflowManager;
     private final WorkflowEditor m_workflowEditor;
 
-    private final ArrayList<NodeContainerDisplayWrapper> m_fullContainerList;
+    private final NodeSearchIndex m_searchIndex;
+    // display wrappers are created (and their images rendered) on demand, disposed when the pop over closes
+    private final Map<NodeContainer, NodeContainerDisplayWrapper> m_displayWrappers;
 
     private ArrayList<NodeContainerDisplayWrapper> m_lastSearchResults;
     private int m_selectedIndex;
@@ -154,15 +154,19 @@ public FindNodePopOver(final WorkflowEditor workflowEditor) {
         }
         m_workflowManager = workflowManager.get();
 
-        m_fullContainerList = produceSortedNodeList();
+        m_searchIndex = workflowEditor.getSearchIndex();
+        m_displayWrappers = new HashMap<>();
+        m_lastSearchResults = search("");
         m_selectedIndex = -1;
     }
 
     @Override
     public boolean close() {
         if (m_selectedIndex >= 0) {
+            // only nodes of this editor's workflow can be cycled through with "find next"
             final List<NodeContainer> results = new ArrayList<>();
-            m_lastSearchResults.stream().forEach(wrapper -> results.add(wrapper.getNodeContainer()));
+            m_lastSearchResults.stream().map(NodeContainerDisplayWrapper::getNodeContainer)
+                .filter(this::isInCurrentWorkflow).forEach(results::add);
 
             m_workflowEditor.setSearchResults(new FindResults(results, m_selectedIndex, m_searchField.getText()));
         } else {
@@ -170,7 +174,7 @@ public boolean close() {
         }
 
         m_lastSearchResults = null;
-        m_fullContainerList.stream().forEach(wrapper -> wrapper.getDisplayImage().dispose());
+        m_displayWrappers.values().stream().forEach(NodeContainerDisplayWrapper::dispose);
 
         return super.close();
     }
@@ -254,31 +258,7 @@ public void keyReleased(final KeyEvent e) {
                     return;
                 }
 
-                final String text = m_searchField.getText();
-
-                if (text.trim().length() == 0) {
-                    m_lastSearchResults = m_fullContainerList;
-                } else {
-                    m_lastSearchResults = new ArrayList<>();
-
-                    // see class javadoc to-do notes concerning Tries
-                    final Matcher m = NODE_ID_PATTERN.matcher(text);
-                    final boolean searchNodeIds = m.find();
-                    if (searchNodeIds) {
-                        for (final NodeContainerDisplayWrapper displayWrapper : m_fullContainerList) {
-                            if (displayWrapper.getNodeContainer().getID().toString().contains(text)) {
-                                m_lastSearchResults.add(displayWrapper);
-                            }
-                        }
-                    } else {
-                        final String lcText = text.toLowerCase();
-                        for (final NodeContainerDisplayWrapper displayWrapper : m_fullContainerList) {
-                            if (displayWrapper.getSearchableText().contains(lcText)) {
-                                m_lastSearchResults.add(displayWrapper);
-                            }
-                        }
-                    }
-                }
+                m_lastSearchResults = search(m_searchField.getText());
 
                 m_nodeTreeViewer.setInput(m_lastSearchResults);
                 if (m_lastSearchResults.size() > 0) {
@@ -311,8 +291,10 @@ public void mouseUp(final MouseEvent e) { }
         });
         m_nodeTreeViewer.setLabelProvider(new NodeLabelProvider());
         m_nodeTreeViewer.setContentProvider(new NodeTreeContentProvider());
-        m_nodeTreeViewer.setInput(m_fullContainerList);
-        tree.select(tree.getItem(0));
+        m_nodeTreeViewer.setInput(m_lastSearchResults);
+        if (tree.getItemCount() > 0) {
+            tree.select(tree.getItem(0));
+        }
         tree.setBackground(TREE_CELL_BACKGROUND);
 
         return content;
@@ -330,34 +312,34 @@ private void adjustTreeSelectionBy(final int delta) {
         tree.setSelection(tree.getItem(finalIndex));
     }
 
-    private final ArrayList<NodeContainerDisplayWrapper> produceSortedNodeList() {
-        final ArrayList<NodeContainerDisplayWrapper> nodeList = new ArrayList<>();
-        final WorkflowManagerUI wmUI = m_workflowEditor.getWorkflowManagerUI();
-        final Display d = PlatformUI.getWorkbench().getDisplay();
-
-        wmUI.getNodeContainers().stream().forEach(ncUI -> nodeList.add(new NodeContainerDisplayWrapper(ncUI, d)));
-
-        Collections.sort(nodeList, new Comparator<NodeContainerDisplayWrapper>() {
-            @Override
-            public int compare(final NodeContainerDisplayWrapper dw1, final NodeContainerDisplayWrapper dw2) {
-                final String s1 = dw1.getNodeContainer().getNameWithID();
-                final String s2 = dw2.getNodeContainer().getNameWithID();
-                return s1.compareTo(s2);
-            }
-        });
+    private ArrayList<NodeContainerDisplayWrapper> search(final String text) {
+        final ArrayList<NodeContainerDisplayWrapper> results = new ArrayList<>();
+        for (final NodeContainer nc : m_searchIndex.search(text, MAX_RESULTS)) {
+            results.add(m_displayWrappers.computeIfAbsent(nc, NodeContainerDisplayWrapper::new));
+        }
+        return results;
+    }
 
-        return nodeList;
+    private boolean isInCurrentWorkflow(final NodeContainer nc) {
+        return m_workflowManager.equals(nc.getParent());
     }
 
     // This method is incredibly brief currently - but will not be so in the future where we support more
     //      robust search scenarios.
     private void handleNodeSelection(final NodeContainerDisplayWrapper displayWrapper) {
-        m_workflowEditor.setNodeSelection(displayWrapper.getNodeContainer());
-
-        // it would be more performant to grab the selection index from the tree, but i am keeping this open
-        //      ended for future cases in which this method is invoked in response to something other than
-        //      tree selection
-        m_selectedIndex = m_lastSearchResults.indexOf(displayWrapper);
+        final NodeContainer nc = displayWrapper.getNodeContainer();
+        if (isInCurrentWorkflow(nc)) {
+            m_workflowEditor.setNodeSelection(nc);
+
+            // it would be more performant to grab the selection index from the tree, but i am keeping this open
+            //      ended for future cases in which this method is invoked in response to something other than
+            //      tree selection; the index is the one in the results of the current workflow (see #close())
+            m_selectedIndex = (int)m_lastSearchResults.stream().limit(m_lastSearchResults.indexOf(displayWrapper))
+                .filter(wrapper -> isInCurrentWorkflow(wrapper.getNodeContainer())).count();
+        } else {
+            // a node inside a metanode or component
+            revealNode(nc);
+        }
 
         close();
     }
@@ -378,59 +360,64 @@ private void searchRobustlyForNode(final String id) {
             MessageDialog.openWarning(SWTUtilities.getKNIMEWorkbenchShell(), "Not Found",
                 "We could find no node with the id, " + id);
         } else {
-            final WorkflowManager parent = nc.getParent();
-            final IWorkbenchPage iwp = PlatformUI.getWorkbench().getActiveWorkbenchWindow().getActivePage();
+            revealNode(nc);
+        }
+    }
+
+    // Selects the node in the editor of its parent workflow, opening that editor if needed
+    private void revealNode(final NodeContainer nc) {
+        final WorkflowManager projectWM = m_workflowManager.getProjectWFM();
+        final WorkflowManager parent = nc.getParent();
+        final IWorkbenchPage iwp = PlatformUI.getWorkbench().getActiveWorkbenchWindow().getActivePage();
 
-            WorkflowEditor we = null;
-            if (parent.equals(projectWM)) {
-                final IEditorReference[] editorReferences = iwp.getEditorReferences();
+        WorkflowEditor we = null;
+        if (parent.equals(projectWM)) {
+            final IEditorReference[] editorReferences = iwp.getEditorReferences();
 
-                for (final IEditorReference reference : editorReferences) {
-                    final IEditorPart iep = reference.getEditor(false);
+            for (final IEditorReference reference : editorReferences) {
+                final IEditorPart iep = reference.getEditor(false);
 
-                    if (iep instanceof WorkflowEditor) {
-                        final Optional<WorkflowManager> wmOpt = ((WorkflowEditor)iep).getWorkflowManager();
+                if (iep instanceof WorkflowEditor) {
+                    final Optional<WorkflowManager> wmOpt = ((WorkflowEditor)iep).getWorkflowManager();
 
-                        if (wmOpt.isPresent() && wmOpt.get().equals(parent)) {
-                            we = ((WorkflowEditor)iep);
-                            break;
-                        }
+                    if (wmOpt.isPresent() && wmOpt.get().equals(parent)) {
+                        we = ((WorkflowEditor)iep);
+                        break;
                     }
                 }
+            }
 
-                if (we != null) {
-                    iwp.activate(we);
-                } else {
-                    MessageDialog.openInformation(SWTUtilities.getKNIMEWorkbenchShell(), "Search Problem...",
-                        "We were able to find the node, but not its editor which should already be open.");
-                }
+            if (we != null) {
+                iwp.activate(we);
             } else {
-                final WorkflowManagerUI wmUI = WorkflowManagerWrapper.wrap(parent);
-                try {
-                    // TODO this may be an incorrect assignation of the 'parent'
-                    final WorkflowEditor parentEditor = (WorkflowEditor)iwp.getActiveEditor();
-                    final WorkflowManagerInput input = new WorkflowManagerInput(wmUI, parentEditor);
-
-                    we = (WorkflowEditor)iwp.openEditor(input, WorkflowEditor.ID);
-                } catch (PartInitException e) {
-                    LOGGER.error("Error while opening new editor", e);
-                }
+                MessageDialog.openInformation(SWTUtilities.getKNIMEWorkbenchShell(), "Search Problem...",
+                    "We were able to find the node, but not its editor which should already be open.");
             }
+        } else {
+            final WorkflowManagerUI wmUI = WorkflowManagerWrapper.wrap(parent);
+            try {
+                // TODO this may be an incorrect assignation of the 'parent'
+                final WorkflowEditor parentEditor = (WorkflowEditor)iwp.getActiveEditor();
+                final WorkflowManagerInput input = new WorkflowManagerInput(wmUI, parentEditor);
+
+                we = (WorkflowEditor)iwp.openEditor(input, WorkflowEditor.ID);
+            } catch (PartInitException e) {
+                LOGGER.error("Error while opening new editor", e);
+            }
+        }
 
-            if (we != null) {
-                final NodeContainer nodeContainer = nc;
-                final WorkflowEditor workflowEditor = we;
-                final Runnable r = () -> {
-                    try {
-                        Thread.sleep(300);
-                    } catch (final Exception e) {
-                    }
+        if (we != null) {
+            final WorkflowEditor workflowEditor = we;
+            final Runnable r = () -> {
+                try {
+                    Thread.sleep(300);
+                } catch (final Exception e) {
+                }
 
-                    workflowEditor.setNodeSelection(nodeContainer);
-                };
+                workflowEditor.setNodeSelection(nc);
+            };
 
-                KNIMEConstants.GLOBAL_THREAD_POOL.enqueue(r);
-            }
+            KNIMEConstants.GLOBAL_THREAD_POOL.enqueue(r);
         }
     }
 
@@ -589,16 +576,16 @@ private static class NodeContainerDisplayWrapper {
         private final NodeContainer m_nodeContainer;
 
         private final String m_displayText;
-        private final String m_searchText;
 
         private final int[] m_rangeIndices;
 
         private final boolean m_renderLowerText;
 
-        private final Image m_displayImage;
+        // rendered on first display only
+        private Image m_displayImage;
 
-        private NodeContainerDisplayWrapper(final NodeContainerUI ncUI, final Display display) {
-            m_nodeContainer = Wrapper.unwrapNC(ncUI);
+        private NodeContainerDisplayWrapper(final NodeContainer nodeContainer) {
+            m_nodeContainer = nodeContainer;
 
             final ProcessedNodeAttributes processed = new ProcessedNodeAttributes(m_nodeContainer);
 
@@ -607,18 +594,21 @@ private NodeContainerDisplayWrapper(final NodeContainerUI ncUI, final Display di
             m_rangeIndices[0] = m_nodeContainer.getName().length();
             m_rangeIndices[m_renderLowerText ? 2 : 1] = m_nodeContainer.getID().toString().length() + 3;
             m_displayText = processed.getDisplayText();
-            m_searchText = processed.getSearchText();
             if (m_renderLowerText) {
                 m_rangeIndices[1] = processed.getStyleRangeDelimiterForAnnotationText();
             }
+        }
 
+        private Image renderDisplayImage() {
+            final NodeContainerUI ncUI = NodeContainerWrapper.wrap(m_nodeContainer);
             final DisplayableNodeType dnt =
                     DisplayableNodeType.getTypeForNodeType(m_nodeContainer.getType(), (ncUI instanceof SubNodeContainerUI));
             final Image backgroundImage = dnt.getImage();
             final Rectangle backgroundBounds = backgroundImage.getBounds();
 
-            m_displayImage = new Image(display, backgroundBounds.width, backgroundBounds.height);
-            final GC gc = new GC(m_displayImage);
+            final Image displayImage =
+                new Image(PlatformUI.getWorkbench().getDisplay(), backgroundBounds.width, backgroundBounds.height);
+            final GC gc = new GC(displayImage);
 
             gc.setAntialias(SWT.ON);
             gc.setInterpolation(SWT.HIGH);
@@ -633,16 +623,14 @@ private NodeContainerDisplayWrapper(final NodeContainerUI ncUI, final Display di
             }
 
             gc.dispose();
+
+            return displayImage;
         }
 
         String getDisplayText() {
             return m_displayText;
         }
 
-        String getSearchableText() {
-            return m_searchText;
-        }
-
         int[] getRangeIndices() {
             return m_rangeIndices;
         }
@@ -656,7 +644,16 @@ NodeContainer getNodeContainer() {
         }
 
         Image getDisplayImage() {
+            if (m_displayImage == null) {
+                m_displayImage = renderDisplayImage();
+            }
             return m_displayImage;
         }
+
+        void dispose() {
+            if (m_displayImage != null) {
+                m_displayImage.dispose();
+            }
+        }
     }
 }
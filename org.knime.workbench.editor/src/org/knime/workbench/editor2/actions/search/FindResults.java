@@ -63,8 +63,7 @@
  * last displayed result (and, so therefore, be able to fetch the next result in a ring fashion.) It also keeps the
  * search criteria and applies it to new nodes added to the workflow for possible inclusion in the results.
  *
- * See notes in {@link FindNodePopOver} class javadocs concerning future use of an alternate data structure for
- * searches.
+ * The find operation itself is answered by the editor's {@link NodeSearchIndex}.
  *
  * @author loki der quaeler
  */
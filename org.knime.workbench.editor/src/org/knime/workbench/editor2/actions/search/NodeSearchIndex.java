@@ -0,0 +1,447 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026: created
+ */
+package org.knime.workbench.editor2.actions.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.knime.core.node.workflow.NativeNodeContainer;
+import org.knime.core.node.workflow.NodeContainer;
+import org.knime.core.node.workflow.NodePropertyChangedEvent;
+import org.knime.core.node.workflow.NodePropertyChangedEvent.NodeProperty;
+import org.knime.core.node.workflow.NodePropertyChangedListener;
+import org.knime.core.node.workflow.NodeUIInformationEvent;
+import org.knime.core.node.workflow.NodeUIInformationListener;
+import org.knime.core.node.workflow.SubNodeContainer;
+import org.knime.core.node.workflow.WorkflowEvent;
+import org.knime.core.node.workflow.WorkflowListener;
+import org.knime.core.node.workflow.WorkflowManager;
+
+/**
+ * Full-text index over the nodes of a workflow, including the nodes inside its metanodes and components
+ * (recursively), as searched by the {@link FindNodePopOver}. The searchable text of a node (name, annotation, node ID
+ * and, for native nodes, the simple name of the factory class without the "NodeFactory" suffix) is split into
+ * trigrams; a query only verifies the nodes contained in the posting sets of all its trigrams instead of scanning every
+ * node on each keystroke.
+ *
+ * The index is built once per editor and then kept up to date from {@link WorkflowListener} events (nodes added and
+ * removed), node property events (name, lock status of metanodes and components) and node annotation changes.
+ * Contents of locked metanodes and components are not indexed.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 5.1
+ */
+public final class NodeSearchIndex {
+
+    private static final int GRAM_LENGTH = 3;
+
+    private static final String FACTORY_SUFFIX = "NodeFactory";
+
+    private static final Comparator<Match> MATCH_ORDER = Comparator.<Match> comparingInt(m -> m.m_rank)
+        .thenComparingInt(m -> m.m_entry.m_depth).thenComparing(m -> m.m_nameWithID);
+
+    /** Guarded by 'this'. */
+    private final Map<NodeContainer, Entry> m_entries = new HashMap<>();
+
+    /** Trigram to the entries whose text contains it, guarded by 'this'. */
+    private final Map<String, Set<Entry>> m_postings = new HashMap<>();
+
+    /** The indexed (and listened to) workflows and their nesting depth, guarded by 'this'. */
+    private final Map<WorkflowManager, Integer> m_workflowDepths = new HashMap<>();
+
+    private final WorkflowListener m_workflowListener = this::workflowChanged;
+
+    /** Guarded by 'this'. */
+    private boolean m_disposed;
+
+    /**
+     * Indexes all nodes of the given workflow and starts listening to it.
+     *
+     * @param workflowManager the workflow to index
+     */
+    public NodeSearchIndex(final WorkflowManager workflowManager) {
+        addWorkflow(workflowManager, 0);
+    }
+
+    /**
+     * Searches the index. An empty query returns the nodes of the top-level workflow; a query starting with a node ID
+     * only matches node IDs, otherwise the query matches (case insensitive) node names, annotations, IDs and factory
+     * names. Nodes whose name starts with the query rank first, followed by nodes with a word of the name starting
+     * with it, nodes whose name contains it and finally nodes with other matching text; ties are ordered by nesting
+     * depth and name.
+     *
+     * @param query the text entered by the user
+     * @param maxResults the maximum number of results to return
+     * @return the matching nodes, best match first
+     */
+    public List<NodeContainer> search(final String query, final int maxResults) {
+        final List<Match> matches = new ArrayList<>();
+        synchronized (this) {
+            if (query.trim().isEmpty()) {
+                m_entries.values().stream().filter(e -> e.m_depth == 0).forEach(e -> matches.add(new Match(e, 0)));
+            } else if (FindNodePopOver.NODE_ID_PATTERN.matcher(query).find()) {
+                for (final Entry e : getCandidates(query.toLowerCase())) {
+                    if (e.m_id.contains(query)) {
+                        matches.add(new Match(e, rankID(e, query)));
+                    }
+                }
+            } else {
+                final String lcQuery = query.toLowerCase();
+                final String wordStart = " " + lcQuery;
+                for (final Entry e : getCandidates(lcQuery)) {
+                    if (e.m_text.contains(lcQuery)) {
+                        matches.add(new Match(e, rankText(e, lcQuery, wordStart)));
+                    }
+                }
+            }
+        }
+        matches.sort(MATCH_ORDER);
+        final List<NodeContainer> result = new ArrayList<>(Math.min(maxResults, matches.size()));
+        for (int i = 0; i < matches.size() && i < maxResults; i++) {
+            result.add(matches.get(i).m_entry.m_nodeContainer);
+        }
+        return result;
+    }
+
+    /** Stops listening to the workflows and nodes and clears the index. */
+    public void dispose() {
+        final List<WorkflowManager> workflows;
+        final List<Entry> entries;
+        synchronized (this) {
+            m_disposed = true;
+            workflows = new ArrayList<>(m_workflowDepths.keySet());
+            entries = new ArrayList<>(m_entries.values());
+            m_workflowDepths.clear();
+            m_entries.clear();
+            m_postings.clear();
+        }
+        workflows.forEach(wfm -> wfm.removeListener(m_workflowListener));
+        entries.forEach(Entry::removeListeners);
+    }
+
+    /** Called with 'this' locked. */
+    private Collection<Entry> getCandidates(final String lcQuery) {
+        if (lcQuery.length() < GRAM_LENGTH) {
+            return m_entries.values();
+        }
+        Set<Entry> smallest = null;
+        final Set<String> grams = grams(lcQuery);
+        for (final String gram : grams) {
+            final Set<Entry> posting = m_postings.get(gram);
+            if (posting == null) {
+                return List.of();
+            }
+            if (smallest == null || posting.size() < smallest.size()) {
+                smallest = posting;
+            }
+        }
+        final List<Entry> candidates = new ArrayList<>();
+        for (final Entry e : smallest) {
+            if (e.m_grams.containsAll(grams)) {
+                candidates.add(e);
+            }
+        }
+        return candidates;
+    }
+
+    private static int rankID(final Entry e, final String query) {
+        if (e.m_id.equals(query)) {
+            return 0;
+        }
+        return e.m_id.startsWith(query) ? 1 : 2;
+    }
+
+    private static int rankText(final Entry e, final String lcQuery, final String wordStart) {
+        if (e.m_name.startsWith(lcQuery)) {
+            return 0;
+        } else if (e.m_name.contains(wordStart)) {
+            return 1;
+        } else if (e.m_name.contains(lcQuery)) {
+            return 2;
+        }
+        return 3;
+    }
+
+    private static Set<String> grams(final String text) {
+        final Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private void workflowChanged(final WorkflowEvent event) {
+        switch (event.getType()) {
+            case NODE_ADDED:
+                final NodeContainer added = (NodeContainer)event.getNewValue();
+                final Integer depth;
+                synchronized (this) {
+                    depth = m_workflowDepths.get(added.getParent());
+                }
+                if (depth != null) {
+                    addNode(added, added.getParent(), depth);
+                }
+                break;
+            case NODE_REMOVED:
+                removeNode((NodeContainer)event.getOldValue());
+                break;
+            default:
+                // NOOP
+        }
+    }
+
+    // Workflow traversal and listener registration happen outside of the lock on 'this' as they may acquire the
+    // workflow lock, which event threads calling into this index might already hold.
+
+    private void addWorkflow(final WorkflowManager wfm, final int depth) {
+        synchronized (this) {
+            if (m_disposed || m_workflowDepths.putIfAbsent(wfm, depth) != null) {
+                return;
+            }
+        }
+        // listen first, nodes added in the meantime are only indexed once
+        wfm.addListener(m_workflowListener);
+        for (final NodeContainer nc : wfm.getNodeContainers()) {
+            addNode(nc, wfm, depth);
+        }
+    }
+
+    private void addNode(final NodeContainer nc, final WorkflowManager wfm, final int depth) {
+        final Entry entry = new Entry(nc, wfm, depth);
+        // listen before publishing, otherwise a concurrent removal could miss (and leak) the listeners; events
+        // arriving before the entry is published are ignored by the entry
+        nc.addNodePropertyChangedListener(entry);
+        nc.getNodeAnnotation().addUIInformationListener(entry);
+        final boolean published;
+        synchronized (this) {
+            published = !m_disposed && m_entries.putIfAbsent(nc, entry) == null;
+            if (published) {
+                index(entry);
+            }
+        }
+        if (!published) {
+            entry.removeListeners();
+            return;
+        }
+        addChildren(nc, depth + 1);
+    }
+
+    private void addChildren(final NodeContainer nc, final int depth) {
+        final WorkflowManager inner = getInnerWorkflow(nc);
+        if (inner != null && (!inner.isEncrypted() || inner.isUnlocked())) {
+            addWorkflow(inner, depth);
+        }
+    }
+
+    private void removeNode(final NodeContainer nc) {
+        final Entry entry;
+        synchronized (this) {
+            entry = m_entries.remove(nc);
+            if (entry == null) {
+                return;
+            }
+            unindex(entry);
+        }
+        entry.removeListeners();
+        removeChildren(nc);
+    }
+
+    private void removeChildren(final NodeContainer nc) {
+        final WorkflowManager inner = getInnerWorkflow(nc);
+        if (inner == null) {
+            return;
+        }
+        final List<NodeContainer> children = new ArrayList<>();
+        synchronized (this) {
+            if (m_workflowDepths.remove(inner) == null) {
+                return;
+            }
+            m_entries.values().stream().filter(e -> e.m_workflow == inner)
+                .forEach(e -> children.add(e.m_nodeContainer));
+        }
+        inner.removeListener(m_workflowListener);
+        children.forEach(this::removeNode);
+    }
+
+    private static WorkflowManager getInnerWorkflow(final NodeContainer nc) {
+        if (nc instanceof WorkflowManager) {
+            return (WorkflowManager)nc;
+        } else if (nc instanceof SubNodeContainer) {
+            return ((SubNodeContainer)nc).getWorkflowManager();
+        }
+        return null;
+    }
+
+    /** Called with 'this' locked. */
+    private void index(final Entry entry) {
+        for (final String gram : entry.m_grams) {
+            m_postings.computeIfAbsent(gram, g -> Collections.newSetFromMap(new IdentityHashMap<>())).add(entry);
+        }
+    }
+
+    /** Called with 'this' locked. */
+    private void unindex(final Entry entry) {
+        for (final String gram : entry.m_grams) {
+            final Set<Entry> posting = m_postings.get(gram);
+            if (posting != null && posting.remove(entry) && posting.isEmpty()) {
+                m_postings.remove(gram);
+            }
+        }
+    }
+
+    /** A search hit with its rank; keeps a copy of the name as the entry may change while sorting. */
+    private static final class Match {
+
+        private final Entry m_entry;
+
+        private final int m_rank;
+
+        private final String m_nameWithID;
+
+        Match(final Entry entry, final int rank) {
+            m_entry = entry;
+            m_rank = rank;
+            m_nameWithID = entry.m_nameWithID;
+        }
+    }
+
+    /** An indexed node, listens to changes of its name, lock status and annotation. */
+    private final class Entry implements NodePropertyChangedListener, NodeUIInformationListener {
+
+        private final NodeContainer m_nodeContainer;
+
+        private final WorkflowManager m_workflow;
+
+        private final int m_depth;
+
+        private final String m_id;
+
+        // the fields below are replaced (with 'NodeSearchIndex.this' locked) when the node changes
+
+        private String m_name;
+
+        private String m_nameWithID;
+
+        private String m_text;
+
+        private Set<String> m_grams;
+
+        Entry(final NodeContainer nc, final WorkflowManager workflow, final int depth) {
+            m_nodeContainer = nc;
+            m_workflow = workflow;
+            m_depth = depth;
+            m_id = nc.getID().toString();
+            update();
+        }
+
+        private void update() {
+            m_name = m_nodeContainer.getName().toLowerCase();
+            m_nameWithID = m_nodeContainer.getNameWithID();
+            String text = new FindNodePopOver.ProcessedNodeAttributes(m_nodeContainer).getSearchText();
+            if (m_nodeContainer instanceof NativeNodeContainer) {
+                text = text + " " + getFactoryName((NativeNodeContainer)m_nodeContainer).toLowerCase();
+            }
+            m_text = text;
+            m_grams = grams(text);
+        }
+
+        /** The simple name of the node's factory class without the "NodeFactory" suffix, e.g. "RowFilter". */
+        private static String getFactoryName(final NativeNodeContainer nnc) {
+            final String name = nnc.getNode().getFactory().getClass().getSimpleName();
+            return name.endsWith(FACTORY_SUFFIX) ? name.substring(0, name.length() - FACTORY_SUFFIX.length()) : name;
+        }
+
+        private void reindex() {
+            synchronized (NodeSearchIndex.this) {
+                if (m_entries.get(m_nodeContainer) != this) {
+                    return;
+                }
+                unindex(this);
+                update();
+                index(this);
+            }
+        }
+
+        private boolean isIndexed() {
+            synchronized (NodeSearchIndex.this) {
+                return m_entries.get(m_nodeContainer) == this;
+            }
+        }
+
+        void removeListeners() {
+            m_nodeContainer.removeNodePropertyChangedListener(this);
+            m_nodeContainer.getNodeAnnotation().removeUIInformationListener(this);
+        }
+
+        @Override
+        public void nodePropertyChanged(final NodePropertyChangedEvent e) {
+            if (e.getProperty() == NodeProperty.Name) {
+                reindex();
+            } else if (e.getProperty() == NodeProperty.LockStatus && isIndexed()) {
+                // contents of a metanode or component become (in)accessible
+                removeChildren(m_nodeContainer);
+                addChildren(m_nodeContainer, m_depth + 1);
+            }
+        }
+
+        @Override
+        public void nodeUIInformationChanged(final NodeUIInformationEvent evt) {
+            // the node annotation changed
+            reindex();
+        }
+    }
+}
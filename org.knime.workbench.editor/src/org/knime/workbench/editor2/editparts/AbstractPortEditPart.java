@@ -47,8 +47,6 @@
  */
 package org.knime.workbench.editor2.editparts;
 
-import static org.knime.core.ui.wrapper.Wrapper.wrap;
-
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
@@ -65,13 +63,9 @@
 import org.eclipse.gef.editparts.ZoomManager;
 import org.eclipse.gef.requests.SelectionRequest;
 import org.eclipse.gef.tools.ConnectionDragCreationTool;
-import org.eclipse.swt.widgets.Display;
 import org.knime.core.node.port.PortType;
 import org.knime.core.node.workflow.NodeID;
-import org.knime.core.node.workflow.WorkflowEvent;
-import org.knime.core.node.workflow.WorkflowListener;
 import org.knime.core.node.workflow.WorkflowManager;
-import org.knime.core.ui.UI;
 import org.knime.core.ui.node.workflow.ConnectionContainerUI;
 import org.knime.core.ui.node.workflow.NodeContainerUI;
 import org.knime.core.ui.node.workflow.NodeInPortUI;
@@ -91,15 +85,15 @@
 /**
  * Abstract base class for the edit parts that control the ports. This editpart
  * returns a <code>DragTracker</code> for starting connections between in- and
- * out ports. Note that all(!) ports are registered as listener for workflow
- * events on the underlying {@link WorkflowManager}. This is necessary because
- * we need de be able to react on connection changes.
+ * out ports. Connection changes on the underlying {@link WorkflowManager} are
+ * forwarded by the {@link WorkflowRootEditPart} to the ports at both ends of
+ * the connection only.
  *
  * @author Florian Georg, University of Konstanz
  * @author Fabian Dill, University of Konstanz
  */
 public abstract class AbstractPortEditPart extends AbstractGraphicalEditPart
-        implements EditorModeParticipant, NodeEditPart, WorkflowListener, ZoomListener {
+        implements EditorModeParticipant, NodeEditPart, ZoomListener {
 
     /**
      * Instead of using the Collections.EMPTY_LIST we have our own typed empty list if no connections are available.
@@ -234,17 +228,13 @@ protected WorkflowManagerUI getManager() {
     }
 
     /**
-     * We must register *every* node as a listener on the workflow, as we have
-     * not real objects for it.
+     * Registers as zoom listener.
      *
      * @see org.eclipse.gef.EditPart#activate()
      */
     @Override
     public void activate() {
         super.activate();
-        if (getManager() != null) {
-            getManager().addListener(this);
-        }
         // // register as zoom listener to adapt the line width
         ZoomManager zoomManager =
                 (ZoomManager)getRoot().getViewer().getProperty(
@@ -254,15 +244,12 @@ public void activate() {
     }
 
     /**
-     * Remove the port as a listener from the workflow.
+     * Remove the port as a zoom listener.
      *
      * @see org.eclipse.gef.EditPart#deactivate()
      */
     @Override
     public void deactivate() {
-        if (getManager() != null) {
-            getManager().removeListener(this);
-        }
         // // register as zoom listener to adapt the line width
         ZoomManager zoomManager =
                 (ZoomManager)getRoot().getViewer().getProperty(
@@ -301,52 +288,20 @@ protected void refreshVisuals() {
     }
 
     /**
-     * We're just interested in events that have something to do with our port.
-     * In this case we need to update the connections and visuals.
-     *
-     * @param event the workflow event
+     * Updates the connections and visuals after connections at this port
+     * were added or removed. Called by the {@link WorkflowRootEditPart} with
+     * the batched connection changes of the workflow.
      */
-    @Override
-    public void workflowChanged(final WorkflowEvent event) {
-        if (event.getType().equals(WorkflowEvent.Type.CONNECTION_ADDED)
-                || event.getType()
-                        .equals(WorkflowEvent.Type.CONNECTION_REMOVED)) {
-            // only enqueue runnable if we are interested in this event
-            Display.getDefault().asyncExec(new Runnable() {
-                @Override
-                public void run() {
-                    if (!isActive()) {
-                        return;
-                    }
-                    ConnectionContainerUI c = null;
-
-                    if (event.getType().equals(
-                            WorkflowEvent.Type.CONNECTION_ADDED)) {
-                        UI uiVal = wrap(event.getNewValue());
-                        c = (ConnectionContainerUI)uiVal;
-                    } else if (event.getType().equals(
-                            WorkflowEvent.Type.CONNECTION_REMOVED)) {
-                        UI uiVal = wrap(event.getOldValue());
-                        c = (ConnectionContainerUI)uiVal;
-                    }
-
-                    // if we have a connection to refresh...
-                    if ((c != null) && (getNodeContainer() != null)
-                            && (c.getSource().equals(getNodeContainer().getID())
-                                    || c.getDest().equals(getNodeContainer().getID()))) {
-                        // only refresh if we are actually involved in the
-                        // connection change
-                        AbstractPortFigure fig =
-                                (AbstractPortFigure)getFigure();
-                        fig.setIsConnected(isConnected());
-                        fig.repaint();
-                        refreshChildren();
-                        refreshSourceConnections();
-                        refreshTargetConnections();
-                    }
-                }
-            });
+    void refreshConnections() {
+        if (!isActive()) {
+            return;
         }
+        AbstractPortFigure fig = (AbstractPortFigure)getFigure();
+        fig.setIsConnected(isConnected());
+        fig.repaint();
+        refreshChildren();
+        refreshSourceConnections();
+        refreshTargetConnections();
     }
 
     /**
@@ -471,22 +426,29 @@ protected String getTooltipText(final String portName,
     /**
      * Tries to build the tooltip from the port name and if this is a data
      * outport and the node is configured/executed, it appends also the number
-     * of columns and rows.
+     * of columns and rows. The text is only computed when the tooltip is
+     * shown next.
      */
     public void rebuildTooltip() {
+        ((NewToolTipFigure)getFigure().getToolTip()).setTextSupplier(this::createTooltipText);
+    }
+
+    /**
+     * @return the current tooltip text or <code>null</code> if the port doesn't exist (anymore)
+     */
+    protected String createTooltipText() {
         if (isInPort()) {
             if (getIndex() < getNodeContainer().getNrInPorts()) {
                 NodeInPortUI port = getNodeContainer().getInPort(getIndex());
-                String tooltip = getTooltipText(port.getPortName(), port);
-                ((NewToolTipFigure)getFigure().getToolTip()).setText(tooltip);
+                return getTooltipText(port.getPortName(), port);
             }
         } else {
             if (getIndex() < getNodeContainer().getNrOutPorts()) {
                 NodeOutPortUI port = getNodeContainer().getOutPort(getIndex());
-                String tooltip = getTooltipText(port.getPortName(), port);
-                ((NewToolTipFigure)getFigure().getToolTip()).setText(tooltip);
+                return getTooltipText(port.getPortName(), port);
             }
         }
+        return null;
     }
 
     /**
@@ -70,6 +70,7 @@
 import org.knime.core.ui.node.workflow.NodeContainerUI;
 import org.knime.core.ui.node.workflow.NodePortUI;
 import org.knime.core.ui.node.workflow.WorkflowManagerUI;
+import org.knime.workbench.editor2.CanvasSpatialIndex;
 import org.knime.workbench.editor2.EditorModeParticipant;
 import org.knime.workbench.editor2.WorkflowEditor;
 import org.knime.workbench.editor2.WorkflowEditorMode;
@@ -97,6 +98,7 @@ public void activate() {
         super.activate();
         // need to know about metanode port changes
         getNodeContainer().addNodePropertyChangedListener(this);
+        CanvasSpatialIndex.get(getViewer()).add(this);
     }
 
     /**
@@ -104,6 +106,7 @@ public void activate() {
      */
     @Override
     public void deactivate() {
+        CanvasSpatialIndex.get(getViewer()).remove(this);
         super.deactivate();
         getNodeContainer().removeNodePropertyChangedListener(this);
     }
@@ -68,6 +68,7 @@
 import org.knime.core.node.workflow.WorkflowAnnotation;
 import org.knime.core.node.workflow.WorkflowManager;
 import org.knime.core.ui.wrapper.Wrapper;
+import org.knime.workbench.editor2.CanvasSpatialIndex;
 import org.knime.workbench.editor2.EditorModeParticipant;
 import org.knime.workbench.editor2.WorkflowCanvasClickListener;
 import org.knime.workbench.editor2.WorkflowEditor;
@@ -128,6 +129,7 @@ public void activate() {
 
         // update the ui info now
         nodeUIInformationChanged(null);
+        CanvasSpatialIndex.get(getViewer()).add(this);
     }
 
     /**
@@ -140,6 +142,7 @@ public void deactivate() {
 
         final Annotation anno = getModel();
         anno.removeUIInformationListener(this);
+        CanvasSpatialIndex.get(getViewer()).remove(this);
 
         super.deactivate();
     }
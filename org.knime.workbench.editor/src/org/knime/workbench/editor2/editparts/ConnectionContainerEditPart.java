@@ -73,6 +73,7 @@
 import org.knime.core.node.workflow.EditorUIInformation;
 import org.knime.core.ui.node.workflow.ConnectionContainerUI;
 import org.knime.core.ui.node.workflow.WorkflowManagerUI;
+import org.knime.workbench.editor2.CanvasSpatialIndex;
 import org.knime.workbench.editor2.EditorModeParticipant;
 import org.knime.workbench.editor2.WorkflowEditor;
 import org.knime.workbench.editor2.WorkflowEditorMode;
@@ -165,6 +166,7 @@ public void activate() {
         super.activate();
         getModel().addUIInformationListener(this);
         getModel().addProgressListener(this);
+        CanvasSpatialIndex.get(getViewer()).add(this);
     }
 
     /** {@inheritDoc} */
@@ -172,6 +174,7 @@ public void activate() {
     public void deactivate() {
         getModel().removeUIInformationListener(this);
         getModel().removeProgressListener(this);
+        CanvasSpatialIndex.get(getViewer()).remove(this);
         super.deactivate();
     }
 
@@ -67,7 +67,6 @@
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
@@ -152,6 +151,7 @@
 import org.knime.core.ui.wrapper.Wrapper;
 import org.knime.workbench.KNIMEEditorPlugin;
 import org.knime.workbench.core.util.ImageRepository;
+import org.knime.workbench.editor2.CanvasSpatialIndex;
 import org.knime.workbench.editor2.EditorModeParticipant;
 import org.knime.workbench.editor2.WorkflowEditor;
 import org.knime.workbench.editor2.WorkflowEditorMode;
@@ -254,6 +254,12 @@ public static Image getIconImageForNodeContainer(final NodeContainerUI nodeConta
 
     private boolean m_showFlowVarPorts = false;
 
+    /** Applies state, message and UI info changes once per frame, set while this part is active. */
+    private volatile NodeUpdateAggregator m_updateAggregator;
+
+    /** Whether {@link #m_updateAggregator} was created by (and hence needs to be disposed with) this part. */
+    private boolean m_ownsUpdateAggregator;
+
     private WorkflowEditorMode m_currentEditorMode = WorkflowEditor.INITIAL_EDITOR_MODE;
 
     /**
@@ -318,7 +324,11 @@ public void activate() {
         IPreferenceStore store = KNIMEUIPlugin.getDefault().getPreferenceStore();
         store.addPropertyChangeListener(this);
 
-        // listen to node container (= model object)
+        // listen to node container (= model object), updates are applied once per frame
+        EditPart parent = getParent();
+        m_ownsUpdateAggregator = !(parent instanceof WorkflowRootEditPart);
+        m_updateAggregator = m_ownsUpdateAggregator ? new NodeUpdateAggregator(Display.getDefault())
+            : ((WorkflowRootEditPart)parent).getNodeUpdateAggregator();
         cont.addNodeStateChangeListener(this);
         cont.addNodeMessageListener(this);
         cont.addProgressListener(this);
@@ -336,6 +346,7 @@ public void activate() {
         // set the node message
         updateNodeMessage();
         callHideNodeName();
+        CanvasSpatialIndex.get(getViewer()).add(this);
     }
 
     /**
@@ -352,6 +363,13 @@ public void deactivate() {
         nc.removeNodeProgressListener(this);
         nc.removeUIInformationListener(this);
         nc.removeNodePropertyChangedListener(this);
+        if (m_ownsUpdateAggregator) {
+            // not shared with other parts, the workflow root part only disposes its own aggregator
+            m_updateAggregator.dispose();
+            m_ownsUpdateAggregator = false;
+        }
+        m_updateAggregator = null;
+        CanvasSpatialIndex.get(getViewer()).remove(this);
 
         removeEditPartListener(this);
 
@@ -448,105 +466,73 @@ protected List<NodePortUI> getModelChildren() {
         return ports;
     }
 
-    private final AtomicBoolean m_updateInProgress = new AtomicBoolean(false);
-
     /** {@inheritDoc} */
     @Override
     public void stateChanged(final NodeStateEvent state) {
-        // if another state is waiting to be processed, simply return
-        // and leave the work to the previously started thread. This
-        // works because we are retrieving the current state information!
-        if (m_updateInProgress.compareAndSet(false, true)) {
-            Display display = Display.getDefault();
-            if (display.isDisposed()) {
-                return;
-            }
-            display.asyncExec(new Runnable() {
-                @Override
-                public void run() {
-                    // let others know we are in the middle of processing
-                    // this update - they will now need to start their own job.
-                    NodeContainerFigure fig = (NodeContainerFigure)getFigure();
-                    m_updateInProgress.set(false);
-                    if (isActive()) {
-                        NodeContainerUI nc = getNodeContainer();
-                        fig.setStateFromNC(nc);
-                        updateNodeMessage();
-                        // reset the tooltip text of the outports
-                        for (Object part : getChildren()) {
-                            if (part instanceof NodeOutPortEditPart || part instanceof WorkflowInPortEditPart
-                                || part instanceof MetaNodeOutPortEditPart) {
-                                AbstractPortEditPart outPortPart = (AbstractPortEditPart)part;
-                                outPortPart.rebuildTooltip();
-                            }
-                        }
-                        // always refresh visuals (does not seem to do anything
-                        // by default though: call repaints on updated figures).
-                        refreshVisuals();
-                    }
-                }
-            });
-        }
+        // the update retrieves the current state information, hence many events are applied as one
+        markDirty(NodeUpdateAggregator.STATE);
     }
 
     /** {@inheritDoc} */
     @Override
     public void progressChanged(final NodeProgressEvent pe) {
-        // forward the new progress to our progress figure
+        // forward the new progress to our progress figure - doesn't block, repaint is batched per frame
         ((NodeContainerFigure)getFigure()).getProgressFigure().progressChanged(pe.getNodeProgress());
     }
 
-    private final AtomicBoolean m_messageUpdateInProgress = new AtomicBoolean();
-
     /** {@inheritDoc} */
     @Override
     public void messageChanged(final NodeMessageEvent ignored) {
-        if (m_messageUpdateInProgress.compareAndSet(false, true)) {
-            Display display = Display.getDefault();
-            if (display.isDisposed()) {
-                return;
-            }
-            display.asyncExec(new Runnable() {
-                @Override
-                public void run() {
-                    Display.getDefault().asyncExec(new Runnable() {
-                        @Override
-                        public void run() {
-                            m_messageUpdateInProgress.set(false);
-                            if (isActive()) {
-                                // must ignore event content - as this runnable
-                                // may be processing another (following) event
-                                updateNodeMessage();
-                                refreshVisuals();
-                            }
-                        }
-                    });
-                }
-            });
-        }
+        // must ignore event content - the update may be processing another (following) event
+        markDirty(NodeUpdateAggregator.MESSAGE);
     }
 
     /** {@inheritDoc} */
     @Override
     public void nodeUIInformationChanged(final NodeUIInformationEvent evt) {
-
         if (!m_uiListenerActive) {
             return;
         }
+        markDirty(NodeUpdateAggregator.UI_INFO);
+    }
 
-        //
-        // As this code updates the UI it must be executed in the UI thread.
-        //
-        Display.getDefault().asyncExec(new Runnable() {
-            @Override
-            public void run() {
-                if (isActive()) {
+    private void markDirty(final int flags) {
+        final NodeUpdateAggregator aggregator = m_updateAggregator;
+        if (aggregator != null) {
+            aggregator.markDirty(this, flags);
+        }
+    }
 
-                    NodeUIInformation uiInfo = getNodeContainer().getUIInformation();
-                    updateFigureFromUIinfo(uiInfo);
+    /**
+     * Applies the updates collected by the {@link NodeUpdateAggregator}, called in the UI thread at most once per
+     * frame.
+     *
+     * @param flags or-ed flags of the {@link NodeUpdateAggregator}, what to update
+     */
+    void applyUpdates(final int flags) {
+        if (!isActive()) {
+            return;
+        }
+        if ((flags & NodeUpdateAggregator.STATE) != 0) {
+            ((NodeContainerFigure)getFigure()).setStateFromNC(getNodeContainer());
+            // reset the tooltip text of the outports
+            for (Object part : getChildren()) {
+                if (part instanceof NodeOutPortEditPart || part instanceof WorkflowInPortEditPart
+                    || part instanceof MetaNodeOutPortEditPart) {
+                    AbstractPortEditPart outPortPart = (AbstractPortEditPart)part;
+                    outPortPart.rebuildTooltip();
                 }
             }
-        });
+        }
+        if ((flags & NodeUpdateAggregator.UI_INFO) != 0) {
+            // also updates the node message and visuals
+            updateFigureFromUIinfo(getNodeContainer().getUIInformation());
+        } else {
+            updateNodeMessage();
+            // always refresh visuals (does not seem to do anything
+            // by default though: call repaints on updated figures).
+            refreshVisuals();
+        }
     }
 
     private void updateFigureFromUIinfo(final NodeUIInformation uiInfo) {
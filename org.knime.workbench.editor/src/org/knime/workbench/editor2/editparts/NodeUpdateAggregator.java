@@ -0,0 +1,131 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026: created
+ */
+package org.knime.workbench.editor2.editparts;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.swt.widgets.Display;
+import org.knime.core.node.NodeLogger;
+import org.knime.workbench.core.util.CoalescingUIScheduler;
+
+/**
+ * Collects state, message and UI information changes of the {@link NodeContainerEditPart}s of one editor and applies
+ * them once per frame. Node events arrive on arbitrary threads; they only set dirty flags on the edit part (never
+ * blocks). All dirty edit parts are then updated in one <code>asyncExec</code> per frame, each edit part once no
+ * matter how many events it received in the meantime, e.g. when executing all nodes of a large workflow.
+ *
+ * <p>
+ * The frame rate defaults to {@value #DEFAULT_FRAME_RATE} Hz and can be changed with the system property
+ * {@value #PROPERTY_FRAME_RATE}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class NodeUpdateAggregator {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(NodeUpdateAggregator.class);
+
+    /** System property to set the number of node update frames per second. */
+    static final String PROPERTY_FRAME_RATE = "knime.workbench.editor.nodeupdates.framerate";
+
+    private static final int DEFAULT_FRAME_RATE = 30;
+
+    /** The node's state changed. */
+    static final int STATE = 1;
+
+    /** The node's message changed. */
+    static final int MESSAGE = 1 << 1;
+
+    /** The node's UI information (bounds) or custom description changed. */
+    static final int UI_INFO = 1 << 2;
+
+    private final CoalescingUIScheduler m_scheduler;
+
+    /** Dirty edit parts mapped to the or-ed flags of the pending updates. */
+    private final Map<NodeContainerEditPart, Integer> m_dirtyParts = new ConcurrentHashMap<>();
+
+    /**
+     * @param display the display the edit parts live in
+     */
+    NodeUpdateAggregator(final Display display) {
+        m_scheduler = new CoalescingUIScheduler(display,
+            CoalescingUIScheduler.frameInterval(PROPERTY_FRAME_RATE, DEFAULT_FRAME_RATE), this::applyFrame,
+            this::dispose);
+    }
+
+    /**
+     * Marks the edit part to be updated with the next frame. Never blocks; can be called from any thread.
+     *
+     * @param part the edit part to update
+     * @param flags what to update, any combination of {@link #STATE}, {@link #MESSAGE} and {@link #UI_INFO}
+     */
+    void markDirty(final NodeContainerEditPart part, final int flags) {
+        m_dirtyParts.merge(part, flags, (a, b) -> a | b);
+        m_scheduler.request();
+    }
+
+    /** Discards all pending updates, called when the editor's contents are deactivated. */
+    void dispose() {
+        m_dirtyParts.clear();
+    }
+
+    /** Called in the display thread, applies the pending updates of all dirty edit parts. */
+    private void applyFrame() {
+        for (NodeContainerEditPart part : m_dirtyParts.keySet()) {
+            final Integer flags = m_dirtyParts.remove(part);
+            if (flags != null) {
+                try {
+                    part.applyUpdates(flags);
+                } catch (RuntimeException e) { // one failing update must not stop the others
+                    LOGGER.error("Unable to update node figure: " + e.getMessage(), e);
+                }
+            }
+        }
+    }
+}
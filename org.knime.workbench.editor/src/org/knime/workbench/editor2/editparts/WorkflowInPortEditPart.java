@@ -66,7 +66,6 @@
 import org.knime.core.ui.node.workflow.WorkflowManagerUI;
 import org.knime.workbench.editor2.WorkflowContextMenuProvider;
 import org.knime.workbench.editor2.WorkflowEditorMode;
-import org.knime.workbench.editor2.figures.NewToolTipFigure;
 import org.knime.workbench.editor2.figures.WorkflowInPortFigure;
 import org.knime.workbench.editor2.model.WorkflowPortBar;
 
@@ -260,11 +259,10 @@ protected List<ConnectionContainerUI> getModelTargetConnections() {
      * {@inheritDoc}
      */
     @Override
-    public void rebuildTooltip() {
+    protected String createTooltipText() {
         NodeOutPortUI port = ((WorkflowInPortUI)getNodeContainer().getInPort(
                 getIndex())).getUnderlyingPort();
-        String tooltip = getTooltipText(PORT_NAME + ": " + getIndex(), port);
-        ((NewToolTipFigure)getFigure().getToolTip()).setText(tooltip);
+        return getTooltipText(PORT_NAME + ": " + getIndex(), port);
     }
 
 
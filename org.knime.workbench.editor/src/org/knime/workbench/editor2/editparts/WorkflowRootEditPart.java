@@ -52,7 +52,9 @@
 import java.util.EventObject;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
@@ -85,6 +87,8 @@
 import org.knime.core.node.workflow.WorkflowEvent;
 import org.knime.core.node.workflow.WorkflowListener;
 import org.knime.core.node.workflow.WorkflowManager;
+import org.knime.core.ui.UI;
+import org.knime.core.ui.node.workflow.ConnectionContainerUI;
 import org.knime.core.ui.node.workflow.NodeContainerUI;
 import org.knime.core.ui.node.workflow.WorkflowManagerUI;
 import org.knime.core.ui.node.workflow.async.AsyncWorkflowManagerUI;
@@ -100,6 +104,7 @@
 import org.knime.workbench.editor2.figures.WorkflowFigure;
 import org.knime.workbench.editor2.figures.WorkflowLayout;
 import org.knime.workbench.editor2.model.WorkflowPortBar;
+import org.knime.workbench.ui.UIEventBatchDispatcher;
 
 /**
  * Root controller for the <code>WorkflowManager</code> model object. Consider
@@ -135,6 +140,8 @@ public class WorkflowRootEditPart extends AbstractWorkflowEditPart implements
 
     private WorkflowPortBar m_outBar;
 
+    private NodeUpdateAggregator m_nodeUpdateAggregator;
+
     // TODO: maybe also connections, workflow ports, etc, should be stored
     /*
      * This stores the node ids from the PasteAction. If the NodeContainer with
@@ -340,6 +347,9 @@ public void deactivate() {
             editPart.deactivate();
         }
         getWorkflowManager().removeListener(this);
+        if (m_nodeUpdateAggregator != null) {
+            m_nodeUpdateAggregator.dispose();
+        }
         getViewer().getEditDomain().getCommandStack()
                 .removeCommandStackListener(this);
         EditPolicyIterator editPolicyIterator = getEditPolicyIterator();
@@ -409,16 +419,42 @@ protected void createEditPolicies() {
 //        installEditPolicy(EditPolicy.SELECTION_FEEDBACK_ROLE, new WorkflowSelectionFeedbackPolicy());
     }
 
+    /**
+     * @return the aggregator applying the state, message and UI info changes of the nodes in this workflow once per
+     *         frame
+     */
+    NodeUpdateAggregator getNodeUpdateAggregator() {
+        if (m_nodeUpdateAggregator == null) {
+            m_nodeUpdateAggregator = new NodeUpdateAggregator(Display.getDefault());
+        }
+        return m_nodeUpdateAggregator;
+    }
+
     private final AtomicBoolean m_workflowChangedOngoingBoolean = new AtomicBoolean();
 
+    /** Connections added or removed since the last {@link #applyConnectionDelta()}. */
+    private final Queue<ConnectionContainerUI> m_connectionDelta = new ConcurrentLinkedQueue<>();
+
     /**
      * Controller is getting notified about model changes. This invokes
-     * <code>refreshChildren</code> keep in sync with the model.
+     * <code>refreshChildren</code> keep in sync with the model. Connection
+     * changes only update the ports at both ends of the connection, see
+     * {@link #applyConnectionDelta()}.
      *
      * {@inheritDoc}
      */
     @Override
     public void workflowChanged(final WorkflowEvent event) {
+        switch (event.getType()) {
+            case CONNECTION_ADDED:
+                queueConnectionDelta(event.getNewValue());
+                return;
+            case CONNECTION_REMOVED:
+                queueConnectionDelta(event.getOldValue());
+                return;
+            default:
+                // refresh children below
+        }
 
         if (m_workflowChangedOngoingBoolean.compareAndSet(false, true)) {
             Display.getDefault().asyncExec(new Runnable() {
@@ -453,6 +489,75 @@ public void run() {
         }
     }
 
+    private void queueConnectionDelta(final Object connection) {
+        //NOTE: workflow event can contain either UI objects or non-UI objects!!
+        UI uiVal = Wrapper.wrap(connection);
+        if (uiVal instanceof ConnectionContainerUI) {
+            m_connectionDelta.add((ConnectionContainerUI)uiVal);
+            // all changes queued until the dispatcher gets to it are applied as one delta (paste, expand, ...)
+            UIEventBatchDispatcher.asyncExec(m_connectionDelta, this::applyConnectionDelta);
+        }
+    }
+
+    /**
+     * Applies the queued connection changes. Instead of refreshing the entire
+     * workflow only the ports at both ends of each changed connection refresh
+     * their connections (which creates or removes the connection edit part),
+     * each port once per delta no matter how many of its connections changed.
+     */
+    private void applyConnectionDelta() {
+        if (!isActive()) {
+            m_connectionDelta.clear();
+            return;
+        }
+        Set<AbstractPortEditPart> ports = new LinkedHashSet<>();
+        ConnectionContainerUI cc;
+        while ((cc = m_connectionDelta.poll()) != null) {
+            addPortEditPart(ports, cc.getSource(), cc.getSourcePort(), false);
+            addPortEditPart(ports, cc.getDest(), cc.getDestPort(), true);
+        }
+        for (AbstractPortEditPart port : ports) {
+            port.refreshConnections();
+        }
+    }
+
+    /**
+     * Looks up the edit part of the given port via the edit part registry and adds it to the set.
+     *
+     * @param ports the set to add to
+     * @param id the node the port belongs to, the id of the workflow itself for workflow in/out ports
+     * @param index the port index
+     * @param inPort whether the connection ends (true) or starts (false) at the port
+     */
+    private void addPortEditPart(final Set<AbstractPortEditPart> ports, final NodeID id, final int index,
+        final boolean inPort) {
+        WorkflowManagerUI wfm = getWorkflowManager();
+        Object model;
+        if (id.equals(wfm.getID())) {
+            // connection from a workflow in port or to a workflow out port
+            model = inPort ? m_outBar : m_inBar;
+        } else if (wfm.containsNodeContainer(id)) {
+            model = wfm.getNodeContainer(id);
+        } else {
+            // node is gone, so is its edit part
+            return;
+        }
+        Object part = model == null ? null : getViewer().getEditPartRegistry().get(model);
+        if (!(part instanceof EditPart)) {
+            // e.g. a hidden node
+            return;
+        }
+        for (Object child : ((EditPart)part).getChildren()) {
+            if (child instanceof AbstractPortEditPart) {
+                AbstractPortEditPart port = (AbstractPortEditPart)child;
+                // the ports of a port bar are all of the same kind
+                if (port.getIndex() == index && (model instanceof WorkflowPortBar || port.isInPort() == inPort)) {
+                    ports.add(port);
+                }
+            }
+        }
+    }
+
     private final AtomicBoolean m_nodeUIChangedOngoingBoolean = new AtomicBoolean();
 
     /**
@@ -0,0 +1,219 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026: created
+ */
+package org.knime.workbench.editor2.editparts.snap;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.knime.core.node.port.PortType;
+
+/**
+ * Immutable set of sorted snap offsets, grouped by an arbitrary key (the side of a snap line or the port type a
+ * row belongs to). Lookups are a binary search for the offset closest to a given value, so snapping no longer scans
+ * all rows and columns of the workflow on every mouse move.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class SnapOffsets {
+
+    private static final int[] EMPTY = new int[0];
+
+    private final Map<Object, int[]> m_offsets;
+
+    private SnapOffsets(final Map<Object, int[]> offsets) {
+        m_offsets = offsets;
+    }
+
+    /**
+     * @param key the group key
+     * @return the sorted offsets of the given group, never <code>null</code>
+     */
+    int[] get(final Object key) {
+        return m_offsets.getOrDefault(key, EMPTY);
+    }
+
+    /**
+     * Merges this and the given offsets into a new instance. Each group is merged in linear time since both sides are
+     * already sorted.
+     *
+     * @param other the offsets to add
+     * @return the union of both
+     */
+    SnapOffsets merge(final SnapOffsets other) {
+        if (other.m_offsets.isEmpty()) {
+            return this;
+        }
+        final Map<Object, int[]> merged = new HashMap<>(m_offsets);
+        for (Map.Entry<Object, int[]> e : other.m_offsets.entrySet()) {
+            merged.merge(e.getKey(), e.getValue(), SnapOffsets::mergeSorted);
+        }
+        return new SnapOffsets(merged);
+    }
+
+    private static int[] mergeSorted(final int[] a, final int[] b) {
+        final int[] result = new int[a.length + b.length];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < a.length && j < b.length) {
+            result[k++] = a[i] <= b[j] ? a[i++] : b[j++];
+        }
+        System.arraycopy(a, i, result, k, a.length - i);
+        System.arraycopy(b, j, result, k + a.length - i, b.length - j);
+        return result;
+    }
+
+    /**
+     * Returns the index of the offset closest to the given value. On a tie the smaller offset wins.
+     *
+     * @param sorted the sorted offsets
+     * @param value the value to look up
+     * @return the index of the closest offset or -1 if the array is empty
+     */
+    static int nearest(final int[] sorted, final double value) {
+        if (sorted.length == 0) {
+            return -1;
+        }
+        // first offset >= value
+        int lo = 0;
+        int hi = sorted.length;
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (sorted[mid] < value) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        if (lo == sorted.length) {
+            return lo - 1;
+        }
+        if (lo > 0 && value - sorted[lo - 1] <= sorted[lo] - value) {
+            return lo - 1;
+        }
+        return lo;
+    }
+
+    /**
+     * @param inport whether the row belongs to an inport
+     * @param type the type of the port
+     * @return the key grouping port rows of the given direction and type
+     */
+    static Object portKey(final boolean inport, final PortType type) {
+        return new PortKey(inport, type);
+    }
+
+    /** Collects offsets and sorts them once when {@link #build()} is called. */
+    static final class Builder {
+
+        private final Map<Object, int[]> m_values = new HashMap<>();
+
+        private final Map<Object, Integer> m_sizes = new HashMap<>();
+
+        /**
+         * @param key the group key
+         * @param offset the offset to add to that group
+         * @return this
+         */
+        Builder add(final Object key, final int offset) {
+            final int size = m_sizes.getOrDefault(key, 0);
+            int[] values = m_values.get(key);
+            if (values == null) {
+                values = new int[8];
+            } else if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size] = offset;
+            m_values.put(key, values);
+            m_sizes.put(key, size + 1);
+            return this;
+        }
+
+        /**
+         * @return the sorted offsets
+         */
+        SnapOffsets build() {
+            final Map<Object, int[]> offsets = new HashMap<>();
+            for (Map.Entry<Object, int[]> e : m_values.entrySet()) {
+                final int[] values = Arrays.copyOf(e.getValue(), m_sizes.get(e.getKey()));
+                Arrays.sort(values);
+                offsets.put(e.getKey(), values);
+            }
+            return new SnapOffsets(offsets);
+        }
+    }
+
+    private static final class PortKey {
+
+        private final boolean m_inport;
+
+        private final PortType m_type;
+
+        PortKey(final boolean inport, final PortType type) {
+            m_inport = inport;
+            m_type = type;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (!(obj instanceof PortKey)) {
+                return false;
+            }
+            final PortKey other = (PortKey)obj;
+            return m_inport == other.m_inport && Objects.equals(m_type, other.m_type);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(m_inport, m_type);
+        }
+    }
+}
@@ -48,8 +48,9 @@
 package org.knime.workbench.editor2.editparts.snap;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.Iterator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 
@@ -142,7 +143,28 @@ public class SnapToPortGeometry extends SnapToHelper {
     public static final String KEY_EAST_ANCHOR = "SnapToGeometry.EastAnchor";
 
     /**
-     * A vertical or horizontal snapping point. since 3.0
+     * Key of the rows created from the middle of a figure.
+     */
+    private static final Object ROW_CENTER = "row.center";
+
+    /**
+     * Key of the rows created from the top or bottom side of a figure.
+     */
+    private static final Object ROW_EDGE = "row.edge";
+
+    /**
+     * Key of the columns created from the center of a figure.
+     */
+    private static final Object COL_CENTER = "col.center";
+
+    /**
+     * Key of the columns created from the left or right side of a figure.
+     */
+    private static final Object COL_EDGE = "col.edge";
+
+    /**
+     * A vertical or horizontal snapping point, only used by the deprecated
+     * methods taking entries. since 3.0
      */
     private static class Entry {
         /**
@@ -167,33 +189,6 @@ private static class Entry {
          */
         PortType m_portType;
 
-        /**
-         * Constructs a new entry with the given side and offset.
-         *
-         * @param side an integer indicating T/L, B/R, or C/M
-         * @param offset the location
-         */
-        Entry(final int side, final int offset) {
-            this.m_side = side;
-            this.m_offset = offset;
-        }
-
-        /**
-         * Constructs a new entry with the given side and offset.
-         *
-         * @param side an integer indicating T/L, B/R, or C/M
-         * @param offset the location
-         * @param inport wheather this entry belongs to an inport
-         * @param type the type of the port
-         */
-        Entry(final int side, final int offset, final boolean inport,
-                final PortType type) {
-            this.m_side = side;
-            this.m_offset = offset;
-            m_inport = inport;
-            m_portType = type;
-        }
-
         /**
          * {@inheritDoc}
          */
@@ -212,19 +207,39 @@ public String toString() {
     private boolean m_cachedCloneBool;
 
     /**
-     * The horizontal rows being snapped to.
+     * The rows and columns of all parts not being dragged. Built once when the
+     * drag starts.
+     */
+    private SnapOffsets m_baseOffsets;
+
+    /**
+     * The rows of the connections attached to the dragged ports, added when
+     * the parts are moved.
+     */
+    private SnapOffsets m_moveOffsets;
+
+    /**
+     * The rows and columns of the dragged parts themselves, added when the
+     * parts are cloned.
      */
-    private Entry[] m_rows;
+    private SnapOffsets m_cloneOffsets;
 
     /**
-     * The vertical columnd being snapped to.
+     * The rows and columns being snapped to, sorted per side and per port
+     * direction and type.
      */
-    private Entry[] m_cols;
+    private SnapOffsets m_offsets;
 
     /**
      * The y port values of the dragged node.
      */
-    private Entry[] m_yValues;
+    private int[] m_yValues;
+
+    /**
+     * The keys of the rows the y port values of the dragged node may snap to,
+     * i.e. ports of the opposite direction and the same type.
+     */
+    private Object[] m_yKeys;
 
     /**
      * The container editpart providing the coordinates and the children to
@@ -261,21 +276,30 @@ public SnapToPortGeometry(final GraphicalEditPart container) {
     protected List generateSnapPartsList(final List exclusions) {
         // Don't snap to any figure that is being dragged
         List<Object> children = new ArrayList<Object>(m_container.getChildren());
-        children.removeAll(exclusions);
+        children.removeAll(new HashSet<Object>(exclusions));
 
         // Don't snap to hidden figures
-        List hiddenChildren = new ArrayList();
-        for (Iterator iter = children.iterator(); iter.hasNext();) {
-            GraphicalEditPart child = (GraphicalEditPart)iter.next();
-            if (!child.getFigure().isVisible()) {
-                hiddenChildren.add(child);
-            }
-        }
-        children.removeAll(hiddenChildren);
+        children.removeIf(child -> !((GraphicalEditPart)child).getFigure().isVisible());
 
         return children;
     }
 
+    /**
+     * Returns the correction value for the given sides. During a move, the
+     * left, right, or center is free to snap to a location.
+     *
+     * @param extendedData the requests extended data
+     * @param vert <code>true</code> if the correction is vertical
+     * @param near the left/top side of the rectangle
+     * @param far the right/bottom side of the rectangle
+     * @return the correction amount or THRESHOLD if no correction was made
+     * @since 5.1
+     */
+    protected double getCorrectionFor(final Map<String, Integer> extendedData,
+            final boolean vert, final double near, final double far) {
+        return getCorrectionFor(m_offsets, extendedData, vert, near, far);
+    }
+
     /**
      * Returns the correction value for the given entries and sides. During a
      * move, the left, right, or center is free to snap to a location.
@@ -286,8 +310,22 @@ protected List generateSnapPartsList(final List exclusions) {
      * @param near the left/top side of the rectangle
      * @param far the right/bottom side of the rectangle
      * @return the correction amount or THRESHOLD if no correction was made
+     * @deprecated use {@link #getCorrectionFor(Map, boolean, double, double)}
+     *             instead, which snaps to the rows and columns of the current
+     *             drag
      */
+    @Deprecated
     protected double getCorrectionFor(final Entry[] entries,
+            final Map<String, Integer> extendedData, final boolean vert,
+            final double near, final double far) {
+        SnapOffsets.Builder builder = new SnapOffsets.Builder();
+        for (Entry entry : entries) {
+            builder.add(getOffsetsKey(vert, entry.m_side), entry.m_offset);
+        }
+        return getCorrectionFor(builder.build(), extendedData, vert, near, far);
+    }
+
+    private double getCorrectionFor(final SnapOffsets offsets,
             final Map<String, Integer> extendedData, final boolean vert,
             final double near, double far) {
         far -= 1.0;
@@ -296,21 +334,55 @@ protected double getCorrectionFor(final Entry[] entries,
         // pixel from
         // far) there is no middle pixel so favor the left-most/top-most pixel
         // (which is what
-        // populateRowsAndCols() does by using int precision).
+        // createSnapOffsets() does by using int precision).
         if ((int)(near - far) % 2 != 0) {
             total -= 1.0;
         }
-        double result = getCorrectionFor(entries, extendedData, vert,
-                total / 2, 0);
+        double result = getCorrectionFor(offsets.get(getOffsetsKey(vert, 0)),
+                extendedData, vert, total / 2, 0);
         if (result == THRESHOLD) {
-            result = getCorrectionFor(entries, extendedData, vert, near, -1);
+            result = getCorrectionFor(offsets.get(getOffsetsKey(vert, -1)),
+                    extendedData, vert, near, -1);
         }
         if (result == THRESHOLD) {
-            result = getCorrectionFor(entries, extendedData, vert, far, 1);
+            result = getCorrectionFor(offsets.get(getOffsetsKey(vert, 1)),
+                    extendedData, vert, far, 1);
         }
         return result;
     }
 
+    /**
+     * Returns the key of the offsets that may be snapped to from the given
+     * side.
+     *
+     * @param vert <code>true</code> for the columns, <code>false</code> for
+     *            the rows
+     * @param side -1 for left/top, 0 for the center and 1 for right/bottom
+     * @return the key of the offsets
+     */
+    private static Object getOffsetsKey(final boolean vert, final int side) {
+        if (side == 0) {
+            return vert ? COL_CENTER : ROW_CENTER;
+        }
+        return vert ? COL_EDGE : ROW_EDGE;
+    }
+
+    /**
+     * Returns the vertical correction that aligns the closest pair of a
+     * dragged port and an existing port row.
+     *
+     * @param ys the y values of the dragged ports
+     * @param keys for each dragged port the key of the rows it may snap to
+     * @param moveDelta the vertical move delta of the drag
+     * @return the correction amount, the magnitude is not limited to the
+     *         THRESHOLD
+     * @since 5.1
+     */
+    protected double getCorrectionForY(final int[] ys, final Object[] keys,
+            final int moveDelta) {
+        return getCorrectionForY(m_offsets, ys, keys, moveDelta);
+    }
+
     /**
      * Returns the correction value for the given entries and sides. During a
      * move, the left, right, or center is free to snap to a location.
@@ -318,31 +390,43 @@ protected double getCorrectionFor(final Entry[] entries,
      * @param entries the entries
      * @param extendedData the requests extended data
      * @return the correction amount or THRESHOLD if no correction was made
+     * @deprecated use {@link #getCorrectionForY(int[], Object[], int)}
+     *             instead, which snaps to the port rows of the current drag
      */
+    @Deprecated
     protected double getCorrectionForY(final Entry[] entries,
             final Map extendedData, final Entry[] ys, final int moveDelta) {
-
-        // get the smallest distance to the next y value
-        double result = Double.MAX_VALUE;
+        SnapOffsets.Builder builder = new SnapOffsets.Builder();
         for (Entry entry : entries) {
-            for (Entry y : ys) {
-
-                // only compare inports to outports as only oposite parts
-                // can connect and must be alligned
-                if (!(entry.m_inport ^ y.m_inport)) {
-                    continue;
-                }
+            builder.add(SnapOffsets.portKey(entry.m_inport, entry.m_portType),
+                    entry.m_offset);
+        }
+        int[] yValues = new int[ys.length];
+        Object[] keys = new Object[ys.length];
+        for (int i = 0; i < ys.length; i++) {
+            yValues[i] = ys[i].m_offset;
+            keys[i] = SnapOffsets.portKey(!ys[i].m_inport, ys[i].m_portType);
+        }
+        return getCorrectionForY(builder.build(), yValues, keys, moveDelta);
+    }
 
-                // and only ports of same type (data - data, model-model)
-                // are snaped
-                if (!entry.m_portType .equals(y.m_portType)) {
-                    continue;
-                }
+    private static double getCorrectionForY(final SnapOffsets offsets,
+            final int[] ys, final Object[] keys, final int moveDelta) {
 
-                double diff = entry.m_offset - (y.m_offset + moveDelta);
-                if (Math.abs(diff) < Math.abs(result)) {
-                    result = diff;
-                }
+        // get the smallest distance to the next y value; only inports are
+        // compared to outports of the same type (data - data, model-model) as
+        // only those can connect and must be alligned
+        double result = Double.MAX_VALUE;
+        for (int i = 0; i < ys.length; i++) {
+            int[] rows = offsets.get(keys[i]);
+            double y = ys[i] + moveDelta;
+            int nearest = SnapOffsets.nearest(rows, y);
+            if (nearest < 0) {
+                continue;
+            }
+            double diff = rows[nearest] - y;
+            if (Math.abs(diff) < Math.abs(result)) {
+                result = diff;
             }
         }
 
@@ -353,18 +437,21 @@ protected double getCorrectionForY(final Entry[] entries,
      * Returns the correction value between {@link #THRESHOLD}, or the
      * THRESHOLD if no corrections were found.
      *
-     * @param entries the entries
+     * @param offsets the sorted offsets
      * @param extendedData the map for setting values
      * @param vert <code>true</code> if vertical
      * @param value the value being corrected
      * @param side which sides should be considered
      * @return the correction or THRESHOLD if no correction was made
+     * @since 5.1
      */
-    protected double getCorrectionFor(final Entry[] entries,
+    protected double getCorrectionFor(final int[] offsets,
             final Map<String, Integer> extendedData, final boolean vert,
             final double value, final int side) {
-        double resultMag = THRESHOLD;
-        double result = THRESHOLD;
+        int nearest = SnapOffsets.nearest(offsets, value);
+        if (nearest < 0 || Math.abs(value - offsets[nearest]) >= THRESHOLD) {
+            return THRESHOLD;
+        }
 
         String property;
         if (side == -1) {
@@ -372,35 +459,32 @@ protected double getCorrectionFor(final Entry[] entries,
         } else {
             property = vert ? KEY_EAST_ANCHOR : KEY_SOUTH_ANCHOR;
         }
+        extendedData.put(property, offsets[nearest]);
+        return offsets[nearest] - value;
+    }
 
-        for (int i = 0; i < entries.length; i++) {
-            Entry entry = entries[i];
-            double magnitude;
-
-            if (entry.m_side == -1 && side != 0) {
-                magnitude = Math.abs(value - entry.m_offset);
-                if (magnitude < resultMag) {
-                    resultMag = magnitude;
-                    result = entry.m_offset - value;
-                    extendedData.put(property, entry.m_offset);
-                }
-            } else if (entry.m_side == 0 && side == 0) {
-                magnitude = Math.abs(value - entry.m_offset);
-                if (magnitude < resultMag) {
-                    resultMag = magnitude;
-                    result = entry.m_offset - value;
-                    extendedData.put(property, entry.m_offset);
-                }
-            } else if (entry.m_side == 1 && side != 0) {
-                magnitude = Math.abs(value - entry.m_offset);
-                if (magnitude < resultMag) {
-                    resultMag = magnitude;
-                    result = entry.m_offset - value;
-                    extendedData.put(property, entry.m_offset);
-                }
-            }
-        }
-        return result;
+    /**
+     * Returns the correction value between {@link #THRESHOLD}, or the
+     * THRESHOLD if no corrections were found.
+     *
+     * @param entries the entries
+     * @param extendedData the map for setting values
+     * @param vert <code>true</code> if vertical
+     * @param value the value being corrected
+     * @param side which sides should be considered
+     * @return the correction or THRESHOLD if no correction was made
+     * @deprecated use
+     *             {@link #getCorrectionFor(int[], Map, boolean, double, int)}
+     *             instead, which takes the sorted offsets of the given side
+     */
+    @Deprecated
+    protected double getCorrectionFor(final Entry[] entries,
+            final Map<String, Integer> extendedData, final boolean vert,
+            final double value, final int side) {
+        int[] offsets = Arrays.stream(entries)
+                .filter(entry -> (side == 0) == (entry.m_side == 0))
+                .mapToInt(entry -> entry.m_offset).sorted().toArray();
+        return getCorrectionFor(offsets, extendedData, vert, value, side);
     }
 
     /**
@@ -457,43 +541,35 @@ private List<AbstractPortEditPart> getPorts(final List parts) {
         return portList;
     }
 
+    private static boolean isInport(final AbstractPortEditPart port) {
+        return port instanceof NodeInPortEditPart
+                || port instanceof WorkflowInPortEditPart;
+    }
+
     /**
-     * Updates the cached row and column Entries using the provided parts.
+     * Creates the sorted row and column offsets of the provided parts.
      * Columns are only the center of a node figure while rows are all ports of
      * a node.
      *
      * @param parts a List of EditParts
+     * @param dragedParts the dragged EditParts, the connections of their ports
+     *            are added as rows
+     * @return the sorted offsets
      */
-    protected void populateRowsAndCols(final List parts, final List dragedParts) {
-
-        // add the port edit parts to a list
-        List<AbstractPortEditPart> portList = getPorts(parts);
+    private SnapOffsets createSnapOffsets(final List parts, final List dragedParts) {
+        SnapOffsets.Builder builder = new SnapOffsets.Builder();
 
         // create all row relevant points fromt the port list
-        List<Entry> rowVector = new ArrayList<Entry>();
-        for (int i = 0; i < portList.size(); i++) {
-            GraphicalEditPart child = portList.get(i);
-            Rectangle bounds = getFigureBounds(child);
-
-            // get information is this is an inport
-            boolean inport = false;
-            if (portList.get(i) instanceof NodeInPortEditPart
-                    || portList.get(i) instanceof WorkflowInPortEditPart) {
-                inport = true;
-            }
-
-            // get information is this is a model port
-            rowVector.add(new Entry(0, bounds.y + (bounds.height - 1) / 2,
-                    inport, portList.get(i).getType()));
+        for (AbstractPortEditPart port : getPorts(parts)) {
+            Rectangle bounds = getFigureBounds(port);
+            int offset = bounds.y + (bounds.height - 1) / 2;
+            builder.add(ROW_CENTER, offset);
+            builder.add(SnapOffsets.portKey(isInport(port), port.getType()), offset);
         }
 
-        // add the port edit parts to a list
-        List<AbstractPortEditPart> dargedPortList = getPorts(dragedParts);
-        for (int i = 0; i < dargedPortList.size(); i++) {
+        for (AbstractPortEditPart portPart : getPorts(dragedParts)) {
 
             // for each port get a possible connection (if connected)
-            AbstractPortEditPart portPart = dargedPortList.get(i);
-
             List sourceConnections = portPart.getSourceConnections();
             for (int j = 0; j < sourceConnections.size(); j++) {
                 ConnectionContainerEditPart conPart
@@ -502,7 +578,8 @@ protected void populateRowsAndCols(final List parts, final List dragedParts) {
                 Point p = ((Connection)conPart.getFigure()).getPoints()
                         .getPoint(2);
 
-                rowVector.add(new Entry(0, p.y, true, portPart.getType()));
+                builder.add(ROW_CENTER, p.y);
+                builder.add(SnapOffsets.portKey(true, portPart.getType()), p.y);
             }
 
             List targetConnections = portPart.getTargetConnections();
@@ -513,20 +590,76 @@ protected void populateRowsAndCols(final List parts, final List dragedParts) {
                 PointList pList = ((Connection)conPart.getFigure()).getPoints();
                 Point p = pList.getPoint(pList.size() - 3);
 
-                rowVector.add(new Entry(0, p.y, false, portPart.getType()));
+                builder.add(ROW_CENTER, p.y);
+                builder.add(SnapOffsets.portKey(false, portPart.getType()), p.y);
             }
         }
 
-        List<Entry> colVector = new ArrayList<Entry>();
-
         for (int i = 0; i < parts.size(); i++) {
             GraphicalEditPart child = (GraphicalEditPart)parts.get(i);
             Rectangle bounds = getFigureBounds(child);
-            colVector.add(new Entry(0, bounds.x + (bounds.width - 1) / 2));
+            builder.add(COL_CENTER, bounds.x + (bounds.width - 1) / 2);
         }
 
-        m_rows = rowVector.toArray(new Entry[rowVector.size()]);
-        m_cols = colVector.toArray(new Entry[colVector.size()]);
+        return builder.build();
+    }
+
+    /**
+     * Updates the cached row and column Entries using the provided parts.
+     * Columns are only the center of a node figure while rows are all ports of
+     * a node.
+     *
+     * @param parts a List of EditParts
+     * @deprecated the offsets are created when the drag starts, this replaces
+     *             the offsets of the parts not being dragged by the ones of
+     *             the given parts
+     */
+    @Deprecated
+    protected void populateRowsAndCols(final List parts, final List dragedParts) {
+        m_baseOffsets = createSnapOffsets(parts, dragedParts);
+        m_moveOffsets = null;
+        m_cloneOffsets = null;
+        m_offsets = m_baseOffsets;
+    }
+
+    /**
+     * Updates the offsets being snapped to. The parts not being dragged are
+     * only scanned on the first call; switching between move and clone merges
+     * the offsets of the dragged parts in or out.
+     *
+     * @param dragedParts the parts being dragged
+     * @param isClone whether the dragged parts are cloned
+     */
+    private void updateOffsets(final List dragedParts, final boolean isClone) {
+        if (m_baseOffsets == null) {
+            m_baseOffsets = createSnapOffsets(generateSnapPartsList(dragedParts),
+                    Collections.EMPTY_LIST);
+        }
+        if (isClone) {
+            if (m_cloneOffsets == null) {
+                List<Object> cloned = new ArrayList<Object>(dragedParts);
+                cloned.retainAll(new HashSet<Object>(generateSnapPartsList(Collections.EMPTY_LIST)));
+                m_cloneOffsets = createSnapOffsets(cloned, Collections.EMPTY_LIST);
+            }
+            m_offsets = m_baseOffsets.merge(m_cloneOffsets);
+            m_yValues = new int[0];
+            m_yKeys = new Object[0];
+            return;
+        }
+        if (m_moveOffsets == null) {
+            m_moveOffsets = createSnapOffsets(Collections.EMPTY_LIST, dragedParts);
+        }
+        m_offsets = m_baseOffsets.merge(m_moveOffsets);
+
+        // get y values of the draged node part ports
+        List<AbstractPortEditPart> ports = getPorts(dragedParts);
+        m_yValues = new int[ports.size()];
+        m_yKeys = new Object[ports.size()];
+        for (int i = 0; i < ports.size(); i++) {
+            AbstractPortEditPart port = ports.get(i);
+            m_yValues[i] = getFigureBounds(port).getLeft().y;
+            m_yKeys[i] = SnapOffsets.portKey(!isInport(port), port.getType());
+        }
     }
 
     /**
@@ -545,19 +678,13 @@ public int snapRectangle(final Request request, int snapOrientation,
 
         // Recalculate snapping locations if needed
         boolean isClone = request.getType().equals(RequestConstants.REQ_CLONE);
-        List exclusionSet = null;
-        if (m_rows == null || m_cols == null || isClone != m_cachedCloneBool) {
+        if (m_offsets == null || isClone != m_cachedCloneBool) {
             m_cachedCloneBool = isClone;
-            exclusionSet = Collections.EMPTY_LIST;
-            if (!isClone) {
-                exclusionSet = changeBoundsRequest.getEditParts();
-            }
-            populateRowsAndCols(generateSnapPartsList(exclusionSet),
-                    exclusionSet);
+            updateOffsets(changeBoundsRequest.getEditParts(), isClone);
         }
 
         if ((snapOrientation & HORIZONTAL) != 0) {
-            double xcorrect = getCorrectionFor(m_cols, changeBoundsRequest.getExtendedData(),
+            double xcorrect = getCorrectionFor(changeBoundsRequest.getExtendedData(),
                     true, baseRect.preciseX, baseRect.preciseRight());
             if (xcorrect != THRESHOLD) {
                 snapOrientation &= ~HORIZONTAL;
@@ -565,34 +692,12 @@ public int snapRectangle(final Request request, int snapOrientation,
             }
         }
 
-        // get y values of the draged node part ports
-        if (exclusionSet != null) {
-            List<AbstractPortEditPart> ports = getPorts(exclusionSet);
-            Entry[] yValues = new Entry[ports.size()];
-            int i = 0;
-            for (AbstractPortEditPart port : ports) {
-
-                boolean inport = false;
-                if (port instanceof NodeInPortEditPart
-                        || port instanceof WorkflowInPortEditPart) {
-                    inport = true;
-                }
-
-                yValues[i] = new Entry(0, getFigureBounds(port).getLeft().y,
-                        inport, port.getType());
-                i++;
-            }
-            m_yValues = yValues;
-        }
-
         // get the move delta of the orignial location
         Point moveDeltaPoint = changeBoundsRequest.getMoveDelta();
         WorkflowEditor.adaptZoom(m_zoomManager, moveDeltaPoint, false);
         int moveDelta = moveDeltaPoint.y;
         if ((snapOrientation & VERTICAL) != 0) {
-            double ycorrect = THRESHOLD;
-            ycorrect = getCorrectionForY(m_rows, changeBoundsRequest.getExtendedData(),
-                    m_yValues, moveDelta);
+            double ycorrect = getCorrectionForY(m_yValues, m_yKeys, moveDelta);
             if (Math.abs(ycorrect) < THRESHOLD) {
                 snapOrientation &= ~VERTICAL;
                 correction.preciseY += ycorrect;
@@ -600,7 +705,7 @@ public int snapRectangle(final Request request, int snapOrientation,
         }
 
         if ((snapOrientation & EAST) != 0) {
-            double rightCorrection = getCorrectionFor(m_cols, request
+            double rightCorrection = getCorrectionFor(getOffsets(true, 1), request
                     .getExtendedData(), true, baseRect.preciseRight() - 1, 1);
             if (rightCorrection != THRESHOLD) {
                 snapOrientation &= ~EAST;
@@ -609,7 +714,7 @@ public int snapRectangle(final Request request, int snapOrientation,
         }
 
         if ((snapOrientation & WEST) != 0) {
-            double leftCorrection = getCorrectionFor(m_cols, request
+            double leftCorrection = getCorrectionFor(getOffsets(true, -1), request
                     .getExtendedData(), true, baseRect.preciseX, -1);
             if (leftCorrection != THRESHOLD) {
                 snapOrientation &= ~WEST;
@@ -619,7 +724,7 @@ public int snapRectangle(final Request request, int snapOrientation,
         }
 
         if ((snapOrientation & SOUTH) != 0) {
-            double bottom = getCorrectionFor(m_rows, request.getExtendedData(),
+            double bottom = getCorrectionFor(getOffsets(false, 1), request.getExtendedData(),
                     false, baseRect.preciseBottom() - 1, 1);
             if (bottom != THRESHOLD) {
                 snapOrientation &= ~SOUTH;
@@ -628,7 +733,7 @@ public int snapRectangle(final Request request, int snapOrientation,
         }
 
         if ((snapOrientation & NORTH) != 0) {
-            double topCorrection = getCorrectionFor(m_rows, request
+            double topCorrection = getCorrectionFor(getOffsets(false, -1), request
                     .getExtendedData(), false, baseRect.preciseY, -1);
             if (topCorrection != THRESHOLD) {
                 snapOrientation &= ~NORTH;
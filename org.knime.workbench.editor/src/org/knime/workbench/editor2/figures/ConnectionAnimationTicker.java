@@ -0,0 +1,152 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026: created
+ */
+package org.knime.workbench.editor2.figures;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.swt.widgets.Display;
+import org.knime.core.node.workflow.ConnectionProgress;
+import org.knime.workbench.core.util.CoalescingUIScheduler;
+
+/**
+ * Single animation ticker for the "marching ants" of all {@link ProgressPolylineConnection}s on a display. Progress
+ * events arrive on arbitrary threads and only replace the pending event of their connection in a lock-free map. Once
+ * per tick all pending events are applied and the dash state of every connection that is in progress is advanced in
+ * one pass in the display thread, instead of one timer task plus one <code>asyncExec</code> per connection and event.
+ * Connections register when their progress starts and unregister when it ends (or when they are removed from the
+ * canvas); the ticker stops as soon as nothing is animating.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class ConnectionAnimationTicker {
+
+    /** Milliseconds between two animation steps, slow enough for the dashes to be followed by the eye. */
+    private static final int TICK_INTERVAL = 250;
+
+    private static final Map<Display, ConnectionAnimationTicker> INSTANCES = new ConcurrentHashMap<>();
+
+    private final Display m_display;
+
+    /** Latest not yet applied progress per connection, intermediate events are dropped. */
+    private final Map<ProgressPolylineConnection, ConnectionProgress> m_pendingProgress = new ConcurrentHashMap<>();
+
+    /** Connections currently in progress. Only accessed in the display thread. */
+    private final Set<ProgressPolylineConnection> m_animatedConnections = new LinkedHashSet<>();
+
+    private final CoalescingUIScheduler m_scheduler;
+
+    private ConnectionAnimationTicker(final Display display) {
+        m_display = display;
+        m_scheduler = new CoalescingUIScheduler(display, TICK_INTERVAL, this::tick, this::dispose);
+    }
+
+    /**
+     * @param display the display the connections are painted on, not null
+     * @return the ticker associated with the given display
+     */
+    static ConnectionAnimationTicker getInstance(final Display display) {
+        return INSTANCES.computeIfAbsent(display, ConnectionAnimationTicker::new);
+    }
+
+    /**
+     * Queues the progress to be applied to the connection with the next tick. Never blocks; can be called from any
+     * thread.
+     *
+     * @param connection the connection
+     * @param progress its new progress
+     */
+    void progressChanged(final ProgressPolylineConnection connection, final ConnectionProgress progress) {
+        m_pendingProgress.put(connection, progress);
+        m_scheduler.request();
+    }
+
+    /**
+     * Stops animating the connection and drops its pending progress. Called in the display thread.
+     *
+     * @param connection the connection that is removed from the canvas
+     */
+    void unregister(final ProgressPolylineConnection connection) {
+        m_pendingProgress.remove(connection);
+        m_animatedConnections.remove(connection);
+    }
+
+    /** Called in the display thread, applies pending progress and advances all in-progress connections. */
+    private void tick() {
+        for (Iterator<ProgressPolylineConnection> it = m_pendingProgress.keySet().iterator(); it.hasNext();) {
+            final ProgressPolylineConnection connection = it.next();
+            final ConnectionProgress progress = m_pendingProgress.remove(connection);
+            if (progress == null || connection.getParent() == null) {
+                // late event of a connection that has been removed from the canvas in the meantime
+                continue;
+            }
+            if (progress.inProgress()) {
+                m_animatedConnections.add(connection);
+            } else {
+                m_animatedConnections.remove(connection);
+                connection.setSolid();
+            }
+            connection.setLabel(progress.hasMessage() ? progress.getMessage() : "");
+        }
+        if (!m_animatedConnections.isEmpty()) {
+            for (ProgressPolylineConnection connection : m_animatedConnections) {
+                connection.step();
+            }
+            m_scheduler.request();
+        }
+    }
+
+    private void dispose() {
+        INSTANCES.remove(m_display);
+        m_pendingProgress.clear();
+    }
+}
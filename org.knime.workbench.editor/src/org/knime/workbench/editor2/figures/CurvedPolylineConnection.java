@@ -123,7 +123,8 @@ public void setCurved(final boolean curved) {
     /** {@inheritDoc} */
     @Override
     protected void outlineShape(final Graphics g) {
-        if (m_approxCurve != null) {
+        // zoomed out the curve is indistinguishable from the straight polyline, which is cheaper to draw
+        if (m_approxCurve != null && !LevelOfDetail.isSimplified(g)) {
             if (m_state < 0) {
                 setLineStyle(SWT.LINE_SOLID);
             } else {
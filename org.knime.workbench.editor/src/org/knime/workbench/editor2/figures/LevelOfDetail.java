@@ -0,0 +1,88 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026: created
+ */
+package org.knime.workbench.editor2.figures;
+
+import org.eclipse.draw2d.Graphics;
+
+/**
+ * Decides whether the workflow canvas is zoomed out so far that figures should be drawn as simplified glyphs (node
+ * as a coloured box, straight connections, no labels or annotation text) instead of with full detail. Painting
+ * thousands of unreadable labels and bezier curves is what makes scrolling large workflows choppy when zoomed out.
+ * <p>
+ * The threshold is the on-screen size of a node icon in pixels below which the simplified rendering kicks in. It
+ * defaults to {@value #DEFAULT_THRESHOLD} and can be changed with the system property {@value #PROPERTY_THRESHOLD};
+ * a value of 0 disables the simplified rendering.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 5.1
+ */
+public final class LevelOfDetail {
+
+    /** System property holding the minimal on-screen node icon size (in pixels) for full detail rendering. */
+    public static final String PROPERTY_THRESHOLD = "knime.workbench.editor.lod.threshold";
+
+    /** Default minimal on-screen node icon size (in pixels) for full detail rendering. */
+    public static final int DEFAULT_THRESHOLD = 12;
+
+    /** Size of a node icon at 100% zoom. */
+    private static final int REFERENCE_SIZE = 32;
+
+    private static final int THRESHOLD = Math.max(0, Integer.getInteger(PROPERTY_THRESHOLD, DEFAULT_THRESHOLD));
+
+    private LevelOfDetail() {
+    }
+
+    /**
+     * @param graphics the graphics being painted on, its absolute scale reflects the editor's zoom level
+     * @return <code>true</code> if figures painted on the argument should be drawn simplified
+     */
+    public static boolean isSimplified(final Graphics graphics) {
+        return REFERENCE_SIZE * graphics.getAbsoluteScale() < THRESHOLD;
+    }
+}
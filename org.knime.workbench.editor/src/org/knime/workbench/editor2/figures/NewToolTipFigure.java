@@ -47,11 +47,14 @@
  */
 package org.knime.workbench.editor2.figures;
 
+import java.util.function.Supplier;
+
 import org.eclipse.draw2d.Border;
 import org.eclipse.draw2d.Figure;
 import org.eclipse.draw2d.Label;
 import org.eclipse.draw2d.MarginBorder;
 import org.eclipse.draw2d.ToolbarLayout;
+import org.eclipse.draw2d.geometry.Dimension;
 import org.eclipse.jface.resource.JFaceResources;
 import org.knime.workbench.KNIMEEditorPlugin;
 import org.knime.workbench.core.util.ImageRepository;
@@ -66,6 +69,9 @@ public class NewToolTipFigure extends Figure {
 
     private Label m_tooltip;
 
+    /** Computes the new text when the tooltip is shown next, <code>null</code> if the text is up-to-date. */
+    private Supplier<String> m_textSupplier;
+
     /**
      * Creates a new ToolTip.
      *
@@ -89,8 +95,37 @@ public NewToolTipFigure(final String text) {
      * @param text The text to show
      */
     public void setText(final String text) {
+        m_textSupplier = null;
         m_tooltip.setText(text);
         m_tooltip.setSize(m_tooltip.getPreferredSize().expand(10, 10));
         this.setSize(m_tooltip.getSize().expand(5, 7));
     }
+
+    /**
+     * Sets the text lazily: the supplier is only called when the tooltip is about to be shown (replacing any
+     * previously set supplier), which avoids computing texts that are never looked at.
+     *
+     * @param textSupplier computes the text to show, may return <code>null</code> to keep the current text
+     * @since 5.1
+     */
+    public void setTextSupplier(final Supplier<String> textSupplier) {
+        m_textSupplier = textSupplier;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Dimension getPreferredSize(final int wHint, final int hHint) {
+        // called by the tooltip helper before the tooltip is displayed
+        final Supplier<String> textSupplier = m_textSupplier;
+        if (textSupplier != null) {
+            final String text = textSupplier.get();
+            if (text != null) {
+                setText(text);
+            }
+            m_textSupplier = null;
+        }
+        return super.getPreferredSize(wHint, hHint);
+    }
 }
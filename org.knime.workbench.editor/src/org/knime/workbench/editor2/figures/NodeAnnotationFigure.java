@@ -54,6 +54,7 @@
 import org.eclipse.draw2d.BorderLayout;
 import org.eclipse.draw2d.ColorConstants;
 import org.eclipse.draw2d.Figure;
+import org.eclipse.draw2d.Graphics;
 import org.eclipse.draw2d.PositionConstants;
 import org.eclipse.draw2d.geometry.Rectangle;
 import org.eclipse.draw2d.text.BlockFlow;
@@ -326,6 +327,17 @@ protected TextFlow getDefaultStyledAnnotation(final String text, final Font f, f
         return unstyledText;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void paintChildren(final Graphics graphics) {
+        // when zoomed out the text is unreadable; only the (opaque) background box is drawn
+        if (!LevelOfDetail.isSimplified(graphics)) {
+            super.paintChildren(graphics);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
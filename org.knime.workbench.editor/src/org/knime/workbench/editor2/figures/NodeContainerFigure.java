@@ -195,6 +195,9 @@ public class NodeContainerFigure extends RectangleFigure implements EditorModePa
     /** Replace-node sign. */
     public static final Image REPLACE_SIGN = ImageRepository.getUnscaledImage(EDITOR_PLUGIN_ID, "icons/replace-node.png");
 
+    /** Alpha of the ghostly forms of images and of the simplified node when not in node edit mode. */
+    private static final int GHOSTLY_ALPHA = 32;
+
     /** State: Node not configured. */
     public static final int STATE_NOT_CONFIGURED = 0;
 
@@ -252,6 +255,9 @@ public class NodeContainerFigure extends RectangleFigure implements EditorModePa
 
     private WorkflowEditorMode m_currentEditorMode = WorkflowEditor.INITIAL_EDITOR_MODE;
 
+    /** The color of the box drawn instead of the node when zoomed out, reflects the node's state. */
+    private Color m_simplifiedColor = ColorConstants.lightGray;
+
     /**
      * Creates a new node figure.
      *
@@ -326,6 +332,8 @@ public void figureIsBeingDisposed() {
         // The other figures containing images contains class-static Image instances, so we are only concerned
         //      with the SymbolFigure instance.
         m_symbolFigure.disposeGhostlyImage();
+        // unregister from the progress render scheduler (if still animating)
+        m_progressFigure.stopUnknownProgress();
     }
 
     /**
@@ -566,7 +574,7 @@ private static Image makeImageGhostly(final Image image) {
         final Image i = new Image(Display.getCurrent(), iWithoutDataProvider != null ? iWithoutDataProvider : image, SWT.IMAGE_GRAY);
 
         final ImageData id = i.getImageData();
-        id.alpha = 32;
+        id.alpha = GHOSTLY_ALPHA;
         if (id.getTransparencyType() != SWT.TRANSPARENCY_ALPHA) {
             id.transparentPixel = -1;
             id.maskData = null;
@@ -701,27 +709,34 @@ public void setStateFromNC(final NodeContainerUI nc) {
             if (state.isIdle()) {
                 setStatusAmple();
                 m_statusFigure.setIcon(RED, RED_GHOSTLY);
+                m_simplifiedColor = ColorConstants.red;
             } else if (state.isConfigured()) {
                 setStatusAmple();
                 m_statusFigure.setIcon(YELLOW, YELLOW_GHOSTLY);
+                m_simplifiedColor = ColorConstants.orange;
             } else if (state.isExecuted()) {
                 setStatusAmple();
                 m_statusFigure.setIcon(GREEN, GREEN_GHOSTLY);
+                m_simplifiedColor = ColorConstants.darkGreen;
             } else if (state.isWaitingToBeExecuted()) {
                 if (LoopStatus.PAUSED.equals(loopStatus)) {
                     setProgressBar(ProgressMode.PAUSED);
                 } else {
                     setProgressBar(ProgressMode.QUEUED);
                 }
+                m_simplifiedColor = ColorConstants.lightBlue;
             } else if (state.isExecutionInProgress()) {
                 setProgressBar(ProgressMode.EXECUTING);
+                m_simplifiedColor = ColorConstants.blue;
             } else {
                 setStatusAmple();
                 m_statusFigure.setIcon(INACTIVE, INACTIVE_GHOSTLY);
+                m_simplifiedColor = ColorConstants.lightGray;
             }
         } else {
             setStatusAmple();
             m_statusFigure.setIcon(INACTIVE, INACTIVE_GHOSTLY);
+            m_simplifiedColor = ColorConstants.lightGray;
         }
         setReExecutableStatus(nc);
         setLoopStatus(loopStatus, state.isExecuted());
@@ -894,6 +909,12 @@ protected void fillShape(final Graphics graphics) {
      */
     @Override
     public void paint(final Graphics graphics) {
+        if (LevelOfDetail.isSimplified(graphics)) {
+            // zoomed out too far for icon, label and status to be legible - skip the children (and their text
+            // measurement) and only draw a box in the color of the node's state
+            paintSimplified(graphics);
+            return;
+        }
         // paints the figure and its children
         super.paint(graphics);
 
@@ -906,6 +927,20 @@ public void paint(final Graphics graphics) {
         }
     }
 
+    private void paintSimplified(final Graphics graphics) {
+        final Rectangle r = getSymbolFigure().getBounds();
+        final boolean editable = WorkflowEditorMode.NODE_EDIT.equals(m_currentEditorMode);
+        graphics.pushState();
+        if (!editable) {
+            graphics.setAlpha(GHOSTLY_ALPHA);
+        }
+        graphics.setBackgroundColor(m_simplifiedColor);
+        graphics.fillRectangle(r);
+        graphics.setForegroundColor(ColorConstants.gray);
+        graphics.drawRectangle(r.x, r.y, r.width - 1, r.height - 1);
+        graphics.popState();
+    }
+
     /**
      * {@inheritDoc}
      */
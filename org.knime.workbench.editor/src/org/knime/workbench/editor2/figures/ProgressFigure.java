@@ -47,11 +47,6 @@
  */
 package org.knime.workbench.editor2.figures;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
-
 import org.eclipse.draw2d.ColorConstants;
 import org.eclipse.draw2d.DelegatingLayout;
 import org.eclipse.draw2d.FigureUtilities;
@@ -97,8 +92,6 @@ public class ProgressFigure extends RectangleFigure implements MouseMotionListen
 
     private static final Color PROGRESS_BAR_COLOR = ColorConstants.darkBlue;
 
-    private static final UnknownProgressTimer unknownProgressTimer;
-
     static {
         Display current = Display.getCurrent();
         Font systemFont = current.getSystemFont();
@@ -111,10 +104,6 @@ public class ProgressFigure extends RectangleFigure implements MouseMotionListen
         PROGRESS_FONT = new Font(current, name, height, SWT.NORMAL);
         QUEUED_FONT = new Font(current, name, 7, SWT.NORMAL);
         QUEUED_FONT_SMALL = new Font(current, name, 6, SWT.NORMAL);
-
-        // instantiate and start the unkown progress timer
-        unknownProgressTimer = new UnknownProgressTimer();
-        unknownProgressTimer.start();
     }
 
     private boolean m_unknownProgress = false;
@@ -157,13 +146,11 @@ public static enum ProgressMode {
 
     private ProgressToolTipHelper m_toolTipHelper;
 
-    private final Runnable m_repaintObject = new Runnable() {
-        @Override
-        public void run() {
+    /** Set by {@link #progressChanged(NodeProgress)}, consumed by {@link #renderFrame()} in the display thread. */
+    private volatile boolean m_repaintRequested;
 
-            repaint();
-        }
-    };
+    /** Set when the progress message changed while the tooltip is shown, consumed by {@link #renderFrame()}. */
+    private volatile boolean m_toolTipUpdateRequested;
 
     /**
      * Creates a new node figure.
@@ -317,7 +304,7 @@ public void paintFigure(final Graphics graphics) {
      */
     public void stopUnknownProgress() {
         m_unknownProgress = false;
-        unknownProgressTimer.removeFigure(this);
+        stopAnimation();
     }
 
     /**
@@ -336,11 +323,10 @@ public void activateUnknownProgress() {
         // reset the worked value
         m_currentWorked = -1;
 
-        if (m_currentDisplay == null) {
-            return;
+        final ProgressRenderScheduler scheduler = getRenderScheduler();
+        if (scheduler != null) {
+            scheduler.startAnimation(this);
         }
-
-        unknownProgressTimer.addFigure(this);
     }
 
     /**
@@ -382,7 +368,7 @@ public synchronized void progressChanged(final NodeProgress pe) {
             // for unknown redering triggering started in
             // activateUnknownProgress
             m_unknownProgress = false;
-            unknownProgressTimer.removeFigure(this);
+            stopAnimation();
 
             m_currentWorked = newWorked;
 
@@ -400,27 +386,64 @@ public synchronized void progressChanged(final NodeProgress pe) {
             String meString = m_currentProgressMessage;
             m_currentProgressMessage = message == null ? "" : m_stateMessage + " - " + message;
 
-            if (!m_currentProgressMessage.equals(meString) && (m_mouseEvent != null) && (m_currentDisplay != null)
-                && !m_currentDisplay.isDisposed() /* bugfix: 1392 */) {
-                m_currentDisplay.syncExec(new Runnable() {
-                    @Override
-                    public void run() {
-                        if (m_mouseEvent != null) {
-                            getToolTipHelper().displayToolTipNear(ProgressFigure.this,
-                                new Label(m_currentProgressMessage), m_mouseEvent.x, m_mouseEvent.y);
-                        }
-                    }
-                });
+            if (!m_currentProgressMessage.equals(meString) && (m_mouseEvent != null)) {
+                m_toolTipUpdateRequested = true;
+                changed = true;
             }
         }
 
-        if (m_currentDisplay == null) {
-            return;
+        if (changed) {
+            m_repaintRequested = true;
+            final ProgressRenderScheduler scheduler = getRenderScheduler();
+            if (scheduler != null) {
+                // never block the (worker) thread on the display, the scheduler repaints with the next frame
+                scheduler.markDirty(this);
+            }
         }
+    }
 
-        if (changed) {
-            m_currentDisplay.syncExec(m_repaintObject);
+    /**
+     * Called by the {@link ProgressRenderScheduler} in the display thread to apply pending updates.
+     */
+    void renderFrame() {
+        if (m_toolTipUpdateRequested) {
+            m_toolTipUpdateRequested = false;
+            final MouseEvent mouseEvent = m_mouseEvent;
+            final ProgressToolTipHelper toolTipHelper = getToolTipHelper();
+            if (mouseEvent != null && toolTipHelper != null) {
+                toolTipHelper.displayToolTipNear(this, new Label(m_currentProgressMessage), mouseEvent.x,
+                    mouseEvent.y);
+            }
+        }
+        if (m_repaintRequested) {
+            m_repaintRequested = false;
+            repaint();
+        }
+    }
+
+    /**
+     * @param timestamp the current time in ms
+     * @return whether the cycling unknown progress bar is due to move one step (some figures are updated by ordinary
+     *         repaint events already)
+     */
+    boolean isAnimationFrameDue(final long timestamp) {
+        return timestamp - m_unknownProgressBarRenderingStatus.m_lastUpdateTimestamp
+                > UNKNOWN_PROGRESS_UPDATE_INTERVAL;
+    }
+
+    private void stopAnimation() {
+        final ProgressRenderScheduler scheduler = getRenderScheduler();
+        if (scheduler != null) {
+            scheduler.stopAnimation(this);
+        }
+    }
+
+    private ProgressRenderScheduler getRenderScheduler() {
+        final Display display = m_currentDisplay;
+        if (display == null || display.isDisposed() /* bugfix: 1392 */) {
+            return null;
         }
+        return ProgressRenderScheduler.getInstance(display);
     }
 
     /**
@@ -442,7 +465,8 @@ public void reset() {
         m_currentProgressMessage = "";
         m_currentWorked = -1;
         m_unknownProgress = true;
-        unknownProgressTimer.removeFigure(this);
+        stopAnimation();
+        m_toolTipUpdateRequested = false;
         m_mouseEvent = null;
 
         if (getToolTipHelper() != null) {
@@ -465,13 +489,6 @@ public void setCurrentDisplay(final Display currentDisplay) {
         m_currentDisplay = currentDisplay;
     }
 
-    /**
-     * @return the currentDisplay
-     */
-    Display getCurrentDisplay() {
-        return m_currentDisplay;
-    }
-
     @Override
     public void mouseDragged(final MouseEvent me) {
     }
@@ -525,89 +542,4 @@ public void mouseHover(final MouseEvent me) {
     public void mouseMoved(final MouseEvent me) {
     }
 
-    /**
-     * Implements a thread that updates all figures passed to it. The thread for updating the unknown progress figures
-     * (cycling figures) is intended to run just one time. The advantage is that the expensive rendering on the display
-     * thread is only invoked once for all figures to render.
-     *
-     * @author Christoph Sieb, University of Konstanz
-     */
-    private static class UnknownProgressTimer extends Thread {
-
-        private final List<ProgressFigure> m_figuresToPaint = new ArrayList<ProgressFigure>();
-
-        /**
-         * Creats an unknown progress timer for cycling progress bar rendering.
-         */
-        public UnknownProgressTimer() {
-            super("Unknown Progress Timer");
-        }
-
-        @Override
-        public void run() {
-            while (!isInterrupted()) {
-                // if the queue is empty wait for the next
-                // figure to render
-                synchronized (m_figuresToPaint) {
-                    while (m_figuresToPaint.size() == 0) {
-                        try {
-                            m_figuresToPaint.wait();
-                        } catch (InterruptedException e) {
-                            break;
-                        }
-                    }
-                    long timestamp = System.currentTimeMillis();
-
-                    // a map Display to list of prog-figures - presumably this is always a single entry map
-                    Map<Display, List<ProgressFigure>> byDisplayMap = m_figuresToPaint.stream()
-                            // filter those that need updating - some got updated by ordinary repaint events
-                            .filter(p -> (timestamp - p.m_unknownProgressBarRenderingStatus.m_lastUpdateTimestamp
-                                    > UNKNOWN_PROGRESS_UPDATE_INTERVAL))
-                            .collect(Collectors.groupingBy(ProgressFigure::getCurrentDisplay));
-                    for (final Map.Entry<Display, List<ProgressFigure>> entry : byDisplayMap.entrySet()) {
-                        Display dp = entry.getKey();
-                        if ((dp != null) && !dp.isDisposed()) {
-                            dp.asyncExec(new Runnable() {
-                                @Override
-                                public void run() {
-                                    entry.getValue().stream().forEach(f -> f.repaint());
-                                }
-                            });
-                        }
-                    }
-                }
-
-                // figure updates with some delay
-                try {
-                    Thread.sleep(UNKNOWN_PROGRESS_UPDATE_INTERVAL);
-                } catch (InterruptedException e) {
-                    break;
-                }
-            }
-        }
-
-        /**
-         * Add a progress figure that should be rendered regularly. (Intended for cycling progress bars)
-         *
-         * @param figure The figure to render regularly
-         */
-        public void addFigure(final ProgressFigure figure) {
-            synchronized (m_figuresToPaint) {
-                m_figuresToPaint.add(figure);
-                m_figuresToPaint.notify();
-            }
-        }
-
-        /**
-         * Remove a figure that is no longer intended to be rendered regulary.
-         *
-         * @param figure the figure to remove
-         */
-        public void removeFigure(final ProgressFigure figure) {
-            synchronized (m_figuresToPaint) {
-                m_figuresToPaint.remove(figure);
-            }
-        }
-    }
-
 }
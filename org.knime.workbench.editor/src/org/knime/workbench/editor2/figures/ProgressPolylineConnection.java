@@ -46,12 +46,6 @@
 package org.knime.workbench.editor2.figures;
 
 import java.util.Objects;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicReference;
 
 import org.eclipse.draw2d.ConnectionLocator;
 import org.eclipse.draw2d.Graphics;
@@ -118,16 +112,6 @@ public static void setFlowVariableHighlightColor(final RGB rgb) {
     }
 
 
-    /** Service to make the marching ants go slow ... not updating with each event. */
-    private static ScheduledExecutorService UI_PROGESS_UPDATE_SERVICE = Executors.newSingleThreadScheduledExecutor(
-        new ThreadFactory() {
-            private final AtomicInteger m_threadCreateCounter = new AtomicInteger();
-            @Override
-            public Thread newThread(final Runnable r) {
-                return new Thread(r, "Delayed Progress Updater-" + m_threadCreateCounter.getAndIncrement());
-            }
-        });
-
     /** line dash style that we cycle through to create a flow animation--need 3
      * patterns to create a smooth animation. */
     protected static final int[][] DASHES = {
@@ -153,9 +137,6 @@ public Thread newThread(final Runnable r) {
     /** display label for showing connection statistics. */
     private final Label m_label;
 
-    /** Next to process update event or null ... used to avoid intermediate updates. */
-    private final AtomicReference<ConnectionProgress> m_atomicConnectionProgressReference = new AtomicReference<>();
-
     /**
      * Creates a new connection.
      */
@@ -185,6 +166,16 @@ protected void outlineShape(final Graphics g) {
         super.outlineShape(g);
     }
 
+    /**
+     * Skips the label and decorations when zoomed out too far for them to be legible. {@inheritDoc}
+     */
+    @Override
+    protected void paintChildren(final Graphics graphics) {
+        if (!LevelOfDetail.isSimplified(graphics)) {
+            super.paintChildren(graphics);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -216,40 +207,27 @@ public void setHighlighted(final boolean flag, final boolean representsFlowVaria
 
     /**
      * Update the progress. Calling this method serves two purposes. First, it
-     * updates the label. Second it updates the animation.
+     * updates the label. Second it starts or stops the animation. The update is
+     * applied with the next tick of the {@link ConnectionAnimationTicker}, which
+     * also advances the animation of all connections in progress.
      *
      * @param e the connection progress
      */
     public void progressChanged(final ConnectionProgress e) {
-        if (m_atomicConnectionProgressReference.getAndSet(e) == null) {
-            UI_PROGESS_UPDATE_SERVICE.schedule(new Runnable() {
-                @Override
-                public void run() {
-                    Display.getDefault().asyncExec(new Runnable() {
-                        @Override
-                        public void run() {
-                            if (!Display.getDefault().isDisposed()) {
-                                progressChangedInternal(m_atomicConnectionProgressReference.getAndSet(null));
-                            }
-                        }
-                    });
-                }
-            }, 250, TimeUnit.MILLISECONDS);
-        }
+        ConnectionAnimationTicker.getInstance(Display.getDefault()).progressChanged(this, e);
     }
 
-    private void progressChangedInternal(final ConnectionProgress e) {
-        if (e.inProgress()) {
-            // currently in-progress--advance to the next position in the animation
-            step();
-        } else {
-            // not in-progress--set to solid
-            setSolid();
-        }
-        setLabel(e.hasMessage() ? e.getMessage() : "");
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void removeNotify() {
+        ConnectionAnimationTicker.getInstance(Display.getDefault()).unregister(this);
+        super.removeNotify();
     }
 
-    private void step() {
+    /** Advances to the next position in the animation. */
+    void step() {
         setLineStyle(SWT.LINE_CUSTOM);
         m_state++;
         if (m_state >= DASHES.length) {
@@ -258,11 +236,11 @@ private void step() {
         repaint();
     }
 
-    private void setLabel(final String label) {
+    void setLabel(final String label) {
         this.m_label.setText(label);
     }
 
-    private void setSolid() {
+    void setSolid() {
         m_state = -1;
         setLineStyle(SWT.LINE_SOLID);
     }
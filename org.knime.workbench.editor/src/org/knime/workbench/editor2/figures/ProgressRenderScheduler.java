@@ -0,0 +1,156 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026: created
+ */
+package org.knime.workbench.editor2.figures;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.swt.widgets.Display;
+import org.knime.workbench.core.util.CoalescingUIScheduler;
+
+/**
+ * Central, frame-paced repaint scheduler for {@link ProgressFigure}s. Progress events arrive on arbitrary (worker)
+ * threads; instead of each of them doing a (blocking) <code>syncExec</code> the figure is only marked dirty in a
+ * lock-free set. All dirty figures are then repainted in one batched <code>asyncExec</code> per frame. Figures showing
+ * an unknown progress (cycling bar) are registered as animated and get repainted by the same frame loop, which stops as
+ * soon as there is nothing left to animate.
+ *
+ * <p>
+ * The frame rate defaults to {@value #DEFAULT_FRAME_RATE} Hz and can be changed with the system property
+ * {@value #PROPERTY_FRAME_RATE}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class ProgressRenderScheduler {
+
+    /** System property to set the number of progress render frames per second. */
+    static final String PROPERTY_FRAME_RATE = "knime.workbench.progress.framerate";
+
+    private static final int DEFAULT_FRAME_RATE = 30;
+
+    private static final Map<Display, ProgressRenderScheduler> INSTANCES = new ConcurrentHashMap<>();
+
+    private final Display m_display;
+
+    private final CoalescingUIScheduler m_scheduler;
+
+    private final Set<ProgressFigure> m_dirtyFigures = ConcurrentHashMap.newKeySet();
+
+    private final Set<ProgressFigure> m_animatedFigures = ConcurrentHashMap.newKeySet();
+
+    private ProgressRenderScheduler(final Display display) {
+        m_display = display;
+        m_scheduler = new CoalescingUIScheduler(display,
+            CoalescingUIScheduler.frameInterval(PROPERTY_FRAME_RATE, DEFAULT_FRAME_RATE), this::renderFrame,
+            this::dispose);
+    }
+
+    /**
+     * @param display the display the figures are painted on, not null
+     * @return the scheduler associated with the given display
+     */
+    static ProgressRenderScheduler getInstance(final Display display) {
+        return INSTANCES.computeIfAbsent(display, ProgressRenderScheduler::new);
+    }
+
+    /**
+     * Marks the figure to be repainted with the next frame. Never blocks; can be called from any thread.
+     *
+     * @param figure the figure to repaint
+     */
+    void markDirty(final ProgressFigure figure) {
+        m_dirtyFigures.add(figure);
+        m_scheduler.request();
+    }
+
+    /**
+     * Registers a figure that should be repainted regularly (cycling "unknown progress" bar).
+     *
+     * @param figure the figure to animate
+     */
+    void startAnimation(final ProgressFigure figure) {
+        m_animatedFigures.add(figure);
+        m_scheduler.request();
+    }
+
+    /**
+     * Removes a figure from the set of regularly repainted figures; no-op if it isn't animated.
+     *
+     * @param figure the figure to no longer animate
+     */
+    void stopAnimation(final ProgressFigure figure) {
+        m_animatedFigures.remove(figure);
+    }
+
+    /** Called in the display thread, repaints all dirty and due animated figures. */
+    private void renderFrame() {
+        final long timestamp = System.currentTimeMillis();
+        for (Iterator<ProgressFigure> it = m_dirtyFigures.iterator(); it.hasNext();) {
+            final ProgressFigure figure = it.next();
+            it.remove();
+            figure.renderFrame();
+        }
+        if (!m_animatedFigures.isEmpty()) {
+            for (ProgressFigure figure : m_animatedFigures) {
+                if (figure.isAnimationFrameDue(timestamp)) {
+                    figure.repaint();
+                }
+            }
+            m_scheduler.request();
+        }
+    }
+
+    private void dispose() {
+        INSTANCES.remove(m_display);
+        m_dirtyFigures.clear();
+        m_animatedFigures.clear();
+    }
+}
@@ -163,16 +163,6 @@ public void add(final IFigure child, final Object constraint, final int index) {
         }
     }
 
-    /**
-     *
-     * {@inheritDoc}
-     */
-    @Override
-    public void paint(final Graphics graphics) {
-        super.paint(graphics);
-        paintChildren(graphics);
-    }
-
     /**
      * {@inheritDoc}
      */
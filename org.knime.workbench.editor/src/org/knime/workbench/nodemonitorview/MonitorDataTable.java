@@ -60,15 +60,10 @@
 import org.eclipse.swt.widgets.Table;
 import org.eclipse.swt.widgets.TableColumn;
 import org.eclipse.swt.widgets.TableItem;
-import org.knime.core.data.DataCell;
-import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTable;
-import org.knime.core.data.RowIterator;
-import org.knime.core.data.container.CloseableRowIterator;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.BufferedDataTable.KnowsRowCountTable;
 import org.knime.core.node.port.PortObject;
-import org.knime.core.node.tableview.AsyncDataRow;
 import org.knime.core.node.tableview.AsyncTable;
 import org.knime.core.node.workflow.NodeContainer;
 import org.knime.core.ui.node.workflow.NodeContainerUI;
@@ -93,9 +88,7 @@ public class MonitorDataTable implements NodeMonitorTable {
      */
     private static final int MAX_NUM_COLUMN = 100;
 
-    private RowIterator m_it;
-
-    private long m_currentIndex = -1;
+    private MonitorRowCache m_rowCache;
 
     private DataTable m_dataTable;
 
@@ -110,10 +103,6 @@ public class MonitorDataTable implements NodeMonitorTable {
 
     private boolean m_autoLoad;
 
-    /* --- in case of deactivated auto-load */
-
-    private RowIterator m_chunkIt;
-
     private AddDataRowListener m_addDataRowListener;
 
     private final int m_portIndex;
@@ -190,11 +179,15 @@ public void loadTableData(final NodeContainerUI ncUI, final NodeContainer nc, fi
                 // no table in port - ignore.
                 throw new LoadingFailedException("Unknown or no PortObject");
             }
+            // rows already read are shared across monitor tables of the same port, e.g. when re-selecting the node
+            int colCount = Math.min(m_dataTable.getDataTableSpec().getNumColumns(), MAX_NUM_COLUMN - 2);
+            m_rowCache = MonitorRowCache.forPort(ncUI, index, m_dataTable, colCount);
         }
         if (!m_autoLoad) {
             try {
                 loadChunk(count);
-            } catch (InterruptedException | ExecutionException e) {
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
                 throw new LoadingFailedException("Loading of the table failed: " + e.getMessage());
             }
         }
@@ -271,31 +264,18 @@ public void dispose(final Table table) {
         if (m_addDataRowListener != null) {
             table.removeListener(SWT.SetData, m_addDataRowListener);
         }
-        closeIterator();
+        if (m_rowCache != null) {
+            // stop the background reads of this port's rows, the rows read so far stay cached
+            m_rowCache.cancel();
+        }
     }
 
-    private void loadChunk(final int chunkIdx) throws InterruptedException, ExecutionException {
-        if (m_chunkIt == null) {
-            m_chunkIt = m_dataTable.iterator();
-        }
-        long startRowIdx = chunkIdx * NUM_LOOK_AHEAD_ROWS;
-        long endRowIdx = (chunkIdx + 1) * NUM_LOOK_AHEAD_ROWS;
-
-        long i;
-        for (i = startRowIdx; i < endRowIdx && m_chunkIt.hasNext(); i++) {
-            DataRow row = m_chunkIt.next();
-            if (row instanceof AsyncDataRow) {
-                ((AsyncDataRow)row).waitUntilLoaded();
-            }
-            if (row.getKey() == null) {
-                // we reached the end of table
-                m_numRows = m_numTotalRows = i;
-                m_numTotalCols = row.getNumCells();
-                break;
-            }
-        }
-        m_numLoadedRows = i;
-        if (!m_chunkIt.hasNext()) {
+    private void loadChunk(final int chunkIdx) throws InterruptedException {
+        long endRowIdx = (chunkIdx + 1L) * NUM_LOOK_AHEAD_ROWS;
+        // rows are requested several chunks ahead, i.e. remote rows are loaded in a pipelined fashion
+        m_numLoadedRows = m_rowCache.ensureRows(endRowIdx);
+        if (m_numLoadedRows < endRowIdx || m_rowCache.getRowCount() == m_numLoadedRows) {
+            // we reached the end of table
             m_numRows = m_numTotalRows = m_numLoadedRows;
             m_numTotalCols = m_dataTable.getDataTableSpec().getNumColumns();
         }
@@ -304,15 +284,6 @@ private void loadChunk(final int chunkIdx) throws InterruptedException, Executio
         }
     }
 
-    private void closeIterator() {
-        if (m_it instanceof CloseableRowIterator) {
-            ((CloseableRowIterator)m_it).close();
-        }
-        if (m_chunkIt instanceof CloseableRowIterator) {
-            ((CloseableRowIterator)m_chunkIt).close();
-        }
-    }
-
     /** Fills a table item (a row) with its data..
      * @param item Non-null item to be filled.
      */
@@ -328,33 +299,18 @@ private void fillTableItem(final TableItem item) {
             m_table.setItemCount(itemCount);
         }
 
-        DataRow row = null;
-        if (index == m_currentIndex) {
-            m_currentIndex++;
-            row = m_it.next();
-        } else {
-            //reset row iterator and go to required index
-            closeIterator();
-            m_it = m_dataTable.iterator();
-            for (m_currentIndex = 0; m_currentIndex <= index; m_currentIndex++) {
-                row = m_it.next();
-            }
-        }
+        // rows are read chunk-wise, rendered (and sanitised) strings are cached and prefetched in the background
+        long rowLimit = m_autoLoad && m_numRows >= 0 ? m_numRows : m_numLoadedRows;
+        String[] row = m_rowCache.getRow(index, rowLimit);
         if (row != null) {
-            item.setText(0, row.getKey().getString());
-            //get right column count: without id column (and 'remaining column skipped'-column)
-            int colCount = m_table.getColumnCount() == MAX_NUM_COLUMN ? m_table.getColumnCount() - 2
-                : m_table.getColumnCount() - 1;
-            for (int i = 0; i < colCount; i++) {
-                DataCell c = row.getCell(i);
-                String s = c.toString().replaceAll("\\p{Cntrl}", "_");
-                item.setText(i + 1, s);
+            for (int i = 0; i < row.length; i++) {
+                item.setText(i, row[i]);
             }
             if (m_table.getColumnCount() == MAX_NUM_COLUMN) {
                 item.setText(MAX_NUM_COLUMN - 1, "...");
             }
         } else {
-            item.setText("Row " + m_currentIndex + " could not be read.");
+            item.setText("Row " + index + " could not be read.");
         }
     }
 
@@ -0,0 +1,549 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026: created
+ */
+package org.knime.workbench.nodemonitorview;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTable;
+import org.knime.core.data.RowIterator;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.data.container.filter.TableFilter;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.BufferedDataTable.KnowsRowCountTable;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.tableview.AsyncDataRow;
+import org.knime.core.node.workflow.NodeID;
+import org.knime.core.node.workflow.NodeStateChangeListener;
+import org.knime.core.node.workflow.NodeStateEvent;
+import org.knime.core.node.workflow.WorkflowEvent;
+import org.knime.core.node.workflow.WorkflowListener;
+import org.knime.core.ui.node.workflow.NodeContainerUI;
+import org.knime.workbench.ui.navigator.ProjectWorkflowMap;
+
+/**
+ * Random access row cache for the {@link MonitorDataTable}. Rows are read in chunks of {@value #CHUNK_SIZE} rows; the
+ * chunk boundaries serve as checkpoints to position a table iterator at (for {@link BufferedDataTable} by means of a
+ * row range filter, otherwise by re-using a sequential cursor that is only reset when moving backwards). The rendered
+ * (and sanitised) row strings of the most recently used chunks are kept in a bounded LRU cache and the chunk next to
+ * the requested one (in scroll direction) is prefetched in the background, so that random scrolling in a virtual SWT
+ * table costs at most one chunk read in the UI thread.
+ *
+ * <p>
+ * Rows of remote tables ({@link AsyncDataRow}) are loaded one round trip at a time. Hence the rows of the next
+ * {@value #CHUNKS_IN_FLIGHT} chunks are requested from the cursor before waiting for the rows of the current one, so
+ * that their loading overlaps. Caches are shared per node and output port (see
+ * {@link #forPort(NodeContainerUI, int, DataTable, int)}) so that re-selecting a node doesn't fetch the rows again;
+ * {@link #cancel()} stops the background reads once the node isn't shown anymore. The caches of a node are disposed
+ * (i.e. their iterators are closed and the tables are released) as soon as the node is reset or removed, or its
+ * workflow is closed.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class MonitorRowCache {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(MonitorRowCache.class);
+
+    /** Number of rows per chunk, i.e. distance between two iterator checkpoints. */
+    static final int CHUNK_SIZE = 256;
+
+    /** Number of chunks whose rows are requested ahead of time from tables that load their rows asynchronously. */
+    static final int CHUNKS_IN_FLIGHT = 4;
+
+    /** Maximum number of rendered chunks kept in memory per table. */
+    private static final int MAX_CACHED_CHUNKS = 64;
+
+    /** Maximum number of port tables whose rows are cached. */
+    private static final int MAX_CACHED_TABLES = 8;
+
+    private static final Pattern CONTROL_CHARS = Pattern.compile("\\p{Cntrl}");
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private static final ExecutorService PREFETCH_EXECUTOR = Executors.newSingleThreadExecutor(r -> {
+        final Thread t = new Thread(r, "KNIME Node Monitor Prefetcher-" + THREAD_COUNTER.incrementAndGet());
+        t.setDaemon(true);
+        return t;
+    });
+
+    /** Caches by node id and port index, least recently used first; guarded by itself. */
+    private static final Map<String, MonitorRowCache> CACHES =
+        new LinkedHashMap<String, MonitorRowCache>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, MonitorRowCache> eldest) {
+                if (size() > MAX_CACHED_TABLES) {
+                    eldest.getValue().dispose();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+    /** The nodes with cached tables, {@link #RESET_LISTENER} is registered with each; guarded by CACHES. */
+    private static final Map<NodeID, NodeContainerUI> CACHED_NODES = new HashMap<>();
+
+    /** Disposes the caches of a node once it's not executed anymore. */
+    private static final NodeStateChangeListener RESET_LISTENER = MonitorRowCache::nodeStateChanged;
+
+    /** Disposes the caches of removed nodes and of the nodes of closed workflows. */
+    private static final WorkflowListener REMOVE_LISTENER = MonitorRowCache::workflowChanged;
+
+    static {
+        ProjectWorkflowMap.addWorkflowListener(REMOVE_LISTENER);
+    }
+
+    private final NodeID m_nodeID;
+
+    private final DataTable m_table;
+
+    private final int m_colCount;
+
+    /** Guards the table iterators; rows are taken from them by one thread at a time. */
+    private final Object m_readLock = new Object();
+
+    private final Map<Long, String[][]> m_chunks =
+        Collections.synchronizedMap(new LinkedHashMap<Long, String[][]>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Long, String[][]> eldest) {
+                return size() > MAX_CACHED_CHUNKS;
+            }
+        });
+
+    private final Map<Long, Future<?>> m_pendingPrefetches = new ConcurrentHashMap<>();
+
+    /** Rows taken from the cursor but not yet rendered, by chunk index; guarded by m_readLock. */
+    private final Map<Long, List<DataRow>> m_requestedRows = new HashMap<>();
+
+    /** Sequential cursor for tables that can't be positioned, guarded by m_readLock. */
+    private RowIterator m_cursor;
+
+    private long m_cursorIndex;
+
+    /** The number of rows in the table or -1 if not known (yet). */
+    private volatile long m_rowCount;
+
+    /** Number of rows that are available (may grow for tables loaded chunk-wise). */
+    private volatile long m_rowLimit;
+
+    private volatile long m_lastRequestedChunk = -1;
+
+    private volatile boolean m_disposed;
+
+    /**
+     * @param nodeID the id of the node the table belongs to
+     * @param table the table to read from
+     * @param colCount the number of data cells to render per row (the row key is always rendered)
+     */
+    private MonitorRowCache(final NodeID nodeID, final DataTable table, final int colCount) {
+        m_nodeID = nodeID;
+        m_table = table;
+        m_colCount = colCount;
+        if (table instanceof BufferedDataTable) {
+            m_rowCount = ((BufferedDataTable)table).size();
+        } else if (table instanceof KnowsRowCountTable) {
+            m_rowCount = ((KnowsRowCountTable)table).size();
+        } else {
+            m_rowCount = -1;
+        }
+    }
+
+    /**
+     * Returns the cache for the table of the given output port, a new one if the port's table has changed (e.g. the
+     * node was re-executed) or has not been cached so far.
+     *
+     * @param nc the node
+     * @param portIndex the index of the output port
+     * @param table the table at the port
+     * @param colCount the number of data cells to render per row (the row key is always rendered)
+     * @return the cache
+     */
+    static MonitorRowCache forPort(final NodeContainerUI nc, final int portIndex, final DataTable table,
+        final int colCount) {
+        final NodeID nodeID = nc.getID();
+        final String key = nodeID + ":" + portIndex;
+        final MonitorRowCache cache;
+        final boolean isNewNode;
+        final List<NodeContainerUI> releasedNodes;
+        synchronized (CACHES) {
+            MonitorRowCache existing = CACHES.get(key);
+            if (existing != null && existing.m_table == table && existing.m_colCount == colCount) {
+                return existing;
+            }
+            if (existing != null) {
+                existing.dispose();
+            }
+            cache = new MonitorRowCache(nodeID, table, colCount);
+            CACHES.put(key, cache);
+            isNewNode = CACHED_NODES.putIfAbsent(nodeID, nc) == null;
+            releasedNodes = releaseUncachedNodes();
+        }
+        // (un)register outside the lock, the node might fire a state event at the same time
+        if (isNewNode) {
+            nc.addNodeStateChangeListener(RESET_LISTENER);
+        }
+        releasedNodes.forEach(n -> n.removeNodeStateChangeListener(RESET_LISTENER));
+        return cache;
+    }
+
+    private static void nodeStateChanged(final NodeStateEvent event) {
+        final NodeContainerUI nc;
+        synchronized (CACHES) {
+            nc = CACHED_NODES.get(event.getSource());
+        }
+        if (nc != null && !nc.getNodeContainerState().isExecuted()) {
+            // the node was reset, its tables are gone
+            evict(event.getSource());
+        }
+    }
+
+    private static void workflowChanged(final WorkflowEvent event) {
+        if (event.getType() == WorkflowEvent.Type.NODE_REMOVED) {
+            // a single node or a metanode, or the workflow project (if closed)
+            evict(event.getID());
+        }
+    }
+
+    /** Disposes the caches of the given node and its contained nodes, if any. */
+    private static void evict(final NodeID nodeID) {
+        final List<NodeContainerUI> releasedNodes;
+        synchronized (CACHES) {
+            final Iterator<MonitorRowCache> it = CACHES.values().iterator();
+            while (it.hasNext()) {
+                final MonitorRowCache cache = it.next();
+                if (cache.m_nodeID.equals(nodeID) || cache.m_nodeID.hasPrefix(nodeID)) {
+                    cache.dispose();
+                    it.remove();
+                }
+            }
+            releasedNodes = releaseUncachedNodes();
+        }
+        releasedNodes.forEach(n -> n.removeNodeStateChangeListener(RESET_LISTENER));
+    }
+
+    /** Forgets the nodes without cached tables, returns them to unregister the listener from; must hold CACHES. */
+    private static List<NodeContainerUI> releaseUncachedNodes() {
+        final Set<NodeID> cachedIDs = new HashSet<>();
+        for (MonitorRowCache cache : CACHES.values()) {
+            cachedIDs.add(cache.m_nodeID);
+        }
+        final List<NodeContainerUI> released = new ArrayList<>();
+        final Iterator<Map.Entry<NodeID, NodeContainerUI>> it = CACHED_NODES.entrySet().iterator();
+        while (it.hasNext()) {
+            final Map.Entry<NodeID, NodeContainerUI> e = it.next();
+            if (!cachedIDs.contains(e.getKey())) {
+                released.add(e.getValue());
+                it.remove();
+            }
+        }
+        return released;
+    }
+
+    /**
+     * Returns the rendered row at the given index, reading its chunk if not cached. Triggers a background prefetch of
+     * the adjacent chunk in scroll direction.
+     *
+     * @param index the row index
+     * @param rowLimit the number of rows currently available, rows beyond won't be returned
+     * @return the row key followed by the sanitised cell strings or <code>null</code> if the row can't be read
+     */
+    String[] getRow(final long index, final long rowLimit) {
+        if (index < 0 || index >= rowLimit) {
+            return null;
+        }
+        m_rowLimit = rowLimit;
+        final long chunkIdx = index / CHUNK_SIZE;
+        String[][] chunk = m_chunks.get(chunkIdx);
+        if (!isComplete(chunk, chunkIdx)) {
+            chunk = loadChunk(chunkIdx);
+        }
+        final long lastChunk = m_lastRequestedChunk;
+        if (chunkIdx != lastChunk) {
+            m_lastRequestedChunk = chunkIdx;
+            prefetch(chunkIdx < lastChunk ? chunkIdx - 1 : chunkIdx + 1);
+        }
+        final int offset = (int)(index - chunkIdx * CHUNK_SIZE);
+        return chunk != null && offset < chunk.length ? chunk[offset] : null;
+    }
+
+    /**
+     * Reads (and caches) the first rows of the table, blocks until they are loaded. The chunks following are
+     * prefetched in the background.
+     *
+     * @param count the number of rows to read
+     * @return the number of rows read, less than <code>count</code> if the table has fewer rows
+     * @throws InterruptedException if interrupted while waiting for rows to be loaded
+     */
+    long ensureRows(final long count) throws InterruptedException {
+        long available = 0;
+        for (long chunkIdx = 0; available < count; chunkIdx++) {
+            String[][] chunk = m_chunks.get(chunkIdx);
+            if (!isComplete(chunk, chunkIdx)) {
+                chunk = loadChunk(chunkIdx);
+            }
+            if (chunk == null) {
+                throw new InterruptedException("Loading of rows has been canceled");
+            }
+            available += chunk.length;
+            if (chunk.length < CHUNK_SIZE) {
+                return Math.min(available, count);
+            }
+            m_lastRequestedChunk = chunkIdx;
+        }
+        m_rowLimit = Math.max(m_rowLimit, available + CHUNK_SIZE);
+        prefetch(m_lastRequestedChunk + 1);
+        return Math.min(available, count);
+    }
+
+    /**
+     * @return the number of rows of the table, -1 if not known (yet)
+     */
+    long getRowCount() {
+        return m_rowCount;
+    }
+
+    /**
+     * Stops the background reads, e.g. when the node isn't shown anymore. Cached rows and the rows requested so far
+     * are kept and the reads continue on the next access.
+     */
+    void cancel() {
+        for (Future<?> prefetch : m_pendingPrefetches.values()) {
+            prefetch.cancel(true);
+        }
+        m_pendingPrefetches.clear();
+    }
+
+    /** Stops prefetching, closes open iterators and clears the cache. */
+    private void dispose() {
+        m_disposed = true;
+        cancel();
+        synchronized (m_readLock) {
+            closeCursor();
+        }
+        m_chunks.clear();
+    }
+
+    private void prefetch(final long chunkIdx) {
+        final long rowLimit = m_rowLimit;
+        if (m_disposed || chunkIdx < 0 || chunkIdx * CHUNK_SIZE >= rowLimit
+            || isComplete(m_chunks.get(chunkIdx), chunkIdx)) {
+            return;
+        }
+        final FutureTask<Void> task = new FutureTask<>(() -> {
+            try {
+                // skip if the user scrolled somewhere else in the meantime
+                if (!m_disposed && Math.abs(m_lastRequestedChunk - chunkIdx) <= CHUNKS_IN_FLIGHT) {
+                    loadChunk(chunkIdx);
+                }
+            } catch (RuntimeException e) { // NOSONAR prefetching is optional
+                LOGGER.debug("Unable to prefetch rows: " + e.getMessage(), e);
+            }
+        }, null) {
+            @Override
+            protected void done() {
+                m_pendingPrefetches.remove(chunkIdx, this);
+            }
+        };
+        if (m_pendingPrefetches.putIfAbsent(chunkIdx, task) == null) {
+            PREFETCH_EXECUTOR.execute(task);
+        }
+    }
+
+    /** Returns the rendered chunk, <code>null</code> if reading was interrupted. */
+    private String[][] loadChunk(final long chunkIdx) {
+        if (m_table instanceof BufferedDataTable) {
+            synchronized (m_readLock) {
+                // might have been read by the prefetcher while waiting for the lock
+                final String[][] chunk = m_chunks.get(chunkIdx);
+                return isComplete(chunk, chunkIdx) ? chunk : putChunk(chunkIdx, readChunk(chunkIdx));
+            }
+        }
+        final List<DataRow> rows;
+        synchronized (m_readLock) {
+            final String[][] chunk = m_chunks.get(chunkIdx);
+            if (isComplete(chunk, chunkIdx)) {
+                return chunk;
+            }
+            rows = requestRows(chunkIdx);
+        }
+        // wait for the rows outside the lock, the following chunks can be requested in the meantime
+        final String[][] chunk = renderRows(chunkIdx, rows);
+        if (chunk == null) {
+            // the requested rows are kept for the next attempt
+            return null;
+        }
+        synchronized (m_readLock) {
+            m_requestedRows.remove(chunkIdx);
+            return putChunk(chunkIdx, chunk);
+        }
+    }
+
+    private String[][] putChunk(final long chunkIdx, final String[][] chunk) {
+        if (chunk != null && !m_disposed) {
+            m_chunks.put(chunkIdx, chunk);
+        }
+        return chunk;
+    }
+
+    /** Reads and renders the rows of a chunk of a BufferedDataTable, must hold m_readLock. */
+    private String[][] readChunk(final long chunkIdx) {
+        final long from = chunkIdx * CHUNK_SIZE;
+        final long to = Math.min(from + CHUNK_SIZE, m_rowCount);
+        if (to <= from || m_disposed) {
+            return new String[0][];
+        }
+        final List<String[]> rows = new ArrayList<>((int)(to - from));
+        try (CloseableRowIterator it =
+            ((BufferedDataTable)m_table).filter(TableFilter.filterRangeOfRows(from, to - 1))) {
+            while (it.hasNext()) {
+                rows.add(renderRow(it.next()));
+            }
+        }
+        return rows.toArray(new String[rows.size()][]);
+    }
+
+    /**
+     * Takes the rows of the given chunk and the chunks following it from the cursor (without waiting for them to be
+     * loaded), must hold m_readLock. Returns a copy of the chunk's rows, which stay requested until rendered.
+     */
+    private List<DataRow> requestRows(final long chunkIdx) {
+        final long from = chunkIdx * CHUNK_SIZE;
+        if (!m_requestedRows.containsKey(chunkIdx) && (m_cursor == null || m_cursorIndex > from)) {
+            closeCursor();
+            m_cursor = m_table.iterator();
+            m_cursorIndex = 0;
+        }
+        for (; m_cursorIndex < from && m_cursor.hasNext(); m_cursorIndex++) {
+            m_cursor.next();
+        }
+        final long end = (chunkIdx + CHUNKS_IN_FLIGHT) * CHUNK_SIZE;
+        for (; m_cursorIndex < end && m_cursor.hasNext(); m_cursorIndex++) {
+            m_requestedRows.computeIfAbsent(m_cursorIndex / CHUNK_SIZE, idx -> new ArrayList<>(CHUNK_SIZE))
+                .add(m_cursor.next());
+        }
+        if (!m_cursor.hasNext()) {
+            m_rowCount = m_cursorIndex;
+        }
+        final List<DataRow> rows = m_requestedRows.get(chunkIdx);
+        return rows != null ? new ArrayList<>(rows) : new ArrayList<>(0);
+    }
+
+    /** Waits for the rows to be loaded and renders them, returns <code>null</code> if interrupted. */
+    private String[][] renderRows(final long chunkIdx, final List<DataRow> rows) {
+        final List<String[]> strings = new ArrayList<>(rows.size());
+        try {
+            for (DataRow row : rows) {
+                if (m_disposed) {
+                    return null;
+                }
+                if (row instanceof AsyncDataRow) {
+                    ((AsyncDataRow)row).waitUntilLoaded();
+                }
+                if (row.getKey() == null) {
+                    // we reached the end of table
+                    m_rowCount = chunkIdx * CHUNK_SIZE + strings.size();
+                    break;
+                }
+                strings.add(renderRow(row));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.debug("Interrupted while reading rows", e);
+            return null;
+        } catch (ExecutionException e) {
+            LOGGER.warn("Unable to read rows: " + e.getMessage(), e);
+        }
+        return strings.toArray(new String[strings.size()][]);
+    }
+
+    /** Returns the row key followed by the sanitised cell strings. */
+    private String[] renderRow(final DataRow row) {
+        final String[] strings = new String[m_colCount + 1];
+        strings[0] = row.getKey().getString();
+        for (int i = 0; i < m_colCount; i++) {
+            strings[i + 1] = CONTROL_CHARS.matcher(row.getCell(i).toString()).replaceAll("_");
+        }
+        return strings;
+    }
+
+    private void closeCursor() {
+        if (m_cursor instanceof CloseableRowIterator) {
+            ((CloseableRowIterator)m_cursor).close();
+        }
+        m_cursor = null;
+        m_requestedRows.clear();
+    }
+
+    private boolean isComplete(final String[][] chunk, final long chunkIdx) {
+        if (chunk == null) {
+            return false;
+        }
+        final long rowCount = m_rowCount;
+        return chunk.length >= CHUNK_SIZE || (rowCount >= 0 && chunkIdx * CHUNK_SIZE + chunk.length >= rowCount);
+    }
+}
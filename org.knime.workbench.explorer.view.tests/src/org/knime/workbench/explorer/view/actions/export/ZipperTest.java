@@ -61,11 +61,15 @@
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 import org.apache.commons.io.FileUtils;
 import org.eclipse.core.runtime.FileLocator;
@@ -172,6 +176,48 @@ public void testZipFilesWithAllFilesAndFolders() throws Exception {
         assertThat("File count in extracted zip", indexInExtracted.get(Boolean.FALSE).size(), is(4));
     }
 
+    /**
+     * Zips files that span multiple compression chunks (and exactly two chunks) plus an already compressed file with
+     * all compression levels and checks the content and the method of the extracted entries.
+     */
+    @Test
+    public void testZipFilesInChunksWithCompressionLevels() throws Exception {
+        File root = new File(m_filesFolder, ROOT_FOLDER_NAME);
+        Random random = new Random(42);
+        byte[] compressible = new byte[3 * ParallelZipWriter.CHUNK_SIZE + 4711];
+        for (int i = 0; i < compressible.length; i++) {
+            compressible[i] = (byte)((i / 7) % 50 + (random.nextInt(10) == 0 ? random.nextInt(100) : 0));
+        }
+        byte[] incompressible = new byte[2 * ParallelZipWriter.CHUNK_SIZE];
+        random.nextBytes(incompressible);
+        File compressibleFile = new File(root, "compressible.bin");
+        File incompressibleFile = new File(root, "incompressible.bin");
+        File zipFile = new File(root, "data.zip");
+        Files.write(compressibleFile.toPath(), compressible);
+        Files.write(incompressibleFile.toPath(), incompressible);
+        Files.write(zipFile.toPath(), compressible);
+        List<File> filesToZip = List.of(compressibleFile, incompressibleFile, zipFile);
+        int stripOff = root.toPath().getNameCount();
+
+        for (int level = 0; level <= 9; level++) {
+            File targetZipFile = m_tempParentFolder.newFile("ZipperTest" + level + ".zip");
+            Zipper.zipFiles(filesToZip, targetZipFile, stripOff, level, new NullProgressMonitor());
+            try (ZipFile zip = new ZipFile(targetZipFile)) {
+                assertThat("Entry count at level " + level, zip.size(), is(3));
+                assertTrue("Content of compressible file at level " + level,
+                    Arrays.equals(zip.getInputStream(zip.getEntry("compressible.bin")).readAllBytes(), compressible));
+                assertTrue("Content of incompressible file at level " + level, Arrays.equals(
+                    zip.getInputStream(zip.getEntry("incompressible.bin")).readAllBytes(), incompressible));
+                assertTrue("Content of zip file at level " + level,
+                    Arrays.equals(zip.getInputStream(zip.getEntry("data.zip")).readAllBytes(), compressible));
+                assertThat("Method of zip file at level " + level, zip.getEntry("data.zip").getMethod(),
+                    is(ZipEntry.STORED));
+                assertThat("Method of compressible file at level " + level,
+                    zip.getEntry("compressible.bin").getMethod(), is(level == 0 ? ZipEntry.STORED : ZipEntry.DEFLATED));
+            }
+        }
+    }
+
     /** A map with:
      * TRUE -> the list of folders within the argument path (excluding the arg path)
      * FALSE -> the list of files in that path
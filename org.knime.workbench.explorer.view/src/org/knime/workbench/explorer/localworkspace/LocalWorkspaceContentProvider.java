@@ -45,6 +45,10 @@
 package org.knime.workbench.explorer.localworkspace;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -227,10 +231,41 @@ public AbstractExplorerFileStore getParent(final Object element) {
 
     /**
      * {@inheritDoc}
+     * <p>
+     * Answered without listing and classifying the content: items that never have children are recognized by their own
+     * type, any other directory has children if it contains a visible entry. A folder whose entries are all filtered
+     * from its children loses its expand arrow once it is expanded.
      */
     @Override
     public boolean hasChildren(final Object element) {
-        return getChildren(element).length > 0;
+        if (!(element instanceof LocalWorkspaceFileStore)) {
+            return false;
+        }
+        LocalExplorerFileStore store = (LocalExplorerFileStore)element;
+        if (AbstractExplorerFileStore.isNode(store) || AbstractExplorerFileStore.isWorkflow(store)
+                || AbstractExplorerFileStore.isWorkflowTemplate(store)) {
+            return false;
+        }
+        File dir;
+        try {
+            dir = store.toLocalFile(EFS.NONE, null);
+        } catch (CoreException e) { // NOSONAR not a local directory
+            return false;
+        }
+        if (dir == null || !dir.isDirectory()) {
+            return false;
+        }
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir.toPath())) {
+            for (Path entry : entries) {
+                if (!isHiddenFile(entry.getFileName().toString())) {
+                    return true;
+                }
+            }
+            return false;
+        } catch (IOException e) {
+            LOGGER.debug(e);
+            return false;
+        }
     }
 
     /*
@@ -316,6 +351,7 @@ public String toString() {
      */
     @Override
     public void dispose() {
+        LocalWorkspaceFileTypeCache.getInstance().clear();
     }
 
     /**
@@ -59,6 +59,7 @@
 import org.knime.core.node.workflow.WorkflowPersistor;
 import org.knime.core.util.workflowalizer.MetadataConfig;
 import org.knime.workbench.explorer.filesystem.AbstractExplorerFileInfo;
+import org.knime.workbench.explorer.localworkspace.LocalWorkspaceFileTypeCache.FileType;
 
 
 public class LocalWorkspaceFileInfo extends AbstractExplorerFileInfo {
@@ -69,6 +70,11 @@ public class LocalWorkspaceFileInfo extends AbstractExplorerFileInfo {
     //caches the isComponent flag
     private Boolean m_isComponent = null;
 
+    // the classification from the file type cache, null if not available
+    private FileType m_fileType;
+
+    private boolean m_fileTypeLookedUp;
+
     /**
      * @param file The file store this file info belongs to
      */
@@ -130,7 +136,8 @@ public final void setAttribute(final int attribute, final boolean value) {
      */
     @Override
     public boolean isWorkflow() {
-        return exists() && isWorkflow(m_file);
+        final FileType type = getFileType();
+        return type != null ? type.isWorkflow() : (exists() && isWorkflow(m_file));
     }
 
     /**
@@ -138,7 +145,8 @@ public boolean isWorkflow() {
      */
     @Override
     public boolean isWorkflowGroup() {
-        return exists() && isWorkflowGroup(m_file);
+        final FileType type = getFileType();
+        return type != null ? type.isWorkflowGroup() : (exists() && isWorkflowGroup(m_file));
     }
 
     /**
@@ -146,7 +154,8 @@ public boolean isWorkflowGroup() {
      */
     @Override
     public boolean isWorkflowTemplate() {
-        return exists() && isWorkflowTemplate(m_file);
+        final FileType type = getFileType();
+        return type != null ? type.isWorkflowTemplate() : (exists() && isWorkflowTemplate(m_file));
     }
 
     /**
@@ -154,7 +163,7 @@ public boolean isWorkflowTemplate() {
      */
     @Override
     public boolean isComponentTemplate() {
-        return exists() && isWorkflowTemplate() && isComponentTemplate(m_file);
+        return isWorkflowTemplate() && isComponentTemplate(m_file);
     }
 
     /**
@@ -162,7 +171,7 @@ public boolean isComponentTemplate() {
      */
     @Override
     public boolean isMetaNodeTemplate() {
-        return exists() && isWorkflowTemplate() && !isComponentTemplate(m_file);
+        return isWorkflowTemplate() && !isComponentTemplate(m_file);
     }
 
     /**
@@ -170,7 +179,8 @@ public boolean isMetaNodeTemplate() {
      */
     @Override
     public boolean isNode() {
-        return exists() && isNode(m_file);
+        final FileType type = getFileType();
+        return type != null ? type.isNode() : (exists() && isNode(m_file));
     }
 
     /**
@@ -178,7 +188,8 @@ public boolean isNode() {
      */
     @Override
     public boolean isFile() {
-        return exists() && isDataFile(m_file);
+        final FileType type = getFileType();
+        return type != null ? type.isDataFile() : isDataFile(m_file);
     }
 
     /**
@@ -194,7 +205,27 @@ public boolean isReservedSystemItem() {
      */
     @Override
     public boolean isMetaNode() {
-        return exists() && isMetaNode(m_file);
+        final FileType type = getFileType();
+        return type != null ? type.isMetaNode() : (exists() && isMetaNode(m_file));
+    }
+
+    /**
+     * @return the classification of the file from the (per directory) cache, null if the file isn't cached, in which
+     *         case the file system has to be queried directly
+     */
+    private FileType getFileType() {
+        if (!m_fileTypeLookedUp) {
+            m_fileTypeLookedUp = true;
+            try {
+                final File file = m_file.toLocalFile(EFS.NONE, null);
+                if (file != null) {
+                    m_fileType = LocalWorkspaceFileTypeCache.getInstance().classify(file.toPath());
+                }
+            } catch (CoreException e) { // NOSONAR not a local file, not cached
+                m_fileType = null;
+            }
+        }
+        return m_fileType;
     }
 
     private static boolean isWorkflow(final IFileStore file) {
@@ -242,6 +242,13 @@ public void refresh(final IProgressMonitor monitor) {
     }
 
     private static void refreshResource(final LocalExplorerFileStore fileStore) {
+        try {
+            final File dir = fileStore.toLocalFile();
+            if (dir != null) {
+                LocalWorkspaceFileTypeCache.getInstance().invalidate(dir.toPath());
+            }
+        } catch (CoreException e) { // NOSONAR not a local file, nothing cached
+        }
         fileStore.getContentProvider().refresh(fileStore);
     }
 
@@ -0,0 +1,393 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026: created
+ */
+package org.knime.workbench.explorer.localworkspace;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.workflow.FileSingleNodeContainerPersistor;
+import org.knime.core.node.workflow.WorkflowPersistor;
+
+/**
+ * Caches the classification (workflow, workflow group, template, ...) of the items in the local workspace. The items
+ * of a directory are classified in a single pass: the directory is listed once and the marker files
+ * ({@value WorkflowPersistor#WORKFLOW_FILE}, {@value WorkflowPersistor#TEMPLATE_FILE} and
+ * {@value FileSingleNodeContainerPersistor#SETTINGS_FILE_NAME}) of each sub directory are checked once. The result is
+ * kept per directory until a {@link WatchService} reports a change in the directory (or one of its listed sub
+ * directories) or until the directory is refreshed explicitly, see {@link #invalidate(Path)}. At most
+ * {@value #MAX_CACHED_DIRECTORIES} directories are cached, the least recently used ones are dropped first. Only
+ * directories whose content is cached are watched.
+ *
+ * <p>
+ * Changes of marker files in directories that were never listed themselves are not reported by the watcher; these are
+ * picked up by the explicit refresh that all workspace operations trigger.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class LocalWorkspaceFileTypeCache {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(LocalWorkspaceFileTypeCache.class);
+
+    private static final int DIRECTORY = 1;
+
+    private static final int WORKFLOW_FILE = 2;
+
+    private static final int TEMPLATE_FILE = 4;
+
+    private static final int SETTINGS_FILE = 8;
+
+    private static final int MAX_CACHED_DIRECTORIES = 4096;
+
+    private static final LocalWorkspaceFileTypeCache INSTANCE = new LocalWorkspaceFileTypeCache();
+
+    /** The cached scans in access order; also guards the (un-)registration of their watch keys. */
+    private final LinkedHashMap<Path, DirectoryScan> m_scans = new LinkedHashMap<>(16, 0.75f, true);
+
+    /** The watch key of each registered directory, i.e. the cached ones and the ones being listed. */
+    private final Map<Path, WatchKey> m_watchKeys = new ConcurrentHashMap<>();
+
+    /** Incremented on each invalidation; scans overlapping with one are not cached. */
+    private final AtomicLong m_invalidations = new AtomicLong();
+
+    /** <code>null</code> if the file system can't be watched, in which case nothing is cached. */
+    private final WatchService m_watchService;
+
+    private LocalWorkspaceFileTypeCache() {
+        WatchService watchService = null;
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+        } catch (IOException | UnsupportedOperationException e) {
+            LOGGER.debug("Workspace can't be watched, file types are not cached: " + e.getMessage(), e);
+        }
+        m_watchService = watchService;
+        if (m_watchService != null) {
+            final Thread watcher = new Thread(this::watch, "KNIME Explorer Workspace Watcher");
+            watcher.setDaemon(true);
+            watcher.start();
+        }
+    }
+
+    /**
+     * @return the singleton instance
+     */
+    static LocalWorkspaceFileTypeCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Classifies a file using the (cached) scan of its parent directory.
+     *
+     * @param file the file to classify
+     * @return the file type, or <code>null</code> if the file has no parent, isn't contained in the (cached) content of
+     *         its parent or the parent can't be listed; the caller has to classify the file itself then
+     */
+    FileType classify(final Path file) {
+        final Path parent = file.getParent();
+        if (parent == null || file.getFileName() == null) {
+            return null;
+        }
+        final DirectoryScan scan = getScan(parent);
+        if (scan == null) {
+            return null;
+        }
+        final Integer flags = scan.m_children.get(file.getFileName().toString());
+        return flags == null ? null : new FileType(flags, scan);
+    }
+
+    /**
+     * Drops the cached content of the given directory, its parent (which contains the directory's marker flags) and all
+     * its sub directories.
+     *
+     * @param dir the changed directory
+     */
+    void invalidate(final Path dir) {
+        synchronized (m_scans) {
+            m_invalidations.incrementAndGet();
+            final Path parent = dir.getParent();
+            if (parent != null) {
+                m_scans.remove(parent);
+            }
+            // also covers deleted directories, which are reported as a change of their parent
+            m_scans.keySet().removeIf(p -> p.startsWith(dir));
+            unwatchUncached();
+        }
+    }
+
+    /**
+     * Drops all cached content and stops watching the workspace, e.g. when the local workspace isn't shown anymore.
+     * The cache is filled (and watched) again on the next {@link #classify(Path)}.
+     */
+    void clear() {
+        synchronized (m_scans) {
+            m_invalidations.incrementAndGet();
+            m_scans.clear();
+            unwatchUncached();
+        }
+    }
+
+    private DirectoryScan getScan(final Path dir) {
+        DirectoryScan scan;
+        synchronized (m_scans) {
+            scan = m_scans.get(dir);
+        }
+        if (scan == null) {
+            final long invalidations = m_invalidations.get();
+            final WatchKey key = watch(dir);
+            try {
+                scan = new DirectoryScan(dir);
+            } catch (IOException e) { // NOSONAR directory doesn't exist or isn't readable
+                return null;
+            }
+            if (key != null) {
+                cache(dir, scan, key, invalidations);
+            }
+        }
+        return scan;
+    }
+
+    private void cache(final Path dir, final DirectoryScan scan, final WatchKey key, final long invalidations) {
+        synchronized (m_scans) {
+            // the key is cancelled if the directory was dropped (and thus unwatched) while it was listed
+            if (invalidations != m_invalidations.get() || !key.isValid()) {
+                if (!m_scans.containsKey(dir)) {
+                    unwatch(dir);
+                }
+                return;
+            }
+            m_scans.put(dir, scan);
+            for (final Iterator<Path> eldest = m_scans.keySet().iterator(); m_scans.size() > MAX_CACHED_DIRECTORIES;) {
+                final Path evicted = eldest.next();
+                eldest.remove();
+                unwatch(evicted);
+            }
+        }
+    }
+
+    /** Registers the directory with the watch service, must happen before it is listed. */
+    private WatchKey watch(final Path dir) {
+        if (m_watchService == null) {
+            return null;
+        }
+        try {
+            final WatchKey key = dir.register(m_watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+            m_watchKeys.put(dir, key);
+            return key;
+        } catch (IOException | ClosedWatchServiceException e) { // NOSONAR don't cache then
+            return null;
+        }
+    }
+
+    /** Called with m_scans locked. */
+    private void unwatch(final Path dir) {
+        final WatchKey key = m_watchKeys.remove(dir);
+        if (key != null) {
+            key.cancel();
+        }
+    }
+
+    /** Called with m_scans locked; also cancels the keys of directories being listed, which aren't cached then. */
+    private void unwatchUncached() {
+        for (final Iterator<Map.Entry<Path, WatchKey>> it = m_watchKeys.entrySet().iterator(); it.hasNext();) {
+            final Map.Entry<Path, WatchKey> entry = it.next();
+            if (!m_scans.containsKey(entry.getKey())) {
+                it.remove();
+                entry.getValue().cancel();
+            }
+        }
+    }
+
+    /** Run by the watcher thread. */
+    private void watch() {
+        while (true) {
+            final WatchKey key;
+            try {
+                key = m_watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) { // NOSONAR end the thread
+                return;
+            }
+            final Path dir = (Path)key.watchable();
+            if (key.pollEvents().stream().anyMatch(e -> e.kind() == OVERFLOW)) {
+                clear();
+            } else {
+                invalidate(dir);
+            }
+            if (!key.reset()) {
+                // directory is gone or not watched anymore
+                m_watchKeys.remove(dir, key);
+            }
+        }
+    }
+
+    /** The content of a directory, with the marker flags of each item. */
+    private static final class DirectoryScan {
+
+        /** The marker flags of each item in the directory, by name. */
+        private final Map<String, Integer> m_children = new HashMap<>();
+
+        /** The marker flags of the directory itself. */
+        private final int m_flags;
+
+        private final boolean m_hasParent;
+
+        /** Whether the parent of the directory contains a workflow file. */
+        private final boolean m_parentHasWorkflowFile;
+
+        DirectoryScan(final Path dir) throws IOException {
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+                for (Path child : stream) {
+                    final BasicFileAttributes attrs;
+                    try {
+                        attrs = Files.readAttributes(child, BasicFileAttributes.class);
+                    } catch (IOException e) { // NOSONAR e.g. a broken link, which doesn't exist
+                        continue;
+                    }
+                    m_children.put(child.getFileName().toString(),
+                        attrs.isDirectory() ? (DIRECTORY | markerFlags(child)) : 0);
+                }
+            }
+            m_flags = markerFlags(dir);
+            final Path parent = dir.getParent();
+            m_hasParent = parent != null;
+            m_parentHasWorkflowFile = parent != null && Files.exists(parent.resolve(WorkflowPersistor.WORKFLOW_FILE));
+        }
+
+        private static int markerFlags(final Path dir) {
+            int flags = 0;
+            if (Files.exists(dir.resolve(WorkflowPersistor.WORKFLOW_FILE))) {
+                flags |= WORKFLOW_FILE;
+            }
+            if (Files.exists(dir.resolve(WorkflowPersistor.TEMPLATE_FILE))) {
+                flags |= TEMPLATE_FILE;
+            }
+            if (Files.exists(dir.resolve(FileSingleNodeContainerPersistor.SETTINGS_FILE_NAME))) {
+                flags |= SETTINGS_FILE;
+            }
+            return flags;
+        }
+
+        /** @return whether the directory itself is a workflow (same rules as for its items) */
+        boolean isWorkflow() {
+            return (m_flags & TEMPLATE_FILE) == 0 && (m_flags & WORKFLOW_FILE) != 0 && m_hasParent
+                && !m_parentHasWorkflowFile;
+        }
+    }
+
+    /**
+     * Classification of an existing workspace item, equivalent to the checks in {@link LocalWorkspaceFileInfo}.
+     */
+    static final class FileType {
+
+        private final boolean m_directory;
+
+        private final boolean m_workflow;
+
+        private final boolean m_workflowTemplate;
+
+        private final boolean m_metaNode;
+
+        private final boolean m_node;
+
+        private FileType(final int flags, final DirectoryScan parent) {
+            m_directory = (flags & DIRECTORY) != 0;
+            final boolean hasWorkflowFile = (flags & WORKFLOW_FILE) != 0;
+            final boolean parentHasWorkflowFile = (parent.m_flags & WORKFLOW_FILE) != 0;
+            m_workflowTemplate = (flags & TEMPLATE_FILE) != 0;
+            m_workflow = !m_workflowTemplate && hasWorkflowFile && !parentHasWorkflowFile;
+            m_metaNode = hasWorkflowFile && parentHasWorkflowFile;
+            m_node = !m_metaNode && (flags & SETTINGS_FILE) != 0 && parent.isWorkflow();
+        }
+
+        boolean isDirectory() {
+            return m_directory;
+        }
+
+        boolean isWorkflow() {
+            return m_workflow;
+        }
+
+        boolean isWorkflowGroup() {
+            return m_directory && !m_workflow && !m_metaNode && !m_node && !m_workflowTemplate;
+        }
+
+        boolean isWorkflowTemplate() {
+            return m_workflowTemplate;
+        }
+
+        boolean isMetaNode() {
+            return m_metaNode;
+        }
+
+        boolean isNode() {
+            return m_node;
+        }
+
+        boolean isDataFile() {
+            return !m_directory;
+        }
+    }
+}
@@ -62,6 +62,7 @@
 import org.eclipse.jface.preference.IPreferenceStore;
 import org.eclipse.jface.util.IPropertyChangeListener;
 import org.eclipse.jface.util.PropertyChangeEvent;
+import org.eclipse.jface.viewers.AbstractTreeViewer;
 import org.eclipse.jface.viewers.IColorProvider;
 import org.eclipse.jface.viewers.ILabelProviderListener;
 import org.eclipse.jface.viewers.ITreeContentProvider;
@@ -80,6 +81,7 @@
 import org.knime.workbench.explorer.ExplorerMountTable;
 import org.knime.workbench.explorer.MountPoint;
 import org.knime.workbench.explorer.filesystem.AbstractExplorerFileStore;
+import org.knime.workbench.explorer.filesystem.MessageFileStore;
 import org.knime.workbench.explorer.view.preferences.ExplorerPreferenceInitializer;
 import org.knime.workbench.explorer.view.preferences.MountSettings;
 import org.knime.workbench.ui.KNIMEUIPlugin;
@@ -125,6 +127,11 @@ public class ContentDelegator extends LabelProvider
 
     private final boolean m_updateProvSettings;
 
+    private boolean m_deferredContent;
+
+    /** Computes children in the background if deferred content is enabled and this is the input of a tree viewer. */
+    private DeferredContentLoader m_deferredLoader;
+
     /**
      * Creates a new content delegator and registers it for property changes of
      * the explorer mount table. None of the mounted content is visible through
@@ -149,6 +156,18 @@ public ContentDelegator(final boolean updateProvSettings) {
         ExplorerMountTable.addPropertyChangeListener(this);
     }
 
+    /**
+     * Enables or disables the deferred content mode. In this mode the children of local content are computed in
+     * background jobs and a placeholder is shown meanwhile, see {@link DeferredContentLoader}. Remote content is
+     * always fetched by its provider. Must be called before this is set as content provider of a tree viewer.
+     *
+     * @param deferredContent <code>true</code> to compute the children of local content in the background
+     * @since 8.10
+     */
+    public void setDeferredContent(final boolean deferredContent) {
+        m_deferredContent = deferredContent;
+    }
+
     /**
      * Adds the specified content provider to the explorer.
      *
@@ -197,6 +216,7 @@ public void dispose() {
         }
         removeAllMountPoints();
         ExplorerMountTable.removePropertyChangeListener(this);
+        disposeDeferredLoader();
         super.dispose();
     }
 
@@ -237,6 +257,22 @@ private ContentObject[] wrapObjects(final AbstractContentProvider provider,
      */
     @Override
     public Object[] getChildren(final Object parentElement) {
+        if (m_deferredLoader != null) {
+            if ((parentElement instanceof AbstractContentProvider)
+                && !((AbstractContentProvider)parentElement).isRemote()) {
+                AbstractContentProvider prov = (AbstractContentProvider)parentElement;
+                return m_deferredLoader.getChildren(parentElement, prov, prov.getRootStore());
+            }
+            if ((parentElement instanceof ContentObject)
+                && !((ContentObject)parentElement).getProvider().isRemote()) {
+                ContentObject c = (ContentObject)parentElement;
+                return m_deferredLoader.getChildren(parentElement, c.getProvider(), c.getObject());
+            }
+        }
+        return loadChildren(parentElement);
+    }
+
+    private Object[] loadChildren(final Object parentElement) {
         // we are the root element - providers are the first level children
         if (parentElement == this) {
             return getVisibleContentProvider().toArray();
@@ -281,7 +317,17 @@ public String toString() {
     @Override
     public void inputChanged(final Viewer viewer, final Object oldInput,
             final Object newInput) {
-        // thanks for letting me know.
+        disposeDeferredLoader();
+        if (m_deferredContent && newInput != null && viewer instanceof AbstractTreeViewer) {
+            m_deferredLoader = new DeferredContentLoader((AbstractTreeViewer)viewer, this::loadChildren);
+        }
+    }
+
+    private void disposeDeferredLoader() {
+        if (m_deferredLoader != null) {
+            m_deferredLoader.dispose();
+            m_deferredLoader = null;
+        }
     }
 
     /**
@@ -325,6 +371,10 @@ public boolean hasChildren(final Object element) {
             // content providers are the first level children
             return !m_provider.isEmpty();
         }
+        Object[] known = m_deferredLoader != null ? m_deferredLoader.getKnownChildren(element) : null;
+        if (known != null) {
+            return known.length > 0;
+        }
         if (element instanceof AbstractContentProvider) {
             // content providers are the first level children
             AbstractContentProvider prov = (AbstractContentProvider)element;
@@ -464,6 +514,9 @@ public Image getImage(final Object obj) {
             return null;
         }
         ContentObject c = (ContentObject)obj;
+        if (c.getObject() instanceof MessageFileStore) {
+            return ((MessageFileStore)c.getObject()).getImage();
+        }
         return c.getProvider().getImage(c.getObject());
     }
 
@@ -0,0 +1,270 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026: created
+ */
+package org.knime.workbench.explorer.view;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jface.viewers.AbstractTreeViewer;
+import org.eclipse.swt.widgets.Display;
+import org.knime.core.node.NodeLogger;
+import org.knime.workbench.explorer.filesystem.AbstractExplorerFileStore;
+import org.knime.workbench.explorer.filesystem.MessageFileStore;
+
+/**
+ * Computes the children of tree elements in background jobs for the {@link ContentDelegator}.
+ * <p>
+ * The first request for an element returns a single "Loading&hellip;" placeholder. Every request (i.e. every
+ * expansion or refresh) returns the children known so far and triggers a new background load. Finished loads are
+ * compared with the known children in the UI thread; only the difference is applied to the viewer, and additions in
+ * batches of {@value #BATCH_SIZE} elements per UI event loop turn. Thus expanding a folder with tens of thousands of
+ * items never blocks the UI thread on the file system or on creating all tree items at once.
+ * <p>
+ * Except for the job itself, all methods must be called in the UI thread.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class DeferredContentLoader {
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(DeferredContentLoader.class);
+
+    /** Maximum number of elements added to the viewer in one UI event loop turn. */
+    static final int BATCH_SIZE = 500;
+
+    private static final String LOADING = "Loading…";
+
+    private final AbstractTreeViewer m_viewer;
+
+    private final Display m_display;
+
+    private final Function<Object, Object[]> m_loader;
+
+    /** The children currently shown (or being added) in the viewer, per parent element. */
+    private final Map<Object, Object[]> m_known = new HashMap<>();
+
+    /** The most recent load per parent element, older ones are discarded when they finish. */
+    private final Map<Object, LoadJob> m_loading = new HashMap<>();
+
+    private final Queue<LoadJob> m_finished = new ConcurrentLinkedQueue<>();
+
+    private final Queue<Batch> m_batches = new ArrayDeque<>();
+
+    private final AtomicBoolean m_drainScheduled = new AtomicBoolean();
+
+    private boolean m_disposed;
+
+    /**
+     * @param viewer the viewer the children are shown in
+     * @param loader computes the children of a tree element, called in a background job
+     */
+    DeferredContentLoader(final AbstractTreeViewer viewer, final Function<Object, Object[]> loader) {
+        m_viewer = viewer;
+        m_display = viewer.getControl().getDisplay();
+        m_loader = loader;
+    }
+
+    /**
+     * Returns the children of the passed element that are known so far (or a placeholder if nothing is known yet) and
+     * schedules a background job to compute the current ones.
+     *
+     * @param parent the tree element
+     * @param provider the provider of the element
+     * @param parentStore the file store of the element
+     * @return the known children
+     */
+    Object[] getChildren(final Object parent, final AbstractContentProvider provider,
+        final AbstractExplorerFileStore parentStore) {
+        Object[] known = m_known.get(parent);
+        if (known == null) {
+            known = new Object[]{
+                new ContentObject(provider, new MessageFileStore(provider.getMountID(), LOADING, parentStore))};
+            m_known.put(parent, known);
+        }
+        if (!m_disposed) {
+            LoadJob job = new LoadJob(parent);
+            m_loading.put(parent, job);
+            job.schedule();
+        }
+        return known;
+    }
+
+    /**
+     * @param parent a tree element
+     * @return the children of the element known so far, or <code>null</code> if they have never been requested
+     */
+    Object[] getKnownChildren(final Object parent) {
+        return m_known.get(parent);
+    }
+
+    /**
+     * Cancels all running loads and drops all pending updates.
+     */
+    void dispose() {
+        m_disposed = true;
+        Job.getJobManager().cancel(this);
+        m_loading.clear();
+        m_finished.clear();
+        m_batches.clear();
+        m_known.clear();
+    }
+
+    private void scheduleDrain() {
+        if (m_drainScheduled.compareAndSet(false, true)) {
+            if (!m_display.isDisposed()) {
+                m_display.asyncExec(this::drain);
+            }
+        }
+    }
+
+    /** Applies finished loads and the next batch of additions, runs in the UI thread. */
+    private void drain() {
+        m_drainScheduled.set(false);
+        if (m_disposed || m_viewer.getControl().isDisposed()) {
+            return;
+        }
+        // finished loads are only diffed against a viewer that has received all previous additions
+        while (m_batches.isEmpty()) {
+            LoadJob job = m_finished.poll();
+            if (job == null) {
+                break;
+            }
+            if (m_loading.get(job.m_parent) == job) {
+                m_loading.remove(job.m_parent);
+                apply(job.m_parent, job.m_children);
+            }
+        }
+        Batch batch = m_batches.poll();
+        if (batch != null) {
+            m_viewer.add(batch.m_parent, batch.m_children);
+        }
+        if (!m_batches.isEmpty() || !m_finished.isEmpty()) {
+            scheduleDrain();
+        }
+    }
+
+    private void apply(final Object parent, final Object[] children) {
+        Object[] known = m_known.get(parent);
+        if (known == null || Arrays.equals(known, children)) {
+            return;
+        }
+        m_known.put(parent, children);
+        Set<Object> removed = new LinkedHashSet<>(Arrays.asList(known));
+        Set<Object> added = new LinkedHashSet<>(Arrays.asList(children));
+        removed.removeAll(Arrays.asList(children));
+        added.removeAll(Arrays.asList(known));
+        if (!removed.isEmpty()) {
+            if (children.length == 0) {
+                // the viewer needs a full refresh of the element to drop its expand arrow
+                m_viewer.refresh(parent);
+                return;
+            }
+            m_viewer.remove(parent, removed.toArray());
+        }
+        Object[] toAdd = added.toArray();
+        for (int i = 0; i < toAdd.length; i += BATCH_SIZE) {
+            m_batches.add(new Batch(parent, Arrays.copyOfRange(toAdd, i, Math.min(toAdd.length, i + BATCH_SIZE))));
+        }
+    }
+
+    private static final class Batch {
+        private final Object m_parent;
+
+        private final Object[] m_children;
+
+        Batch(final Object parent, final Object[] children) {
+            m_parent = parent;
+            m_children = children;
+        }
+    }
+
+    private final class LoadJob extends Job {
+        private final Object m_parent;
+
+        private Object[] m_children;
+
+        LoadJob(final Object parent) {
+            super("Loading content of " + parent);
+            m_parent = parent;
+            setSystem(true);
+            setPriority(SHORT);
+        }
+
+        @Override
+        protected IStatus run(final IProgressMonitor monitor) {
+            if (monitor.isCanceled()) {
+                return Status.CANCEL_STATUS;
+            }
+            try {
+                m_children = m_loader.apply(m_parent);
+            } catch (RuntimeException e) { // NOSONAR the viewer must not wait forever for a failed load
+                LOGGER.debug("Could not load the content of " + m_parent + ": " + e.getMessage(), e);
+                m_children = new Object[0];
+            }
+            m_finished.add(this);
+            scheduleDrain();
+            return Status.OK_STATUS;
+        }
+
+        @Override
+        public boolean belongsTo(final Object family) {
+            return family == DeferredContentLoader.this;
+        }
+    }
+}
@@ -211,6 +211,13 @@ public void focusGained(final FocusEvent e) {
     /** The ID of the view as specified by the extension. */
     public static final String ID = "org.knime.workbench.explorer.view";
 
+    /**
+     * System property that enables the deferred content mode of the view, in which the content of local mount points
+     * is listed in the background, see {@link ContentDelegator#setDeferredContent(boolean)}.
+     *
+     * @since 8.10
+     */
+    public static final String PROPERTY_DEFERRED_CONTENT = "knime.explorer.deferredcontent";
 
     private TreeViewer m_viewer;
 
@@ -242,6 +249,7 @@ public void createPartControl(final Composite parent) {
         data.horizontalIndent = 0;
         overall.setLayoutData(data);
         m_contentDelegator.addPropertyChangeListener(this);
+        m_contentDelegator.setDeferredContent(Boolean.getBoolean(PROPERTY_DEFERRED_CONTENT));
         createTreeViewer(overall, m_contentDelegator);
         assert m_viewer != null; // should be set by createTreeViewer
         // needed by the toolbar and the menus
@@ -0,0 +1,701 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026: created
+ */
+package org.knime.workbench.explorer.view.actions.export;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import org.apache.commons.lang3.StringUtils;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Path;
+
+/**
+ * Writes a zip archive whose entries are compressed in parallel. Files are added one by one while the caller walks
+ * the directory tree; the archive is written in the order the files are added.
+ * <p>
+ * Every file is split into chunks of {@value #CHUNK_SIZE} bytes that are read and deflated in a thread pool. Like
+ * <code>pigz</code>, each chunk is a raw deflate stream ending in a sync flush (only the last one is finished) and is
+ * primed with the last 32kB of the preceding chunk, so the concatenated chunks form a single deflate stream with
+ * (almost) the compression ratio of a serial one. The CRCs of the chunks are combined in the writing thread. Files
+ * that are already compressed (see {@link #isCompressed(String)}) and all files at level 0 are stored. Local headers
+ * are patched with CRC and sizes once the data is written, hence no data descriptors are needed. Zip64 extensions are
+ * used for large files and archives only.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class ParallelZipWriter implements Closeable {
+
+    /** Number of bytes of a file that are deflated by one task. */
+    static final int CHUNK_SIZE = 1 << 20;
+
+    private static final int DICTIONARY_SIZE = 32 * 1024;
+
+    private static final int BUFFSIZE = 1024 * 2048;
+
+    private static final long ZIP64_LIMIT = 0xFFFFFFFFL;
+
+    private static final int ZIP64_LIMIT_ENTRIES = 0xFFFF;
+
+    /** Files at least this large get zip64 local headers as their deflated size may exceed the 32bit limit. */
+    private static final long ZIP64_LOCAL_THRESHOLD = 0xF0000000L;
+
+    private static final int STORED = 0;
+
+    private static final int DEFLATED = 8;
+
+    /** General purpose flag: names are UTF-8 encoded. */
+    private static final int FLAG_UTF8 = 0x800;
+
+    /** Extensions of files that are stored without (re-)compression. KNIME tables are zip files. */
+    private static final Set<String> COMPRESSED_EXTENSIONS =
+        Set.of("zip", "gz", "bz2", "xz", "7z", "jar", "knwf", "knar", "png", "jpg", "jpeg", "gif");
+
+    private final File m_outputFile;
+
+    private final FileChannel m_out;
+
+    private final ByteBuffer m_buffer = ByteBuffer.allocate(BUFFSIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+    /** Position in the archive of the first byte in {@link #m_buffer}. */
+    private long m_flushedPosition;
+
+    private final int m_stripOff;
+
+    private final int m_level;
+
+    private final IProgressMonitor m_monitor;
+
+    private final ExecutorService m_pool;
+
+    private final ThreadLocal<Deflater> m_deflaters;
+
+    /** Maximum number of chunks that are read or compressed ahead of the writing thread. */
+    private final int m_maxPending;
+
+    private final Deque<Piece> m_pending = new ArrayDeque<>();
+
+    private final List<Entry> m_entries = new ArrayList<>();
+
+    /**
+     * Creates the (empty) archive file.
+     *
+     * @param outputFile the archive to create, existing files are overwritten
+     * @param stripOff number of segments in the path of each file that are stripped off before storing (if zero or
+     *            negative nothing is stripped off). The device is always removed.
+     * @param level the deflate compression level, 0 stores all files
+     * @param mon to report progress and check for cancellation (can be null)
+     * @throws IOException if the archive can't be created
+     */
+    ParallelZipWriter(final File outputFile, final int stripOff, final int level, final IProgressMonitor mon)
+        throws IOException {
+        if (level < Deflater.NO_COMPRESSION || level > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("Invalid compression level: " + level);
+        }
+        m_outputFile = outputFile;
+        m_stripOff = stripOff;
+        m_level = level;
+        m_monitor = mon == null ? new NullProgressMonitor() : mon;
+        m_out = FileChannel.open(outputFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING);
+        final int threads = Runtime.getRuntime().availableProcessors();
+        final AtomicInteger threadCount = new AtomicInteger();
+        m_pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "KNIME-Workflow-Export-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        m_deflaters = ThreadLocal.withInitial(() -> new Deflater(level, true));
+        m_maxPending = 2 * threads + 2;
+    }
+
+    /**
+     * @param fileName the name of a file
+     * @return <code>true</code> if the file's extension denotes already compressed content that is stored as is
+     */
+    static boolean isCompressed(final String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return dot >= 0 && COMPRESSED_EXTENSIONS.contains(fileName.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Adds a file or (empty) directory to the archive. The file is read and compressed in the background, this method
+     * only blocks if too many chunks are pending.
+     *
+     * @param f the file or directory to add
+     * @throws IOException if a previously added file couldn't be read or written, or the user canceled
+     */
+    void putFile(final File f) throws IOException {
+        if (f == null) {
+            throw new IOException("Illegal file in archive list: <null>!");
+        }
+        IPath path = new Path(f.getAbsolutePath()).setDevice(null);
+        if (m_stripOff > 0 && path.segmentCount() > m_stripOff) {
+            path = path.removeFirstSegments(m_stripOff);
+        }
+        String entryName = path.makeRelative().toString();
+        final Entry entry;
+        if (f.isDirectory()) {
+            // mostly for empty directories (but non-empty dirs are accepted also)
+            entry = new Entry(f, StringUtils.appendIfMissing(entryName, "/"), STORED, false);
+            enqueue(new Piece(entry, null, true, true));
+            return;
+        }
+        final long size = f.length();
+        final boolean deflate = m_level > 0 && size > 0 && !isCompressed(f.getName());
+        entry = new Entry(f, entryName, deflate ? DEFLATED : STORED, size >= ZIP64_LOCAL_THRESHOLD);
+        if (size == 0) {
+            // this is mainly for the .knimeLock file of open workflows; the file is locked and windows forbids
+            // mmap-ing locked files, so the file isn't even opened
+            enqueue(new Piece(entry, null, true, true));
+            return;
+        }
+        try {
+            entry.m_in = FileChannel.open(f.toPath(), StandardOpenOption.READ);
+        } catch (IOException ioe) {
+            throw new IOException(String.format("Unable to add file \"%s\" to archive \"%s\": %s",
+                f.getAbsolutePath(), m_outputFile.getAbsoluteFile(), ioe.getMessage()), ioe);
+        }
+        final long chunks = (size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        for (long i = 0; i < chunks; i++) {
+            final long offset = i * CHUNK_SIZE;
+            final int length = (int)Math.min(CHUNK_SIZE, size - offset);
+            final boolean last = i == chunks - 1;
+            Future<Chunk> chunk = m_pool.submit(() -> readChunk(entry, offset, length, last));
+            enqueue(new Piece(entry, chunk, i == 0, last));
+        }
+    }
+
+    /**
+     * Writes all pending entries and the central directory. Doesn't close the archive.
+     *
+     * @throws IOException if a file couldn't be read, the archive couldn't be written, or the user canceled
+     */
+    void finish() throws IOException {
+        while (!m_pending.isEmpty()) {
+            writeNext();
+        }
+        long cdOffset = position();
+        for (Entry e : m_entries) {
+            writeCentralDirectoryHeader(e);
+        }
+        long cdSize = position() - cdOffset;
+        writeEndOfCentralDirectory(cdOffset, cdSize);
+        flush();
+    }
+
+    /**
+     * Closes the archive and stops all background tasks. Call {@link #finish()} before, otherwise the archive is
+     * incomplete.
+     */
+    @Override
+    public void close() throws IOException {
+        m_pool.shutdownNow();
+        for (Piece p : m_pending) {
+            if (p.m_chunk != null) {
+                p.m_chunk.cancel(true);
+            }
+            p.m_entry.closeInput();
+        }
+        m_pending.clear();
+        m_out.close();
+    }
+
+    private void enqueue(final Piece piece) throws IOException {
+        m_pending.add(piece);
+        while (m_pending.size() > m_maxPending) {
+            writeNext();
+        }
+    }
+
+    private void writeNext() throws IOException {
+        if (m_monitor.isCanceled()) {
+            throw new IOException("Canceled.");
+        }
+        Piece piece = m_pending.poll();
+        Entry e = piece.m_entry;
+        if (piece.m_first) {
+            writeLocalHeader(e);
+        }
+        if (piece.m_chunk != null) {
+            Chunk c = getChunk(piece);
+            write(c.m_data, 0, c.m_dataLength);
+            e.m_crc = crc32Combine(e.m_crc, c.m_crc, c.m_rawLength);
+            e.m_size += c.m_rawLength;
+            e.m_compressedSize += c.m_dataLength;
+            m_monitor.worked(1);
+        }
+        if (piece.m_last) {
+            e.closeInput();
+            patchLocalHeader(e);
+            m_entries.add(e);
+            m_monitor.subTask(e.m_name);
+        }
+    }
+
+    private Chunk getChunk(final Piece piece) throws IOException {
+        try {
+            return piece.m_chunk.get();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while compressing " + piece.m_entry.m_file);
+        } catch (ExecutionException ee) {
+            Throwable cause = ee.getCause();
+            throw new IOException(String.format("Unable to add file \"%s\" to archive \"%s\": %s",
+                piece.m_entry.m_file.getAbsolutePath(), m_outputFile.getAbsoluteFile(), cause.getMessage()), cause);
+        }
+    }
+
+    /* Runs in the pool: reads the chunk (plus the preceding dictionary) and deflates it. */
+    private Chunk readChunk(final Entry entry, final long offset, final int length, final boolean last)
+        throws IOException {
+        final boolean deflate = entry.m_method == DEFLATED;
+        final int dictLength = deflate ? (int)Math.min(DICTIONARY_SIZE, offset) : 0;
+        byte[] raw = new byte[dictLength + length];
+        ByteBuffer buf = ByteBuffer.wrap(raw);
+        long pos = offset - dictLength;
+        while (buf.hasRemaining()) {
+            int read = entry.m_in.read(buf, pos);
+            if (read < 0) {
+                break; // file shrunk since it was added
+            }
+            pos += read;
+        }
+        final int rawLength = Math.max(0, buf.position() - dictLength);
+        CRC32 crc = new CRC32();
+        crc.update(raw, dictLength, rawLength);
+        if (!deflate) {
+            return new Chunk(raw, rawLength, crc.getValue(), rawLength);
+        }
+        Deflater def = m_deflaters.get();
+        def.reset();
+        if (dictLength > 0) {
+            def.setDictionary(raw, 0, dictLength);
+        }
+        def.setInput(raw, dictLength, rawLength);
+        byte[] out = new byte[rawLength + (rawLength >>> 6) + 64];
+        int outLength = 0;
+        if (last) {
+            def.finish();
+            while (!def.finished()) {
+                if (outLength == out.length) {
+                    out = Arrays.copyOf(out, 2 * out.length);
+                }
+                outLength += def.deflate(out, outLength, out.length - outLength);
+            }
+        } else {
+            // end on a byte boundary without a final block so that the next chunk's stream can be appended
+            while (true) {
+                outLength += def.deflate(out, outLength, out.length - outLength, Deflater.SYNC_FLUSH);
+                if (outLength < out.length) {
+                    break;
+                }
+                out = Arrays.copyOf(out, 2 * out.length);
+            }
+        }
+        return new Chunk(out, outLength, crc.getValue(), rawLength);
+    }
+
+    /*
+     * -------------------------- zip format --------------------------
+     */
+
+    private void writeLocalHeader(final Entry e) throws IOException {
+        e.m_headerOffset = position();
+        ByteBuffer b = header(30 + e.m_nameBytes.length + (e.m_zip64 ? 20 : 0));
+        b.putInt(0x04034b50);
+        b.putShort((short)(e.m_zip64 ? 45 : 20));
+        b.putShort((short)FLAG_UTF8);
+        b.putShort((short)e.m_method);
+        b.putInt((int)e.m_dosTime);
+        b.putInt(0); // crc, patched
+        b.putInt(e.m_zip64 ? (int)ZIP64_LIMIT : 0); // compressed size, patched
+        b.putInt(e.m_zip64 ? (int)ZIP64_LIMIT : 0); // size, patched
+        b.putShort((short)e.m_nameBytes.length);
+        b.putShort((short)(e.m_zip64 ? 20 : 0));
+        b.put(e.m_nameBytes);
+        if (e.m_zip64) {
+            b.putShort((short)0x0001);
+            b.putShort((short)16);
+            b.putLong(0); // size, patched
+            b.putLong(0); // compressed size, patched
+        }
+        write(b);
+    }
+
+    private void patchLocalHeader(final Entry e) throws IOException {
+        if (!e.m_zip64 && (e.m_size >= ZIP64_LIMIT || e.m_compressedSize >= ZIP64_LIMIT)) {
+            throw new IOException("File \"" + e.m_file.getAbsolutePath() + "\" grew while it was archived.");
+        }
+        if (e.m_zip64) {
+            ByteBuffer crc = header(4);
+            crc.putInt((int)e.m_crc);
+            patch(e.m_headerOffset + 14, crc);
+            ByteBuffer sizes = header(16);
+            sizes.putLong(e.m_size);
+            sizes.putLong(e.m_compressedSize);
+            patch(e.m_headerOffset + 30 + e.m_nameBytes.length + 4, sizes);
+        } else {
+            ByteBuffer b = header(12);
+            b.putInt((int)e.m_crc);
+            b.putInt((int)e.m_compressedSize);
+            b.putInt((int)e.m_size);
+            patch(e.m_headerOffset + 14, b);
+        }
+    }
+
+    private void writeCentralDirectoryHeader(final Entry e) throws IOException {
+        final boolean zip64Sizes = e.m_zip64 || e.m_size >= ZIP64_LIMIT || e.m_compressedSize >= ZIP64_LIMIT;
+        final boolean zip64Offset = e.m_headerOffset >= ZIP64_LIMIT;
+        final int extraLength = (zip64Sizes || zip64Offset ? 4 : 0) + (zip64Sizes ? 16 : 0) + (zip64Offset ? 8 : 0);
+        final short version = (short)(extraLength > 0 ? 45 : 20);
+        ByteBuffer b = header(46 + e.m_nameBytes.length + extraLength);
+        b.putInt(0x02014b50);
+        b.putShort(version); // made by
+        b.putShort(version); // needed to extract
+        b.putShort((short)FLAG_UTF8);
+        b.putShort((short)e.m_method);
+        b.putInt((int)e.m_dosTime);
+        b.putInt((int)e.m_crc);
+        b.putInt(zip64Sizes ? (int)ZIP64_LIMIT : (int)e.m_compressedSize);
+        b.putInt(zip64Sizes ? (int)ZIP64_LIMIT : (int)e.m_size);
+        b.putShort((short)e.m_nameBytes.length);
+        b.putShort((short)extraLength);
+        b.putShort((short)0); // comment length
+        b.putShort((short)0); // disk number
+        b.putShort((short)0); // internal attributes
+        b.putInt(0); // external attributes
+        b.putInt(zip64Offset ? (int)ZIP64_LIMIT : (int)e.m_headerOffset);
+        b.put(e.m_nameBytes);
+        if (extraLength > 0) {
+            b.putShort((short)0x0001);
+            b.putShort((short)(extraLength - 4));
+            if (zip64Sizes) {
+                b.putLong(e.m_size);
+                b.putLong(e.m_compressedSize);
+            }
+            if (zip64Offset) {
+                b.putLong(e.m_headerOffset);
+            }
+        }
+        write(b);
+    }
+
+    private void writeEndOfCentralDirectory(final long cdOffset, final long cdSize) throws IOException {
+        final int count = m_entries.size();
+        final boolean zip64 = count >= ZIP64_LIMIT_ENTRIES || cdOffset >= ZIP64_LIMIT || cdSize >= ZIP64_LIMIT;
+        if (zip64) {
+            long zip64EndOffset = position();
+            ByteBuffer b = header(56 + 20);
+            b.putInt(0x06064b50);
+            b.putLong(44); // size of the remaining record
+            b.putShort((short)45);
+            b.putShort((short)45);
+            b.putInt(0); // this disk
+            b.putInt(0); // disk with the central directory
+            b.putLong(count);
+            b.putLong(count);
+            b.putLong(cdSize);
+            b.putLong(cdOffset);
+            // locator
+            b.putInt(0x07064b50);
+            b.putInt(0);
+            b.putLong(zip64EndOffset);
+            b.putInt(1);
+            write(b);
+        }
+        ByteBuffer b = header(22);
+        b.putInt(0x06054b50);
+        b.putShort((short)0);
+        b.putShort((short)0);
+        b.putShort((short)Math.min(count, ZIP64_LIMIT_ENTRIES));
+        b.putShort((short)Math.min(count, ZIP64_LIMIT_ENTRIES));
+        b.putInt((int)Math.min(cdSize, ZIP64_LIMIT));
+        b.putInt((int)Math.min(cdOffset, ZIP64_LIMIT));
+        b.putShort((short)0); // comment length
+        write(b);
+    }
+
+    private static ByteBuffer header(final int length) {
+        return ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /*
+     * ------------------------ buffered output -----------------------
+     */
+
+    private long position() {
+        return m_flushedPosition + m_buffer.position();
+    }
+
+    private void write(final ByteBuffer header) throws IOException {
+        header.flip();
+        write(header.array(), header.arrayOffset() + header.position(), header.remaining());
+    }
+
+    private void write(final byte[] data, final int offset, final int length) throws IOException {
+        if (length > m_buffer.remaining()) {
+            flush();
+        }
+        if (length > m_buffer.remaining()) {
+            writeFully(ByteBuffer.wrap(data, offset, length));
+            m_flushedPosition += length;
+        } else {
+            m_buffer.put(data, offset, length);
+        }
+    }
+
+    /* Overwrites already written bytes, which may still be buffered. */
+    private void patch(final long position, final ByteBuffer data) throws IOException {
+        data.flip();
+        if (position >= m_flushedPosition) {
+            int bufferPosition = (int)(position - m_flushedPosition);
+            for (int i = data.position(); i < data.limit(); i++) {
+                m_buffer.put(bufferPosition++, data.get(i));
+            }
+        } else {
+            long pos = position;
+            while (data.hasRemaining()) {
+                pos += m_out.write(data, pos);
+            }
+        }
+    }
+
+    private void flush() throws IOException {
+        m_buffer.flip();
+        int length = m_buffer.remaining();
+        writeFully(m_buffer);
+        m_flushedPosition += length;
+        m_buffer.clear();
+    }
+
+    private void writeFully(final ByteBuffer data) throws IOException {
+        while (data.hasRemaining()) {
+            m_out.write(data);
+        }
+    }
+
+    /*
+     * ----------------------------- CRC -----------------------------
+     */
+
+    /**
+     * Computes the CRC32 of two concatenated blocks from the CRCs of the blocks (as zlib's <code>crc32_combine</code>).
+     *
+     * @param crc1 CRC of the first block
+     * @param crc2 CRC of the second block
+     * @param length2 length of the second block
+     * @return the CRC of the concatenation
+     */
+    static long crc32Combine(final long crc1, final long crc2, final long length2) {
+        if (length2 <= 0) {
+            return crc1;
+        }
+        long[] even = new long[32]; // even-power-of-two zeros operator
+        long[] odd = new long[32]; // odd-power-of-two zeros operator
+        odd[0] = 0xEDB88320L; // CRC-32 polynomial
+        long row = 1;
+        for (int n = 1; n < 32; n++) {
+            odd[n] = row;
+            row <<= 1;
+        }
+        gf2MatrixSquare(even, odd); // two zero bits
+        gf2MatrixSquare(odd, even); // four zero bits
+        long crc = crc1;
+        long len = length2;
+        // apply len2 zeros to crc1 (first square puts the operator for one zero byte in even)
+        do {
+            gf2MatrixSquare(even, odd);
+            if ((len & 1) != 0) {
+                crc = gf2MatrixTimes(even, crc);
+            }
+            len >>= 1;
+            if (len == 0) {
+                break;
+            }
+            gf2MatrixSquare(odd, even);
+            if ((len & 1) != 0) {
+                crc = gf2MatrixTimes(odd, crc);
+            }
+            len >>= 1;
+        } while (len != 0);
+        return crc ^ crc2;
+    }
+
+    private static long gf2MatrixTimes(final long[] mat, final long vec) {
+        long sum = 0;
+        long v = vec;
+        for (int i = 0; v != 0; i++, v >>>= 1) {
+            if ((v & 1) != 0) {
+                sum ^= mat[i];
+            }
+        }
+        return sum;
+    }
+
+    private static void gf2MatrixSquare(final long[] square, final long[] mat) {
+        for (int n = 0; n < 32; n++) {
+            square[n] = gf2MatrixTimes(mat, mat[n]);
+        }
+    }
+
+    private static long toDosTime(final long millis) {
+        LocalDateTime d = LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+        if (d.getYear() < 1980) {
+            return (1 << 21) | (1 << 16);
+        }
+        return ((long)(d.getYear() - 1980) << 25) | (d.getMonthValue() << 21) | (d.getDayOfMonth() << 16)
+            | (d.getHour() << 11) | (d.getMinute() << 5) | (d.getSecond() >> 1);
+    }
+
+    /*
+     * ---------------------------------------------------------------
+     */
+
+    private static final class Entry {
+        private final File m_file;
+
+        private final String m_name;
+
+        private final byte[] m_nameBytes;
+
+        private final int m_method;
+
+        private final boolean m_zip64;
+
+        private final long m_dosTime;
+
+        private FileChannel m_in;
+
+        private long m_headerOffset;
+
+        private long m_crc;
+
+        private long m_size;
+
+        private long m_compressedSize;
+
+        Entry(final File file, final String name, final int method, final boolean zip64) {
+            m_file = file;
+            m_name = name;
+            m_nameBytes = name.getBytes(StandardCharsets.UTF_8);
+            m_method = method;
+            m_zip64 = zip64;
+            long lastModified = file.lastModified();
+            m_dosTime = toDosTime(lastModified > 0 ? lastModified : System.currentTimeMillis());
+        }
+
+        void closeInput() throws IOException {
+            if (m_in != null) {
+                m_in.close();
+                m_in = null;
+            }
+        }
+    }
+
+    /** Part of the archive in the order it's written: a header, a chunk of data, and/or the end of an entry. */
+    private static final class Piece {
+        private final Entry m_entry;
+
+        private final Future<Chunk> m_chunk;
+
+        private final boolean m_first;
+
+        private final boolean m_last;
+
+        Piece(final Entry entry, final Future<Chunk> chunk, final boolean first, final boolean last) {
+            m_entry = entry;
+            m_chunk = chunk;
+            m_first = first;
+            m_last = last;
+        }
+    }
+
+    private static final class Chunk {
+        private final byte[] m_data;
+
+        private final int m_dataLength;
+
+        private final long m_crc;
+
+        private final int m_rawLength;
+
+        Chunk(final byte[] data, final int dataLength, final long crc, final int rawLength) {
+            m_data = data;
+            m_dataLength = dataLength;
+            m_crc = crc;
+            m_rawLength = rawLength;
+        }
+    }
+}
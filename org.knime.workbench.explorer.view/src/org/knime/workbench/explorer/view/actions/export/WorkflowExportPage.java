@@ -69,6 +69,7 @@
 import org.eclipse.swt.layout.GridData;
 import org.eclipse.swt.layout.GridLayout;
 import org.eclipse.swt.widgets.Button;
+import org.eclipse.swt.widgets.Combo;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.FileDialog;
 import org.eclipse.swt.widgets.Group;
@@ -99,6 +100,8 @@ public class WorkflowExportPage extends WizardPage {
 
     private Button m_excludeData;
 
+    private Combo m_compression;
+
     private AbstractExplorerFileStore m_selection;
 
     private ExplorerFileStoreProvider m_provider;
@@ -212,6 +215,13 @@ public void widgetSelected(final SelectionEvent e) {
         m_excludeData.setSelection(true);
         m_excludeData.setText("Reset Workflow(s) before export");
 
+        final Composite compressionComposite = new Composite(group, SWT.NONE);
+        compressionComposite.setLayout(new GridLayout(2, false));
+        new Label(compressionComposite, SWT.NULL).setText("Compression:");
+        m_compression = new Combo(compressionComposite, SWT.DROP_DOWN | SWT.READ_ONLY);
+        m_compression.setItems(COMPRESSION_NAMES);
+        m_compression.select(COMPRESSION_LEVELS.length - 1);
+
         createTreeViewer(container);
 
         initialize();
@@ -288,6 +298,11 @@ private void initialize() {
             if (lastSelected != null && !lastSelected.isEmpty()) {
                 lastSelectedTargetLocation = lastSelected;
             }
+            String compression = settings.get(KEY_COMPRESSION);
+            int index = compression == null ? -1 : Arrays.asList(COMPRESSION_NAMES).indexOf(compression);
+            if (index >= 0) {
+                m_compression.select(index);
+            }
         }
         if (sel != null) {
             m_containerText.setText(sel.getMountIDWithFullPath());
@@ -391,6 +406,13 @@ boolean excludeData() {
         return m_excludeData.getSelection();
     }
 
+    /**
+     * @return the selected deflate compression level, 0 if files should only be stored
+     */
+    int getCompressionLevel() {
+        return COMPRESSION_LEVELS[Math.max(0, m_compression.getSelectionIndex())];
+    }
+
     /**
      * Uses the standard file selection dialog to choose the export file name.
      */
@@ -553,6 +575,12 @@ public String getFileName() {
 
     private static final String KEY_LOC = "destination-location";
 
+    private static final String KEY_COMPRESSION = "compression";
+
+    private static final String[] COMPRESSION_NAMES = {"None (fastest)", "Fast", "Normal", "Maximum (smallest)"};
+
+    private static final int[] COMPRESSION_LEVELS = {0, 1, 6, 9};
+
     /**
      * Saves the last selected location (the parent of the last export file).
      *
@@ -563,6 +591,7 @@ public void saveDialogSettings() {
         IDialogSettings settings = getDialogSettings();
         if (settings != null) {
             settings.put(KEY_LOC, lastSelectedTargetLocation);
+            settings.put(KEY_COMPRESSION, m_compression.getText());
         }
     }
 
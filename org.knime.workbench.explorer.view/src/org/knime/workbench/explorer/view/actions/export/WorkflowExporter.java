@@ -50,16 +50,15 @@
 
 import java.io.File;
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.zip.Deflater;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.Status;
-import org.eclipse.core.runtime.SubProgressMonitor;
 import org.knime.core.node.FileNodePersistor;
 import org.knime.core.node.NodeLogger;
 import org.knime.core.node.NodePersistor;
@@ -88,7 +87,11 @@ public final class WorkflowExporter {
 
     private final File m_exportFile;
 
+    private final int m_compressionLevel;
+
     /**
+     * Creates an exporter that compresses with the highest level.
+     *
      * @param exportFile
      * @param commonParent
      * @param elementsToExport
@@ -96,50 +99,68 @@ public final class WorkflowExporter {
      */
     public WorkflowExporter(final File exportFile, final AbstractExplorerFileStore commonParent,
         final Collection<AbstractExplorerFileStore> elementsToExport, final boolean excludeData) {
+        this(exportFile, commonParent, elementsToExport, excludeData, Deflater.BEST_COMPRESSION);
+    }
+
+    /**
+     * @param exportFile
+     * @param commonParent
+     * @param elementsToExport
+     * @param excludeData
+     * @param compressionLevel the deflate level (0-9) of the archive, 0 only stores the files
+     * @since 8.10
+     */
+    public WorkflowExporter(final File exportFile, final AbstractExplorerFileStore commonParent,
+        final Collection<AbstractExplorerFileStore> elementsToExport, final boolean excludeData,
+        final int compressionLevel) {
         m_commonParent = CheckUtils.checkArgumentNotNull(commonParent);
         m_exportFile = CheckUtils.checkArgumentNotNull(exportFile);
         m_excludeData = CheckUtils.checkArgumentNotNull(excludeData);
         m_elementsToExport = CheckUtils.checkArgumentNotNull(elementsToExport);
+        CheckUtils.checkArgument(compressionLevel >= Deflater.NO_COMPRESSION
+            && compressionLevel <= Deflater.BEST_COMPRESSION, "Invalid compression level: %d", compressionLevel);
+        m_compressionLevel = compressionLevel;
     }
 
     /**
      * The worker method. It will find the container, create the export file if missing or just replace its contents.
+     * The files are added to the archive while the selected elements are traversed, their compression runs in
+     * parallel.
      */
     public void doFinish(final IProgressMonitor monitor) throws CoreException {
-
-        // start zipping
-        monitor.beginTask("Archiving selected workflows... ", 10);
-        // if the data should be excluded from the export
-        // iterate over the resources and add only the wanted stuff
-        // i.e. the "intern" folder and "*.zip" files are excluded
-        final List<File> resourceList = new ArrayList<File>();
-        for (AbstractExplorerFileStore fs : m_elementsToExport) {
-            // add all files within the workflow or group
-            addResourcesFor(resourceList, fs, m_excludeData);
+        // the number of files is unknown until the traversal is done; one unit of work per compressed megabyte
+        monitor.beginTask("Archiving selected workflows... ", IProgressMonitor.UNKNOWN);
+        File parentLoc = m_commonParent.toLocalFile();
+        if (parentLoc == null) {
+            throw new CoreException(new Status(IStatus.ERROR, ExplorerActivator.PLUGIN_ID,
+                "Only local files can be exported (" + m_commonParent.getFullName() + " has no local file)", null));
         }
 
-        monitor.worked(1); // 10% for collecting the files...
-        try {
-            SubProgressMonitor sub = new SubProgressMonitor(monitor, 9);
-
-            File parentLoc = m_commonParent.toLocalFile();
-            if (parentLoc == null) {
-                throw new CoreException(new Status(IStatus.ERROR, ExplorerActivator.PLUGIN_ID,
-                    "Only local files can be exported (" + m_commonParent.getFullName() + " has no local file)", null));
-            }
-
-            int stripOff = new Path(parentLoc.getAbsolutePath()).segmentCount();
-            if (!m_commonParent.getFullName().equals("/")) {
-                // keep the common workflow group (if exists) in the archive
-                stripOff = stripOff - 1;
+        int stripOff = new Path(parentLoc.getAbsolutePath()).segmentCount();
+        if (!m_commonParent.getFullName().equals("/")) {
+            // keep the common workflow group (if exists) in the archive
+            stripOff = stripOff - 1;
+        }
+        boolean success = false;
+        try (ParallelZipWriter zipWriter = new ParallelZipWriter(m_exportFile, stripOff, m_compressionLevel, monitor)) {
+            // if the data should be excluded from the export
+            // iterate over the resources and add only the wanted stuff
+            // i.e. the "intern" folder and "*.zip" files are excluded
+            for (AbstractExplorerFileStore fs : m_elementsToExport) {
+                // add all files within the workflow or group
+                addResourcesFor(zipWriter::putFile, fs, m_excludeData);
             }
-            Zipper.zipFiles(resourceList, m_exportFile, stripOff, sub);
-
+            zipWriter.finish();
+            success = true;
         } catch (final IOException t) {
             LOGGER.debug("Export of KNIME workflow(s) failed: " + t.getMessage(), t);
             throw new CoreException(new Status(IStatus.ERROR, ExplorerActivator.PLUGIN_ID, t.getMessage(), t));
+        } finally {
+            if (!success) {
+                m_exportFile.delete();
+            }
+            monitor.done();
         }
-        monitor.done();
     }
 
     /**
@@ -249,6 +270,17 @@ public static void addResourcesFor(final List<File> resourceList, final Abstract
         if (resourceList == null) {
             throw new NullPointerException("Result list can't be null");
         }
+        addResourcesFor(resourceList::add, element, excludeData);
+    }
+
+    /** Receives the files found while traversing the exported elements, e.g. a list or an archive. */
+    @FunctionalInterface
+    private interface ResourceSink<E extends Exception> {
+        void add(File file) throws E;
+    }
+
+    private static <E extends Exception> void addResourcesFor(final ResourceSink<E> resourceList,
+        final AbstractExplorerFileStore element, final boolean excludeData) throws CoreException, E {
         if (AbstractExplorerFileStore.isWorkflow(element) || AbstractExplorerFileStore.isWorkflowTemplate(element)) {
             addWorkflowContent(resourceList, element, excludeData);
         } else if (AbstractExplorerFileStore.isDataFile(element)) {
@@ -264,7 +296,8 @@ public static void addResourcesFor(final List<File> resourceList, final Abstract
     /*
      * Adds files contained in workflow groups. Doesn't recurse. Adds the meta info file.
      */
-    private static void addWorkflowGroupContent(final List<File> resourceList, final AbstractExplorerFileStore group) throws CoreException {
+    private static <E extends Exception> void addWorkflowGroupContent(final ResourceSink<E> resourceList,
+        final AbstractExplorerFileStore group) throws CoreException, E {
         assert group.fetchInfo().isDirectory();
         File loc = group.toLocalFile();
         if (loc == null) {
@@ -281,8 +314,8 @@ private static void addWorkflowGroupContent(final List<File> resourceList, final
      * @param dataFile a file!
      * @throws CoreException
      */
-    private static void addFile(final List<File> resourceList, final AbstractExplorerFileStore dataFile)
-        throws CoreException {
+    private static <E extends Exception> void addFile(final ResourceSink<E> resourceList,
+        final AbstractExplorerFileStore dataFile) throws CoreException, E {
         assert dataFile.fetchInfo().isFile();
         File loc = dataFile.toLocalFile();
         if (loc == null) {
@@ -296,8 +329,8 @@ private static void addFile(final List<File> resourceList, final AbstractExplore
      * Call this on workflows or templates only. Includes everything except data tables, if excluded
      */
 
-    private static void addWorkflowContent(final List<File> resources, final AbstractExplorerFileStore flow,
-        final boolean excludeData) throws CoreException {
+    private static <E extends Exception> void addWorkflowContent(final ResourceSink<E> resources,
+        final AbstractExplorerFileStore flow, final boolean excludeData) throws CoreException, E {
         assert flow.fetchInfo().isDirectory();
         File loc = flow.toLocalFile();
         if (loc == null) {
@@ -307,8 +340,8 @@ private static void addWorkflowContent(final List<File> resources, final Abstrac
         addEntireDirContent(resources, loc, excludeData);
     }
 
-    private static void addEntireDirContent(final List<File> resources, final File dir, final boolean excludeData)
-        throws CoreException {
+    private static <E extends Exception> void addEntireDirContent(final ResourceSink<E> resources, final File dir,
+        final boolean excludeData) throws CoreException, E {
         File[] content = dir.listFiles();
         if (content == null) {
             throw new CoreException(new Status(IStatus.ERROR, ExplorerActivator.PLUGIN_ID,
@@ -47,22 +47,12 @@
  */
 package org.knime.workbench.explorer.view.actions.export;
 
-import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.util.Collection;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipOutputStream;
 
-import org.apache.commons.lang3.StringUtils;
-import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
-import org.eclipse.core.runtime.Path;
 
 /**
  *
@@ -70,8 +60,6 @@
  */
 final class Zipper {
 
-    private static final int BUFFSIZE = 1024 * 2048;
-
     private static final int COMPR_LEVEL = 9;
 
     /**
@@ -88,86 +76,48 @@ final class Zipper {
      */
     public static void zipFiles(final Collection<File> files, final File outputFile, final int stripOff,
         final IProgressMonitor mon) throws IOException {
+        zipFiles(files, outputFile, stripOff, COMPR_LEVEL, mon);
+    }
+
+    /**
+     * Compresses multiple files into one archive using the passed compression level, see
+     * {@link #zipFiles(Collection, File, int, IProgressMonitor)}. The files are compressed in parallel by a
+     * {@link ParallelZipWriter}.
+     *
+     * @param files files to add to the archive
+     * @param outputFile the compressed output archive
+     * @param stripOff number of segments in the path of each file that are stripped off before storing
+     * @param level the deflate compression level (0-9), 0 only stores the files
+     * @param mon to report progress and check for cancellation (can be null)
+     * @throws IOException if an an I/O error occurred, the user canceled, or anything else went wrong
+     */
+    static void zipFiles(final Collection<File> files, final File outputFile, final int stripOff, final int level,
+        final IProgressMonitor mon) throws IOException {
 
         IProgressMonitor monitor = mon;
         if (monitor == null) {
             monitor = new NullProgressMonitor();
         }
 
-        byte[] buf = new byte[BUFFSIZE];
         IOException ioException = null;
 
-        try (FileOutputStream outStream = new FileOutputStream(outputFile);
-                ZipOutputStream zout = new ZipOutputStream(new BufferedOutputStream(outStream, BUFFSIZE))) {
-            if (files.size() == 0) {
-                // cleanup done in the finally block
-                return;
-            }
-
-            zout.setLevel(COMPR_LEVEL);
+        try (ParallelZipWriter zipWriter = new ParallelZipWriter(outputFile, stripOff, level, monitor)) {
             if (mon != null) {
-                // set the overall progress to the overall megabyte
+                // set the overall progress to the number of compressed chunks (megabytes)
                 int wrk = 0;
                 int nrFiles = 0;
                 for (File f : files) {
-                    if (!f.isDirectory()) {
-                        int megaBytes = (int)(f.length() >>> 20);
-                        wrk += megaBytes + 1;
+                    if (f != null && !f.isDirectory()) {
+                        wrk += (int)((f.length() + ParallelZipWriter.CHUNK_SIZE - 1) / ParallelZipWriter.CHUNK_SIZE);
                         nrFiles += 1;
                     }
                 }
                 monitor.beginTask("Compressing " + nrFiles + " files...", wrk);
             }
             for (File f : files) {
-                if (f == null) {
-                    ioException = new IOException("Illegal file in archive list: <null>!");
-                    // cleanup done in the finally block
-                    return;
-                }
-                if (monitor.isCanceled()) {
-                    ioException = new IOException("Canceled.");
-                    // cleanup done in the finally block
-                    return;
-                }
-
-                IPath path = new Path(f.getAbsolutePath()).setDevice(null);
-                if (stripOff > 0 && path.segmentCount() > stripOff) {
-                    path = path.removeFirstSegments(stripOff);
-                }
-                String entryName = path.makeRelative().toString();
-                if (f.isDirectory()) {
-                    // mostly for empty directories (but non-empty dirs are accepted also)
-                    zout.putNextEntry(new ZipEntry(StringUtils.appendIfMissing(entryName, "/")));
-                    zout.closeEntry();
-                } else if (f.length() == 0) {
-                    // this is mainly for the .knimeLock file of open workflows; the file is locked and windows forbids
-                    // mmap-ing locked files but FileInputStream seems to mmap files which leads to exceptions while
-                    // reading the (non-existing) contents of the file
-                    zout.putNextEntry(new ZipEntry(entryName));
-                    zout.closeEntry();
-                } else {
-                    try (InputStream in = new BufferedInputStream(new FileInputStream(f), BUFFSIZE)) {
-                        zout.putNextEntry(new ZipEntry(entryName));
-                        int read;
-                        while ((read = in.read(buf)) >= 0) {
-                            if (monitor.isCanceled()) {
-                                ioException = new IOException("Canceled.");
-                                // cleanup done in the finally block
-                                return;
-                            }
-                            zout.write(buf, 0, read);
-                        }
-                    } catch (IOException ioe) {
-                        ioException = new IOException(String.format("Unable to add file \"%s\" to archive \"%s\": %s",
-                            f.getAbsolutePath(), outputFile.getAbsoluteFile(), ioe.getMessage()), ioe);
-
-                    } finally {
-                        zout.closeEntry();
-                    }
-                }
-                int megaBytes = (int)(f.length() >>> 20);
-                monitor.worked(megaBytes + 1);
+                zipWriter.putFile(f);
             }
+            zipWriter.finish();
         } catch (IOException ioe) {
             ioException = ioe; // catch it to have variable assigned for finally block
         } finally {
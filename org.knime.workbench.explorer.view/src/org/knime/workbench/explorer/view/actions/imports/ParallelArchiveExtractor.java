@@ -0,0 +1,396 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026: created
+ */
+package org.knime.workbench.explorer.view.actions.imports;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.SubMonitor;
+
+/**
+ * Extracts the files of a zip archive in parallel. The central directory is indexed once when the extractor is
+ * created; it provides the position of each entry's data in the archive. Stored entries (such as KNIME tables, which
+ * are zip files themselves) are copied with {@link FileChannel#transferTo} without passing through the Java heap;
+ * deflated entries are inflated by the {@link ZipFile}, which allows concurrent streams.
+ * <p>
+ * Files are queued with {@link #extract(ZipEntry, File)} while the archive is traversed (the directories must exist
+ * by then) and are written by a thread pool; {@link #awaitAll(IProgressMonitor)} waits for them while reporting the
+ * number of extracted bytes.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class ParallelArchiveExtractor implements Closeable {
+
+    private static final int BUFFSIZE = 1024 * 256;
+
+    /** Maximum number of bytes per transfer, progress and cancellation are checked in between. */
+    private static final long TRANSFER_SIZE = 8L << 20;
+
+    private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+
+    private final ZipFile m_zipFile;
+
+    private final FileChannel m_archive;
+
+    private final Map<String, EntryLocation> m_index;
+
+    private final ExecutorService m_pool;
+
+    private final List<Future<?>> m_pending = new ArrayList<>();
+
+    private final AtomicLong m_bytesDone = new AtomicLong();
+
+    private long m_bytesTotal;
+
+    private volatile boolean m_canceled;
+
+    /**
+     * Opens the archive file of the passed zip file a second time for the data transfers and reads its central
+     * directory.
+     *
+     * @param zipFile the archive
+     * @throws IOException if the archive can't be read or isn't a valid zip file
+     */
+    ParallelArchiveExtractor(final ZipFile zipFile) throws IOException {
+        m_zipFile = zipFile;
+        m_archive = FileChannel.open(new File(zipFile.getName()).toPath(), StandardOpenOption.READ);
+        try {
+            m_index = readCentralDirectory(m_archive);
+        } catch (IOException | RuntimeException e) {
+            m_archive.close();
+            throw e;
+        }
+        final AtomicInteger threadCount = new AtomicInteger();
+        m_pool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), r -> {
+            Thread t = new Thread(r, "KNIME-Workflow-Import-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * @return the archive this extractor reads from
+     */
+    ZipFile getZipFile() {
+        return m_zipFile;
+    }
+
+    /**
+     * Queues a file entry for extraction. Its parent directory must exist.
+     *
+     * @param entry the archive entry (of a file)
+     * @param target the file to extract it to, existing files are overwritten
+     */
+    void extract(final ZipEntry entry, final File target) {
+        m_bytesTotal += Math.max(0, entry.getSize());
+        m_pending.add(m_pool.submit(() -> {
+            extractEntry(entry, target);
+            return null;
+        }));
+    }
+
+    /**
+     * Waits until all queued files are extracted.
+     *
+     * @param monitor to report the extracted bytes to and to check for cancellation
+     * @throws IOException if a file couldn't be extracted or the user canceled
+     */
+    void awaitAll(final IProgressMonitor monitor) throws IOException {
+        // one tick per kilobyte
+        SubMonitor progress = SubMonitor.convert(monitor, "Extracting " + m_pending.size() + " files",
+            (int)Math.min(Integer.MAX_VALUE - 1, m_bytesTotal >>> 10) + 1);
+        long reportedKB = 0;
+        try {
+            for (Future<?> f : m_pending) {
+                boolean done = false;
+                while (!done) {
+                    if (progress.isCanceled()) {
+                        throw new IOException("Canceled.");
+                    }
+                    try {
+                        f.get(100, TimeUnit.MILLISECONDS);
+                        done = true;
+                    } catch (TimeoutException e) { // NOSONAR report progress and check for cancellation
+                    }
+                    long doneKB = m_bytesDone.get() >>> 10;
+                    progress.worked((int)Math.min(Integer.MAX_VALUE, doneKB - reportedKB));
+                    progress.subTask(toMegaBytes(m_bytesDone.get()) + " of " + toMegaBytes(m_bytesTotal) + " MB");
+                    reportedKB = doneKB;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while extracting " + m_zipFile.getName());
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof IOException ? (IOException)cause : new IOException(cause.getMessage(), cause);
+        } finally {
+            cancelPending();
+        }
+    }
+
+    /**
+     * Stops pending extractions and closes the second handle on the archive. The zip file itself stays open.
+     */
+    @Override
+    public void close() throws IOException {
+        cancelPending();
+        m_pool.shutdown();
+        m_archive.close();
+    }
+
+    private void cancelPending() {
+        boolean running = false;
+        for (Future<?> f : m_pending) {
+            running |= !f.isDone();
+        }
+        if (running) {
+            // tasks are not interrupted as this would close the shared archive channel
+            m_canceled = true;
+            m_pending.forEach(f -> f.cancel(false));
+        }
+        m_pending.clear();
+        m_bytesDone.set(0);
+        m_bytesTotal = 0;
+    }
+
+    private static String toMegaBytes(final long bytes) {
+        return String.format("%.1f", bytes / (1024.0 * 1024.0));
+    }
+
+    /* Runs in the pool. */
+    private void extractEntry(final ZipEntry entry, final File target) throws IOException {
+        EntryLocation location = m_index.get(entry.getName());
+        try (FileChannel out = FileChannel.open(target.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+            if (location != null && location.m_method == ZipEntry.STORED
+                && location.m_compressedSize == location.m_size) {
+                long position = getDataOffset(location);
+                long remaining = location.m_size;
+                while (remaining > 0) {
+                    checkCanceled();
+                    long transferred = m_archive.transferTo(position, Math.min(remaining, TRANSFER_SIZE), out);
+                    if (transferred <= 0) {
+                        throw new EOFException("Unexpected end of archive while extracting " + entry.getName());
+                    }
+                    position += transferred;
+                    remaining -= transferred;
+                    m_bytesDone.addAndGet(transferred);
+                }
+            } else {
+                try (InputStream in = m_zipFile.getInputStream(entry)) {
+                    byte[] buffer = new byte[BUFFSIZE];
+                    int read;
+                    while ((read = in.read(buffer)) >= 0) {
+                        checkCanceled();
+                        ByteBuffer data = ByteBuffer.wrap(buffer, 0, read);
+                        while (data.hasRemaining()) {
+                            out.write(data);
+                        }
+                        m_bytesDone.addAndGet(read);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new IOException(String.format("Unable to extract \"%s\" to \"%s\": %s", entry.getName(),
+                target.getAbsolutePath(), e.getMessage()), e);
+        }
+    }
+
+    private void checkCanceled() throws IOException {
+        if (m_canceled) {
+            throw new IOException("Canceled.");
+        }
+    }
+
+    private long getDataOffset(final EntryLocation location) throws IOException {
+        ByteBuffer header = read(m_archive, location.m_headerOffset, 30);
+        if (header.getInt(0) != 0x04034b50) {
+            throw new ZipException("Invalid local header at offset " + location.m_headerOffset);
+        }
+        return location.m_headerOffset + 30 + (header.getShort(26) & 0xFFFF) + (header.getShort(28) & 0xFFFF);
+    }
+
+    /*
+     * ---------------------- central directory ----------------------
+     */
+
+    private static Map<String, EntryLocation> readCentralDirectory(final FileChannel archive) throws IOException {
+        final long fileSize = archive.size();
+        final int tailLength = (int)Math.min(fileSize, 22 + 0xFFFF); // end record plus maximum comment
+        final long tailStart = fileSize - tailLength;
+        ByteBuffer tail = read(archive, tailStart, tailLength);
+        int end = -1;
+        for (int i = tailLength - 22; i >= 0; i--) {
+            if (tail.getInt(i) == 0x06054b50) {
+                end = i;
+                break;
+            }
+        }
+        if (end < 0) {
+            throw new ZipException("No end of central directory record found");
+        }
+        long count = tail.getShort(end + 10) & 0xFFFF;
+        long cdSize = tail.getInt(end + 12) & ZIP64_MAGIC;
+        long cdOffset = tail.getInt(end + 16) & ZIP64_MAGIC;
+        final long endPosition = tailStart + end;
+        if ((count == 0xFFFF || cdSize == ZIP64_MAGIC || cdOffset == ZIP64_MAGIC) && endPosition >= 20) {
+            ByteBuffer locator = read(archive, endPosition - 20, 20);
+            if (locator.getInt(0) == 0x07064b50) {
+                ByteBuffer zip64End = read(archive, locator.getLong(8), 56);
+                if (zip64End.getInt(0) == 0x06064b50) {
+                    count = zip64End.getLong(32);
+                    cdSize = zip64End.getLong(40);
+                    cdOffset = zip64End.getLong(48);
+                }
+            }
+        }
+        if (cdSize > Integer.MAX_VALUE || cdOffset + cdSize > fileSize) {
+            throw new ZipException("Invalid central directory (offset " + cdOffset + ", size " + cdSize + ")");
+        }
+        ByteBuffer cd = read(archive, cdOffset, (int)cdSize);
+        Map<String, EntryLocation> index = new HashMap<>((int)Math.min(2 * count, 1 << 20));
+        int p = 0;
+        while (p + 46 <= cd.limit() && cd.getInt(p) == 0x02014b50) {
+            final int method = cd.getShort(p + 10) & 0xFFFF;
+            long compressedSize = cd.getInt(p + 20) & ZIP64_MAGIC;
+            long size = cd.getInt(p + 24) & ZIP64_MAGIC;
+            final int nameLength = cd.getShort(p + 28) & 0xFFFF;
+            final int extraLength = cd.getShort(p + 30) & 0xFFFF;
+            final int commentLength = cd.getShort(p + 32) & 0xFFFF;
+            long headerOffset = cd.getInt(p + 42) & ZIP64_MAGIC;
+            byte[] name = new byte[nameLength];
+            cd.position(p + 46);
+            cd.get(name);
+            // the zip64 extra field only contains the values that are set to the magic number
+            int extra = p + 46 + nameLength;
+            final int extraEnd = extra + extraLength;
+            while (extra + 4 <= extraEnd) {
+                int id = cd.getShort(extra) & 0xFFFF;
+                int length = cd.getShort(extra + 2) & 0xFFFF;
+                if (id == 0x0001) {
+                    int q = extra + 4;
+                    if (size == ZIP64_MAGIC) {
+                        size = cd.getLong(q);
+                        q += 8;
+                    }
+                    if (compressedSize == ZIP64_MAGIC) {
+                        compressedSize = cd.getLong(q);
+                        q += 8;
+                    }
+                    if (headerOffset == ZIP64_MAGIC) {
+                        headerOffset = cd.getLong(q);
+                    }
+                }
+                extra += 4 + length;
+            }
+            index.put(new String(name, StandardCharsets.UTF_8),
+                new EntryLocation(method, compressedSize, size, headerOffset));
+            p = extraEnd + commentLength;
+        }
+        return index;
+    }
+
+    private static ByteBuffer read(final FileChannel channel, final long position, final int length)
+        throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        long pos = position;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, pos);
+            if (read < 0) {
+                throw new EOFException("Unexpected end of archive at offset " + pos);
+            }
+            pos += read;
+        }
+        buffer.clear();
+        return buffer;
+    }
+
+    private static final class EntryLocation {
+        private final int m_method;
+
+        private final long m_compressedSize;
+
+        private final long m_size;
+
+        private final long m_headerOffset;
+
+        EntryLocation(final int method, final long compressedSize, final long size, final long headerOffset) {
+            m_method = method;
+            m_compressedSize = compressedSize;
+            m_size = size;
+            m_headerOffset = headerOffset;
+        }
+    }
+}
@@ -56,6 +56,8 @@
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 import org.eclipse.core.filesystem.EFS;
 import org.eclipse.core.runtime.CoreException;
@@ -69,6 +71,8 @@
 import org.eclipse.ui.actions.WorkspaceModifyOperation;
 import org.eclipse.ui.internal.wizards.datatransfer.ArchiveFileManipulations;
 import org.eclipse.ui.internal.wizards.datatransfer.ILeveledImportStructureProvider;
+import org.eclipse.ui.internal.wizards.datatransfer.ZipLeveledStructureProvider;
+import org.knime.core.node.NodeLogger;
 import org.knime.core.util.FileUtil;
 import org.knime.workbench.explorer.ExplorerMountTable;
 import org.knime.workbench.explorer.filesystem.AbstractExplorerFileStore;
@@ -79,6 +83,8 @@
  * Imports workflows from an archive (Zip, tar.gz) file or directory into the workspace.
  */
 public class WorkflowImportOperation extends WorkspaceModifyOperation {
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(WorkflowImportOperation.class);
+
     private static final int BUFFSIZE = 1024 * 2048;
 
     private final Collection<IWorkflowImportElement> m_workflows;
@@ -92,6 +98,9 @@ public class WorkflowImportOperation extends WorkspaceModifyOperation {
 
     private final Set<String> m_importedFiles = new HashSet<>();
 
+    /** Extracts the files of zip archives into local destinations, created once per archive. */
+    private ParallelArchiveExtractor m_extractor;
+
     /**
      * Imports the elements specified in the passed collection.
      *
@@ -145,6 +154,7 @@ protected void execute(final IProgressMonitor monitor) throws InvocationTargetEx
         } catch (Exception e) {
             throw new InvocationTargetException(e);
         } finally {
+            closeExtractor();
             if (provider != null) {
                 ArchiveFileManipulations.closeStructureProvider(provider, m_shell);
             }
@@ -152,6 +162,41 @@ protected void execute(final IProgressMonitor monitor) throws InvocationTargetEx
         }
     }
 
+    /**
+     * Returns the parallel extractor for the archive of the passed provider, indexing the archive on first use.
+     *
+     * @return the extractor or <code>null</code> if the provider doesn't read a zip file or the archive can't be
+     *         indexed, entries are copied one by one then
+     */
+    @SuppressWarnings("restriction")
+    private ParallelArchiveExtractor getExtractor(final ILeveledImportStructureProvider provider) {
+        if (!(provider instanceof ZipLeveledStructureProvider)) {
+            return null;
+        }
+        ZipFile zipFile = ((ZipLeveledStructureProvider)provider).getZipFile();
+        if (m_extractor == null || m_extractor.getZipFile() != zipFile) {
+            closeExtractor();
+            try {
+                m_extractor = new ParallelArchiveExtractor(zipFile);
+            } catch (IOException e) {
+                LOGGER.debug("Unable to index archive \"" + zipFile.getName() + "\", extracting sequentially: "
+                    + e.getMessage(), e);
+            }
+        }
+        return m_extractor;
+    }
+
+    private void closeExtractor() {
+        if (m_extractor != null) {
+            try {
+                m_extractor.close();
+            } catch (IOException e) {
+                LOGGER.debug("Unable to close archive: " + e.getMessage(), e);
+            }
+            m_extractor = null;
+        }
+    }
+
     @SuppressWarnings("restriction")
     private ILeveledImportStructureProvider handleCopyProject(final IWorkflowImportElement importElement,
         final IProgressMonitor monitor) throws Exception {
@@ -244,7 +289,12 @@ protected void importWorkflowFromArchive(final WorkflowImportElementFromArchive
             } else {
                 tmpDestDir = destination;
             }
-            importArchiveEntry(archiveElement.getProvider(), archiveElement.getEntry(), tmpDestDir, monitor);
+            ParallelArchiveExtractor extractor = getExtractor(archiveElement.getProvider());
+            importArchiveEntry(archiveElement.getProvider(), archiveElement.getEntry(), tmpDestDir, extractor,
+                monitor);
+            if (extractor != null) {
+                extractor.awaitAll(monitor);
+            }
             if (destination instanceof RemoteExplorerFileStore) {
                 destination.getContentProvider().performUploadAsync((LocalExplorerFileStore)tmpDestDir,
                     (RemoteExplorerFileStore)destination, true, destination.getContentProvider().isForceResetOnUpload(),
@@ -254,10 +304,12 @@ protected void importWorkflowFromArchive(final WorkflowImportElementFromArchive
     }
 
     /**
-     * Import the entire subtree.
+     * Import the entire subtree. Directories are created right away, files are queued in the extractor if there is
+     * one (and the destination is local) and copied immediately otherwise.
      */
     private void importArchiveEntry(final ILeveledImportStructureProvider importProvider, final Object entry,
-        final AbstractExplorerFileStore destination, final IProgressMonitor monitor) throws IOException {
+        final AbstractExplorerFileStore destination, final ParallelArchiveExtractor extractor,
+        final IProgressMonitor monitor) throws IOException {
 
         //assert !destination.fetchInfo().exists();
 
@@ -279,22 +331,27 @@ private void importArchiveEntry(final ILeveledImportStructureProvider importProv
 
                 if (!isUnchecked) {
                     AbstractExplorerFileStore childDest = destination.getChild(new Path(path).lastSegment());
-                    importArchiveEntry(importProvider, child, childDest, monitor);
+                    importArchiveEntry(importProvider, child, childDest, extractor, monitor);
                 }
             }
         } else {
-            try (InputStream inStream = importProvider.getContents(entry);
-                    OutputStream outStream = destination.openOutputStream(EFS.NONE, monitor)) {
-                byte[] buffer = new byte[BUFFSIZE];
-                int read;
-                while ((read = inStream.read(buffer)) >= 0) {
-                    if (monitor.isCanceled()) {
-                        throw new IOException("Canceled.");
+            File localTarget = extractor != null && entry instanceof ZipEntry ? toLocalFile(destination) : null;
+            if (localTarget != null) {
+                extractor.extract((ZipEntry)entry, localTarget);
+            } else {
+                try (InputStream inStream = importProvider.getContents(entry);
+                        OutputStream outStream = destination.openOutputStream(EFS.NONE, monitor)) {
+                    byte[] buffer = new byte[BUFFSIZE];
+                    int read;
+                    while ((read = inStream.read(buffer)) >= 0) {
+                        if (monitor.isCanceled()) {
+                            throw new IOException("Canceled.");
+                        }
+                        outStream.write(buffer, 0, read);
                     }
-                    outStream.write(buffer, 0, read);
+                } catch (CoreException ex) {
+                    throw new IOException(ex);
                 }
-            } catch (CoreException ex) {
-                throw new IOException(ex);
             }
         }
 
@@ -302,6 +359,14 @@ private void importArchiveEntry(final ILeveledImportStructureProvider importProv
         m_importedFiles.add(path.endsWith("/") ? path.substring(0, path.length() - 1) : path);
     }
 
+    private static File toLocalFile(final AbstractExplorerFileStore destination) throws IOException {
+        try {
+            return destination.toLocalFile();
+        } catch (CoreException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
     /**
      * Copies the content of the provided file element to the destination.
      *
@@ -0,0 +1,129 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026: created
+ */
+package org.knime.workbench.repository.view;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.knime.core.ui.util.FuzzySearchable.computeTanimotoBiGramDistance;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link TanimotoNameIndex}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class TanimotoNameIndexTest {
+
+    private static final List<String> NAMES = Arrays.asList("Column Filter", "Row Filter", "CSV Reader", "CSV Writer",
+        "Excel Reader", "GroupBy", "Joiner", "Pivoting", "Column Rename", "String Manipulation", "Math Formula", "X",
+        "Table Row to Variable Loop Start", "Loop End", "Sorter");
+
+    /**
+     * Checks that names which are not candidates for a query are indeed no fuzzy matches.
+     */
+    @Test
+    public void testCandidatesAreSuperSetOfMatches() {
+        final TanimotoNameIndex index = new TanimotoNameIndex(NAMES);
+        for (String query : new String[]{"FILTR", "CSV", "READ", "LOOP", "COLUMN FILTER", "ZZ", "X", "RO"}) {
+            final TanimotoNameIndex.QueryScores scores =
+                index.query(query, (s1, s2) -> computeTanimotoBiGramDistance(s1, s2));
+            for (String name : NAMES) {
+                if (!scores.isCandidate(name)) {
+                    assertFalse("'" + name + "' must not contain '" + query + "'",
+                        name.toUpperCase().contains(query));
+                    assertTrue("'" + name + "' expected to be far away from '" + query + "'",
+                        computeTanimotoBiGramDistance(name, query) >= 0.85);
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks that the candidate set is actually narrowed down and that names unknown to the index are candidates.
+     */
+    @Test
+    public void testCandidateSelection() {
+        final TanimotoNameIndex index = new TanimotoNameIndex(NAMES);
+        final TanimotoNameIndex.QueryScores scores = index.query("CSV", (s1, s2) -> 0.0);
+        assertTrue(scores.isCandidate("CSV Reader"));
+        assertTrue(scores.isCandidate("CSV Writer"));
+        assertFalse(scores.isCandidate("GroupBy"));
+        assertFalse(scores.isCandidate("Math Formula"));
+        assertTrue("unknown names must be candidates", scores.isCandidate("Some CSV Node"));
+        assertTrue("short names must be candidates", scores.isCandidate("X"));
+        assertTrue("single character queries match everything",
+            index.query("Q", (s1, s2) -> 0.0).isCandidate("GroupBy"));
+        assertEquals("CSV READER", index.toUpperCase("CSV Reader"));
+    }
+
+    /**
+     * Checks that distances are computed only once per name and query.
+     */
+    @Test
+    public void testDistancesAreCached() {
+        final TanimotoNameIndex index = new TanimotoNameIndex(NAMES);
+        final AtomicInteger count = new AtomicInteger();
+        final TanimotoNameIndex.QueryScores scores = index.query("JOIN", (s1, s2) -> {
+            count.incrementAndGet();
+            return computeTanimotoBiGramDistance(s1, s2);
+        });
+        final double d = scores.distanceToQuery("Joiner");
+        assertEquals(d, scores.distanceToQuery("Joiner"), 0.0);
+        assertEquals(1, count.get());
+        scores.distanceFromQuery("Joiner");
+        scores.distanceFromQuery("Joiner");
+        assertEquals(2, count.get());
+    }
+}
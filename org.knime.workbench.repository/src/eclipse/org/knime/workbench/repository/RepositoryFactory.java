@@ -53,6 +53,7 @@
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Map;
 import java.util.Optional;
 
 import org.eclipse.core.runtime.FileLocator;
@@ -112,9 +113,24 @@ private RepositoryFactory() {
      * @throws InvalidNodeFactoryExtensionException if the element is not compatible (e.g.
      *             wrong attributes, or factory class not found)
      */
-    @SuppressWarnings("unchecked")
     static Pair<DefaultNodeTemplate, Boolean> createNode(final NodeFactoryExtension nodeFactoryExtension)
         throws InvalidNodeFactoryExtensionException {
+        return createNode(nodeFactoryExtension, null);
+    }
+
+    /**
+     * Creates a new node repository object and records the URL of the node's icon.
+     *
+     * @param nodeFactoryExtension from {@link NodeFactoryExtensionManager}.
+     * @param iconURLs map the icon URL is put into (key is the node's ID) if the node has an icon; may be
+     *            <code>null</code>
+     * @return NodeTemplate object to be used within the repository.
+     * @throws InvalidNodeFactoryExtensionException if the element is not compatible (e.g. wrong attributes, or factory
+     *             class not found)
+     */
+    @SuppressWarnings("unchecked")
+    static Pair<DefaultNodeTemplate, Boolean> createNode(final NodeFactoryExtension nodeFactoryExtension,
+        final Map<String, URL> iconURLs) throws InvalidNodeFactoryExtensionException {
         // Try to load the node factory class...
         NodeFactory<? extends NodeModel> factory = nodeFactoryExtension.getFactory();
         boolean isDeprecated = factory.isDeprecated();
@@ -124,6 +140,9 @@ static Pair<DefaultNodeTemplate, Boolean> createNode(final NodeFactoryExtension
         DefaultNodeTemplate node = new DefaultNodeTemplate((Class<NodeFactory<? extends NodeModel>>)factory.getClass(),
             factory.getNodeName(), pluginID, categoryPath, factory.getType());
         node.setAfterID(nodeFactoryExtension.getAfterID());
+        if (iconURLs != null && factory.getIcon() != null) {
+            iconURLs.put(node.getID(), factory.getIcon());
+        }
 
         if (!Boolean.getBoolean("java.awt.headless")) {
             // Load images from declaring plugin
@@ -47,14 +47,23 @@
  */
 package org.knime.workbench.repository;
 
+import java.net.URL;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -65,8 +74,11 @@
 import org.eclipse.core.runtime.IExtensionPoint;
 import org.eclipse.core.runtime.IExtensionRegistry;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.knime.core.node.InvalidSettingsException;
 import org.knime.core.node.NodeFactory;
 import org.knime.core.node.NodeLogger;
@@ -78,7 +90,9 @@
 import org.knime.core.node.extension.NodeFactoryExtensionManager;
 import org.knime.core.node.extension.NodeSetFactoryExtension;
 import org.knime.core.node.workflow.FileNativeNodeContainerPersistor;
+import org.knime.core.util.KNIMEJob;
 import org.knime.core.util.Pair;
+import org.knime.workbench.core.util.ImageRepository;
 import org.knime.workbench.repository.model.AbstractContainerObject;
 import org.knime.workbench.repository.model.Category;
 import org.knime.workbench.repository.model.DefaultNodeTemplate;
@@ -89,6 +103,7 @@
 import org.knime.workbench.repository.model.NodeTemplate;
 import org.knime.workbench.repository.model.Root;
 import org.osgi.framework.Bundle;
+import org.osgi.framework.FrameworkUtil;
 
 /**
  * Manages the (global) KNIME Repository. This class collects all the
@@ -125,6 +140,20 @@ public interface Listener {
          */
         public void newNode(Root root, NodeTemplate node);
 
+        /**
+         * Called when a batch of new nodes has been created. The default implementation calls
+         * {@link #newNode(Root, NodeTemplate)} for each node.
+         *
+         * @param root the repository root
+         * @param nodes the new nodes, in the order in which they have been added to the repository
+         * @since 5.1
+         */
+        public default void newNodes(final Root root, final Collection<? extends NodeTemplate> nodes) {
+            for (NodeTemplate node : nodes) {
+                newNode(root, node);
+            }
+        }
+
         /**
          * Called when a new meta node has been created.
          *
@@ -149,11 +178,15 @@ public interface Listener {
 
     private static final String ID_CATEGORY_SET  = "org.knime.workbench.repository.categorysets";
 
+    /** Number of threads used to instantiate the node factories while reading the repository. */
+    private static final int NODE_LOADER_PARALLELISM = Math.max(1, Runtime.getRuntime().availableProcessors());
+
     private final List<Listener> m_loadListeners = new CopyOnWriteArrayList<>();
 
     private final Root m_root = new Root();
 
-    private final Map<String, NodeTemplate> m_nodesById = new HashMap<>();
+    /** Concurrent so that {@link #getNodeTemplate(String)} can serve lookups while the repository is read. */
+    private final Map<String, NodeTemplate> m_nodesById = new ConcurrentHashMap<>();
 
     private final Root m_completeRoot = new Root();
 
@@ -387,75 +420,266 @@ private static CategoryExtension takeLeftAndReportDuplicateIfNameDiffers(final C
     private void readNodes(final IProgressMonitor monitor, final Root root, final boolean isIncludeDeprecated) {
         IContainerObject uncategorized = findUncategorizedCategory(root);
 
+        List<NodeFactoryExtension> nodeFactoryExtensions = new ArrayList<>();
         for (NodeFactoryExtension nodeFactoryExtension : NodeFactoryExtensionManager.getInstance()
             .getNodeFactoryExtensions()) {
+            if ((nodeFactoryExtension.isDeprecated() && !isIncludeDeprecated) || nodeFactoryExtension.isHidden()) {
+                // deprecate nodes are hidden, hidden ones are ignored too
+                continue;
+            }
+            nodeFactoryExtensions.add(nodeFactoryExtension);
+        }
+
+        // nodes contained in the snapshot of the previous start are restored without instantiating their factory
+        Path snapshotFile = RepositorySnapshot.getLocation(isIncludeDeprecated);
+        String snapshotKey = snapshotFile == null ? null : RepositorySnapshot.computeKey();
+        Map<String, RepositorySnapshot.Entry> snapshot = RepositorySnapshot.read(snapshotFile, snapshotKey);
+        List<NodeFactoryExtension> extensionsToCreate = new ArrayList<>();
+        Map<String, Pair<DefaultNodeTemplate, Boolean>> restoredNodePairs = new HashMap<>();
+        List<URL> restoredIconURLs = new ArrayList<>();
+        for (NodeFactoryExtension ext : nodeFactoryExtensions) {
+            RepositorySnapshot.Entry entry = snapshot.get(ext.getFactoryClassName());
+            if (entry == null || !entry.matches(ext)) {
+                extensionsToCreate.add(ext);
+            } else {
+                Pair<DefaultNodeTemplate, Boolean> nodePair = entry.createNode();
+                restoredNodePairs.put(ext.getFactoryClassName(), nodePair);
+                publishNode(ext, nodePair, isIncludeDeprecated);
+                restoredIconURLs.add(entry.getIconURL());
+            }
+        }
+        if (!Boolean.getBoolean("java.awt.headless")) {
+            // the icons of the restored nodes are decoded in the background while the other nodes are created
+            ImageRepository.prefetchIconImages(restoredIconURLs);
+        }
+
+        // node factories are instantiated in parallel, the results are merged in the order of the extensions
+        Map<String, URL> iconURLs = new ConcurrentHashMap<>();
+        Iterator<Pair<DefaultNodeTemplate, Boolean>> createdNodePairs = createNodes(monitor, extensionsToCreate,
+            iconURLs, (ext, nodePair) -> publishNode(ext, nodePair, isIncludeDeprecated)).iterator();
+        List<Pair<DefaultNodeTemplate, Boolean>> nodePairs = new ArrayList<>(nodeFactoryExtensions.size());
+        Map<String, RepositorySnapshot.Entry> newSnapshot = new LinkedHashMap<>();
+        for (NodeFactoryExtension ext : nodeFactoryExtensions) {
             if (monitor.isCanceled()) {
                 return;
             }
+            RepositorySnapshot.Entry entry = snapshot.get(ext.getFactoryClassName());
+            Pair<DefaultNodeTemplate, Boolean> nodePair;
+            if (entry != null && entry.matches(ext)) {
+                nodePair = restoredNodePairs.get(ext.getFactoryClassName());
+            } else {
+                nodePair = createdNodePairs.next();
+                if (nodePair != null) {
+                    entry = RepositorySnapshot.Entry.of(ext, nodePair, iconURLs.get(nodePair.getFirst().getID()));
+                }
+            }
+            nodePairs.add(nodePair);
+            if (nodePair != null) {
+                newSnapshot.put(ext.getFactoryClassName(), entry);
+            }
+        }
+        if (snapshotFile != null && (!extensionsToCreate.isEmpty() || snapshot.size() != newSnapshot.size())) {
+            RepositorySnapshot.write(snapshotFile, snapshotKey, newSnapshot.values());
+        }
 
-            try {
-                if ((nodeFactoryExtension.isDeprecated() && !isIncludeDeprecated) || nodeFactoryExtension.isHidden()) {
-                    // deprecate nodes are hidden, hidden ones are ignored too
+        final List<NodeTemplate> addedNodes = new ArrayList<>(nodePairs.size());
+        final Map<NodeFactoryExtension, DefaultNodeTemplate> addedRestoredNodes = new LinkedHashMap<>();
+        for (var i = 0; i < nodePairs.size(); i++) {
+            if (monitor.isCanceled()) {
+                break;
+            }
+            Pair<DefaultNodeTemplate, Boolean> nodePair = nodePairs.get(i);
+            if (nodePair == null) {
+                // could not be created, error has been logged
+                continue;
+            }
+            NodeFactoryExtension nodeFactoryExtension = nodeFactoryExtensions.get(i);
+            DefaultNodeTemplate node = nodePair.getFirst();
+            Boolean isDeprecatedInNode = nodePair.getSecond();
+
+            // nodeFactoryExtension.isDeprecated() - reads the flag from the plugin.xml
+            // isDeprecatedInNode -- reads FooNodeFactory.xml header _AND_ plugin.xml
+            //                                                             (injected via NodeFactoryExtension)
+            // if they are different then the node is deprecated via the FooFactory.xml but not in the plugin.xml...
+            if (nodeFactoryExtension.isDeprecated() != isDeprecatedInNode) {
+                LOGGER.codingWithFormat(
+                    "%s \"%s\" is declared 'deprecated' in its node description but not in "
+                        + "the extension point contribution (plug-in \"%s\")",
+                    NodeFactory.class.getSimpleName(), nodeFactoryExtension.getFactoryClassName(),
+                    nodeFactoryExtension.getPlugInSymbolicName());
+                if (!isIncludeDeprecated) {
                     continue;
                 }
+            }
 
-                Pair<DefaultNodeTemplate, Boolean> nodePair = RepositoryFactory.createNode(nodeFactoryExtension);
-                DefaultNodeTemplate node = nodePair.getFirst();
-                node.setDeprecated(nodeFactoryExtension.isDeprecated());
-                Boolean isDeprecatedInNode = nodePair.getSecond();
-
-                // nodeFactoryExtension.isDeprecated() - reads the flag from the plugin.xml
-                // isDeprecatedInNode -- reads FooNodeFactory.xml header _AND_ plugin.xml
-                //                                                             (injected via NodeFactoryExtension)
-                // if they are different then the node is deprecated via the FooFactory.xml but not in the plugin.xml...
-                if (nodeFactoryExtension.isDeprecated() != isDeprecatedInNode) {
-                    LOGGER.codingWithFormat(
-                        "%s \"%s\" is declared 'deprecated' in its node description but not in "
-                            + "the extension point contribution (plug-in \"%s\")",
-                        NodeFactory.class.getSimpleName(), nodeFactoryExtension.getFactoryClassName(),
-                        nodeFactoryExtension.getPlugInSymbolicName());
-                    if (!isIncludeDeprecated) {
-                        continue;
-                    }
-                }
+            LOGGER.debugWithFormat("Found node extension '%s': %s", node.getID(), node.getName());
+            addedNodes.add(node);
+            if (restoredNodePairs.get(nodeFactoryExtension.getFactoryClassName()) == nodePair) {
+                addedRestoredNodes.put(nodeFactoryExtension, node);
+            }
 
-                LOGGER.debugWithFormat("Found node extension '%s': %s", node.getID(), node.getName());
-                for (Listener l : m_loadListeners) {
-                    l.newNode(root, node);
-                }
-                m_nodesById.put(node.getID(), node);
+            // Ask the root to lookup the category-container located at
+            // the given path
+            IContainerObject parentContainer =
+                    root.findContainer(node.getCategoryPath());
 
-                // Ask the root to lookup the category-container located at
-                // the given path
-                IContainerObject parentContainer =
-                        root.findContainer(node.getCategoryPath());
-
-                // If parent category is illegal, log an error and append
-                // the node to the repository root.
-                if (parentContainer == null) {
-                    LOGGER.coding("Unknown category for node " + node.getID() + " (plugin: "
-                            + node.getContributingPlugin() + "): " + node.getCategoryPath()
-                            + ". Node will be added to 'Uncategorized' instead");
-                    uncategorized.addChild(node);
+            // If parent category is illegal, log an error and append
+            // the node to the repository root.
+            if (parentContainer == null) {
+                LOGGER.coding("Unknown category for node " + node.getID() + " (plugin: "
+                        + node.getContributingPlugin() + "): " + node.getCategoryPath()
+                        + ". Node will be added to 'Uncategorized' instead");
+                uncategorized.addChild(node);
+            } else {
+                String nodePluginId = nodeFactoryExtension.getPlugInSymbolicName();
+
+                if (RepositoryFactory.canAdd(nodePluginId, parentContainer)) {
+                    // container not locked, or node and category from same plug-in
+                    // or the vendor is the same (comparing the first two parts of the plug-in ids)
+                    parentContainer.addChild(node);
                 } else {
-                    String nodePluginId = nodeFactoryExtension.getPlugInSymbolicName();
-
-                    if (RepositoryFactory.canAdd(nodePluginId, parentContainer)) {
-                        // container not locked, or node and category from same plug-in
-                        // or the vendor is the same (comparing the first two parts of the plug-in ids)
-                        parentContainer.addChild(node);
-                    } else {
-                        LOGGER.coding("Locked category for node " + node.getID() + ": " + node.getCategoryPath()
-                                    + ". Node will be added to 'Uncategorized' instead");
-                        uncategorized.addChild(node);
+                    LOGGER.coding("Locked category for node " + node.getID() + ": " + node.getCategoryPath()
+                                + ". Node will be added to 'Uncategorized' instead");
+                    uncategorized.addChild(node);
+                }
+            }
+        } // for configuration elements
+        notifyNewNodes(root, addedNodes);
+        if (!addedRestoredNodes.isEmpty() && !monitor.isCanceled()) {
+            scheduleSnapshotVerification(addedRestoredNodes, snapshotFile, snapshotKey, newSnapshot);
+        }
+    }
+
+    /**
+     * Instantiates the factories of the nodes restored from the repository snapshot in a background job. Nodes whose
+     * factory can't be loaded anymore (e.g. because a class has been removed from a bundle without changing its
+     * version or timestamp) are logged like nodes that can't be created when reading the extensions, removed from
+     * the repository and dropped from the snapshot.
+     */
+    private void scheduleSnapshotVerification(final Map<NodeFactoryExtension, DefaultNodeTemplate> restoredNodes,
+        final Path snapshotFile, final String snapshotKey, final Map<String, RepositorySnapshot.Entry> snapshot) {
+        final Job job = new KNIMEJob("Node Repository Verifier", FrameworkUtil.getBundle(RepositoryManager.class)) {
+            @Override
+            protected IStatus run(final IProgressMonitor monitor) {
+                final List<DefaultNodeTemplate> staleNodes = new ArrayList<>();
+                for (Map.Entry<NodeFactoryExtension, DefaultNodeTemplate> e : restoredNodes.entrySet()) {
+                    if (monitor.isCanceled()) {
+                        return Status.CANCEL_STATUS;
                     }
+                    try {
+                        e.getKey().getFactory();
+                    } catch (InvalidNodeFactoryExtensionException | RuntimeException | LinkageError ex) { // NOSONAR
+                        LOGGER.error(ex.getMessage(), ex);
+                        staleNodes.add(e.getValue());
+                    }
+                }
+                if (!staleNodes.isEmpty()) {
+                    removeStaleNodes(staleNodes, snapshotFile, snapshotKey, snapshot);
                 }
+                return Status.OK_STATUS;
+            }
+        };
+        job.setSystem(true);
+        job.setPriority(Job.DECORATE);
+        job.schedule();
+    }
 
-            } catch (InvalidNodeFactoryExtensionException t) {
-                LOGGER.error(t.getMessage(), t);
+    private synchronized void removeStaleNodes(final List<DefaultNodeTemplate> staleNodes, final Path snapshotFile,
+        final String snapshotKey, final Map<String, RepositorySnapshot.Entry> snapshot) {
+        for (DefaultNodeTemplate node : staleNodes) {
+            LOGGER.debugWithFormat("Removing node '%s' restored from the repository snapshot", node.getID());
+            m_nodesById.remove(node.getID(), node);
+            final IContainerObject parent = node.getParent();
+            if (parent != null) {
+                parent.removeChild(node);
             }
+            snapshot.remove(node.getID());
+        }
+        RepositorySnapshot.write(snapshotFile, snapshotKey, snapshot.values());
+    }
 
-        } // for configuration elements
+    /**
+     * Makes a node available to {@link #getNodeTemplate(String)} as soon as its template is created, i.e. before the
+     * other factories are instantiated and the repository tree is built. Called concurrently from the loader threads.
+     * Nodes that are dropped when merged into the tree (deprecated in their description only) are not published.
+     */
+    private void publishNode(final NodeFactoryExtension ext, final Pair<DefaultNodeTemplate, Boolean> nodePair,
+        final boolean isIncludeDeprecated) {
+        if (nodePair == null || (!isIncludeDeprecated && ext.isDeprecated() != nodePair.getSecond())) {
+            return;
+        }
+        final DefaultNodeTemplate node = nodePair.getFirst();
+        node.setDeprecated(ext.isDeprecated());
+        m_nodesById.put(node.getID(), node);
+    }
+
+    private void notifyNewNodes(final Root root, final List<? extends NodeTemplate> nodes) {
+        if (nodes.isEmpty()) {
+            return;
+        }
+        final Collection<? extends NodeTemplate> unmodifiableNodes = Collections.unmodifiableList(nodes);
+        for (Listener l : m_loadListeners) {
+            l.newNodes(root, unmodifiableNodes);
+        }
+    }
+
+    /**
+     * Creates the node templates for the given extensions on a bounded fork/join pool.
+     *
+     * @param onCreated called in the loader thread for each template as soon as it is created (also for
+     *            <code>null</code>, i.e. nodes that could not be created)
+     * @return the templates in the order of the extensions, entries are <code>null</code> if the node could not be
+     *         created; an empty list if canceled
+     */
+    private static List<Pair<DefaultNodeTemplate, Boolean>> createNodes(final IProgressMonitor monitor,
+        final List<NodeFactoryExtension> nodeFactoryExtensions, final Map<String, URL> iconURLs,
+        final BiConsumer<NodeFactoryExtension, Pair<DefaultNodeTemplate, Boolean>> onCreated) {
+        if (nodeFactoryExtensions.isEmpty()) {
+            return Collections.emptyList();
+        }
+        // node factories may rely on the context class loader (e.g. buddy class loading)
+        final var contextClassLoader = Thread.currentThread().getContextClassLoader();
+        final var pool = new ForkJoinPool(NODE_LOADER_PARALLELISM, p -> {
+            ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            t.setName("KNIME Node Repository Loader-" + t.getPoolIndex());
+            t.setContextClassLoader(contextClassLoader);
+            return t;
+        }, null, false);
+        try {
+            return pool.submit(() -> nodeFactoryExtensions.parallelStream() //
+                .map(ext -> {
+                    if (monitor.isCanceled()) {
+                        return null;
+                    }
+                    final Pair<DefaultNodeTemplate, Boolean> nodePair = createNode(ext, iconURLs);
+                    onCreated.accept(ext, nodePair);
+                    return nodePair;
+                }) //
+                .collect(Collectors.toList())).get();
+        } catch (InterruptedException e) { // NOSONAR interrupt is treated as cancellation
+            monitor.setCanceled(true);
+            Thread.currentThread().interrupt();
+            return Collections.emptyList();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException)e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                throw (Error)e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static Pair<DefaultNodeTemplate, Boolean> createNode(final NodeFactoryExtension nodeFactoryExtension,
+        final Map<String, URL> iconURLs) {
+        try {
+            return RepositoryFactory.createNode(nodeFactoryExtension, iconURLs);
+        } catch (InvalidNodeFactoryExtensionException t) {
+            LOGGER.error(t.getMessage(), t);
+            return null;
+        }
     }
 
     private static IContainerObject findUncategorizedCategory(final Root root) {
@@ -485,13 +709,13 @@ private void readNodeSets(final IProgressMonitor monitor, final Root root, final
             Collection<DynamicNodeTemplate> dynamicNodeTemplates =
                     RepositoryFactory.createNodeSet(set, root, isIncludeDeprecated);
 
+            final List<DynamicNodeTemplate> addedNodes = new ArrayList<>(dynamicNodeTemplates.size());
             for (DynamicNodeTemplate node : dynamicNodeTemplates) {
                 if (monitor.isCanceled()) {
+                    notifyNewNodes(root, addedNodes);
                     return;
                 }
-                for (Listener l : m_loadListeners) {
-                    l.newNode(root, node);
-                }
+                addedNodes.add(node);
                 m_nodesById.put(node.getID(), node);
 
                 // Ask the root to lookup the category-container located at the given path
@@ -509,6 +733,7 @@ private void readNodeSets(final IProgressMonitor monitor, final Root root, final
                     findUncategorizedCategory(root).addChild(node);
                 }
             }
+            notifyNewNodes(root, addedNodes);
         }
     }
 
@@ -627,9 +852,16 @@ public void addLoadListener(final Listener listener) {
      * @return a node template or <code>null</code>
      * @since 2.4
      */
-    public synchronized NodeTemplate getNodeTemplate(final String id) {
-        if (!m_root.hasChildren() && !m_completeRoot.hasChildren()) {
-            readRepository(new NullProgressMonitor());
+    public NodeTemplate getNodeTemplate(final String id) {
+        // lock-free for all nodes created so far (also while the other factories are still being instantiated)
+        NodeTemplate template = m_nodesById.get(id);
+        if (template != null) {
+            return template;
+        }
+        synchronized (this) {
+            if (!m_root.hasChildren() && !m_completeRoot.hasChildren()) {
+                readRepository(new NullProgressMonitor());
+            }
         }
         return m_nodesById.get(id);
     }
@@ -0,0 +1,358 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026: created
+ */
+package org.knime.workbench.repository;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.swt.graphics.Image;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeFactory.NodeType;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.extension.NodeFactoryExtension;
+import org.knime.core.util.Pair;
+import org.knime.workbench.core.util.ImageRepository;
+import org.knime.workbench.core.util.ImageRepository.SharedImages;
+import org.knime.workbench.repository.model.DefaultNodeTemplate;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.FrameworkUtil;
+
+/**
+ * Versioned binary snapshot of the node templates read by the {@link RepositoryManager}, stored in the plug-in's
+ * state location. It contains everything needed to show a node in the repository (name, category, type, deprecation
+ * flags, icon URL) so that on a warm start the node factories don't need to be instantiated; the factory classes are
+ * only resolved once a node is actually used (see
+ * {@link DefaultNodeTemplate#DefaultNodeTemplate(String, java.util.function.Supplier, String, String, String, NodeType)}).
+ *
+ * <p>
+ * The snapshot is keyed by the installed bundles (symbolic name, version, modification time) so that it's discarded
+ * whenever an extension is installed, updated or removed.
+ * Nodes whose factory can nonetheless no longer be loaded are found by a background job after the repository has
+ * been read, which removes them from the repository and rewrites the snapshot without them.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class RepositorySnapshot {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(RepositorySnapshot.class);
+
+    /** Increment whenever the binary format changes. */
+    private static final int FORMAT_VERSION = 1;
+
+    private static final int MAGIC = 0x4b4e5253; // "KNRS"
+
+    private RepositorySnapshot() {
+        // utility class
+    }
+
+    /** Snapshot of a single node template. */
+    static final class Entry {
+
+        private final String m_factoryClassName;
+
+        private final String m_name;
+
+        private final String m_contributingPlugin;
+
+        private final String m_categoryPath;
+
+        private final String m_afterID;
+
+        private final NodeType m_nodeType;
+
+        private final boolean m_isDeprecatedInNode;
+
+        private final String m_iconURL;
+
+        private Entry(final String factoryClassName, final String name, final String contributingPlugin,
+            final String categoryPath, final String afterID, final NodeType nodeType,
+            final boolean isDeprecatedInNode, final String iconURL) {
+            m_factoryClassName = factoryClassName;
+            m_name = name;
+            m_contributingPlugin = contributingPlugin;
+            m_categoryPath = categoryPath;
+            m_afterID = afterID;
+            m_nodeType = nodeType;
+            m_isDeprecatedInNode = isDeprecatedInNode;
+            m_iconURL = iconURL;
+        }
+
+        /**
+         * Creates an entry for a node template read from the given extension.
+         *
+         * @param extension the extension the node has been created from
+         * @param nodePair the node template and whether the node is declared deprecated in its description
+         * @param iconURL the URL of the node's icon or <code>null</code>
+         * @return a new entry
+         */
+        static Entry of(final NodeFactoryExtension extension, final Pair<DefaultNodeTemplate, Boolean> nodePair,
+            final URL iconURL) {
+            final DefaultNodeTemplate node = nodePair.getFirst();
+            return new Entry(node.getID(), node.getName(), extension.getPlugInSymbolicName(),
+                extension.getCategoryPath(), extension.getAfterID(), node.getType(),
+                nodePair.getSecond().booleanValue(), iconURL == null ? null : iconURL.toString());
+        }
+
+        /**
+         * @return the icon URL or <code>null</code>
+         */
+        URL getIconURL() {
+            try {
+                return m_iconURL == null ? null : new URL(m_iconURL);
+            } catch (MalformedURLException e) {
+                LOGGER.debug("Invalid icon URL in repository snapshot: " + m_iconURL, e);
+                return null;
+            }
+        }
+
+        /**
+         * @param extension a node factory extension
+         * @return whether this entry has been created from the given extension (as far as can be told without
+         *         instantiating the factory)
+         */
+        boolean matches(final NodeFactoryExtension extension) {
+            return m_factoryClassName.equals(extension.getFactoryClassName())
+                && Objects.equals(m_contributingPlugin, extension.getPlugInSymbolicName())
+                && Objects.equals(m_categoryPath, extension.getCategoryPath())
+                && Objects.equals(m_afterID, extension.getAfterID());
+        }
+
+        /**
+         * Creates the node template. The factory class is resolved lazily; if that fails the error is logged and an
+         * {@link IllegalStateException} is thrown.
+         *
+         * @return the template and whether the node is declared deprecated in its description
+         */
+        @SuppressWarnings("unchecked")
+        Pair<DefaultNodeTemplate, Boolean> createNode() {
+            final var node = new DefaultNodeTemplate(m_factoryClassName, () -> {
+                try {
+                    return (Class<? extends NodeFactory<? extends NodeModel>>)RepositoryManager
+                        .loadNodeFactory(m_factoryClassName).getClass();
+                } catch (Exception | LinkageError e) { // NOSONAR all kinds of problems when instantiating the factory
+                    // logged like nodes whose factory can't be created when reading the extensions, the template
+                    // is removed from the repository by the verification job
+                    LOGGER.error(e.getMessage(), e);
+                    throw new IllegalStateException(
+                        "Unable to load node factory '" + m_factoryClassName + "': " + e.getMessage(), e);
+                }
+            }, m_name, m_contributingPlugin, m_categoryPath, m_nodeType);
+            node.setAfterID(m_afterID);
+            if (!Boolean.getBoolean("java.awt.headless")) {
+                final URL iconURL = getIconURL();
+                Image icon = iconURL == null ? ImageRepository.getIconImage(SharedImages.DefaultNodeIcon)
+                    : ImageRepository.getIconImage(iconURL);
+                node.setIcon(icon);
+            }
+            return Pair.create(node, Boolean.valueOf(m_isDeprecatedInNode));
+        }
+
+        private void write(final DataOutputStream out) throws IOException {
+            out.writeUTF(m_factoryClassName);
+            out.writeUTF(m_name);
+            out.writeUTF(m_contributingPlugin);
+            writeNullableString(out, m_categoryPath);
+            writeNullableString(out, m_afterID);
+            out.writeUTF(m_nodeType.name());
+            out.writeBoolean(m_isDeprecatedInNode);
+            writeNullableString(out, m_iconURL);
+        }
+
+        private static Entry read(final DataInputStream in) throws IOException {
+            final String factoryClassName = in.readUTF();
+            final String name = in.readUTF();
+            final String contributingPlugin = in.readUTF();
+            final String categoryPath = readNullableString(in);
+            final String afterID = readNullableString(in);
+            final NodeType nodeType;
+            try {
+                nodeType = NodeType.valueOf(in.readUTF());
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Unknown node type: " + e.getMessage(), e);
+            }
+            final boolean isDeprecatedInNode = in.readBoolean();
+            final String iconURL = readNullableString(in);
+            return new Entry(factoryClassName, name, contributingPlugin, categoryPath, afterID, nodeType,
+                isDeprecatedInNode, iconURL);
+        }
+    }
+
+    /**
+     * @param includeDeprecated whether the snapshot contains deprecated nodes
+     * @return the location of the snapshot file or <code>null</code> if the plug-in's state location is not available
+     */
+    static Path getLocation(final boolean includeDeprecated) {
+        final KNIMERepositoryPlugin plugin = KNIMERepositoryPlugin.getDefault();
+        if (plugin == null) {
+            return null;
+        }
+        try {
+            return plugin.getStateLocation().toFile().toPath()
+                .resolve(includeDeprecated ? "node-repository-complete.snapshot" : "node-repository.snapshot");
+        } catch (IllegalStateException e) { // NOSONAR no instance location, e.g. in headless applications
+            return null;
+        }
+    }
+
+    /**
+     * Computes the key of the snapshot, i.e. a hash over all installed bundles.
+     *
+     * @return the key, never <code>null</code>
+     */
+    static String computeKey() {
+        final Bundle thisBundle = FrameworkUtil.getBundle(RepositorySnapshot.class);
+        final Bundle[] bundles = thisBundle == null || thisBundle.getBundleContext() == null ? new Bundle[0]
+            : thisBundle.getBundleContext().getBundles();
+        Arrays.sort(bundles, Comparator.comparingLong(Bundle::getBundleId));
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Bundle b : bundles) {
+                digest.update((b.getSymbolicName() + "_" + b.getVersion() + "_" + b.getLastModified() + "\n")
+                    .getBytes(StandardCharsets.UTF_8));
+            }
+            final var key = new StringBuilder(FORMAT_VERSION + ":");
+            for (byte b : digest.digest()) {
+                key.append(String.format("%02x", b));
+            }
+            return key.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Reads the snapshot.
+     *
+     * @param file the snapshot file
+     * @param key the expected key
+     * @return the entries by factory class name (in snapshot order); empty if the snapshot doesn't exist, is outdated
+     *         or can't be read
+     */
+    static Map<String, Entry> read(final Path file, final String key) {
+        if (file == null || !Files.isRegularFile(file)) {
+            return Collections.emptyMap();
+        }
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION || !key.equals(in.readUTF())) {
+                LOGGER.debug("Node repository snapshot is outdated, reading repository from extensions");
+                return Collections.emptyMap();
+            }
+            final int count = in.readInt();
+            final Map<String, Entry> entries = new LinkedHashMap<>(count * 2);
+            for (var i = 0; i < count; i++) {
+                final Entry entry = Entry.read(in);
+                entries.put(entry.m_factoryClassName, entry);
+            }
+            return entries;
+        } catch (IOException e) {
+            LOGGER.warn("Unable to read node repository snapshot from " + file + ": " + e.getMessage(), e);
+            return Collections.emptyMap();
+        }
+    }
+
+    /**
+     * Writes the snapshot (atomically, via a temporary file).
+     *
+     * @param file the snapshot file
+     * @param key the key of the snapshot
+     * @param entries the entries to write
+     */
+    static void write(final Path file, final String key, final Collection<Entry> entries) {
+        try {
+            Files.createDirectories(file.getParent());
+            final Path tmpFile = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            try {
+                try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmpFile)))) {
+                    out.writeInt(MAGIC);
+                    out.writeInt(FORMAT_VERSION);
+                    out.writeUTF(key);
+                    out.writeInt(entries.size());
+                    for (Entry entry : entries) {
+                        entry.write(out);
+                    }
+                }
+                Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmpFile);
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Unable to write node repository snapshot to " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static void writeNullableString(final DataOutputStream out, final String s) throws IOException {
+        out.writeBoolean(s != null);
+        if (s != null) {
+            out.writeUTF(s);
+        }
+    }
+
+    private static String readNullableString(final DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
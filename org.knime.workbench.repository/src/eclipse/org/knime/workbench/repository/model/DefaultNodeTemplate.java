@@ -47,6 +47,8 @@
  */
 package org.knime.workbench.repository.model;
 
+import java.util.function.Supplier;
+
 import org.knime.core.node.NodeFactory;
 import org.knime.core.node.NodeFactory.NodeType;
 import org.knime.core.node.NodeModel;
@@ -65,7 +67,11 @@
  */
 public class DefaultNodeTemplate extends NodeTemplate {
 
-    private final Class<? extends NodeFactory<? extends NodeModel>> m_factory;
+    /** Supplies the factory class, resolved lazily for templates restored from the repository snapshot. */
+    private final Supplier<Class<? extends NodeFactory<? extends NodeModel>>> m_factory;
+
+    /** The factory's class name, used for equality so that comparing templates never resolves the factory. */
+    private final String m_factoryClassName;
 
     /**
      * Creates a copy of the given node template.
@@ -75,6 +81,7 @@ public class DefaultNodeTemplate extends NodeTemplate {
     protected DefaultNodeTemplate(final DefaultNodeTemplate copy) {
         super(copy);
         this.m_factory = copy.m_factory;
+        this.m_factoryClassName = copy.m_factoryClassName;
     }
 
     /**
@@ -89,12 +96,33 @@ protected DefaultNodeTemplate(final DefaultNodeTemplate copy) {
     public DefaultNodeTemplate(final Class<NodeFactory<? extends NodeModel>> factoryClass, final String name,
         final String contributingPlugin, final String categoryPath, final NodeType nodeType) {
         super(factoryClass.getName(), name, contributingPlugin, categoryPath, nodeType);
-        m_factory = factoryClass;
+        m_factory = () -> factoryClass;
+        m_factoryClassName = factoryClass.getName();
+    }
+
+    /**
+     * Constructs a new node template whose factory class is only resolved (and thereby the factory instantiated) when
+     * it is first needed.
+     *
+     * @param factoryClassName the fully qualified name of the factory class
+     * @param factoryClassLoader resolves the factory class, called at most once
+     * @param name a human-readable name for this node
+     * @param contributingPlugin the contributing plug-in's ID
+     * @param categoryPath category path as per ext point.
+     * @param nodeType Node's type.
+     * @since 5.1
+     */
+    public DefaultNodeTemplate(final String factoryClassName,
+        final Supplier<Class<? extends NodeFactory<? extends NodeModel>>> factoryClassLoader, final String name,
+        final String contributingPlugin, final String categoryPath, final NodeType nodeType) {
+        super(factoryClassName, name, contributingPlugin, categoryPath, nodeType);
+        m_factory = new LazyFactoryClass(factoryClassLoader);
+        m_factoryClassName = factoryClassName;
     }
 
     @Override
     public Class<? extends NodeFactory<? extends NodeModel>> getFactory() {
-        return m_factory;
+        return m_factory.get();
     }
 
     /**
@@ -104,13 +132,13 @@ public Class<? extends NodeFactory<? extends NodeModel>> getFactory() {
     @Override
     public NodeFactory<? extends NodeModel> createFactoryInstance()
             throws Exception {
-        return m_factory.newInstance();
+        return getFactory().newInstance();
     }
 
     @Override
     public int hashCode() {
         // see equals method for comment on this
-        return m_factory.getCanonicalName().hashCode();
+        return m_factoryClassName.hashCode();
     }
 
     @Override
@@ -128,7 +156,7 @@ public boolean equals(final Object obj) {
         // to be sure only check for the full class name
         // seems that different built versions of the class have led to
         // duplicates
-        return m_factory.getCanonicalName().equals(((NodeTemplate)obj).getFactory().getCanonicalName());
+        return m_factoryClassName.equals(((DefaultNodeTemplate)obj).m_factoryClassName);
     }
 
     /**
@@ -147,4 +175,28 @@ public String toString() {
     public NodeTemplate deepCopy() {
         return new DefaultNodeTemplate(this);
     }
+
+    /** Memoizing supplier, shared by copies of the template so that the class is resolved only once. */
+    private static final class LazyFactoryClass implements Supplier<Class<? extends NodeFactory<? extends NodeModel>>> {
+
+        private final Supplier<Class<? extends NodeFactory<? extends NodeModel>>> m_loader;
+
+        private volatile Class<? extends NodeFactory<? extends NodeModel>> m_class;
+
+        LazyFactoryClass(final Supplier<Class<? extends NodeFactory<? extends NodeModel>>> loader) {
+            m_loader = loader;
+        }
+
+        @Override
+        public Class<? extends NodeFactory<? extends NodeModel>> get() {
+            if (m_class == null) {
+                synchronized (this) {
+                    if (m_class == null) {
+                        m_class = m_loader.get();
+                    }
+                }
+            }
+            return m_class;
+        }
+    }
 }
@@ -47,6 +47,7 @@
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.net.URL;
@@ -65,6 +66,19 @@
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import org.apache.commons.io.IOUtils;
@@ -143,6 +157,40 @@ public class Nodalizer implements IApplication {
     private static final String DEFAULT_OWNER = "-defaultOwner";
     private static final String FEATURES = "-features";
     private static final String BLACKLIST = "-blacklist";
+    private static final String THREADS = "-threads";
+
+    /** Capacity of the queue of node JSON files waiting to be written, parsing blocks if it is full. */
+    private static final int WRITE_QUEUE_CAPACITY = 256;
+
+    /** Maximum number of submitted but not yet written nodes per parsing thread, submitting blocks if exceeded. */
+    private static final int MAX_PENDING_NODES_PER_THREAD = 16;
+
+    /** Parses the nodes, <code>null</code> if nodes are parsed sequentially in the calling thread. */
+    private ExecutorService m_parsePool;
+
+    /** Results of {@link #m_parsePool} in completion order, only accessed by the main thread. */
+    private CompletionService<ParsedNode> m_parseResults;
+
+    /** Writes the node JSON files, <code>null</code> if they are written by the main thread. */
+    private ExecutorService m_writePool;
+
+    private int m_maxPendingNodes;
+
+    /** Number of submitted parse tasks, only accessed by the main thread. */
+    private int m_submittedNodes;
+
+    /** Submission index of the next node to be written, only accessed by the main thread. */
+    private int m_nextNodeToWrite;
+
+    /** Parsed nodes that completed before a node submitted earlier, by submission index. */
+    private final Map<Integer, NodeFile> m_parsedOutOfOrder = new HashMap<>();
+
+    /** Base64 encoded icons by URL, many nodes share the same icon. */
+    private final Map<String, String> m_iconCache = new ConcurrentHashMap<>();
+
+    private final AtomicInteger m_writtenNodes = new AtomicInteger();
+
+    private final AtomicInteger m_failedNodes = new AtomicInteger();
 
     /**
      * {@inheritDoc}
@@ -167,6 +215,8 @@ public class Nodalizer implements IApplication {
      * <li>-blacklist &lt;path-to-blacklist-file&gt;, a file in which each line contains a <b>regex rule</b> for an
      * extension which should be "blacklisted" (not parsed). Also if a blacklist file is provided it may be written to
      * if an extension is found which does not have a category path AND contains no nodes</li>
+     * <li>-threads &lt;number-of-threads&gt;, an optional number of threads parsing the nodes concurrently (JSON files
+     * are then written by a separate, bounded pool of writers). Defaults to 1, i.e. nodes are parsed sequentially.</li>
      * </ul>
      */
     @Override
@@ -185,6 +235,7 @@ public Object start(final IApplicationContext context) throws Exception {
         List<String> features = null;
         Path blacklistFile = null;
         List<String> blacklist = null;
+        int threads = 1;
         if (args instanceof String[]) {
             final String[] params = (String[])args;
             for (int i = 0; i < params.length; i++) {
@@ -233,6 +284,13 @@ public Object start(final IApplicationContext context) throws Exception {
                 if (params[i].equalsIgnoreCase(FEATURES) && (params.length > (i + 1))) {
                     features = Arrays.asList(params[i + 1].split(","));
                 }
+                if (params[i].equalsIgnoreCase(THREADS) && (params.length > (i + 1))) {
+                    try {
+                        threads = Math.max(1, Integer.parseInt(params[i + 1]));
+                    } catch (final NumberFormatException ex) {
+                        LOGGER.warn("Invalid number of threads: " + params[i + 1] + ". Parsing nodes sequentially.");
+                    }
+                }
                 if (params[i].equalsIgnoreCase(BLACKLIST) && (params.length > (i + 1))) {
                     blacklistFile = Paths.get(params[i + 1]);
                     if (Files.exists(blacklistFile) && !Files.isDirectory(blacklistFile)) {
@@ -318,12 +376,21 @@ public Object start(final IApplicationContext context) throws Exception {
             System.setProperty("java.awt.headless", "true");
         }
         final Root root = RepositoryManager.INSTANCE.getCompleteRoot();
-        List<String> previouslyReadFactories = new ArrayList<>();
+        List<String> previouslyReadFactories = Collections.synchronizedList(new ArrayList<>());
 
-        parseNodesInRoot(root, null, nodeDir, extensions, bundles, previouslyReadFactories);
-        if (factoryList != null) {
-            parseDeprecatedNodeList(factoryList, nodeDir, extensions, bundles, previouslyReadFactories);
+        final long startTime = System.currentTimeMillis();
+        createPools(threads);
+        try {
+            parseNodesInRoot(root, null, nodeDir, extensions, bundles, previouslyReadFactories);
+            awaitParseTasks();
+            if (factoryList != null) {
+                parseDeprecatedNodeList(factoryList, nodeDir, extensions, bundles, previouslyReadFactories);
+                awaitParseTasks();
+            }
+        } finally {
+            shutdownPools();
         }
+        logSummary(threads, System.currentTimeMillis() - startTime);
 
         // Write extensions
         if (!extensions.isEmpty()) {
@@ -377,18 +444,25 @@ public void stop() {
     // -- Parse nodes --
 
     private void parseNodesInRoot(final IRepositoryObject object, final List<String> path, final File directory,
-        final Map<String, ExtensionInfo> extensions, final List<String> bundles, final List<String> readFactories) {
+        final Map<String, ExtensionInfo> extensions, final List<String> bundles, final List<String> readFactories)
+        throws InterruptedException {
         if (object instanceof NodeTemplate) {
-            try {
-                final NodeTemplate template = (NodeTemplate)object;
-                final NodeFactory<? extends NodeModel> fac = template.createFactoryInstance();
-                final NodeAndBundleInformation nodeAndBundleInfo = NodeAndBundleInformationPersistor.create(fac);
-                parseNodeAndPrint(fac, fac.getClass().getName(), path, template.getCategoryPath(), template.getName(),
-                    nodeAndBundleInfo, template.isDeprecated(), directory, extensions, bundles);
-                readFactories.add(fac.getClass().toString());
-            } catch (final Throwable e) {
-                LOGGER.error("Failed to read node: " + object.getName() + ".", e);
-            }
+            submitParseTask(() -> {
+                try {
+                    final NodeTemplate template = (NodeTemplate)object;
+                    final NodeFactory<? extends NodeModel> fac = template.createFactoryInstance();
+                    final NodeAndBundleInformation nodeAndBundleInfo = NodeAndBundleInformationPersistor.create(fac);
+                    final NodeFile nodeFile = parseNode(fac, fac.getClass().getName(), path,
+                        template.getCategoryPath(), template.getName(), nodeAndBundleInfo, template.isDeprecated(),
+                        directory, extensions, bundles);
+                    readFactories.add(fac.getClass().toString());
+                    return nodeFile;
+                } catch (final Throwable e) {
+                    m_failedNodes.incrementAndGet();
+                    LOGGER.error("Failed to read node: " + object.getName() + ".", e);
+                    return null;
+                }
+            });
         } else if (object instanceof Root) {
             for (final IRepositoryObject child : ((Root)object).getChildren()) {
                 parseNodesInRoot(child, new ArrayList<>(), directory, extensions, bundles, readFactories);
@@ -405,8 +479,9 @@ private void parseNodesInRoot(final IRepositoryObject object, final List<String>
         }
     }
 
-    private static void parseDeprecatedNodeList(final Path factoryListFile, final File directory,
-        final Map<String, ExtensionInfo> extensions, final List<String> bundles, final List<String> previouslyReadFactories) {
+    private void parseDeprecatedNodeList(final Path factoryListFile, final File directory,
+        final Map<String, ExtensionInfo> extensions, final List<String> bundles, final List<String> previouslyReadFactories)
+        throws InterruptedException {
         if (factoryListFile == null) {
             return;
         }
@@ -423,49 +498,54 @@ private static void parseDeprecatedNodeList(final Path factoryListFile, final Fi
                 LOGGER.info("Skipping previously read factory: " + factory);
                 continue;
             }
-            try {
-                final String[] parts = factory.split("#");
-                final NodeFactory<? extends NodeModel> fac = RepositoryManager.loadNodeFactory(parts[0]);
-
-                // Dynamic nodes require additional information to load the factory
-                if ((fac instanceof DynamicNodeFactory) && (parts.length > 1)) {
-                    final String s = parts[1];
-                    final NodeSettingsRO ns =
-                        NodeSettings.loadFromXML(new ByteArrayInputStream(s.getBytes(StandardCharsets.UTF_8)));
-                    fac.loadAdditionalFactorySettings(ns);
-                }
+            submitParseTask(() -> {
+                try {
+                    final String[] parts = factory.split("#");
+                    final NodeFactory<? extends NodeModel> fac = RepositoryManager.loadNodeFactory(parts[0]);
 
-                final NodeAndBundleInformationPersistor b = NodeAndBundleInformationPersistor.create(fac);
-                final String categoryPath = "/uncategorized";
-                final List<String> path = Collections.singletonList("Uncategorized");
-
-                fac.init(); // Some factories must be initialized or name/description throws NPE
-                if (b.getBundleName().isPresent() && b.getBundleVersion().isPresent()
-                    && b.getBundleSymbolicName().isPresent()) {
-                    // always pass true for isDeprecated, even though the factory may not say it is deprecated
-                    // pass the factory name in the file, not the name of the loaded class - due to factory class
-                    // mapping these may not match
-                    parseNodeAndPrint(fac, parts[0], path, categoryPath, fac.getNodeName(), b, true, directory,
-                        extensions, bundles);
-                } else {
-                    if (!b.getBundleName().isPresent()) {
-                        LOGGER.warn("Bundle name is missing! " + factory);
-                    }
-                    if (!b.getBundleVersion().isPresent()) {
-                        LOGGER.warn("Bundle version is missing! " + factory);
+                    // Dynamic nodes require additional information to load the factory
+                    if ((fac instanceof DynamicNodeFactory) && (parts.length > 1)) {
+                        final String s = parts[1];
+                        final NodeSettingsRO ns =
+                            NodeSettings.loadFromXML(new ByteArrayInputStream(s.getBytes(StandardCharsets.UTF_8)));
+                        fac.loadAdditionalFactorySettings(ns);
                     }
-                    if (!b.getBundleSymbolicName().isPresent()) {
-                        LOGGER.warn("Bundle symbolic name is missing! " + factory);
+
+                    final NodeAndBundleInformationPersistor b = NodeAndBundleInformationPersistor.create(fac);
+                    final String categoryPath = "/uncategorized";
+                    final List<String> path = Collections.singletonList("Uncategorized");
+
+                    fac.init(); // Some factories must be initialized or name/description throws NPE
+                    if (b.getBundleName().isPresent() && b.getBundleVersion().isPresent()
+                        && b.getBundleSymbolicName().isPresent()) {
+                        // always pass true for isDeprecated, even though the factory may not say it is deprecated
+                        // pass the factory name in the file, not the name of the loaded class - due to factory class
+                        // mapping these may not match
+                        return parseNode(fac, parts[0], path, categoryPath, fac.getNodeName(), b, true, directory,
+                            extensions, bundles);
+                    } else {
+                        if (!b.getBundleName().isPresent()) {
+                            LOGGER.warn("Bundle name is missing! " + factory);
+                        }
+                        if (!b.getBundleVersion().isPresent()) {
+                            LOGGER.warn("Bundle version is missing! " + factory);
+                        }
+                        if (!b.getBundleSymbolicName().isPresent()) {
+                            LOGGER.warn("Bundle symbolic name is missing! " + factory);
+                        }
+                        throw new IllegalArgumentException("Bundle information is missing!");
                     }
-                    throw new IllegalArgumentException("Bundle information is missing!");
+                } catch (final Throwable e) {
+                    m_failedNodes.incrementAndGet();
+                    LOGGER.warn("Failed to read factory from list: " + factory + ". ", e);
+                    return null;
                 }
-            } catch (final Throwable e) {
-                LOGGER.warn("Failed to read factory from list: " + factory + ". ", e);
-            }
+            });
         }
     }
 
-    private static void parseNodeAndPrint(final NodeFactory<? extends NodeModel> fac, final String factoryString,
+    /** Parses the node, returns the file to write or <code>null</code> if the node is skipped. */
+    private NodeFile parseNode(final NodeFactory<? extends NodeModel> fac, final String factoryString,
         final List<String> path, final String categoryPath, final String name,
         final NodeAndBundleInformation nodeAndBundleInfo, final boolean isDeprecated, final File directory,
         final Map<String, ExtensionInfo> extensions, final List<String> bundles) throws Exception {
@@ -500,12 +580,12 @@ private static void parseNodeAndPrint(final NodeFactory<? extends NodeModel> fac
             } else if (!nabi.getFeatureSymbolicName().isPresent()
                 && bundles.contains(nabi.getBundleSymbolicName().orElse(null))) {
                 LOGGER.warn(fac.getClass() + " does not contain extension information, skipping ...");
-                return;
+                return null;
             } else {
                 // Node doesn't belong to this update site, so skip. With any KNIME installation there will be
                 // around 500 nodes installed. So it is not worth printing all the nodes that don't belong
                 // to the update site being read.
-                return;
+                return null;
             }
         }
 
@@ -539,20 +619,14 @@ private static void parseNodeAndPrint(final NodeFactory<? extends NodeModel> fac
         if (imageURL == null) {
             imageURL = NodeFactory.class.getResource("defaulticon.png");
         }
-        final String mimeType = URLConnection.guessContentTypeFromName(imageURL.getFile());
-        byte[] imageBytes = null;
-        try (InputStream s = imageURL.openStream()) {
-            imageBytes = IOUtils.toByteArray(s);
-        }
-        final String iconBase64 = "data:" + mimeType + ";base64," + Base64.getEncoder().encodeToString(imageBytes);
-        nInfo.setIcon(iconBase64);
+        nInfo.setIcon(readIcon(imageURL));
 
         // Parse HTML, and read fields
         final Element nodeXML = fac.getXMLDescription();
         Document nodeHTML = null;
         if (nodeXML == null) {
             LOGGER.warn("Node factory XML not found for " + fac.getClass() + ". Skipping ...");
-            return;
+            return null;
         }
         final String s = NodeFactoryHTMLCreator.instance.readFullDescription(nodeXML);
         nodeHTML = Jsoup.parse(s);
@@ -649,8 +723,187 @@ private static void parseNodeAndPrint(final NodeFactory<? extends NodeModel> fac
         nInfo.setKeywords(nodeDescription.getKeywords());
         nInfo.setSinceVersion(nodeDescription.getSinceVersion().orElse(null));
 
-        // Write to file
-        NodalizerUtil.writeFile(directory, categoryPath + "/" + name + "_" + nInfo.getId().substring(1), nInfo);
+        return new NodeFile(directory, categoryPath + "/" + name + "_" + nInfo.getId().substring(1), nInfo);
+    }
+
+    /** Returns the icon as base64 data URL, icons are read and encoded once per URL. */
+    private String readIcon(final URL imageURL) throws IOException {
+        final String key = imageURL.toString();
+        final String cached = m_iconCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        final String mimeType = URLConnection.guessContentTypeFromName(imageURL.getFile());
+        byte[] imageBytes = null;
+        try (InputStream s = imageURL.openStream()) {
+            imageBytes = IOUtils.toByteArray(s);
+        }
+        final String iconBase64 = "data:" + mimeType + ";base64," + Base64.getEncoder().encodeToString(imageBytes);
+        final String previous = m_iconCache.putIfAbsent(key, iconBase64);
+        return previous != null ? previous : iconBase64;
+    }
+
+    /**
+     * Writes the node's JSON file. Must be called in the order the nodes were submitted so that files with the same
+     * name are numbered the same way as when parsing sequentially, no matter which parsing thread finished first.
+     */
+    private void writeNode(final NodeFile nodeFile) {
+        if (nodeFile == null) {
+            return;
+        }
+        final NodeInfo nInfo = nodeFile.m_nodeInfo;
+        try {
+            if (m_writePool == null) {
+                NodalizerUtil.writeFile(nodeFile.m_directory, nodeFile.m_fileName, nInfo);
+                m_writtenNodes.incrementAndGet();
+                return;
+            }
+            // the file name is chosen here (in submission order), only the JSON is written concurrently
+            final File file = NodalizerUtil.createFile(nodeFile.m_directory, nodeFile.m_fileName);
+            m_writePool.execute(() -> {
+                try {
+                    NodalizerUtil.writeFile(file, nInfo);
+                    m_writtenNodes.incrementAndGet();
+                } catch (final IOException e) {
+                    m_failedNodes.incrementAndGet();
+                    LOGGER.error("Failed to write node: " + nInfo.getTitle() + ".", e);
+                }
+            });
+        } catch (final IOException e) {
+            m_failedNodes.incrementAndGet();
+            LOGGER.error("Failed to write node: " + nInfo.getTitle() + ".", e);
+        }
+    }
+
+    /** The result of a parse task and its submission index. */
+    private static final class ParsedNode {
+        private final int m_index;
+
+        private final NodeFile m_nodeFile;
+
+        ParsedNode(final int index, final NodeFile nodeFile) {
+            m_index = index;
+            m_nodeFile = nodeFile;
+        }
+    }
+
+    /** A parsed node whose JSON file is still to be written. */
+    private static final class NodeFile {
+        private final File m_directory;
+
+        private final String m_fileName;
+
+        private final NodeInfo m_nodeInfo;
+
+        NodeFile(final File directory, final String fileName, final NodeInfo nodeInfo) {
+            m_directory = directory;
+            m_fileName = fileName;
+            m_nodeInfo = nodeInfo;
+        }
+    }
+
+    // -- Multi-threading --
+
+    /** Creates the parse and write pools if more than one thread is requested. */
+    private void createPools(final int threads) {
+        if (threads <= 1) {
+            return;
+        }
+        // factories are loaded by the worker threads, hence they need the application's class loader
+        final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        m_parsePool = Executors.newFixedThreadPool(threads, createThreadFactory("Nodalizer", contextClassLoader));
+        m_parseResults = new ExecutorCompletionService<>(m_parsePool);
+        m_maxPendingNodes = threads * MAX_PENDING_NODES_PER_THREAD;
+        final int writers = Math.max(1, threads / 4);
+        // bounded: if the writers can't keep up, the main thread (which hands the files to the writers) writes them
+        // itself and thereby stops submitting parse tasks until the queue has room again
+        m_writePool = new ThreadPoolExecutor(writers, writers, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(WRITE_QUEUE_CAPACITY), createThreadFactory("Nodalizer Writer", contextClassLoader),
+            new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    private static ThreadFactory createThreadFactory(final String name, final ClassLoader contextClassLoader) {
+        final AtomicInteger threadCount = new AtomicInteger();
+        return r -> {
+            final Thread t = new Thread(r, name + "-" + threadCount.incrementAndGet());
+            t.setContextClassLoader(contextClassLoader);
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    /**
+     * Parses the node, tasks catch and log their errors themselves and return <code>null</code> on failure. In
+     * multi-threaded mode this blocks (and writes parsed nodes meanwhile) while too many nodes are pending.
+     */
+    private void submitParseTask(final Callable<NodeFile> task) throws InterruptedException {
+        if (m_parsePool == null) {
+            writeNode(callParseTask(task));
+            return;
+        }
+        final int index = m_submittedNodes++;
+        m_parseResults.submit(() -> new ParsedNode(index, callParseTask(task)));
+        while (m_submittedNodes - m_nextNodeToWrite > m_maxPendingNodes) {
+            writeParsedNode(m_parseResults.take());
+        }
+    }
+
+    private static NodeFile callParseTask(final Callable<NodeFile> task) {
+        try {
+            return task.call();
+        } catch (final Exception e) { // NOSONAR tasks don't throw
+            LOGGER.error("Failed to read node: " + e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Waits until all nodes submitted so far are parsed and hands them to the writers in submission order (they are
+     * not necessarily written when this method returns).
+     */
+    private void awaitParseTasks() throws InterruptedException {
+        while (m_nextNodeToWrite < m_submittedNodes) {
+            writeParsedNode(m_parseResults.take());
+        }
+    }
+
+    /**
+     * Writes the node if all nodes submitted before it have been written (followed by the nodes that completed
+     * early and are next in submission order), otherwise keeps it until then.
+     */
+    private void writeParsedNode(final Future<ParsedNode> result) throws InterruptedException {
+        final ParsedNode parsed;
+        try {
+            parsed = result.get();
+        } catch (final ExecutionException e) {
+            // parse tasks catch all exceptions, i.e. this is an error the run can't recover from
+            throw new IllegalStateException(e.getCause());
+        }
+        m_parsedOutOfOrder.put(parsed.m_index, parsed.m_nodeFile);
+        while (m_parsedOutOfOrder.containsKey(m_nextNodeToWrite)) {
+            writeNode(m_parsedOutOfOrder.remove(m_nextNodeToWrite++));
+        }
+    }
+
+    /** Waits for all JSON files to be written and releases the threads. */
+    private void shutdownPools() throws InterruptedException {
+        if (m_parsePool != null) {
+            m_parsePool.shutdown();
+            m_parsePool.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            m_parsePool = null;
+        }
+        if (m_writePool != null) {
+            m_writePool.shutdown();
+            m_writePool.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            m_writePool = null;
+        }
+    }
+
+    private void logSummary(final int threads, final long durationMillis) {
+        final int written = m_writtenNodes.get();
+        final double seconds = Math.max(durationMillis, 1) / 1000.0;
+        LOGGER.info(String.format("Wrote %d nodes (%d failed) in %.1f s using %d thread(s), %.1f nodes/s, %d distinct"
+            + " icons", written, m_failedNodes.get(), seconds, threads, written / seconds, m_iconCache.size()));
     }
 
     private static List<DynamicPortGroup> parseDynamicPorts(final Element nodeXML, final String xmlTag,
@@ -86,6 +86,11 @@ public final class NodalizerUtil {
 
     private static final NodeLogger LOGGER = NodeLogger.getLogger(NodalizerUtil.class);
 
+    /** Configured once, thread-safe. */
+    private static final ObjectMapper JSON_MAPPER = new ObjectMapper() //
+        .setSerializationInclusion(Include.NON_ABSENT) //
+        .enable(SerializationFeature.INDENT_OUTPUT);
+
     private NodalizerUtil() {
         // Prevent instantiation of util class
     }
@@ -208,19 +213,60 @@ public static String getColorAsHex(final int color) {
      */
     public static void writeFile(final File outputDir, final String baseFileName, final Object pojoToWrite)
         throws JsonProcessingException, FileNotFoundException, UnsupportedEncodingException {
-        final ObjectMapper map = new ObjectMapper();
-        map.setSerializationInclusion(Include.NON_ABSENT);
-        map.enable(SerializationFeature.INDENT_OUTPUT);
-        final String json = map.writeValueAsString(pojoToWrite);
+        final String json = JSON_MAPPER.writeValueAsString(pojoToWrite);
         final String regex = "\\W+";
         String fileName = baseFileName.replaceAll(regex, "_");
-        File f = new File(outputDir, fileName + ".json");
-        int count = 2;
-        while (f.exists()) {
-            f = new File(outputDir, fileName + count + ".json");
-            count++;
+        final PrintWriter writer;
+        // files may be written concurrently, choosing a free name and creating the file must be atomic
+        synchronized (JSON_MAPPER) {
+            File f = new File(outputDir, fileName + ".json");
+            int count = 2;
+            while (f.exists()) {
+                f = new File(outputDir, fileName + count + ".json");
+                count++;
+            }
+            writer = new PrintWriter(f, StandardCharsets.UTF_8.displayName());
+        }
+        try (final PrintWriter pw = writer) {
+            pw.write(json);
+        }
+    }
+
+    /**
+     * Creates a new, empty JSON file in the given output directory. If the file already exists, a number is appended
+     * to the file name (the same way as by {@link #writeFile(File, String, Object)}).
+     *
+     * @param outputDir the output directory to create the file in
+     * @param baseFileName the "base" of the file name (i.e. factoryName or symbolicName)
+     * @return the created file
+     * @throws IOException if the file can't be created
+     * @since 5.1
+     */
+    public static File createFile(final File outputDir, final String baseFileName) throws IOException {
+        final String fileName = baseFileName.replaceAll("\\W+", "_");
+        // same lock as writeFile, which checks for existing files before creating its file
+        synchronized (JSON_MAPPER) {
+            File f = new File(outputDir, fileName + ".json");
+            int count = 2;
+            while (!f.createNewFile()) {
+                f = new File(outputDir, fileName + count + ".json");
+                count++;
+            }
+            return f;
         }
-        try (final PrintWriter pw = new PrintWriter(f, StandardCharsets.UTF_8.displayName())) {
+    }
+
+    /**
+     * Writes the node/extension POJO as JSON to the given file, overwriting its content.
+     *
+     * @param file the file to write to, e.g. created with {@link #createFile(File, String)}
+     * @param pojoToWrite the POJO to write to a file (i.e. {@link NodeInfo} or {@link ExtensionInfo})
+     * @throws IOException if an error occurs when writing the POJOs to JSON
+     * @since 5.1
+     */
+    public static void writeFile(final File file, final Object pojoToWrite) throws IOException {
+        final String json = JSON_MAPPER.writeValueAsString(pojoToWrite);
+        try (final PrintWriter pw = new PrintWriter(file, StandardCharsets.UTF_8.displayName())) {
             pw.write(json);
         }
     }
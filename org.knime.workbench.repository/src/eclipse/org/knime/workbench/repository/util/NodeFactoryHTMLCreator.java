@@ -56,10 +56,12 @@
 import java.nio.charset.Charset;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Templates;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerException;
 import javax.xml.transform.TransformerFactory;
@@ -73,6 +75,8 @@
 
 /**
  * Loads an transformer and transforms the XML description of a node (which is passed as a DOM element into HTML.
+ * The compiled stylesheets are shared, the (not thread-safe) transformers are kept per thread, hence descriptions can
+ * be transformed concurrently.
  *
  * @author Fabian Dill, University of Konstanz
  */
@@ -83,7 +87,11 @@ public final class NodeFactoryHTMLCreator {
 
     private static final String HOWTO_FILE = "node_description_howto.html";
 
-    private Map<String, Transformer> m_transformers = new HashMap<String, Transformer>();
+    /** Compiled stylesheets by node namespace. */
+    private final Map<String, Templates> m_templates = new ConcurrentHashMap<>();
+
+    /** Transformers by node namespace, one per thread as they must not be used concurrently. */
+    private final ThreadLocal<Map<String, Transformer>> m_transformers = ThreadLocal.withInitial(HashMap::new);
 
     private static final Pattern NAMESPACE_PATTERN = Pattern.compile("http://knime.org/(.*)node(?:2012|/v(\\d+\\.\\d+))");
 
@@ -132,36 +140,14 @@ public String readFullDescription(final Element knimeNode) throws FileNotFoundEx
         }
 
         String namespaceUri = knimeNode.getNamespaceURI();
-        Transformer transformer = m_transformers.get(namespaceUri);
+        final Map<String, Transformer> transformers = m_transformers.get();
+        Transformer transformer = transformers.get(namespaceUri);
         if (transformer == null) {
-            Matcher matcher = NAMESPACE_PATTERN.matcher(namespaceUri);
-            if (!matcher.matches()) {
-                throw new IllegalArgumentException("Unsupported namespace for knime node: " + namespaceUri);
-            }
-            final String version;
-            if (matcher.group(2) != null) {
-                version = matcher.group(2);
-            } else {
-                version = "2.7";
-            }
-            String nodeType = matcher.group(1);
-            if (nodeType != null && nodeType.length() > 0) {
-                nodeType = "_" + nodeType;
-            } else {
-                nodeType = "";
-            }
-            String styleFile = "FullNodeDescription" + nodeType + "_v" + version + ".xslt";
-
-            InputStream is = getClass().getResourceAsStream(styleFile);
-            if (is == null) {
-                throw new FileNotFoundException("Could not find stylesheet '" + styleFile + "'");
-            }
-            StreamSource stylesheet = new StreamSource(is);
-            transformer = TransformerFactory.newInstance().newTemplates(stylesheet).newTransformer();
+            transformer = getTemplates(namespaceUri).newTransformer();
             transformer.setParameter("css", m_css);
             transformer.setOutputProperty(OutputKeys.METHOD, "xml");
             transformer.setOutputProperty(OutputKeys.INDENT, "yes");
-            m_transformers.put(namespaceUri, transformer);
+            transformers.put(namespaceUri, transformer);
         }
 
         StreamResult result = new StreamResult(new StringWriter());
@@ -170,6 +156,40 @@ public String readFullDescription(final Element knimeNode) throws FileNotFoundEx
         return result.getWriter().toString();
     }
 
+    private Templates getTemplates(final String namespaceUri) throws FileNotFoundException, TransformerException {
+        Templates templates = m_templates.get(namespaceUri);
+        if (templates != null) {
+            return templates;
+        }
+        Matcher matcher = NAMESPACE_PATTERN.matcher(namespaceUri);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Unsupported namespace for knime node: " + namespaceUri);
+        }
+        final String version;
+        if (matcher.group(2) != null) {
+            version = matcher.group(2);
+        } else {
+            version = "2.7";
+        }
+        String nodeType = matcher.group(1);
+        if (nodeType != null && nodeType.length() > 0) {
+            nodeType = "_" + nodeType;
+        } else {
+            nodeType = "";
+        }
+        String styleFile = "FullNodeDescription" + nodeType + "_v" + version + ".xslt";
+
+        InputStream is = getClass().getResourceAsStream(styleFile);
+        if (is == null) {
+            throw new FileNotFoundException("Could not find stylesheet '" + styleFile + "'");
+        }
+        StreamSource stylesheet = new StreamSource(is);
+        templates = TransformerFactory.newInstance().newTemplates(stylesheet);
+        // threads may compile the same stylesheet concurrently, only the first one is kept
+        final Templates previous = m_templates.putIfAbsent(namespaceUri, templates);
+        return previous != null ? previous : templates;
+    }
+
     private String getXMLDescriptionHowTo() {
         BufferedReader buffer = null;
         try {
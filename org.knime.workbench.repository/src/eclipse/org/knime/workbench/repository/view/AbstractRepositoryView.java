@@ -47,6 +47,7 @@
  */
 package org.knime.workbench.repository.view;
 
+import java.util.Collection;
 import java.util.ConcurrentModificationException;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -834,6 +835,19 @@ public void newNode(final Root root, final NodeTemplate node) {
 
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void newNodes(final Root root, final Collection<? extends NodeTemplate> nodes) {
+        m_nodeCounter += nodes.size();
+        if (System.currentTimeMillis() - m_lastViewUpdate < 500) {
+            return;
+        }
+        updateRepositoryView(root);
+        m_lastViewUpdate = System.currentTimeMillis();
+    }
+
     /**
      * {@inheritDoc}
      */
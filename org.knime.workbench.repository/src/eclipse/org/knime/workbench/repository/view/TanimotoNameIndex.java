@@ -0,0 +1,265 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026: created
+ */
+package org.knime.workbench.repository.view;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToDoubleBiFunction;
+
+import org.knime.workbench.repository.model.AbstractNodeTemplate;
+import org.knime.workbench.repository.model.Category;
+import org.knime.workbench.repository.model.IContainerObject;
+import org.knime.workbench.repository.model.IRepositoryObject;
+import org.knime.workbench.repository.model.MetaNodeTemplate;
+import org.knime.workbench.repository.model.Root;
+
+/**
+ * Inverted bigram index over the names of all nodes, metanodes and categories of a repository {@link Root}, used by
+ * the {@link TanimotoTextualViewFilter} to narrow down the names for which the Tanimoto distance to a query has to be
+ * computed at all. A name that doesn't share a single bigram with the query has a Tanimoto similarity of 0 and hence
+ * can't be a match. The index also caches the normalized (upper case) form of each name.
+ *
+ * <p>
+ * Names are padded with a blank before the bigrams are computed (which yields a superset of the bigrams of the
+ * unpadded names), so the candidate set never misses a name that could match, no matter whether the distance function
+ * pads its input or not.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class TanimotoNameIndex {
+
+    private static final Map<Root, TanimotoNameIndex> INDEX_CACHE = new WeakHashMap<>();
+
+    /** All indexed names in their original form, position = name id. */
+    private final List<String> m_names;
+
+    /** Name (original form) -> id. */
+    private final Map<String, Integer> m_nameIds;
+
+    /** Upper case form of the names, position = name id. */
+    private final String[] m_upperCaseNames;
+
+    /** Bigram -> ids of the names containing it. */
+    private final Map<String, int[]> m_postings;
+
+    /**
+     * Returns the index for the given root, creating it if not built yet.
+     *
+     * @param root the repository root
+     * @return the (cached) index for the root
+     */
+    static TanimotoNameIndex forRoot(final Root root) {
+        synchronized (INDEX_CACHE) {
+            return INDEX_CACHE.computeIfAbsent(root, r -> new TanimotoNameIndex(collectNames(r)));
+        }
+    }
+
+    /**
+     * Creates a new index over the given names.
+     *
+     * @param names the names to index, duplicates are ignored
+     */
+    TanimotoNameIndex(final Iterable<String> names) {
+        final Set<String> unique = new LinkedHashSet<>();
+        names.forEach(unique::add);
+        m_names = new ArrayList<>(unique);
+        m_nameIds = new HashMap<>(m_names.size() * 2);
+        m_upperCaseNames = new String[m_names.size()];
+        final Map<String, BitSet> postings = new HashMap<>();
+        for (int id = 0; id < m_names.size(); id++) {
+            final String name = m_names.get(id);
+            m_nameIds.put(name, id);
+            m_upperCaseNames[id] = name.toUpperCase();
+            for (String bigram : bigrams(m_upperCaseNames[id])) {
+                postings.computeIfAbsent(bigram, b -> new BitSet()).set(id);
+            }
+        }
+        m_postings = new HashMap<>(postings.size() * 2);
+        postings.forEach((bigram, ids) -> m_postings.put(bigram, ids.stream().toArray()));
+    }
+
+    /**
+     * @param name a name
+     * @return the upper case form of the name (cached if the name is indexed)
+     */
+    String toUpperCase(final String name) {
+        final Integer id = m_nameIds.get(name);
+        return id != null ? m_upperCaseNames[id] : name.toUpperCase();
+    }
+
+    /**
+     * Creates the per query scoring state.
+     *
+     * @param upperCaseQuery the query in upper case, not empty
+     * @param distanceFunction computes the distance between a name and the query
+     * @return the scores object for that query
+     */
+    QueryScores query(final String upperCaseQuery, final ToDoubleBiFunction<String, String> distanceFunction) {
+        return new QueryScores(upperCaseQuery, distanceFunction);
+    }
+
+    /**
+     * Per query state: the ids of all names that share at least one bigram with the query, and cached distances.
+     * Thread-safe.
+     */
+    final class QueryScores {
+
+        private final String m_query;
+
+        private final ToDoubleBiFunction<String, String> m_distanceFunction;
+
+        /** null if the query is too short to have a bigram - all names are candidates then. */
+        private final BitSet m_candidates;
+
+        private final Map<String, Double> m_nameToQueryDistances = new ConcurrentHashMap<>();
+
+        private final Map<String, Double> m_queryToNameDistances = new ConcurrentHashMap<>();
+
+        private QueryScores(final String query, final ToDoubleBiFunction<String, String> distanceFunction) {
+            m_query = query;
+            m_distanceFunction = distanceFunction;
+            if (query.length() < 2) {
+                m_candidates = null;
+            } else {
+                m_candidates = new BitSet(m_names.size());
+                for (String bigram : bigrams(query)) {
+                    final int[] ids = m_postings.get(bigram);
+                    if (ids != null) {
+                        for (int id : ids) {
+                            m_candidates.set(id);
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * @return the query these scores are computed for
+         */
+        String getQuery() {
+            return m_query;
+        }
+
+        /**
+         * @param name a name
+         * @return <code>false</code> if the name is known not to share a bigram with the query, i.e. the distance is
+         *         at its maximum; <code>true</code> otherwise
+         */
+        boolean isCandidate(final String name) {
+            if (m_candidates == null) {
+                return true;
+            }
+            final Integer id = m_nameIds.get(name);
+            // unknown (e.g. added after the index was built) or too short to be indexed
+            return id == null || m_upperCaseNames[id].length() < 2 || m_candidates.get(id);
+        }
+
+        /**
+         * @param name a name
+         * @return the (cached) distance between the name and the query
+         */
+        double distanceToQuery(final String name) {
+            return m_nameToQueryDistances.computeIfAbsent(name,
+                n -> m_distanceFunction.applyAsDouble(n, m_query));
+        }
+
+        /**
+         * @param name a name
+         * @return the (cached) distance between the query and the name
+         */
+        double distanceFromQuery(final String name) {
+            return m_queryToNameDistances.computeIfAbsent(name,
+                n -> m_distanceFunction.applyAsDouble(m_query, n));
+        }
+    }
+
+    private static Set<String> bigrams(final String upperCase) {
+        final String padded = " " + upperCase + " ";
+        final Set<String> result = new LinkedHashSet<>();
+        for (int i = 0; i < padded.length() - 1; i++) {
+            result.add(padded.substring(i, i + 2));
+        }
+        return result;
+    }
+
+    private static List<String> collectNames(final Root root) {
+        final List<String> names = new ArrayList<>();
+        collectNames(root, names);
+        return names;
+    }
+
+    private static void collectNames(final IRepositoryObject object, final List<String> names) {
+        if (object instanceof AbstractNodeTemplate) {
+            addName(((AbstractNodeTemplate)object).getName(), names);
+            if (object instanceof MetaNodeTemplate) {
+                addName(((MetaNodeTemplate)object).getManager().getName(), names);
+            }
+        } else if (object instanceof Category) {
+            addName(((Category)object).getName(), names);
+        }
+        if (object instanceof IContainerObject) {
+            for (IRepositoryObject child : ((IContainerObject)object).getChildren()) {
+                collectNames(child, names);
+            }
+        }
+    }
+
+    private static void addName(final String name, final List<String> names) {
+        if (name != null) {
+            names.add(name);
+        }
+    }
+}
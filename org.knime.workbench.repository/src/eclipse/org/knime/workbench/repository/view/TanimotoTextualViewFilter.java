@@ -58,7 +58,8 @@
 
 /**
  * A filter for items which computes the tanimoto distance to a given query and filters all nodes which have a distance
- * greater or equal to UPPER_DISTANCE_BOUND=0.6.
+ * greater or equal to UPPER_DISTANCE_BOUND=0.6. The distances are only computed for names that share at least one
+ * bigram with the query (see {@link TanimotoNameIndex}) and are cached per query, also for sorting.
  *
  * @author Marcel Hanser, KNIME AG, Zurich, Switzerland
  */
@@ -68,6 +69,21 @@ final class TanimotoTextualViewFilter extends TextualViewFilter {
      */
     private static final double UPPER_DISTANCE_BOUND = 0.85;
 
+    /** Index of the root the filtered elements belong to, set lazily. */
+    private volatile TanimotoNameIndex m_index;
+
+    /** Candidates and cached distances of the current query, reset if the query or the index changes. */
+    private volatile TanimotoNameIndex.QueryScores m_queryScores;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setQueryString(final String query) {
+        super.setQueryString(query);
+        m_queryScores = null;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -78,10 +94,41 @@ public boolean select(final Viewer viewer, final Object parentElement, final Obj
         if (!hasNonEmptyQuery()) {
             return true;
         }
+        // make sure the name index of the respective root is available
+        if (m_index == null) {
+            initIndex(parentElement instanceof IRepositoryObject ? (IRepositoryObject)parentElement
+                : (element instanceof IRepositoryObject ? (IRepositoryObject)element : null));
+        }
         // call helper method
         return doSelect(parentElement, element, true);
     }
 
+    private void initIndex(final IRepositoryObject object) {
+        IRepositoryObject temp = object;
+        while (temp != null && !(temp instanceof Root)) {
+            temp = temp.getParent();
+        }
+        if (temp != null) {
+            m_index = TanimotoNameIndex.forRoot((Root)temp);
+            m_queryScores = null;
+        }
+    }
+
+    /** @return the scores of the current query or <code>null</code> if the index isn't available (yet) */
+    private TanimotoNameIndex.QueryScores getQueryScores() {
+        final TanimotoNameIndex index = m_index;
+        final String query = getQueryString();
+        if (index == null || query == null || query.isEmpty()) {
+            return null;
+        }
+        TanimotoNameIndex.QueryScores scores = m_queryScores;
+        if (scores == null || !scores.getQuery().equals(query)) {
+            scores = index.query(query, (s1, s2) -> computeTanimotoBiGramDistance(s1, s2));
+            m_queryScores = scores;
+        }
+        return scores;
+    }
+
     /**
      * Copied from {@link TextualViewFilter}.
      */
@@ -146,12 +193,16 @@ protected boolean match(final String test) {
         if (test == null) {
             return false;
         }
-        boolean contains = test.toUpperCase().contains(getQueryString());
-        if (!contains) {
-            return computeTanimotoBiGramDistance(test, getQueryString()) < UPPER_DISTANCE_BOUND;
-        } else {
+        final TanimotoNameIndex.QueryScores scores = getQueryScores();
+        if (scores == null) {
+            boolean contains = test.toUpperCase().contains(getQueryString());
+            return contains || computeTanimotoBiGramDistance(test, getQueryString()) < UPPER_DISTANCE_BOUND;
+        }
+        if (m_index.toUpperCase(test).contains(scores.getQuery())) {
             return true;
         }
+        // no common bigram means maximum distance
+        return scores.isCandidate(test) && scores.distanceToQuery(test) < UPPER_DISTANCE_BOUND;
     }
 
     /**
@@ -164,6 +215,11 @@ public Comparator<String> createComparator() {
         // so i decided to use a thread safe implementation.
         if (hasNonEmptyQuery()) {
             final String currentQuery = getQueryString();
+            final TanimotoNameIndex.QueryScores scores = getQueryScores();
+            if (scores != null) {
+                // distances are computed once per name and query
+                return (o1, o2) -> Double.compare(scores.distanceFromQuery(o1), scores.distanceFromQuery(o2));
+            }
 
             return new Comparator<String>() {
 
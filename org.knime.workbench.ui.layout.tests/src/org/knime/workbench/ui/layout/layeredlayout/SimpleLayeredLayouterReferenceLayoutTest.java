@@ -0,0 +1,193 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026: created
+ */
+package org.knime.workbench.ui.layout.layeredlayout;
+
+import static org.junit.Assert.assertEquals;
+
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.knime.workbench.ui.layout.Graph;
+import org.knime.workbench.ui.layout.Graph.Edge;
+import org.knime.workbench.ui.layout.Graph.Node;
+
+/**
+ * Lays out a fixed set of graphs with {@link SimpleLayeredLayouter} (a single crossing minimization run) and compares
+ * node coordinates and bend points with the layouts computed by the original, object-based graph implementation.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class SimpleLayeredLayouterReferenceLayoutTest {
+
+    private static final long SEED = 42;
+
+    /** A few disconnected chains and single nodes, no long edges. */
+    @Test
+    public void testSparseGraph() {
+        assertLayout(new int[]{ //
+            50, 200, 150, 350, 350, 450, 100, 200, 0, 100, 400, 250, //
+            200, 200, 450, 50, 350, 450}, //
+            new int[]{6, 7, 3, 7, 1, 4, 1, 2, 5, 8}, //
+            new int[0], //
+            new double[]{ //
+                0.0, 5.0, 0.0, 0.5, 1.0, 0.0, 0.0, 4.0, //
+                1.0, 1.0, 0.0, 2.0, 0.0, 3.0, 1.0, 3.0, //
+                1.0, 2.0}, //
+            new double[][]{{}, {}, {}, {}, {}});
+    }
+
+    /** Edges spanning more than one layer, i.e. laid out with dummy nodes that end up as bend points. */
+    @Test
+    public void testGraphWithLongEdges() {
+        assertLayout(new int[]{ //
+            300, 100, 100, 250, 200, 0, 200, 100, 400, 250, 300, 350, //
+            200, 250, 300, 450, 100, 250, 0, 250, 450, 350, 200, 100}, //
+            new int[]{ //
+                4, 8, 4, 10, 4, 5, 0, 7, 7, 10, 3, 7, 2, 8, 3, 4, //
+                0, 11, 3, 9, 3, 8, 5, 8, 1, 7, 4, 9}, //
+            new int[0], //
+            new double[]{ //
+                0.0, 7.0, 0.0, 5.0, 0.0, 0.0, 0.0, 3.5, //
+                1.0, 3.0, 2.0, 3.0, 0.0, 6.0, 1.0, 5.0, //
+                3.0, 1.5, 2.0, 4.0, 2.0, 5.0, 1.0, 7.0}, //
+            new double[][]{{2.0, 2.0}, {}, {}, {}, {}, {}, {2.0, 0.0}, {}, {}, {1.0, 4.0}, {1.0, 1.0, 2.0, 1.0}, {},
+                {}, {}});
+    }
+
+    /** Sources and sinks fixed to the first and last layer. */
+    @Test
+    public void testGraphWithFixedNodes() {
+        assertLayout(new int[]{ //
+            150, 350, 250, 100, 150, 200, 300, 50, 350, 350, 150, 100, //
+            450, 100, 350, 400, 400, 0, 200, 50, 200, 200, 50, 50, //
+            350, 400, 450, 100, 250, 300}, //
+            new int[]{ //
+                3, 8, 3, 12, 12, 14, 7, 13, 5, 10, 11, 13, 2, 8, 1, 14, //
+                9, 14, 4, 9, 2, 12, 4, 12, 0, 1, 5, 14, 6, 9, 4, 10}, //
+            new int[]{0, 2, 4, 5, 7, 8, 10, 13, 14}, //
+            new double[]{ //
+                0.0, 5.5, 1.0, 10.5, 0.0, 4.5, 1.0, 4.5, //
+                0.0, 6.5, 0.0, 2.0, 1.0, 7.5, 0.0, 7.5, //
+                3.0, 0.5, 2.0, 7.5, 3.0, 5.5, 1.0, 3.5, //
+                2.0, 9.5, 3.0, 3.0, 3.0, 8.0}, //
+            new double[][]{{2.0, 4.5}, {}, {}, {1.0, 2.5, 2.0, 2.5}, {1.0, 5.5}, {2.0, 3.5}, {1.0, 0.5}, {2.0, 10.5},
+                {}, {1.0, 11.5}, {1.0, 9.5}, {1.0, 12.5}, {}, {1.0, 8.5, 2.0, 8.5}, {}, {2.0, 6.5}});
+    }
+
+    /** Several components, including isolated nodes. */
+    @Test
+    public void testGraphWithSeveralComponents() {
+        assertLayout(new int[]{ //
+            400, 450, 250, 50, 50, 350, 50, 250, 100, 150, 50, 50, //
+            0, 100, 350, 250, 350, 450, 300, 400, 150, 400, 200, 350, //
+            0, 450, 250, 400, 200, 100, 100, 100, 350, 350, 350, 400}, //
+            new int[]{ //
+                10, 11, 8, 9, 4, 12, 4, 8, 4, 7, 10, 15, 6, 11, 7, 11, //
+                3, 5, 4, 10, 5, 14, 11, 13, 6, 8, 13, 17, 2, 17}, //
+            new int[0], //
+            new double[]{ //
+                0.0, 4.0, 0.0, 8.5, 0.0, 1.0, 0.0, 7.5, //
+                0.0, 5.0, 1.0, 7.5, 0.0, 3.0, 1.0, 4.5, //
+                1.0, 3.5, 2.0, 3.0, 1.0, 6.5, 2.0, 4.0, //
+                1.0, 5.5, 3.0, 4.0, 2.0, 7.5, 2.0, 6.5, //
+                0.0, 0.0, 4.0, 2.5}, //
+            new double[][]{{}, {}, {}, {}, {}, {}, {1.0, 2.0}, {}, {}, {}, {}, {}, {}, {}, {3.0, 1.0}});
+    }
+
+    /**
+     * @param positions the initial x and y coordinate of each node
+     * @param edges source and target index of each edge
+     * @param fixed the indices of the fixed nodes
+     * @param expectedCoordinates the expected x and y coordinate of each node
+     * @param expectedBends the expected x and y coordinates of the bend points of each edge
+     */
+    private static void assertLayout(final int[] positions, final int[] edges, final int[] fixed,
+        final double[] expectedCoordinates, final double[][] expectedBends) {
+        final Graph g = new Graph();
+        final List<Node> nodes = new ArrayList<>();
+        for (int i = 0; i < positions.length / 2; i++) {
+            nodes.add(g.createNode("n" + i, positions[2 * i], positions[2 * i + 1]));
+        }
+        final List<Edge> edgeList = new ArrayList<>();
+        for (int i = 0; i < edges.length / 2; i++) {
+            edgeList.add(g.createEdge(nodes.get(edges[2 * i]), nodes.get(edges[2 * i + 1])));
+        }
+        Map<Node, Boolean> fixedNodes = null;
+        if (fixed.length > 0) {
+            fixedNodes = new HashMap<>();
+            for (Node n : nodes) {
+                fixedNodes.put(n, Boolean.FALSE);
+            }
+            for (int i : fixed) {
+                fixedNodes.put(nodes.get(i), Boolean.TRUE);
+            }
+        }
+
+        new SimpleLayeredLayouter(SEED).doLayout(g, fixedNodes);
+
+        for (int i = 0; i < nodes.size(); i++) {
+            assertEquals("Unexpected x coordinate of node " + i, expectedCoordinates[2 * i], g.getX(nodes.get(i)), 0);
+            assertEquals("Unexpected y coordinate of node " + i, expectedCoordinates[2 * i + 1],
+                g.getY(nodes.get(i)), 0);
+        }
+        for (int i = 0; i < edgeList.size(); i++) {
+            final List<Point2D> bends = g.bends(edgeList.get(i));
+            assertEquals("Unexpected number of bend points of edge " + i, expectedBends[i].length / 2, bends.size());
+            for (int b = 0; b < bends.size(); b++) {
+                assertEquals("Unexpected bend point of edge " + i, expectedBends[i][2 * b], bends.get(b).getX(), 0);
+                assertEquals("Unexpected bend point of edge " + i, expectedBends[i][2 * b + 1], bends.get(b).getY(),
+                    0);
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026: created
+ */
+package org.knime.workbench.ui.layout.layeredlayout;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+import org.knime.workbench.ui.layout.Graph;
+import org.knime.workbench.ui.layout.Graph.Node;
+
+/**
+ * Tests {@link SimpleLayeredLayouter}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class SimpleLayeredLayouterTest {
+
+    private static final int RESTARTS = 8;
+
+    /** Large enough for all restarts to finish, otherwise the result depends on the scheduling. */
+    private static final long TIME_BUDGET = 60_000;
+
+    /**
+     * Checks that crossing minimization restarts run in parallel lead to the same layout as when run one after the
+     * other, for the same seed.
+     */
+    @Test
+    public void testParallelRestartsMatchSequentialRestarts() {
+        for (int graphSeed = 0; graphSeed < 20; graphSeed++) {
+            final boolean withFixedNodes = graphSeed % 3 == 0;
+            final double[] sequential = layoutYCoordinates(graphSeed, withFixedNodes, false);
+            final double[] parallel = layoutYCoordinates(graphSeed, withFixedNodes, true);
+            for (int i = 0; i < sequential.length; i++) {
+                assertEquals("Unexpected y coordinate of node " + i + " in graph " + graphSeed, sequential[i],
+                    parallel[i], 0);
+            }
+        }
+    }
+
+    /** Lays out a random DAG, returns the y coordinates of its nodes in creation order. */
+    private static double[] layoutYCoordinates(final int graphSeed, final boolean withFixedNodes,
+        final boolean parallel) {
+        final Random rnd = new Random(graphSeed);
+        final Graph g = new Graph();
+        final int n = 10 + rnd.nextInt(40);
+        final List<Node> nodes = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            nodes.add(g.createNode("n" + i, rnd.nextInt(50), rnd.nextInt(50)));
+        }
+        for (int i = 0; i < 2 * n; i++) {
+            final int source = rnd.nextInt(n);
+            final int target = rnd.nextInt(n);
+            // edges from lower to higher index only, i.e. acyclic
+            if (source < target && !g.containsEdge(nodes.get(source), nodes.get(target))) {
+                g.createEdge(nodes.get(source), nodes.get(target));
+            }
+        }
+        Map<Node, Boolean> fixedNodes = null;
+        if (withFixedNodes) {
+            fixedNodes = new HashMap<>();
+            for (Node node : nodes) {
+                fixedNodes.put(node, rnd.nextInt(4) == 0);
+            }
+        }
+
+        final SimpleLayeredLayouter layouter = new SimpleLayeredLayouter(42);
+        layouter.setRestarts(RESTARTS);
+        layouter.setTimeBudget(TIME_BUDGET);
+        layouter.setParallel(parallel);
+        layouter.doLayout(g, fixedNodes);
+
+        final double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            y[i] = g.getY(nodes.get(i));
+        }
+        return y;
+    }
+}
@@ -62,9 +62,13 @@
  * of contained nodes / edges, test whether a node / edge is contained), and
  * iterators to access all nodes and edges in the graph.
  *
- * Nodes are automatically labeled from "1" to "number of nodes created". This
- * numbering is only used for String representation of nodes and edges, and
- * should not be used for any other operations!
+ * Nodes and edges are automatically indexed from 1 to "number of nodes (edges)
+ * created". Indices are never reused, hence node and edge attributes can be
+ * stored in primitive arrays of size {@link #nodeIndexBound()} (
+ * {@link #edgeIndexBound()}) addressed by {@link Node#index()} (
+ * {@link Edge#index()}), see {@link #createIntNodeArray(int)} and
+ * {@link #createDoubleNodeArray(double)}. A compact (CSR) snapshot of the
+ * adjacency lists is provided by {@link #createAdjacency()}.
  *
  *
  * @author Martin Mader, University of Konstanz
@@ -87,6 +91,11 @@ public class Graph {
      */
     private int nodeIndex = 0;
 
+    /**
+     * used to index the edges (increased by one whenever a new edge is created)
+     */
+    private int edgeIndex = 0;
+
     /**
      * constructor initializing an empty graph
      */
@@ -159,7 +168,8 @@ public Edge createEdge(final Node source, final Node target) {
         }
         // create edge and insert it affected nodes' incidence-lists and to this
         // graphs' edge-list
-        Edge edge = new Edge(source, target);
+        edgeIndex++;
+        Edge edge = new Edge(edgeIndex, source, target);
         source.addEdge(edge);
         target.addEdge(edge);
         return edges.add(edge) ? edge : null;
@@ -409,6 +419,64 @@ public Map<Node, Integer> createIntNodeMap() {
         return map;
     }
 
+    /**
+     * @return an exclusive upper bound for the indices of the nodes contained
+     *         in this graph, i.e. the size of arrays addressed by
+     *         {@link Node#index()}
+     */
+    public int nodeIndexBound() {
+        return nodeIndex + 1;
+    }
+
+    /**
+     * @return an exclusive upper bound for the indices of the edges contained
+     *         in this graph, i.e. the size of arrays addressed by
+     *         {@link Edge#index()}
+     */
+    public int edgeIndexBound() {
+        return edgeIndex + 1;
+    }
+
+    /**
+     * create an array storing an int for each node in the graph, addressed by
+     * {@link Node#index()}.
+     *
+     * @param initialValue the value assigned to each entry
+     * @return a new array of size {@link #nodeIndexBound()}
+     */
+    public int[] createIntNodeArray(final int initialValue) {
+        int[] array = new int[nodeIndexBound()];
+        if (initialValue != 0) {
+            Arrays.fill(array, initialValue);
+        }
+        return array;
+    }
+
+    /**
+     * create an array storing a double for each node in the graph, addressed
+     * by {@link Node#index()}.
+     *
+     * @param initialValue the value assigned to each entry
+     * @return a new array of size {@link #nodeIndexBound()}
+     */
+    public double[] createDoubleNodeArray(final double initialValue) {
+        double[] array = new double[nodeIndexBound()];
+        if (initialValue != 0) {
+            Arrays.fill(array, initialValue);
+        }
+        return array;
+    }
+
+    /**
+     * create a compact snapshot of the current adjacency lists. The snapshot
+     * is not updated by subsequent modifications of the graph.
+     *
+     * @return the adjacency of all nodes in compressed sparse row format
+     */
+    public Adjacency createAdjacency() {
+        return new Adjacency(this);
+    }
+
     /**
      * return the list of bend-points of a given edge
      *
@@ -485,6 +553,9 @@ private Node(final int index, final String label, final double x, final double y
             this.y = y;
         }
 
+        /**
+         * @return the index of this node, unique within its graph
+         */
         public int index() {
             return index;
         }
@@ -605,18 +676,29 @@ public static class Edge {
          */
         private ArrayList<Point2D> bends = new ArrayList<Point2D>();
 
+        private int index = -1;
+
         /**
          * creates an edge (source, target). Will only be called by
          * {@link AbstractGraph}.
          *
+         * @param index
          * @param source
          * @param target
          */
-        private Edge(final Node source, final Node target) {
+        private Edge(final int index, final Node source, final Node target) {
+            this.index = index;
             this.source = source;
             this.target = target;
         }
 
+        /**
+         * @return the index of this edge, unique within its graph
+         */
+        public int index() {
+            return index;
+        }
+
         /**
          * @return this edges' source node
          */
@@ -656,4 +738,153 @@ public String toString() {
             return "(" + source + "," + target + ")";
         }
     }
+
+    /**
+     * compact, array based snapshot of the incoming and outgoing adjacency
+     * lists of a graph in compressed sparse row (CSR) format. All nodes and
+     * edges are referred to by their index. The incoming (outgoing) neighbors
+     * of node v are stored at positions <code>inBegin(v)</code> (inclusive) to
+     * <code>inEnd(v)</code> (exclusive), in the order of the node's incoming
+     * (outgoing) edge list.
+     *
+     * @author KNIME AG, Zurich, Switzerland
+     */
+    public static final class Adjacency {
+
+        private final Node[] nodeByIndex;
+
+        private final int[] nodes;
+
+        private final int[] inOffsets;
+
+        private final int[] inNeighbors;
+
+        private final int[] inEdges;
+
+        private final int[] outOffsets;
+
+        private final int[] outNeighbors;
+
+        private final int[] outEdges;
+
+        private Adjacency(final Graph g) {
+            int bound = g.nodeIndexBound();
+            nodeByIndex = new Node[bound];
+            nodes = new int[g.n()];
+            inOffsets = new int[bound + 1];
+            outOffsets = new int[bound + 1];
+            int i = 0;
+            for (Node n : g.nodes) {
+                nodeByIndex[n.index] = n;
+                nodes[i++] = n.index;
+                inOffsets[n.index + 1] = n.inEdges.size();
+                outOffsets[n.index + 1] = n.outEdges.size();
+            }
+            for (int v = 0; v < bound; v++) {
+                inOffsets[v + 1] += inOffsets[v];
+                outOffsets[v + 1] += outOffsets[v];
+            }
+            inNeighbors = new int[inOffsets[bound]];
+            inEdges = new int[inOffsets[bound]];
+            outNeighbors = new int[outOffsets[bound]];
+            outEdges = new int[outOffsets[bound]];
+            for (Node n : g.nodes) {
+                int k = inOffsets[n.index];
+                for (Edge e : n.inEdges) {
+                    inNeighbors[k] = e.source.index;
+                    inEdges[k] = e.index;
+                    k++;
+                }
+                k = outOffsets[n.index];
+                for (Edge e : n.outEdges) {
+                    outNeighbors[k] = e.target.index;
+                    outEdges[k] = e.index;
+                    k++;
+                }
+            }
+        }
+
+        /**
+         * @return the indices of all nodes, in order of creation
+         */
+        public int[] nodes() {
+            return nodes;
+        }
+
+        /**
+         * @param v a node index
+         * @return the node with the given index, or null if there is none
+         */
+        public Node node(final int v) {
+            return nodeByIndex[v];
+        }
+
+        /**
+         * @param v a node index
+         * @return the first position of v's incoming neighbors
+         */
+        public int inBegin(final int v) {
+            return inOffsets[v];
+        }
+
+        /**
+         * @param v a node index
+         * @return the position after v's last incoming neighbor
+         */
+        public int inEnd(final int v) {
+            return inOffsets[v + 1];
+        }
+
+        /**
+         * @param i a position between {@link #inBegin(int)} and
+         *            {@link #inEnd(int)}
+         * @return the index of the source node of the incoming edge at i
+         */
+        public int inNeighbor(final int i) {
+            return inNeighbors[i];
+        }
+
+        /**
+         * @param i a position between {@link #inBegin(int)} and
+         *            {@link #inEnd(int)}
+         * @return the index of the incoming edge at i
+         */
+        public int inEdge(final int i) {
+            return inEdges[i];
+        }
+
+        /**
+         * @param v a node index
+         * @return the first position of v's outgoing neighbors
+         */
+        public int outBegin(final int v) {
+            return outOffsets[v];
+        }
+
+        /**
+         * @param v a node index
+         * @return the position after v's last outgoing neighbor
+         */
+        public int outEnd(final int v) {
+            return outOffsets[v + 1];
+        }
+
+        /**
+         * @param i a position between {@link #outBegin(int)} and
+         *            {@link #outEnd(int)}
+         * @return the index of the target node of the outgoing edge at i
+         */
+        public int outNeighbor(final int i) {
+            return outNeighbors[i];
+        }
+
+        /**
+         * @param i a position between {@link #outBegin(int)} and
+         *            {@link #outEnd(int)}
+         * @return the index of the outgoing edge at i
+         */
+        public int outEdge(final int i) {
+            return outEdges[i];
+        }
+    }
 }
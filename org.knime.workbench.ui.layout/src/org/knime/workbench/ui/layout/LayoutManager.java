@@ -48,13 +48,18 @@
 package org.knime.workbench.ui.layout;
 
 import java.awt.geom.Point2D;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.draw2d.geometry.Point;
 import org.knime.core.node.NodeLogger;
@@ -79,6 +84,30 @@ public class LayoutManager {
     private static final NodeLogger LOGGER = NodeLogger
             .getLogger(LayoutManager.class);
 
+    /**
+     * System property setting the number of crossing minimization runs of the
+     * auto-layout, see {@link SimpleLayeredLayouter#setRestarts(int)}. The
+     * first run uses the current node order, the others a randomly shuffled
+     * one; they run in parallel and the layout with the fewest crossings is
+     * kept. Set it to 1 for the single run of earlier versions, e.g.
+     * <code>-Dknime.workbench.layout.restarts=1</code> in the knime.ini.
+     * Default is 4.
+     */
+    public static final String PROPERTY_RESTARTS = "knime.workbench.layout.restarts";
+
+    /**
+     * System property setting the time budget (in milliseconds) of the
+     * additional crossing minimization runs, see
+     * {@link SimpleLayeredLayouter#setTimeBudget(long)}. Runs not started in
+     * time are skipped, running ones stop with their best layering so far; the
+     * first run is never cut short. Default is 250.
+     */
+    public static final String PROPERTY_TIME_BUDGET = "knime.workbench.layout.timebudget";
+
+    private static final int DEFAULT_RESTARTS = 4;
+
+    private static final long DEFAULT_TIME_BUDGET = 250;
+
     private WorkflowManagerUI m_wfm;
 
     private long m_initPlacementSeed;
@@ -130,6 +159,59 @@ public LayoutManager(final WorkflowManagerUI wfManager,
         m_g = new Graph();
     }
 
+    /**
+     * Lays out only the connected components of the workflow that contain at
+     * least one of the given (e.g. newly inserted or moved) nodes; all other
+     * nodes keep their position. Each affected component is laid out on its
+     * own, starting at its current upper left corner. Components consisting of
+     * a single node are not touched.
+     *
+     * @param changedNodes the nodes that changed since the last layout
+     */
+    public void doIncrementalLayout(final Collection<NodeContainerUI> changedNodes) {
+        m_oldCoordinates = new HashMap<NodeID, NodeUIInformation>();
+        m_oldBendpoints = new HashMap<ConnectionID, ConnectionUIInformation>();
+        // undirected adjacency of the workflow's nodes
+        Map<NodeID, List<NodeID>> neighbors = new HashMap<NodeID, List<NodeID>>();
+        for (ConnectionContainerUI conn : m_wfm.getConnectionContainers()) {
+            NodeID src = conn.getSource();
+            NodeID dest = conn.getDest();
+            if (src.equals(m_wfm.getID()) || dest.equals(m_wfm.getID())) {
+                // meta node ports are anchors, they don't connect components
+                continue;
+            }
+            neighbors.computeIfAbsent(src, k -> new ArrayList<NodeID>()).add(dest);
+            neighbors.computeIfAbsent(dest, k -> new ArrayList<NodeID>()).add(src);
+        }
+        Set<NodeID> visited = new HashSet<NodeID>();
+        for (NodeContainerUI changed : changedNodes) {
+            if (!visited.add(changed.getID())) {
+                continue; // component already laid out
+            }
+            // collect the connected component of the changed node
+            List<NodeContainerUI> component = new ArrayList<NodeContainerUI>();
+            Deque<NodeID> queue = new ArrayDeque<NodeID>();
+            queue.add(changed.getID());
+            while (!queue.isEmpty()) {
+                NodeID id = queue.poll();
+                component.add(m_wfm.getNodeContainer(id));
+                for (NodeID n : neighbors.getOrDefault(id, Collections.<NodeID> emptyList())) {
+                    if (visited.add(n)) {
+                        queue.add(n);
+                    }
+                }
+            }
+            if (component.size() <= 1) {
+                // a single node is where the user put it
+                continue;
+            }
+            LayoutManager componentLayout = new LayoutManager(m_wfm, m_initPlacementSeed);
+            componentLayout.doLayout(component);
+            m_oldCoordinates.putAll(componentLayout.m_oldCoordinates);
+            m_oldBendpoints.putAll(componentLayout.m_oldBendpoints);
+        }
+    }
+
     /**
      * @param nodes the nodes that should be laid out. If null, all nodes of the
      *            workflow manager passed to the constructor are laid out.
@@ -285,6 +367,8 @@ public void doLayout(final Collection<NodeContainerUI> nodes) {
 
         SimpleLayeredLayouter layouter = new SimpleLayeredLayouter(m_initPlacementSeed);
         layouter.setBalanceBranchings(!WorkflowEditor.getActiveEditorSnapToGrid());
+        layouter.setRestarts(Integer.getInteger(PROPERTY_RESTARTS, DEFAULT_RESTARTS));
+        layouter.setTimeBudget(Long.getLong(PROPERTY_TIME_BUDGET, DEFAULT_TIME_BUDGET));
         if (anchorsExist) {
             layouter.doLayout(m_g, anchorNodes);
         } else {
@@ -316,6 +400,10 @@ public void doLayout(final Collection<NodeContainerUI> nodes) {
                         * X_STRETCH) + minX;
                 int y = (int)Math.round((m_g.getY(gNode) - coordOffsetY)
                         * Y_STRETCH) + minY;
+                if (b[0] == x && b[1] == y) {
+                    // node doesn't move, nothing to update or undo
+                    continue;
+                }
                 NodeUIInformation newCoord = NodeUIInformation.builder()
                         .setNodeLocation(x, y, b[2], b[3])
                         .setHasAbsoluteCoordinates(uiInfo.hasAbsoluteCoordinates())
@@ -332,14 +420,6 @@ public void doLayout(final Collection<NodeContainerUI> nodes) {
         // delete old bendpoints - transfer new ones
         for (ConnectionContainerUI conn : allConns.keySet()) {
 
-            // store old bendpoint for undo
-            ConnectionUIInformation ui = conn.getUIInfo();
-            if (ui != null) {
-                m_oldBendpoints.put(conn.getID(), ui);
-            } else {
-                m_oldBendpoints.put(conn.getID(), null);
-            }
-
             ConnectionUIInformation.Builder newUIBuilder = ConnectionUIInformation.builder();
             Edge e = m_workbenchToGraphEdges.get(conn);
             if (e == null) {
@@ -362,7 +442,7 @@ public void doLayout(final Collection<NodeContainerUI> nodes) {
                 }
             }
             ConnectionUIInformation newUI = newUIBuilder.build();
-            conn.setUIInfo(newUI);
+            setBendpoints(conn, newUI);
 
             // compute bendpoints for parallel connections (slightly offset)
             for (int i = 1; i < conns.size(); i++) { // idx 0 == conn!
@@ -371,12 +451,30 @@ public void doLayout(final Collection<NodeContainerUI> nodes) {
                 int yOffset = (parConn.getDestPort() - conn.getDestPort()) * 10;
                 ConnectionUIInformation parUI =
                     ConnectionUIInformation.builder(newUI).translate(new int[] {0, yOffset}).build();
-                parConn.setUIInfo(parUI);
+                setBendpoints(parConn, parUI);
             }
         }
 
     }
 
+    /**
+     * Sets the new bendpoints of a connection and stores the old ones for undo,
+     * unless the bendpoints don't change.
+     *
+     * @param conn the connection
+     * @param newUI the new bendpoints
+     */
+    private void setBendpoints(final ConnectionContainerUI conn, final ConnectionUIInformation newUI) {
+        ConnectionUIInformation ui = conn.getUIInfo();
+        int[][] oldBendpoints = ui != null ? ui.getAllBendpoints() : new int[0][];
+        if (Arrays.deepEquals(oldBendpoints, newUI.getAllBendpoints())) {
+            return;
+        }
+        // store old bendpoint for undo
+        m_oldBendpoints.put(conn.getID(), ui);
+        conn.setUIInfo(newUI);
+    }
+
     /**
      * Creates a new graph node with the coordinates from the UI info and the
      * label set to custom name.
@@ -129,7 +129,7 @@ public synchronized void runOnNodes(final NodeContainerEditPart[] parts) {
                 nodes.add(p.getNodeContainer());
             }
         }
-        AutoLayoutCommand alc = new AutoLayoutCommand(getManager(), nodes);
+        AutoLayoutCommand alc = createCommand(nodes);
         getCommandStack().execute(alc); // enables undo
 
         // update the actions
@@ -141,6 +141,15 @@ public synchronized void runOnNodes(final NodeContainerEditPart[] parts) {
 
     }
 
+    /**
+     * @param nodes the selected nodes, null if none are selected
+     * @return the command doing the layout
+     * @since 5.1
+     */
+    protected AutoLayoutCommand createCommand(final ArrayList<NodeContainerUI> nodes) {
+        return new AutoLayoutCommand(getManager(), nodes);
+    }
+
     /**
      * {@inheritDoc}
      */
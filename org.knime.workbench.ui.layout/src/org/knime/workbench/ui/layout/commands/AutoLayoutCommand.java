@@ -47,9 +47,14 @@
  */
 package org.knime.workbench.ui.layout.commands;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.WeakHashMap;
 
 import org.knime.core.node.workflow.ConnectionContainer;
 import org.knime.core.node.workflow.ConnectionID;
@@ -59,22 +64,41 @@
 import org.knime.core.node.workflow.NodeUIInformation;
 import org.knime.core.node.workflow.WorkflowManager;
 import org.knime.core.ui.node.workflow.NodeContainerUI;
+import org.knime.core.ui.wrapper.NodeContainerWrapper;
 import org.knime.core.ui.wrapper.WorkflowManagerWrapper;
 import org.knime.workbench.editor2.commands.AbstractKNIMECommand;
 import org.knime.workbench.ui.layout.LayoutManager;
 
 /**
+ * Lays out a workflow (or some of its nodes). In incremental mode only the
+ * connected components containing nodes that were inserted or moved since the
+ * last auto layout of the workflow are laid out again.
  *
  * @author ohl, KNIME AG, Zurich, Switzerland
  */
 public class AutoLayoutCommand extends AbstractKNIMECommand {
 
+    /**
+     * The node locations after the last auto layout, per workflow. Only
+     * accessed in the UI thread.
+     */
+    private static final Map<WorkflowManager, Map<NodeID, int[]>> LAST_LAYOUT =
+        new WeakHashMap<WorkflowManager, Map<NodeID, int[]>>();
+
     private final WorkflowManager m_wfm;
 
     private final Collection<NodeContainerUI> m_nodes;
 
+    private final boolean m_incremental;
+
+    /** the nodes changed since the last layout, null for a full layout. */
+    private Collection<NodeContainerUI> m_changedNodes;
+
     private LayoutManager m_layoutMgr;
 
+    /** the node locations after the layout preceding this command, restored on undo. */
+    private Map<NodeID, int[]> m_previousLayout;
+
     private long m_seed;
 
     private final Random m_random = new Random();
@@ -85,9 +109,24 @@ public class AutoLayoutCommand extends AbstractKNIMECommand {
      */
     public AutoLayoutCommand(final WorkflowManager wfm,
             final Collection<NodeContainerUI> nodes) {
+        this(wfm, nodes, false);
+    }
+
+    /**
+     * @param wfm
+     * @param nodes if null, all nodes are laid out; in incremental mode the
+     *            nodes to treat as changed, if null the nodes inserted or moved
+     *            since the last auto layout
+     * @param incremental whether to only lay out the connected components with
+     *            changed nodes
+     * @since 5.1
+     */
+    public AutoLayoutCommand(final WorkflowManager wfm,
+            final Collection<NodeContainerUI> nodes, final boolean incremental) {
         super(wfm);
         m_wfm = wfm;
         m_nodes = nodes;
+        m_incremental = incremental;
     }
 
     /**
@@ -96,12 +135,54 @@ public AutoLayoutCommand(final WorkflowManager wfm,
     @Override
     public void execute() {
         m_seed = m_random.nextLong();
+        if (m_incremental) {
+            m_changedNodes = m_nodes != null ? m_nodes : getNodesChangedSinceLastLayout();
+        }
         doLayout(m_seed);
     }
 
     private void doLayout(final long seed) {
         m_layoutMgr = new LayoutManager(WorkflowManagerWrapper.wrap(m_wfm), seed);
-        m_layoutMgr.doLayout(m_nodes);
+        if (m_changedNodes != null) {
+            m_layoutMgr.doIncrementalLayout(m_changedNodes);
+        } else {
+            m_layoutMgr.doLayout(m_nodes);
+        }
+        rememberLayout();
+    }
+
+    /**
+     * @return the nodes inserted or moved since the last auto layout, or null
+     *         if the workflow hasn't been laid out yet
+     */
+    private Collection<NodeContainerUI> getNodesChangedSinceLastLayout() {
+        Map<NodeID, int[]> lastLayout = LAST_LAYOUT.get(m_wfm);
+        if (lastLayout == null) {
+            return null;
+        }
+        List<NodeContainerUI> changed = new ArrayList<NodeContainerUI>();
+        for (NodeContainer nc : m_wfm.getNodeContainers()) {
+            NodeUIInformation uiInfo = nc.getUIInformation();
+            int[] location = lastLayout.get(nc.getID());
+            if (uiInfo != null && (location == null
+                    || !Arrays.equals(location, Arrays.copyOf(uiInfo.getBounds(), 2)))) {
+                changed.add(NodeContainerWrapper.wrap(nc));
+            }
+        }
+        return changed;
+    }
+
+    /** stores the current node locations as the result of the last layout. */
+    private void rememberLayout() {
+        m_previousLayout = LAST_LAYOUT.get(m_wfm);
+        Map<NodeID, int[]> locations = new HashMap<NodeID, int[]>();
+        for (NodeContainer nc : m_wfm.getNodeContainers()) {
+            NodeUIInformation uiInfo = nc.getUIInformation();
+            if (uiInfo != null) {
+                locations.put(nc.getID(), Arrays.copyOf(uiInfo.getBounds(), 2));
+            }
+        }
+        LAST_LAYOUT.put(m_wfm, locations);
     }
 
     /**
@@ -146,6 +227,10 @@ public void undo() {
             }
             cc.setUIInfo(e.getValue());
         }
-
+        if (m_previousLayout != null) {
+            LAST_LAYOUT.put(m_wfm, m_previousLayout);
+        } else {
+            LAST_LAYOUT.remove(m_wfm);
+        }
     }
 }
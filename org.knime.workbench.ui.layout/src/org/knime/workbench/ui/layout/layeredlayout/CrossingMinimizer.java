@@ -48,11 +48,12 @@
 package org.knime.workbench.ui.layout.layeredlayout;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 
 import org.knime.workbench.ui.layout.Graph;
-import org.knime.workbench.ui.layout.Graph.Edge;
+import org.knime.workbench.ui.layout.Graph.Adjacency;
 import org.knime.workbench.ui.layout.Graph.Node;
 
 /**
@@ -60,6 +61,13 @@
  * heuristic followed by a greedy switch (see, e.g., Eades and Wormald, 1994;
  * Mäkinen 1990).
  * 
+ * Node attributes (the current y-coordinate and the layer of a node) are kept
+ * in arrays addressed by {@link Node#index()}, adjacencies are read from a
+ * compact snapshot of the graph. The y-coordinates are written back to the
+ * graph at the end of {@link #run()}. Crossings between two layers are counted
+ * in O(E log V) with an accumulator tree (see Barth, Jünger, Mutzel: Simple
+ * and efficient bilayer cross counting, GD 2002).
+ * 
  * @author Martin Mader, University of Konstanz
  */
 public class CrossingMinimizer {
@@ -71,6 +79,37 @@ public class CrossingMinimizer {
 
     private ArrayList<Node> m_fixedSinks;
 
+    private final Adjacency m_adj;
+
+    /** the y-coordinate of each node. */
+    private final double[] m_y;
+
+    /** the layer of each node, -1 for nodes that are not part of a layer. */
+    private final int[] m_layerOf;
+
+    /** compares nodes by their current y-coordinate. */
+    private final Comparator<Node> m_byY;
+
+    /** buffer for the y-coordinates of the neighbors of a node. */
+    private double[] m_neighborY = new double[8];
+
+    /** the position of each node in its layer, used for crossing counting. */
+    private final int[] m_pos;
+
+    /** buffer for the target positions of the edges between two layers. */
+    private int[] m_edgeTargets = new int[16];
+
+    /** buffer for the accumulator tree used for crossing counting. */
+    private int[] m_tree = new int[16];
+
+    /** {@link System#nanoTime()} after which minimization is aborted. */
+    private long m_deadline;
+
+    private boolean m_hasDeadline;
+
+    /** the number of crossings computed by {@link #minimize()}. */
+    private int m_crossings = -1;
+
     /**
      * initializes the needed information for crossing minimization.
      * 
@@ -82,19 +121,105 @@ public class CrossingMinimizer {
     public CrossingMinimizer(final Graph g,
             final ArrayList<ArrayList<Node>> layers,
             final ArrayList<Node> fixedSources, final ArrayList<Node> fixedSinks) {
+        this(g, g.createAdjacency(), layers, fixedSources, fixedSinks, null);
+    }
+
+    /**
+     * initializes crossing minimization on a given adjacency snapshot. Does
+     * not access the adjacency lists of the graph and (unless {@link #run()}
+     * is called) does not modify the graph, hence several instances working
+     * on copies of a layering can be used concurrently.
+     *
+     * @param g the graph to work on
+     * @param adj the adjacency of g
+     * @param layers layering information
+     * @param fixedSources list of fixed sources
+     * @param fixedSinks list of fixed sinks
+     * @param y the initial y-coordinate of each node (addressed by
+     *            {@link Node#index()}), or null to read them from the graph
+     */
+    CrossingMinimizer(final Graph g, final Adjacency adj,
+            final ArrayList<ArrayList<Node>> layers,
+            final ArrayList<Node> fixedSources,
+            final ArrayList<Node> fixedSinks, final double[] y) {
         m_g = g;
         m_layers = layers;
         m_fixedSources = fixedSources;
         m_fixedSinks = fixedSinks;
+        m_adj = adj;
+        if (y != null) {
+            m_y = y;
+        } else {
+            m_y = g.createDoubleNodeArray(0);
+            for (Node n : g.nodes()) {
+                m_y[n.index()] = g.getY(n);
+            }
+        }
+        m_pos = g.createIntNodeArray(0);
+        m_layerOf = g.createIntNodeArray(-1);
+        for (int i = 0; i < layers.size(); i++) {
+            for (Node n : layers.get(i)) {
+                m_layerOf[n.index()] = i;
+            }
+        }
+        m_byY = (o1, o2) -> Double.compare(m_y[o1.index()], m_y[o2.index()]);
     }
 
     /**
-     * runs crossing minimization.
+     * runs crossing minimization and sets the resulting y-coordinates in the
+     * graph.
      */
     public void run() {
         if (m_layers.size() < 2) { // nothing to do
             return;
         }
+        minimize();
+        for (ArrayList<Node> curLayer : m_layers) {
+            for (Node n : curLayer) {
+                m_g.setY(n, m_y[n.index()]);
+            }
+        }
+    }
+
+    /**
+     * sets a time after which {@link #minimize()} stops improving the
+     * layering; the result is still a valid layering, though with potentially
+     * more crossings.
+     *
+     * @param deadline a {@link System#nanoTime()} value
+     */
+    void setDeadline(final long deadline) {
+        m_deadline = deadline;
+        m_hasDeadline = true;
+    }
+
+    /**
+     * @return the number of crossings of the layering computed by
+     *         {@link #minimize()}, -1 if it hasn't been called
+     */
+    int getCrossings() {
+        return m_crossings;
+    }
+
+    /**
+     * @return the layering, in the order computed by {@link #minimize()}
+     */
+    ArrayList<ArrayList<Node>> getLayers() {
+        return m_layers;
+    }
+
+    /**
+     * runs crossing minimization without modifying the graph. Afterwards the
+     * y-coordinate of each node is its position in the layers returned by
+     * {@link #getLayers()}.
+     *
+     * @return the number of crossings of the resulting layering
+     */
+    int minimize() {
+        if (m_layers.size() < 2) { // nothing to do
+            m_crossings = 0;
+            return m_crossings;
+        }
         int oldCrossings = Integer.MAX_VALUE;
         int crossings = numberOfCrossings();
         int sourceOffset = 0;
@@ -114,25 +239,32 @@ public void run() {
             lastLayering = copyLayering();
             // rightward sweep
             for (int i = 1; i < m_layers.size() - sinkOffset; i++) {
-                orderByMedian(m_layers.get(i), m_layers.get(i - 1));
+                orderByMedian(i, i - 1);
             }
             // leftward sweep
             for (int i = m_layers.size() - 2; i >= sourceOffset; i--) {
-                orderByMedian(m_layers.get(i), m_layers.get(i + 1));
+                orderByMedian(i, i + 1);
             }
             // greedy switch
             greedySwitch(sourceOffset, sinkOffset);
             oldCrossings = crossings;
             crossings = numberOfCrossings();
         } while (crossings < oldCrossings && m_fixedSources != null
-                && m_fixedSinks != null);
+                && m_fixedSinks != null && !isPastDeadline());
         // if crossing number got worse use the next-to-last layering
         if (crossings > oldCrossings) {
             m_layers = lastLayering;
+            crossings = oldCrossings;
         }
         for (ArrayList<Node> curLayer : m_layers) {
             updateY(curLayer);
         }
+        m_crossings = crossings;
+        return crossings;
+    }
+
+    private boolean isPastDeadline() {
+        return m_hasDeadline && System.nanoTime() - m_deadline > 0;
     }
 
     /**
@@ -143,11 +275,7 @@ public void run() {
     private ArrayList<ArrayList<Node>> copyLayering() {
         ArrayList<ArrayList<Node>> layers = new ArrayList<ArrayList<Node>>();
         for (ArrayList<Node> layer : m_layers) {
-            ArrayList<Node> layerCopy = new ArrayList<Graph.Node>();
-            layers.add(layerCopy);
-            for (Node n : layer) {
-                layerCopy.add(n);
-            }
+            layers.add(new ArrayList<Graph.Node>(layer));
         }
         return layers;
     }
@@ -156,37 +284,36 @@ private ArrayList<ArrayList<Node>> copyLayering() {
      * order the current layer by means of the average median of neighbors of
      * each node in the previous layer.
      * 
-     * @param curLayer
-     * @param prevLayer
+     * @param cur index of the current layer
+     * @param prev index of the previous layer
      */
-    private void orderByMedian(final ArrayList<Node> curLayer,
-            final ArrayList<Node> prevLayer) {
+    private void orderByMedian(final int cur, final int prev) {
+        ArrayList<Node> curLayer = m_layers.get(cur);
         for (Node v : curLayer) {
-            // get sorted list of neighbors in the previous layer
-            ArrayList<Node> neighbors = getNeighbors(v, prevLayer);
-            Collections.sort(neighbors, new Util.NodeByYComparator(m_g));
+            // get sorted y-coordinates of neighbors in the previous layer
+            int size = collectNeighborY(v.index(), prev);
+            Arrays.sort(m_neighborY, 0, size);
             // set median position, or average of two medians if degree is even
-            int size = neighbors.size();
             int m1 = (int)Math.ceil(size / 2.0) - 1;
             int m2 = m1 + 1; // needed for even degree
             if (size > 0) {
                 // median heuristic
-                // m_g.setY(v, m_g.getY(neighbors.get(m1)));
+                // m_y[v.index()] = m_neighborY[m1];
 
                 // average median heuristic
                 if (size % 2 == 1) {
                     // odd degree
-                    m_g.setY(v, m_g.getY(neighbors.get(m1)));
+                    m_y[v.index()] = m_neighborY[m1];
                 } else {
                     // even degree
-                    double y1 = m_g.getY(neighbors.get(m1));
-                    double y2 = m_g.getY(neighbors.get(m2));
-                    m_g.setY(v, (y1 + y2) / 2);
+                    double y1 = m_neighborY[m1];
+                    double y2 = m_neighborY[m2];
+                    m_y[v.index()] = (y1 + y2) / 2;
                 }
             }
         }
         // sort current layer by medians
-        Collections.sort(curLayer, new LayerSortComparator(prevLayer));
+        Collections.sort(curLayer, new LayerSortComparator(m_layers.get(prev)));
         // set corresponding y-coordinates
         updateY(curLayer);
     }
@@ -194,7 +321,7 @@ private void orderByMedian(final ArrayList<Node> curLayer,
     private void updateY(final ArrayList<Node> curLayer) {
         double y = 0;
         for (Node n : curLayer) {
-            m_g.setY(n, y);
+            m_y[n.index()] = y;
             y++;
         }
     }
@@ -208,7 +335,8 @@ private void updateY(final ArrayList<Node> curLayer) {
      * @param sinkOffset
      */
     private void greedySwitch(final int sourceOffset, final int sinkOffset) {
-        for (int i = sourceOffset; i < m_layers.size() - sinkOffset; i++) {
+        for (int i = sourceOffset; i < m_layers.size() - sinkOffset
+                && !isPastDeadline(); i++) {
             ArrayList<Node> curLayer = m_layers.get(i);
             int oldCross = Integer.MAX_VALUE;
             int cross = numberOfCrossingsPrevLayer(i);
@@ -233,7 +361,7 @@ private void greedySwitch(final int sourceOffset, final int sinkOffset) {
                 oldCross = cross;
                 cross = numberOfCrossingsPrevLayer(i);
             } while (cross < oldCross);
-            Collections.sort(curLayer, new Util.NodeByYComparator(m_g));
+            Collections.sort(curLayer, m_byY);
         }
     }
 
@@ -249,9 +377,9 @@ private void greedySwitch(final int sourceOffset, final int sinkOffset) {
     private void switchNodes(final Node u, final Node v,
             final ArrayList<Node> layer, final int i) {
         // coordinates
-        double temp = m_g.getY(u);
-        m_g.setY(u, m_g.getY(v));
-        m_g.setY(v, temp);
+        double temp = m_y[u.index()];
+        m_y[u.index()] = m_y[v.index()];
+        m_y[v.index()] = temp;
         // order in layer
         layer.set(i, v);
         layer.set(i + 1, u);
@@ -265,9 +393,7 @@ private void switchNodes(final Node u, final Node v,
     private int numberOfCrossings() {
         int cross = 0;
         for (int i = 1; i < m_layers.size(); i++) {
-            ArrayList<Node> curLayer = m_layers.get(i);
-            ArrayList<Node> prevLayer = m_layers.get(i - 1);
-            cross += numberCrossingTwoLayer(curLayer, prevLayer);
+            cross += numberCrossingTwoLayer(i, i - 1);
         }
         return cross;
     }
@@ -280,91 +406,129 @@ private int numberOfCrossings() {
      * @return
      */
     private int numberOfCrossingsPrevLayer(final int i) {
-        ArrayList<Node> curLayer = m_layers.get(i);
-        ArrayList<Node> prevLayer;
-        // ArrayList<Node> nextLayer;
         int cross = 0;
         if (i > 0) {
-            prevLayer = m_layers.get(i - 1);
-            cross += numberCrossingTwoLayer(curLayer, prevLayer);
+            cross += numberCrossingTwoLayer(i, i - 1);
         }
         // if (i < m_layers.size() - 1) {
-        // nextLayer = m_layers.get(i + 1);
-        // cross += numberCrossingTwoLayer(nextLayer, curLayer);
+        // cross += numberCrossingTwoLayer(i + 1, i);
         // }
         return cross;
     }
 
     /**
-     * counts the number of crossings between the two given layers. THIS IS
-     * REALLY BRUTE FORCE AND CAN BE MADE MORE EFFICIENT! (e.g., modifying
-     * mergesort to count inversions)
+     * counts the number of crossings between the two given layers: the edges
+     * are traversed in the order of their source (and target) position, and
+     * the inversions of the target positions are counted with an accumulator
+     * tree, see Barth, Jünger, Mutzel (2002). Pairs of edges sharing a node do
+     * not cross.
      * 
-     * @param curLayer
-     * @param prevLayer
+     * @param cur index of the current layer
+     * @param prev index of the previous layer
      * @return
      */
-    private int numberCrossingTwoLayer(final ArrayList<Node> curLayer,
-            final ArrayList<Node> prevLayer) {
-        int cross = 0;
-        for (Node u1 : prevLayer) {
-            for (Node v1 : getNeighbors(u1, curLayer)) {
-                // inspect edge from prev layer to cur layer (u1,v1)
-                // now check against all other edges ending at curLayer at
-                // other nodes than u1 or v1
-                for (Node v2 : curLayer) {
-                    if (v1 != v2) {
-                        for (Node u2 : getNeighbors(v2, prevLayer)) {
-                            if (u2 != u1) {
-                                // check if e1 and e2 are crossing
-                                cross += checkCrossing(u1, v1, u2, v2);
-                            }
-                        }
+    private int numberCrossingTwoLayer(final int cur, final int prev) {
+        ArrayList<Node> curLayer = m_layers.get(cur);
+        if (curLayer.isEmpty()) {
+            return 0;
+        }
+        for (int i = 0; i < curLayer.size(); i++) {
+            m_pos[curLayer.get(i).index()] = i;
+        }
+        // target positions, sorted lexicographically by (source, target)
+        int edgeCount = 0;
+        for (Node n : m_layers.get(prev)) {
+            int u = n.index();
+            int first = edgeCount;
+            for (int i = m_adj.outBegin(u); i < m_adj.outEnd(u); i++) {
+                int v = m_adj.outNeighbor(i);
+                if (m_layerOf[v] == cur) {
+                    if (edgeCount == m_edgeTargets.length) {
+                        m_edgeTargets = Arrays.copyOf(m_edgeTargets, 2 * edgeCount);
                     }
+                    m_edgeTargets[edgeCount++] = m_pos[v];
                 }
             }
+            Arrays.sort(m_edgeTargets, first, edgeCount);
         }
-        // all crossings have been counted twice!
-        return cross / 2;
+        // build the accumulator tree, the leaves are the target positions
+        int firstIndex = 1;
+        while (firstIndex < curLayer.size()) {
+            firstIndex *= 2;
+        }
+        int treeSize = 2 * firstIndex - 1;
+        firstIndex--;
+        if (m_tree.length < treeSize) {
+            m_tree = new int[treeSize];
+        } else {
+            Arrays.fill(m_tree, 0, treeSize, 0);
+        }
+        // count the edges inserted before, ending right of the current edge
+        int cross = 0;
+        for (int k = 0; k < edgeCount; k++) {
+            int index = m_edgeTargets[k] + firstIndex;
+            m_tree[index]++;
+            while (index > 0) {
+                if (index % 2 == 1) {
+                    cross += m_tree[index + 1];
+                }
+                index = (index - 1) / 2;
+                m_tree[index]++;
+            }
+        }
+        return cross;
     }
 
     /**
-     * check whether to edges (u1,v1) and (u2,v2) create a crossing.
+     * stores the y-coordinates of the neighbors of node v on the given layer in
+     * {@link #m_neighborY}.
      * 
-     * @param u1 node of first edge on first layer
-     * @param v1 node of first edge on second layer
-     * @param u2 node of second edge on first layer
-     * @param v2 node of second edge on second layer
-     * @return 1 if edges cross, 0 otherwise
+     * @param v a node index
+     * @param layer a layer index
+     * @return the number of neighbors
      */
-    private int checkCrossing(final Node u1, final Node v1, final Node u2,
-            final Node v2) {
-        if (m_g.getY(u1) < m_g.getY(u2) && m_g.getY(v1) > m_g.getY(v2)) {
-            return 1;
-        } else if (m_g.getY(u1) > m_g.getY(u2) && m_g.getY(v1) < m_g.getY(v2)) {
-            return 1;
-        } else {
-            return 0;
+    private int collectNeighborY(final int v, final int layer) {
+        int degree = (m_adj.inEnd(v) - m_adj.inBegin(v))
+                + (m_adj.outEnd(v) - m_adj.outBegin(v));
+        if (m_neighborY.length < degree) {
+            m_neighborY = new double[degree];
+        }
+        int size = 0;
+        for (int i = m_adj.inBegin(v); i < m_adj.inEnd(v); i++) {
+            int m = m_adj.inNeighbor(i);
+            if (m_layerOf[m] == layer) {
+                m_neighborY[size++] = m_y[m];
+            }
+        }
+        for (int i = m_adj.outBegin(v); i < m_adj.outEnd(v); i++) {
+            int m = m_adj.outNeighbor(i);
+            if (m_layerOf[m] == layer) {
+                m_neighborY[size++] = m_y[m];
+            }
         }
+        return size;
     }
 
     /**
-     * return the neighbors of a node n on the given layer.
+     * return the number of neighbors of a node v on the given layer.
      * 
-     * @param n
-     * @param layer
+     * @param v a node index
+     * @param layer a layer index
      * @return
      */
-    private ArrayList<Node> getNeighbors(final Node n,
-            final ArrayList<Node> layer) {
-        ArrayList<Node> neighbors = new ArrayList<Graph.Node>();
-        for (Edge e : m_g.edges(n)) {
-            Node m = e.opposite(n);
-            if (layer.contains(m)) {
-                neighbors.add(m);
+    private int numberOfNeighbors(final int v, final int layer) {
+        int count = 0;
+        for (int i = m_adj.inBegin(v); i < m_adj.inEnd(v); i++) {
+            if (m_layerOf[m_adj.inNeighbor(i)] == layer) {
+                count++;
+            }
+        }
+        for (int i = m_adj.outBegin(v); i < m_adj.outEnd(v); i++) {
+            if (m_layerOf[m_adj.outNeighbor(i)] == layer) {
+                count++;
             }
         }
-        return neighbors;
+        return count;
     }
 
     /**
@@ -377,7 +541,7 @@ private ArrayList<Node> getNeighbors(final Node n,
     public class LayerSortComparator implements
             Comparator<org.knime.workbench.ui.layout.Graph.Node> {
 
-        private ArrayList<Node> m_otherLayer;
+        private int m_otherLayer = -1;
 
         /**
          * constructor.
@@ -386,21 +550,23 @@ public class LayerSortComparator implements
          *            a node with respect to this layer
          */
         public LayerSortComparator(final ArrayList<Node> otherLayer) {
-            m_otherLayer = otherLayer;
+            if (!otherLayer.isEmpty()) {
+                m_otherLayer = m_layerOf[otherLayer.get(0).index()];
+            }
         }
 
         @Override
         public int compare(final Node o1, final Node o2) {
-            if (m_g.getY(o1) < m_g.getY(o2)) {
+            if (m_y[o1.index()] < m_y[o2.index()]) {
                 return -1;
-            } else if (m_g.getY(o1) > m_g.getY(o2)) {
+            } else if (m_y[o1.index()] > m_y[o2.index()]) {
                 return 1;
             } else {
                 // both have same median
                 // if o1 has odd degree choose this one
-                if (getNeighbors(o1, m_otherLayer).size() % 2 != 0) {
+                if (numberOfNeighbors(o1.index(), m_otherLayer) % 2 != 0) {
                     return -1;
-                } else if (getNeighbors(o2, m_otherLayer).size() % 2 != 0) {
+                } else if (numberOfNeighbors(o2.index(), m_otherLayer) % 2 != 0) {
                     return 1;
                 } else {
                     return 0;
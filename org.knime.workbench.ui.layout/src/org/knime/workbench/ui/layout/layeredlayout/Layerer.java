@@ -48,10 +48,9 @@
 package org.knime.workbench.ui.layout.layeredlayout;
 
 import java.util.ArrayList;
-import java.util.Map;
 
 import org.knime.workbench.ui.layout.Graph;
-import org.knime.workbench.ui.layout.Graph.Edge;
+import org.knime.workbench.ui.layout.Graph.Adjacency;
 import org.knime.workbench.ui.layout.Graph.Node;
 
 /**
@@ -67,7 +66,8 @@ public class Layerer {
      * whether they are sources or sinks.
      * 
      * @param g the graph to be layered
-     * @param nodeLayer a map storing the layer of each node
+     * @param nodeLayer an array (addressed by {@link Node#index()}) storing the
+     *            layer of each node, see {@link Graph#createIntNodeArray(int)}
      * @param fixedSources a list of sources to fix on the first layer, or null
      *            if none exist
      * @param fixedSinks a list of sinks to fix on the last layer, or null if
@@ -75,15 +75,16 @@ public class Layerer {
      * @return the list of layers, each layer containing an array list of nodes
      */
     static ArrayList<ArrayList<Node>> assignLayers(final Graph g,
-            final Map<Node, Integer> nodeLayer,
+            final int[] nodeLayer,
             final ArrayList<Node> fixedSources, final ArrayList<Node> fixedSinks) {
 
         // initialize residual degrees, and find first sources
         ArrayList<ArrayList<Node>> layers = new ArrayList<ArrayList<Node>>();
-        Map<Node, Integer> residualDegree = g.createIntNodeMap();
+        Adjacency adj = g.createAdjacency();
+        int[] residualDegree = g.createIntNodeArray(0);
         ArrayList<Node> sources = new ArrayList<Node>();
         for (Node n : g.nodes()) {
-            residualDegree.put(n, n.inDegree());
+            residualDegree[n.index()] = n.inDegree();
             if (n.inDegree() == 0) {
                 sources.add(n);
             }
@@ -96,9 +97,9 @@ static ArrayList<ArrayList<Node>> assignLayers(final Graph g,
             layers.add(fixedSources);
             for (Node n : fixedSources) {
                 sources.remove(n);
-                nodeLayer.put(n, layer);
+                nodeLayer[n.index()] = layer;
                 // check if any of the outgoing neighbors becomes a source
-                updateSources(g, n, sources, residualDegree);
+                updateSources(adj, n, sources, residualDegree);
             }
             layer++;
         }
@@ -109,8 +110,8 @@ static ArrayList<ArrayList<Node>> assignLayers(final Graph g,
             // put all of the current sources on the current layer
             layers.add(sources);
             for (Node n : sources) {
-                nodeLayer.put(n, layer);
-                updateSources(g, n, nextSources, residualDegree);
+                nodeLayer[n.index()] = layer;
+                updateSources(adj, n, nextSources, residualDegree);
             }
             // advance to the next layer
             sources = nextSources;
@@ -120,11 +121,15 @@ static ArrayList<ArrayList<Node>> assignLayers(final Graph g,
         // handle fixed sinks by putting them on the last layer
         if (fixedSinks != null) {
             // check if there are non-fixed sinks on the current last layer
+            boolean[] fixed = new boolean[g.nodeIndexBound()];
+            for (Node n : fixedSinks) {
+                fixed[n.index()] = true;
+            }
             boolean lastLayerValid = true;
             int lastlayer = layers.size() - 1;
 
             for (Node n : layers.get(lastlayer)) {
-                if (!fixedSinks.contains(n)) {
+                if (!fixed[n.index()]) {
                     lastLayerValid = false;
                 }
             }
@@ -136,8 +141,8 @@ static ArrayList<ArrayList<Node>> assignLayers(final Graph g,
                 layers.add(new ArrayList<Graph.Node>());
             }
             for (Node n : fixedSinks) {
-                layers.get(nodeLayer.get(n)).remove(n);
-                nodeLayer.put(n, lastlayer);
+                layers.get(nodeLayer[n.index()]).remove(n);
+                nodeLayer[n.index()] = lastlayer;
                 layers.get(lastlayer).add(n);
             }
         }
@@ -148,19 +153,18 @@ static ArrayList<ArrayList<Node>> assignLayers(final Graph g,
      * check the outgoing edges of a given node n for becoming a new source
      * after n is processed.
      * 
-     * @param g
+     * @param adj
      * @param n
      * @param sources
      * @param residualDegree
      */
-    private static void updateSources(final Graph g, Node n,
-            ArrayList<Node> sources, Map<Node, Integer> residualDegree) {
-        for (Edge e : g.outEdges(n)) {
-            Node t = e.target();
-            int newDegree = residualDegree.get(t).intValue() - 1;
-            residualDegree.put(t, newDegree);
-            if (newDegree == 0)
-                sources.add(t);
+    private static void updateSources(final Adjacency adj, final Node n,
+            final ArrayList<Node> sources, final int[] residualDegree) {
+        for (int i = adj.outBegin(n.index()); i < adj.outEnd(n.index()); i++) {
+            int t = adj.outNeighbor(i);
+            residualDegree[t]--;
+            if (residualDegree[t] == 0)
+                sources.add(adj.node(t));
         }
     }
 }
@@ -49,11 +49,18 @@
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.knime.workbench.ui.layout.Graph;
+import org.knime.workbench.ui.layout.Graph.Adjacency;
 import org.knime.workbench.ui.layout.Graph.Edge;
 import org.knime.workbench.ui.layout.Graph.Node;
 
@@ -67,6 +74,12 @@
  * ; except for coordinate assignment that is covered in "Brandes, Köpf: Fast
  * and simple horizontal coordinate assignment, 2001".
  *
+ * Crossing minimization can be restarted several times from independently
+ * shuffled layers (see {@link #setRestarts(int)}); the restarts run in parallel
+ * on the common fork/join pool (unless disabled with
+ * {@link #setParallel(boolean)}) and the layering with the fewest crossings
+ * found within the time budget ({@link #setTimeBudget(long)}) is kept.
+ *
  * @author Martin Mader, University of Konstanz
  */
 public class SimpleLayeredLayouter {
@@ -75,6 +88,12 @@ public class SimpleLayeredLayouter {
 
     private boolean m_balanceBranching = true;
 
+    private int m_restarts = 1;
+
+    private long m_timeBudget = 1000;
+
+    private boolean m_parallel = true;
+
     /**
      * constructor initializing an arbitrary random instance for shuffling
      * layers.
@@ -110,6 +129,38 @@ public void setBalanceBranchings(final boolean balance) {
         m_balanceBranching = balance;
     }
 
+    /**
+     * @param restarts the number of independently shuffled crossing
+     *            minimization runs, the best of which is kept. Default is 1,
+     *            i.e. a single run.
+     */
+    public void setRestarts(final int restarts) {
+        m_restarts = Math.max(1, restarts);
+    }
+
+    /**
+     * @param millis the time in milliseconds the additional crossing
+     *            minimization runs (see {@link #setRestarts(int)}) may take.
+     *            Runs not started in time are skipped, running ones stop
+     *            improving their layering. The first run is not limited.
+     *            Default is 1000.
+     */
+    public void setTimeBudget(final long millis) {
+        m_timeBudget = Math.max(0, millis);
+    }
+
+    /**
+     * @param parallel true if the crossing minimization restarts (see
+     *            {@link #setRestarts(int)}) run in parallel on the common
+     *            fork/join pool, false if they run one after the other in the
+     *            calling thread. For a given seed the layout is the same
+     *            either way, as long as the time budget suffices. Default is
+     *            true.
+     */
+    public void setParallel(final boolean parallel) {
+        m_parallel = parallel;
+    }
+
     /**
      * computes an hierarchical layout of the given graph. If nodes are fixed by
      * means of the given map, they will end up on the first or last layer,
@@ -148,7 +199,7 @@ public void doLayout(final Graph g, final Map<Node, Boolean> fixedNodes)
         }
 
         // get layering of the graph
-        Map<Node, Integer> nodeLayer = g.createIntNodeMap();
+        int[] nodeLayer = g.createIntNodeArray(-1);
         ArrayList<ArrayList<Node>> layers =
                 Layerer.assignLayers(g, nodeLayer, fixedSources, fixedSinks);
 
@@ -156,11 +207,12 @@ public void doLayout(final Graph g, final Map<Node, Boolean> fixedNodes)
         ArrayList<Edge> hiddenEdges = new ArrayList<Graph.Edge>();
         ArrayList<Node> dummyNodes = new ArrayList<Graph.Node>();
         ArrayList<Edge> dummyEdges = new ArrayList<Graph.Edge>();
-        HashMap<Edge, ArrayList<Node>> hiddenEdgeToDummyVertices =
-                new HashMap<Graph.Edge, ArrayList<Node>>();
+        // dummy vertices of each hidden edge, in the order of hiddenEdges
+        ArrayList<ArrayList<Node>> hiddenEdgeDummyVertices =
+                new ArrayList<ArrayList<Node>>();
         for (Edge e : g.edges()) {
-            int startLayer = nodeLayer.get(e.source()).intValue();
-            int endLayer = nodeLayer.get(e.target()).intValue();
+            int startLayer = nodeLayer[e.source().index()];
+            int endLayer = nodeLayer[e.target().index()];
             int span = endLayer - startLayer;
             if (span > 1) {
                 hiddenEdges.add(e);
@@ -171,8 +223,8 @@ public void doLayout(final Graph g, final Map<Node, Boolean> fixedNodes)
         for (Edge e : hiddenEdges) {
             // list for this edges dummy nodes
             ArrayList<Node> eDummyNodes = new ArrayList<Graph.Node>();
-            int startLayer = nodeLayer.get(e.source()).intValue();
-            int endLayer = nodeLayer.get(e.target()).intValue();
+            int startLayer = nodeLayer[e.source().index()];
+            int endLayer = nodeLayer[e.target().index()];
             int span = endLayer - startLayer;
             Node last = e.source();
             for (int i = 1; i < span; i++) {
@@ -180,7 +232,6 @@ public void doLayout(final Graph g, final Map<Node, Boolean> fixedNodes)
                         g.createNode("bend " + e + ", " + i, startLayer + i,
                                 g.getY(last));
                 // add dummy to its layer
-                nodeLayer.put(current, startLayer + i);
                 layers.get(startLayer + i).add(current);
                 // add dummy edge to graph
                 Edge dEdge = g.createEdge(last, current);
@@ -193,7 +244,7 @@ public void doLayout(final Graph g, final Map<Node, Boolean> fixedNodes)
             // add last dummy edge
             g.createEdge(last, e.target());
             // store list of dummy nodes for original edge
-            hiddenEdgeToDummyVertices.put(e, eDummyNodes);
+            hiddenEdgeDummyVertices.add(eDummyNodes);
             // add this edges dummy Nodes to the list of all dummy nodes
             dummyNodes.addAll(eDummyNodes);
         }
@@ -232,9 +283,14 @@ public void doLayout(final Graph g, final Map<Node, Boolean> fixedNodes)
         }
 
         /* Do crossing minimization */
-        CrossingMinimizer cm =
-                new CrossingMinimizer(g, layers, fixedSources, fixedSinks);
-        cm.run();
+        if (m_restarts > 1 && layers.size() > 1) {
+            layers = minimizeCrossingsWithRestarts(g, layers, fixedSources,
+                    fixedSinks);
+        } else {
+            CrossingMinimizer cm =
+                    new CrossingMinimizer(g, layers, fixedSources, fixedSinks);
+            cm.run();
+        }
 
         /* Do vertical placement */
         VerticalCoordinateAssigner vca =
@@ -247,9 +303,9 @@ public void doLayout(final Graph g, final Map<Node, Boolean> fixedNodes)
          * Reinsert hidden edges with bendpoints, and remove dummy nodes and
          * edges
          */
-        for (Edge hEdge : hiddenEdges) {
-            Edge e = g.reinsert(hEdge);
-            for (Node n : hiddenEdgeToDummyVertices.get(hEdge)) {
+        for (int h = 0; h < hiddenEdges.size(); h++) {
+            Edge e = g.reinsert(hiddenEdges.get(h));
+            for (Node n : hiddenEdgeDummyVertices.get(h)) {
                 g.addBend(e, g.getX(n), g.getY(n));
                 g.removeNode(n); // also removes dummy edges!
             }
@@ -259,4 +315,124 @@ public void doLayout(final Graph g, final Map<Node, Boolean> fixedNodes)
         g.cleanBends();
     }
 
+    /**
+     * runs crossing minimization for the current layer ordering and
+     * {@link #m_restarts} - 1 randomly shuffled ones (in parallel, if
+     * enabled), and sets the y-coordinates according to the layering with the
+     * fewest crossings.
+     *
+     * @return the best layering
+     */
+    private ArrayList<ArrayList<Node>> minimizeCrossingsWithRestarts(
+            final Graph g, final ArrayList<ArrayList<Node>> layers,
+            final ArrayList<Node> fixedSources, final ArrayList<Node> fixedSinks) {
+        final long deadline =
+                System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(m_timeBudget);
+        final Adjacency adj = g.createAdjacency();
+        // draw the seeds upfront, the result doesn't depend on the scheduling
+        // (as long as the time budget suffices)
+        ArrayList<ForkJoinTask<CrossingMinimizer>> restarts =
+                new ArrayList<ForkJoinTask<CrossingMinimizer>>();
+        for (int r = 1; r < m_restarts; r++) {
+            final long seed = m_rnd.nextLong();
+            final Callable<CrossingMinimizer> restart = () -> {
+                if (System.nanoTime() - deadline > 0) {
+                    return null; // out of time, skip this restart
+                }
+                ArrayList<ArrayList<Node>> shuffled =
+                        shuffleLayers(g, layers, fixedSources, fixedSinks,
+                                new Random(seed));
+                CrossingMinimizer cm = createCrossingMinimizer(g, adj,
+                        shuffled, fixedSources, fixedSinks);
+                cm.setDeadline(deadline);
+                cm.minimize();
+                return cm;
+            };
+            // sequential restarts are run in the loop below
+            restarts.add(m_parallel ? ForkJoinPool.commonPool().submit(restart)
+                    : ForkJoinTask.adapt(restart));
+        }
+        // the first run uses the given ordering and is done in this thread
+        CrossingMinimizer best = createCrossingMinimizer(g, adj,
+                copyLayers(layers), fixedSources, fixedSinks);
+        int bestCrossings = best.minimize();
+        for (ForkJoinTask<CrossingMinimizer> restart : restarts) {
+            if (!m_parallel) {
+                restart.quietlyInvoke();
+            }
+            CrossingMinimizer cm;
+            try {
+                long wait = Math.max(0, deadline - System.nanoTime());
+                cm = restart.get(wait, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException | CancellationException e) {
+                // the restart hasn't even started in time
+                restart.cancel(true);
+                continue;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException)e.getCause();
+                }
+                throw new RuntimeException(e.getCause());
+            }
+            if (cm != null) {
+                int crossings = cm.getCrossings();
+                if (crossings < bestCrossings) {
+                    best = cm;
+                    bestCrossings = crossings;
+                }
+            }
+        }
+        // set the y-coordinates from the best ordering
+        ArrayList<ArrayList<Node>> result = best.getLayers();
+        for (ArrayList<Node> layer : result) {
+            for (int i = 0; i < layer.size(); i++) {
+                g.setY(layer.get(i), i);
+            }
+        }
+        return result;
+    }
+
+    private static CrossingMinimizer createCrossingMinimizer(final Graph g,
+            final Adjacency adj, final ArrayList<ArrayList<Node>> layers,
+            final ArrayList<Node> fixedSources, final ArrayList<Node> fixedSinks) {
+        double[] y = g.createDoubleNodeArray(0);
+        for (ArrayList<Node> layer : layers) {
+            for (int i = 0; i < layer.size(); i++) {
+                y[layer.get(i).index()] = i;
+            }
+        }
+        return new CrossingMinimizer(g, adj, layers, fixedSources, fixedSinks, y);
+    }
+
+    /**
+     * @return a copy of the given layers, with all layers but fixed ones
+     *         shuffled
+     */
+    private static ArrayList<ArrayList<Node>> shuffleLayers(final Graph g,
+            final ArrayList<ArrayList<Node>> layers,
+            final ArrayList<Node> fixedSources,
+            final ArrayList<Node> fixedSinks, final Random rnd) {
+        ArrayList<ArrayList<Node>> shuffled = copyLayers(layers);
+        for (int layer = 0; layer < shuffled.size(); layer++) {
+            if ((layer == 0 && fixedSources != null)
+                    || (layer == shuffled.size() - 1 && fixedSinks != null)) {
+                continue; // keep sorted by y-coordinate
+            }
+            Collections.shuffle(shuffled.get(layer), rnd);
+        }
+        return shuffled;
+    }
+
+    private static ArrayList<ArrayList<Node>> copyLayers(
+            final ArrayList<ArrayList<Node>> layers) {
+        ArrayList<ArrayList<Node>> copy = new ArrayList<ArrayList<Node>>();
+        for (ArrayList<Node> layer : layers) {
+            copy.add(new ArrayList<Graph.Node>(layer));
+        }
+        return copy;
+    }
+
 }
@@ -49,10 +49,9 @@
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
-import java.util.HashMap;
 
 import org.knime.workbench.ui.layout.Graph;
+import org.knime.workbench.ui.layout.Graph.Adjacency;
 import org.knime.workbench.ui.layout.Graph.Edge;
 import org.knime.workbench.ui.layout.Graph.Node;
 
@@ -60,45 +59,60 @@
  * handles vertical assignment of coordinates within layers, see
  * "Brandes, Köpf: Fast and simple horizontal coordinate assignment (GD 2001)".
  *
+ * All node and edge maps are primitive arrays addressed by {@link Node#index()}
+ * and {@link Edge#index()}, respectively; nodes are referred to by their index.
+ *
  * @author Martin Mader, University of Konstanz
  */
 public class VerticalCoordinateAssigner {
 
-    private static final Double DELTA = 1.0;
+    private static final double DELTA = 1.0;
 
     private Graph m_g;
 
     private ArrayList<ArrayList<Node>> m_layers;
 
+    private final Adjacency m_adj;
+
+    /** the node indices of each layer, in layer order. */
+    private final int[][] m_layerNodes;
+
+    /** the layer of each node, -1 for nodes that are not part of a layer. */
+    private final int[] m_layerOf;
+
     // all variables named as close as possible to the above mentioned article
 
-    private HashMap<Node, Integer> m_pos = new HashMap<Graph.Node, Integer>();
+    private final int[] m_pos;
+
+    private final int[] m_pred;
 
-    private HashMap<Node, Node> m_pred = new HashMap<Graph.Node, Graph.Node>();
+    private final boolean[] m_innerSegment;
 
-    private HashMap<Edge, Boolean> m_innerSegment =
-            new HashMap<Graph.Edge, Boolean>();
+    private final boolean[] m_marked;
 
-    private HashMap<Edge, Boolean> m_marked =
-            new HashMap<Graph.Edge, Boolean>();
+    private final int[] m_align;
 
-    private HashMap<Node, Node> m_align = new HashMap<Graph.Node, Graph.Node>();
+    private final int[] m_root;
 
-    private HashMap<Node, Node> m_root = new HashMap<Graph.Node, Graph.Node>();
+    private final int[] m_sink;
 
-    private HashMap<Node, Node> m_sink = new HashMap<Graph.Node, Graph.Node>();
+    private final double[] m_shift;
 
-    private HashMap<Node, Double> m_shift = new HashMap<Graph.Node, Double>();
+    private final double[] m_y;
 
-    private HashMap<Node, Double> m_y = new HashMap<Graph.Node, Double>();
+    private final double[] m_yLT;
 
-    private HashMap<Node, Double> m_yLT = new HashMap<Graph.Node, Double>();
+    private final double[] m_yLB;
 
-    private HashMap<Node, Double> m_yLB = new HashMap<Graph.Node, Double>();
+    private final double[] m_yRT;
 
-    private HashMap<Node, Double> m_yRT = new HashMap<Graph.Node, Double>();
+    private final double[] m_yRB;
 
-    private HashMap<Node, Double> m_yRB = new HashMap<Graph.Node, Double>();
+    /** the y-coordinate of each node at construction time (its order in the layer). */
+    private final double[] m_order;
+
+    /** buffer for the (sorted) neighbors of a node. */
+    private int[] m_neighbors = new int[8];
 
     private boolean m_balanceBranching = true;
 
@@ -115,37 +129,51 @@ public VerticalCoordinateAssigner(final Graph g,
             final ArrayList<Node> dummyNodes, final ArrayList<Edge> dummyEdges) {
         m_g = g;
         m_layers = layers;
+        m_adj = g.createAdjacency();
+        m_pos = g.createIntNodeArray(-1);
+        m_pred = g.createIntNodeArray(-1);
+        m_layerOf = g.createIntNodeArray(-1);
+        m_layerNodes = new int[m_layers.size()][];
+        m_order = g.createDoubleNodeArray(0);
+        for (Node n : g.nodes()) {
+            m_order[n.index()] = g.getY(n);
+        }
         // initialize pos and pred
         for (int i = 0; i < m_layers.size(); i++) {
             ArrayList<Node> layer = m_layers.get(i);
+            m_layerNodes[i] = new int[layer.size()];
             for (int pos = 0; pos < layer.size(); pos++) {
-                m_pos.put(layer.get(pos), pos);
-                if (pos == 0) {
-                    m_pred.put(layer.get(pos), null);
-                } else {
-                    m_pred.put(layer.get(pos), layer.get(pos - 1));
+                int v = layer.get(pos).index();
+                m_layerNodes[i][pos] = v;
+                m_layerOf[v] = i;
+                m_pos[v] = pos;
+                if (pos > 0) {
+                    m_pred[v] = layer.get(pos - 1).index();
                 }
             }
         }
-        // initialize edge maps
-        for (Edge e : m_g.edges()) {
-            m_marked.put(e, false);
-            // initialize inner segments, corrected later
-            m_innerSegment.put(e, false);
-        }
+        // initialize edge maps (inner segments are corrected below)
+        m_marked = new boolean[g.edgeIndexBound()];
+        m_innerSegment = new boolean[g.edgeIndexBound()];
         // initialize node maps
-        for (Node n : m_g.nodes()) {
-            m_align.put(n, n);
-            m_root.put(n, n);
-            m_sink.put(n, n);
-            m_shift.put(n, Double.POSITIVE_INFINITY);
-            m_y.put(n, Double.NaN);
-        }
+        m_align = g.createIntNodeArray(0);
+        m_root = g.createIntNodeArray(0);
+        m_sink = g.createIntNodeArray(0);
+        m_shift = g.createDoubleNodeArray(0);
+        m_y = g.createDoubleNodeArray(0);
+        m_yLT = g.createDoubleNodeArray(0);
+        m_yLB = g.createDoubleNodeArray(0);
+        m_yRT = g.createDoubleNodeArray(0);
+        m_yRB = g.createDoubleNodeArray(0);
+        initNodeMaps();
         // determine inner segments
+        boolean[] isDummy = new boolean[g.nodeIndexBound()];
+        for (Node n : dummyNodes) {
+            isDummy[n.index()] = true;
+        }
         for (Edge e : dummyEdges) {
-            if (dummyNodes.contains(e.source())
-                    && dummyNodes.contains(e.target())) {
-                m_innerSegment.put(e, true);
+            if (isDummy[e.source().index()] && isDummy[e.target().index()]) {
+                m_innerSegment[e.index()] = true;
             }
         }
     }
@@ -188,33 +216,32 @@ public void run() {
         // balance between 4 alignments
         balance();
         // set final coordinates
-        for (Node n : m_g.nodes()) {
-            m_g.setY(n, m_y.get(n));
+        for (int v : m_adj.nodes()) {
+            m_g.setY(m_adj.node(v), m_y[v]);
         }
 
     }
 
     /**
-     * stores current y-coordinates of each node in the graph to the given map.
+     * stores current y-coordinates of each node in the graph to the given
+     * array.
      *
      * @param y
      */
-    private void storeCoordinates(final HashMap<Node, Double> y) {
-        for (Node n : m_g.nodes()) {
-            y.put(n, m_y.get(n));
-        }
+    private void storeCoordinates(final double[] y) {
+        System.arraycopy(m_y, 0, y, 0, m_y.length);
     }
 
     /**
      * initialize node maps needed for alignment and compaction phases.
      */
     private void initNodeMaps() {
-        for (Node n : m_g.nodes()) {
-            m_align.put(n, n);
-            m_root.put(n, n);
-            m_sink.put(n, n);
-            m_shift.put(n, Double.POSITIVE_INFINITY);
-            m_y.put(n, Double.NaN);
+        for (int v : m_adj.nodes()) {
+            m_align[v] = v;
+            m_root[v] = v;
+            m_sink[v] = v;
+            m_shift[v] = Double.POSITIVE_INFINITY;
+            m_y[v] = Double.NaN;
         }
     }
 
@@ -233,26 +260,23 @@ private void markConflicts() {
         // inner segments cannot occur between first and second layer, and
         // next-to-last and last layer
         for (int i = 1; i < m_layers.size() - 2; i++) {
+            int[] nextLayer = m_layerNodes[i + 1];
             int k0 = 0;
             int l = 0;
-            for (int l1 = 0; l1 < m_layers.get(i + 1).size(); l1++) {
-                Node vl1 = m_layers.get(i + 1).get(l1);
-                Edge innerSegment = getInnerSegmentIncidentTo(vl1);
-                if (l1 == m_layers.get(i + 1).size() - 1
-                        || innerSegment != null) {
-                    int k1 = m_layers.get(i).size() - 1;
-                    if (innerSegment != null) {
-                        k1 =
-                                m_layers.get(i).indexOf(
-                                        innerSegment.opposite(vl1));
+            for (int l1 = 0; l1 < nextLayer.length; l1++) {
+                int vl1 = nextLayer[l1];
+                int innerSegment = getInnerSegmentIncidentTo(vl1);
+                if (l1 == nextLayer.length - 1 || innerSegment >= 0) {
+                    int k1 = m_layerNodes[i].length - 1;
+                    if (innerSegment >= 0) {
+                        k1 = indexInLayer(m_adj.inNeighbor(innerSegment), i);
                     }
                     while (l <= l1) {
-                        Node vl = m_layers.get(i + 1).get(l);
-                        for (Edge e : m_g.inEdges(vl)) {
-                            Node vk = e.opposite(vl);
-                            int k = m_layers.get(i).indexOf(vk);
+                        int vl = nextLayer[l];
+                        for (int j = m_adj.inBegin(vl); j < m_adj.inEnd(vl); j++) {
+                            int k = indexInLayer(m_adj.inNeighbor(j), i);
                             if (k < k0 || k > k1) {
-                                m_marked.put(e, true);
+                                m_marked[m_adj.inEdge(j)] = true;
                             }
                         }
                         l++;
@@ -264,22 +288,33 @@ private void markConflicts() {
 
     }
 
+    /**
+     * @param v a node index
+     * @param layer a layer index
+     * @return the position of v in the given layer, or -1 if it is not part of
+     *         that layer
+     */
+    private int indexInLayer(final int v, final int layer) {
+        return m_layerOf[v] == layer ? m_pos[v] : -1;
+    }
+
     /**
      * returns the inner incoming segment of a given node, if such a segment
      * exists.
      *
-     * @param node
-     * @return
+     * @param v a node index
+     * @return the adjacency position of the inner segment (see
+     *         {@link Adjacency#inEdge(int)}), or -1 if there is none
      */
-    private Edge getInnerSegmentIncidentTo(final Node node) {
-        for (Edge e : m_g.inEdges(node)) {
+    private int getInnerSegmentIncidentTo(final int v) {
+        for (int i = m_adj.inBegin(v); i < m_adj.inEnd(v); i++) {
             // if node is incident to inner segment this will be the only
             // incoming edge
-            if (m_innerSegment.get(e)) {
-                return e;
+            if (m_innerSegment[m_adj.inEdge(i)]) {
+                return i;
             }
         }
-        return null;
+        return -1;
     }
 
     /*
@@ -293,22 +328,18 @@ private Edge getInnerSegmentIncidentTo(final Node node) {
     private void horizontalAlignmentLeftTopmost() {
         for (int i = 0; i < m_layers.size(); i++) {
             int r = -1;
-            for (int k = 0; k < m_layers.get(i).size(); k++) {
-                Node vk = m_layers.get(i).get(k);
-                ArrayList<Node> neighbors = getNeighbors(vk, true);
-                if (!neighbors.isEmpty()) {
-                    int d = neighbors.size();
+            for (int k = 0; k < m_layerNodes[i].length; k++) {
+                int vk = m_layerNodes[i][k];
+                int d = getNeighbors(vk, true);
+                if (d > 0) {
                     int m1 = (int)Math.floor((d + 1) / 2.0) - 1;
                     int m2 = (int)Math.ceil((d + 1) / 2.0) - 1;
                     for (int m = m1; m <= m2; m++) {
-                        if (m_align.get(vk) == vk) {
-                            Node um = neighbors.get(m);
-                            if (!m_marked.get(um.getEdge(vk))
-                                    && r < m_pos.get(um)) {
-                                m_align.put(um, vk);
-                                m_root.put(vk, m_root.get(um));
-                                m_align.put(vk, m_root.get(vk));
-                                r = m_pos.get(um);
+                        if (m_align[vk] == vk) {
+                            int um = m_neighbors[m];
+                            if (!m_marked[getEdge(um, vk)] && r < m_pos[um]) {
+                                align(um, vk);
+                                r = m_pos[um];
                             }
                         }
                     }
@@ -325,22 +356,18 @@ private void horizontalAlignmentLeftTopmost() {
     private void horizontalAlignmentLeftBottommost() {
         for (int i = 0; i < m_layers.size(); i++) {
             int r = m_layers.size();
-            for (int k = m_layers.get(i).size() - 1; k >= 0; k--) {
-                Node vk = m_layers.get(i).get(k);
-                ArrayList<Node> neighbors = getNeighbors(vk, true);
-                if (!neighbors.isEmpty()) {
-                    int d = neighbors.size();
+            for (int k = m_layerNodes[i].length - 1; k >= 0; k--) {
+                int vk = m_layerNodes[i][k];
+                int d = getNeighbors(vk, true);
+                if (d > 0) {
                     int m1 = (int)Math.floor((d + 1) / 2.0) - 1;
                     int m2 = (int)Math.ceil((d + 1) / 2.0) - 1;
                     for (int m = m2; m >= m1; m--) {
-                        if (m_align.get(vk) == vk) {
-                            Node um = neighbors.get(m);
-                            if (!m_marked.get(um.getEdge(vk))
-                                    && r > m_pos.get(um)) {
-                                m_align.put(um, vk);
-                                m_root.put(vk, m_root.get(um));
-                                m_align.put(vk, m_root.get(vk));
-                                r = m_pos.get(um);
+                        if (m_align[vk] == vk) {
+                            int um = m_neighbors[m];
+                            if (!m_marked[getEdge(um, vk)] && r > m_pos[um]) {
+                                align(um, vk);
+                                r = m_pos[um];
                             }
                         }
                     }
@@ -357,22 +384,18 @@ private void horizontalAlignmentLeftBottommost() {
     private void horizontalAlignmentRightTopmost() {
         for (int i = m_layers.size() - 1; i >= 0; i--) {
             int r = -1;
-            for (int k = 0; k < m_layers.get(i).size(); k++) {
-                Node vk = m_layers.get(i).get(k);
-                ArrayList<Node> neighbors = getNeighbors(vk, false);
-                if (!neighbors.isEmpty()) {
-                    int d = neighbors.size();
+            for (int k = 0; k < m_layerNodes[i].length; k++) {
+                int vk = m_layerNodes[i][k];
+                int d = getNeighbors(vk, false);
+                if (d > 0) {
                     int m1 = (int)Math.floor((d + 1) / 2.0) - 1;
                     int m2 = (int)Math.ceil((d + 1) / 2.0) - 1;
                     for (int m = m1; m <= m2; m++) {
-                        if (m_align.get(vk) == vk) {
-                            Node um = neighbors.get(m);
-                            if (!m_marked.get(um.getEdge(vk))
-                                    && r < m_pos.get(um)) {
-                                m_align.put(um, vk);
-                                m_root.put(vk, m_root.get(um));
-                                m_align.put(vk, m_root.get(vk));
-                                r = m_pos.get(um);
+                        if (m_align[vk] == vk) {
+                            int um = m_neighbors[m];
+                            if (!m_marked[getEdge(um, vk)] && r < m_pos[um]) {
+                                align(um, vk);
+                                r = m_pos[um];
                             }
                         }
                     }
@@ -389,22 +412,18 @@ private void horizontalAlignmentRightTopmost() {
     private void horizontalAlignmentRightBottommost() {
         for (int i = m_layers.size() - 1; i >= 0; i--) {
             int r = m_layers.size();
-            for (int k = m_layers.get(i).size() - 1; k >= 0; k--) {
-                Node vk = m_layers.get(i).get(k);
-                ArrayList<Node> neighbors = getNeighbors(vk, false);
-                if (!neighbors.isEmpty()) {
-                    int d = neighbors.size();
+            for (int k = m_layerNodes[i].length - 1; k >= 0; k--) {
+                int vk = m_layerNodes[i][k];
+                int d = getNeighbors(vk, false);
+                if (d > 0) {
                     int m1 = (int)Math.floor((d + 1) / 2.0) - 1;
                     int m2 = (int)Math.ceil((d + 1) / 2.0) - 1;
                     for (int m = m2; m >= m1; m--) {
-                        if (m_align.get(vk) == vk) {
-                            Node um = neighbors.get(m);
-                            if (!m_marked.get(um.getEdge(vk))
-                                    && r > m_pos.get(um)) {
-                                m_align.put(um, vk);
-                                m_root.put(vk, m_root.get(um));
-                                m_align.put(vk, m_root.get(vk));
-                                r = m_pos.get(um);
+                        if (m_align[vk] == vk) {
+                            int um = m_neighbors[m];
+                            if (!m_marked[getEdge(um, vk)] && r > m_pos[um]) {
+                                align(um, vk);
+                                r = m_pos[um];
                             }
                         }
                     }
@@ -414,28 +433,71 @@ private void horizontalAlignmentRightBottommost() {
         }
     }
 
+    /**
+     * align node vk with its median neighbor um.
+     *
+     * @param um
+     * @param vk
+     */
+    private void align(final int um, final int vk) {
+        m_align[um] = vk;
+        m_root[vk] = m_root[um];
+        m_align[vk] = m_root[vk];
+    }
+
+    /**
+     * returns the (first) edge connecting the two given nodes, the same edge as
+     * {@link Node#getEdge(Node)}.
+     *
+     * @param u a node index
+     * @param v a node index
+     * @return the edge index, or 0 (never used as index) if there is no such
+     *         edge
+     */
+    private int getEdge(final int u, final int v) {
+        int first = Integer.MAX_VALUE;
+        for (int i = m_adj.inBegin(u); i < m_adj.inEnd(u); i++) {
+            if (m_adj.inNeighbor(i) == v) {
+                first = m_adj.inEdge(i);
+                break;
+            }
+        }
+        for (int i = m_adj.outBegin(u); i < m_adj.outEnd(u); i++) {
+            if (m_adj.outNeighbor(i) == v) {
+                // edges are indexed in order of creation
+                first = Math.min(first, m_adj.outEdge(i));
+                break;
+            }
+        }
+        return first == Integer.MAX_VALUE ? 0 : first;
+    }
+
     /**
      * get either left or right neighbors of a node, sorted by their current
-     * y-coordinate.
+     * y-coordinate, into {@link #m_neighbors}.
      *
-     * @param n
+     * @param v a node index
      * @param left true if left neighbors should be returned, false otherwise
-     * @return
+     * @return the number of neighbors
      */
-    private ArrayList<Node> getNeighbors(final Node n, final boolean left) {
-        ArrayList<Node> neighbors = new ArrayList<Graph.Node>();
-        Iterable<Edge> incidentEdges;
-        if (left) {
-            incidentEdges = m_g.inEdges(n);
-        } else {
-            incidentEdges = m_g.outEdges(n);
+    private int getNeighbors(final int v, final boolean left) {
+        int begin = left ? m_adj.inBegin(v) : m_adj.outBegin(v);
+        int end = left ? m_adj.inEnd(v) : m_adj.outEnd(v);
+        int size = end - begin;
+        if (m_neighbors.length < size) {
+            m_neighbors = new int[size];
         }
-        for (Edge e : incidentEdges) {
-            neighbors.add(e.opposite(n));
+        // sort by order in layer (stable insertion sort, degrees are small)
+        for (int i = 0; i < size; i++) {
+            int n = left ? m_adj.inNeighbor(begin + i) : m_adj.outNeighbor(begin + i);
+            int j = i;
+            while (j > 0 && Double.compare(m_order[m_neighbors[j - 1]], m_order[n]) > 0) {
+                m_neighbors[j] = m_neighbors[j - 1];
+                j--;
+            }
+            m_neighbors[j] = n;
         }
-        // sort by order in layer
-        Collections.sort(neighbors, new Util.NodeByYComparator(m_g));
-        return neighbors;
+        return size;
     }
 
     /*
@@ -447,17 +509,17 @@ private ArrayList<Node> getNeighbors(final Node n, final boolean left) {
      * offsets.
      */
     private void verticalCompaction() {
-        for (Node v : m_g.nodes()) {
-            if (m_root.get(v) == v) {
+        for (int v : m_adj.nodes()) {
+            if (m_root[v] == v) {
                 placeBlock(v);
             }
         }
-        for (Node v : m_g.nodes()) {
-            double y = m_y.get(m_root.get(v)).doubleValue();
-            m_y.put(v, y);
-            double shift = m_shift.get(m_sink.get(m_root.get(v))).doubleValue();
+        for (int v : m_adj.nodes()) {
+            double y = m_y[m_root[v]];
+            m_y[v] = y;
+            double shift = m_shift[m_sink[m_root[v]]];
             if (shift < Double.POSITIVE_INFINITY) {
-                m_y.put(v, y + shift);
+                m_y[v] = y + shift;
             }
         }
 
@@ -468,27 +530,27 @@ private void verticalCompaction() {
      *
      * @param v
      */
-    private void placeBlock(final Node v) {
-        if (m_y.get(v).equals(Double.NaN)) {
-            m_y.put(v, 0.0);
-            Node w = v;
+    private void placeBlock(final int v) {
+        if (Double.isNaN(m_y[v])) {
+            m_y[v] = 0.0;
+            int w = v;
             do {
-                if (m_pos.get(w) > 0) {
-                    Node u = m_root.get(m_pred.get(w));
+                if (m_pos[w] > 0) {
+                    int u = m_root[m_pred[w]];
                     placeBlock(u);
-                    if (m_sink.get(v) == v) {
-                        m_sink.put(v, m_sink.get(u));
+                    if (m_sink[v] == v) {
+                        m_sink[v] = m_sink[u];
                     }
-                    if (m_sink.get(v) != m_sink.get(u)) {
+                    if (m_sink[v] != m_sink[u]) {
                         double shiftSinkU =
-                                Math.min(m_shift.get(m_sink.get(u)), m_y.get(v)
-                                        - m_y.get(u) - DELTA);
-                        m_shift.put(m_sink.get(u), shiftSinkU);
+                                Math.min(m_shift[m_sink[u]], m_y[v] - m_y[u]
+                                        - DELTA);
+                        m_shift[m_sink[u]] = shiftSinkU;
                     } else {
-                        m_y.put(v, Math.max(m_y.get(v), m_y.get(u) + DELTA));
+                        m_y[v] = Math.max(m_y[v], m_y[u] + DELTA);
                     }
                 }
-                w = m_align.get(w);
+                w = m_align[w];
             } while (w != v);
         }
 
@@ -512,17 +574,17 @@ private void balance() {
         // .... perform alignment ....
 
         // average median
-        for (Node n : m_g.nodes()) {
-            double[] y = new double[4];
-            y[0] = m_yLT.get(n);
-            y[1] = m_yLB.get(n);
-            y[2] = m_yRT.get(n);
-            y[3] = m_yRB.get(n);
+        double[] y = new double[4];
+        for (int n : m_adj.nodes()) {
+            y[0] = m_yLT[n];
+            y[1] = m_yLB[n];
+            y[2] = m_yRT[n];
+            y[3] = m_yRB[n];
             Arrays.sort(y);
             if (m_balanceBranching) {
-                m_y.put(n, (y[1] + y[2]) / 2);
+                m_y[n] = (y[1] + y[2]) / 2;
             } else {
-                m_y.put(n, y[1]);
+                m_y[n] = y[1];
             }
         }
 
@@ -534,12 +596,12 @@ private void balance() {
      * @param y
      * @return
      */
-    private double getHeight(final HashMap<Node, Double> y) {
+    private double getHeight(final double[] y) {
         double max = 0;
         double min = Double.POSITIVE_INFINITY;
-        for (Node n : m_g.nodes()) {
-            max = Math.max(max, y.get(n));
-            min = Math.min(min, y.get(n));
+        for (int n : m_adj.nodes()) {
+            max = Math.max(max, y[n]);
+            min = Math.min(min, y[n]);
         }
         return max - min;
     }
@@ -0,0 +1,245 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026: created
+ */
+package org.knime.workbench.ui;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.swt.widgets.Display;
+import org.knime.core.node.NodeLogger;
+import org.knime.workbench.core.util.CoalescingUIScheduler;
+
+/**
+ * A static class offering a batched alternative to {@link SyncExecQueueDispatcher} and
+ * <code>Display.getDefault().asyncExec(Runnable)</code>.
+ *
+ * <p>
+ * Runnables are collected in a lock-free queue and drained in the display thread in a single
+ * {@link Display#asyncExec(Runnable) asyncExec} slice, i.e. <i>n</i> queued events cause one display round trip
+ * rather than <i>n</i> (blocking) ones. Each slice is limited by a time budget (default {@value #DEFAULT_BUDGET_MS}ms,
+ * see {@value #PROPERTY_BUDGET_MS}); remaining runnables are processed in the next slice so that the UI stays
+ * responsive. A slice only processes the runnables that were queued when it started, runnables queued while it runs
+ * (e.g. by one of its runnables) are processed in the next slice, i.e. after the events posted to the display in the
+ * meantime, just like with a nested <code>asyncExec</code>.
+ *
+ * <p>
+ * Runnables submitted with a coalescing key (via {@link #asyncExec(Object, Runnable)}) are dropped if another runnable
+ * with the same key is still pending. This is meant for updates that read the current model state anyway, e.g. the
+ * refresh of an editor after many CONNECTION_ADDED events.
+ *
+ * <p>
+ * The dispatcher keeps some statistics (queue depth, latency, number of coalesced runnables) for diagnostics.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 5.1
+ */
+public final class UIEventBatchDispatcher {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(UIEventBatchDispatcher.class);
+
+    /** System property for the maximum time in ms spent in one display thread slice. */
+    public static final String PROPERTY_BUDGET_MS = "knime.workbench.ui.dispatcher.budget";
+
+    private static final int DEFAULT_BUDGET_MS = 20;
+
+    private static final long BUDGET_NANOS =
+        TimeUnit.MILLISECONDS.toNanos(Math.max(1, Integer.getInteger(PROPERTY_BUDGET_MS, DEFAULT_BUDGET_MS)));
+
+    private static final Queue<Task> QUEUE = new ConcurrentLinkedQueue<>();
+
+    /** Coalescing keys of pending tasks. */
+    private static final Map<Object, Boolean> PENDING_KEYS = new ConcurrentHashMap<>();
+
+    /** Drains the queue with the next <code>asyncExec</code> slice, unpaced. */
+    private static final CoalescingUIScheduler DRAIN_SCHEDULER = new CoalescingUIScheduler(Display::getDefault, 0,
+        UIEventBatchDispatcher::drain, UIEventBatchDispatcher::displayDisposed);
+
+    private static final AtomicInteger QUEUE_DEPTH = new AtomicInteger();
+
+    private static final AtomicLong PROCESSED_COUNT = new AtomicLong();
+
+    private static final AtomicLong COALESCED_COUNT = new AtomicLong();
+
+    private static final AtomicLong TOTAL_LATENCY_NANOS = new AtomicLong();
+
+    private static final AtomicLong MAX_LATENCY_NANOS = new AtomicLong();
+
+    private static final class Task {
+        private final Object m_key;
+
+        private final Runnable m_runnable;
+
+        private final long m_enqueueTime = System.nanoTime();
+
+        Task(final Object key, final Runnable runnable) {
+            m_key = key;
+            m_runnable = runnable;
+        }
+    }
+
+    private UIEventBatchDispatcher() {
+    }
+
+    /**
+     * Queues a runnable to be run in the display thread with the next batch. Never blocks.
+     *
+     * @param runnable the runnable to be processed.
+     */
+    public static void asyncExec(final Runnable runnable) {
+        asyncExec(null, runnable);
+    }
+
+    /**
+     * Queues a runnable to be run in the display thread with the next batch, unless a runnable with the same key is
+     * still pending (in which case the runnable is dropped). Never blocks.
+     *
+     * @param key the coalescing key (compared via {@link Object#equals(Object)}), <code>null</code> for no coalescing
+     * @param runnable the runnable to be processed.
+     */
+    public static void asyncExec(final Object key, final Runnable runnable) {
+        if (runnable == null) {
+            LOGGER.coding("Can't execute null runnable.");
+            return;
+        }
+        if (key != null && PENDING_KEYS.putIfAbsent(key, Boolean.TRUE) != null) {
+            COALESCED_COUNT.incrementAndGet();
+            return;
+        }
+        QUEUE.add(new Task(key, runnable));
+        QUEUE_DEPTH.incrementAndGet();
+        scheduleDrain();
+    }
+
+    private static void scheduleDrain() {
+        DRAIN_SCHEDULER.request();
+    }
+
+    private static void displayDisposed() {
+        LOGGER.error("Ignoring async execution of " + QUEUE_DEPTH.get() + " runnable(s) since device is disposed.");
+        QUEUE.clear();
+        PENDING_KEYS.clear();
+        QUEUE_DEPTH.set(0);
+    }
+
+    /**
+     * Runs in the display thread; processes the tasks queued at the time of the call until they are all done or the
+     * time budget is used up.
+     */
+    private static void drain() {
+        final long start = System.nanoTime();
+        // tasks added from now on (re)schedule a drain, they are not picked up by this one
+        int remaining = QUEUE_DEPTH.get();
+        Task task;
+        while (remaining-- > 0 && (task = QUEUE.poll()) != null) {
+            QUEUE_DEPTH.decrementAndGet();
+            if (task.m_key != null) {
+                PENDING_KEYS.remove(task.m_key);
+            }
+            final long now = System.nanoTime();
+            final long latency = now - task.m_enqueueTime;
+            TOTAL_LATENCY_NANOS.addAndGet(latency);
+            MAX_LATENCY_NANOS.accumulateAndGet(latency, Math::max);
+            PROCESSED_COUNT.incrementAndGet();
+            try {
+                task.m_runnable.run();
+            } catch (Throwable t) { // NOSONAR one failing runnable must not stop the others
+                LOGGER.error("Uncaught exception while processing event in main thread", t);
+            }
+            if (System.nanoTime() - start > BUDGET_NANOS) {
+                break;
+            }
+        }
+        if (!QUEUE.isEmpty()) {
+            // budget exceeded or tasks added meanwhile - continue with the next slice so that other UI events
+            // get processed first
+            scheduleDrain();
+        }
+    }
+
+    /**
+     * @return the number of runnables currently waiting to be processed
+     */
+    public static int getQueueDepth() {
+        return QUEUE_DEPTH.get();
+    }
+
+    /**
+     * @return the total number of runnables processed so far
+     */
+    public static long getProcessedCount() {
+        return PROCESSED_COUNT.get();
+    }
+
+    /**
+     * @return the total number of runnables dropped because a runnable with the same key was pending
+     */
+    public static long getCoalescedCount() {
+        return COALESCED_COUNT.get();
+    }
+
+    /**
+     * @return the average time in ms between queuing and running a runnable
+     */
+    public static double getAverageLatencyMillis() {
+        final long count = PROCESSED_COUNT.get();
+        return count == 0 ? 0 : TOTAL_LATENCY_NANOS.get() / (count * 1e6);
+    }
+
+    /**
+     * @return the maximum time in ms between queuing and running a runnable
+     */
+    public static double getMaxLatencyMillis() {
+        return MAX_LATENCY_NANOS.get() / 1e6;
+    }
+}
@@ -61,6 +61,7 @@
 import java.text.SimpleDateFormat;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.Collection;
 import java.util.Date;
 import java.util.Locale;
 import java.util.Optional;
@@ -97,12 +98,17 @@ public abstract class AbstractFileDownloadTripleProvider implements UpdatableNod
      */
     private static final String TMP_FILE_NAME = "file_download.temp";
 
+    /** Suffix of the binary triple index stored next to the downloaded file, see {@link NodeTripleIndex}. */
+    private static final String INDEX_FILE_SUFFIX = ".index";
+
     private final String m_url;
 
     private final Path m_file;
 
     private final Path m_tmpFile;
 
+    private final Path m_indexFile;
+
     /**
      * Creates a new triple provider.
      *
@@ -114,14 +120,48 @@ protected AbstractFileDownloadTripleProvider(final String url, final String file
         m_url = url;
         m_file = Paths.get(KNIMEConstants.getKNIMEHomeDir(), fileName);
         m_tmpFile = Paths.get(KNIMEConstants.getKNIMEHomeDir(), TMP_FILE_NAME);
+        m_indexFile = Paths.get(KNIMEConstants.getKNIMEHomeDir(), fileName + INDEX_FILE_SUFFIX);
     }
 
     /**
      * {@inheritDoc}
+     *
+     * The triples are read from the memory-mapped binary index. The downloaded file is only parsed if the index is
+     * missing or outdated, in which case the index is (re-)built.
      */
     @Override
     public Stream<NodeTriple> getNodeTriples() throws IOException {
-        return NodeFrequencies.from(Files.newInputStream(m_file)).getFrequencies().stream();
+        try {
+            final var indexed = NodeTripleIndex.read(m_file, m_indexFile);
+            if (indexed.isPresent()) {
+                return indexed.get().stream();
+            }
+        } catch (IOException ex) {
+            NodeLogger.getLogger(getClass())
+                .debug("Could not read node triple index '" + m_indexFile + "': " + ex.getMessage(), ex);
+        }
+        return buildIndex().stream();
+    }
+
+    /**
+     * Parses the downloaded file and writes the binary index for it. Failing to write the index is not fatal, the file
+     * is parsed again the next time the triples are requested.
+     *
+     * @return the parsed triples
+     * @throws IOException if the downloaded file cannot be parsed
+     */
+    private Collection<NodeTriple> buildIndex() throws IOException {
+        final Collection<NodeTriple> triples;
+        try (final var in = Files.newInputStream(m_file)) {
+            triples = NodeFrequencies.from(in).getFrequencies();
+        }
+        try {
+            NodeTripleIndex.write(triples, m_file, m_indexFile);
+        } catch (IOException ex) {
+            NodeLogger.getLogger(getClass())
+                .warn("Could not write node triple index '" + m_indexFile + "': " + ex.getMessage(), ex);
+        }
+        return triples;
     }
 
     /**
@@ -179,6 +219,9 @@ public void update() throws Exception {
             //delete temporary file
             Files.deleteIfExists(m_tmpFile);
         }
+
+        //build the binary index once, such that the file doesn't need to be parsed again on startup
+        buildIndex();
     }
 
     /**
@@ -0,0 +1,221 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026: created
+ */
+package org.knime.workbench.workflowcoach.data;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.knime.core.node.NodeInfo;
+import org.knime.core.node.NodeTriple;
+
+/**
+ * A compact binary representation of the node triples of a downloaded frequencies file. The index is written once
+ * after the (JSON) frequencies file has been downloaded and is memory-mapped when the triples are requested, which
+ * avoids parsing the JSON file again on every start.
+ *
+ * <p>
+ * Layout (big endian): magic, version, size and last modification time of the source file, a table of distinct
+ * strings, a table of node infos referencing the string table (factory and name, -1 if missing) and finally the
+ * triples, each consisting of the predecessor, node and successor info index (-1 if absent) and the count.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class NodeTripleIndex {
+
+    private static final int MAGIC = 0x4B4E5449; // 'KNTI'
+
+    private static final int VERSION = 1;
+
+    private static final int ABSENT = -1;
+
+    private NodeTripleIndex() {
+        // utility class
+    }
+
+    /**
+     * Writes the index for the given triples. The index is first written to a temporary file which is then moved to
+     * the final location, i.e. readers never see a partially written index.
+     *
+     * @param triples the triples parsed from the source file
+     * @param source the frequencies file the triples have been parsed from, used to detect stale indices
+     * @param index the index file to write
+     * @throws IOException if the index cannot be written
+     */
+    static void write(final Collection<NodeTriple> triples, final Path source, final Path index) throws IOException {
+        final Map<String, Integer> strings = new HashMap<>();
+        final List<String> stringTable = new ArrayList<>();
+        final Map<List<Integer>, Integer> infos = new HashMap<>();
+        final List<int[]> infoTable = new ArrayList<>();
+        final int[] tripleTable = new int[triples.size() * 4];
+        var i = 0;
+        for (NodeTriple t : triples) {
+            tripleTable[i++] = indexOf(t.getPredecessor().orElse(null), strings, stringTable, infos, infoTable);
+            tripleTable[i++] = indexOf(t.getNode().orElse(null), strings, stringTable, infos, infoTable);
+            tripleTable[i++] = indexOf(t.getSuccessor(), strings, stringTable, infos, infoTable);
+            tripleTable[i++] = t.getCount();
+        }
+
+        final var tmp = index.resolveSibling(index.getFileName() + ".tmp");
+        try (final var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(Files.size(source));
+            out.writeLong(Files.getLastModifiedTime(source).toMillis());
+            out.writeInt(stringTable.size());
+            for (String s : stringTable) {
+                final var bytes = s.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+            out.writeInt(infoTable.size());
+            for (int[] info : infoTable) {
+                out.writeInt(info[0]);
+                out.writeInt(info[1]);
+            }
+            out.writeInt(triples.size());
+            for (int v : tripleTable) {
+                out.writeInt(v);
+            }
+        }
+        try {
+            Files.move(tmp, index, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Reads the triples from a memory-mapped index file.
+     *
+     * @param source the frequencies file the index has been built from
+     * @param index the index file
+     * @return the triples or an empty optional if there is no index or it is outdated or corrupt
+     * @throws IOException if the index exists but cannot be read
+     */
+    static Optional<List<NodeTriple>> read(final Path source, final Path index) throws IOException {
+        if (!Files.exists(index) || !Files.exists(source)) {
+            return Optional.empty();
+        }
+        try (final var channel = FileChannel.open(index, StandardOpenOption.READ)) {
+            final ByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buf.getInt() != MAGIC || buf.getInt() != VERSION || buf.getLong() != Files.size(source)
+                || buf.getLong() != Files.getLastModifiedTime(source).toMillis()) {
+                return Optional.empty();
+            }
+            final var strings = new String[buf.getInt()];
+            for (var i = 0; i < strings.length; i++) {
+                final var bytes = new byte[buf.getInt()];
+                buf.get(bytes);
+                strings[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+            final var infos = new NodeInfo[buf.getInt()];
+            for (var i = 0; i < infos.length; i++) {
+                infos[i] = new NodeInfo(stringAt(strings, buf.getInt()), stringAt(strings, buf.getInt()));
+            }
+            final var nrTriples = buf.getInt();
+            final List<NodeTriple> triples = new ArrayList<>(nrTriples);
+            for (var i = 0; i < nrTriples; i++) {
+                final var predecessor = infoAt(infos, buf.getInt());
+                final var node = infoAt(infos, buf.getInt());
+                final var successor = infoAt(infos, buf.getInt());
+                triples.add(new NodeTriple(predecessor, node, successor, buf.getInt()));
+            }
+            return Optional.of(triples);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException e) { // NOSONAR
+            // truncated or corrupt index, will be rebuilt from the source file
+            return Optional.empty();
+        }
+    }
+
+    private static NodeInfo infoAt(final NodeInfo[] infos, final int idx) {
+        return idx == ABSENT ? null : infos[idx];
+    }
+
+    private static String stringAt(final String[] strings, final int idx) {
+        return idx == ABSENT ? null : strings[idx];
+    }
+
+    private static int indexOf(final NodeInfo info, final Map<String, Integer> strings, final List<String> stringTable,
+        final Map<List<Integer>, Integer> infos, final List<int[]> infoTable) {
+        if (info == null) {
+            return ABSENT;
+        }
+        // the frequency files may contain nodes without factory or name, they are kept as they are
+        final var factory = indexOf(info.getFactory(), strings, stringTable);
+        final var name = indexOf(info.getName(), strings, stringTable);
+        return infos.computeIfAbsent(List.of(factory, name), k -> {
+            infoTable.add(new int[]{factory, name});
+            return infoTable.size() - 1;
+        });
+    }
+
+    private static int indexOf(final String s, final Map<String, Integer> strings, final List<String> stringTable) {
+        return s == null ? ABSENT : strings.computeIfAbsent(s, k -> add(stringTable, k));
+    }
+
+    private static int add(final List<String> stringTable, final String s) {
+        stringTable.add(s);
+        return stringTable.size() - 1;
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026: created
+ */
+package org.knime.workbench.workflowcoach.ui;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.knime.core.node.workflow.NativeNodeContainer;
+import org.knime.core.ui.node.workflow.NativeNodeContainerUI;
+import org.knime.core.ui.workflowcoach.NodeRecommendationManager;
+import org.knime.core.ui.workflowcoach.NodeRecommendationManager.NodeRecommendation;
+import org.knime.core.ui.workflowcoach.data.NodeTripleProvider;
+import org.knime.core.ui.wrapper.Wrapper;
+
+/**
+ * Caches the joined node recommendations shown in the {@link WorkflowCoachView}, keyed by the node factory (and node
+ * name, to distinguish dynamic nodes) of the selected node and the set of enabled triple providers. Clicking through
+ * nodes of the same type thereby doesn't require the recommendations to be looked up and joined again.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class NodeRecommendationCache {
+
+    /** Key used for the recommendations if no node is selected. */
+    private static final String NO_NODE_KEY = "<no node>";
+
+    private static final int MAX_ENTRIES = 256;
+
+    private final Map<String, List<NodeRecommendation[]>> m_cache =
+        new LinkedHashMap<String, List<NodeRecommendation[]>>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, List<NodeRecommendation[]>> eldest) {
+                return size() > MAX_ENTRIES;
+            }
+        };
+
+    /**
+     * Returns the cached recommendations for the given node or computes (and caches) them.
+     *
+     * @param nnc the selected node or <code>null</code> if no node is selected
+     * @param compute computes the recommendations if not cached, may return <code>null</code> if the recommendations
+     *            could not be loaded (which is not cached)
+     * @return the recommendations or <code>null</code>
+     */
+    synchronized List<NodeRecommendation[]> get(final NativeNodeContainerUI nnc,
+        final Supplier<List<NodeRecommendation[]>> compute) {
+        final var nodeKey = nnc == null ? NO_NODE_KEY : getNodeKey(nnc);
+        if (nodeKey == null) {
+            return compute.get();
+        }
+        final var key = getProviderKey() + '\n' + nodeKey;
+        var recommendations = m_cache.get(key);
+        if (recommendations == null) {
+            recommendations = compute.get();
+            if (recommendations != null) {
+                m_cache.put(key, recommendations);
+            }
+        }
+        return recommendations;
+    }
+
+    /**
+     * Drops all cached recommendations, e.g. after the node triples have been reloaded.
+     */
+    synchronized void clear() {
+        m_cache.clear();
+    }
+
+    private static String getNodeKey(final NativeNodeContainerUI nnc) {
+        return Wrapper.unwrapOptional(nnc, NativeNodeContainer.class)
+            .map(nc -> nc.getNodeFactory().getClass().getName() + '#' + nc.getName()).orElse(null);
+    }
+
+    /** The enabled providers and their last update, i.e. updated statistics result in different keys. */
+    private static String getProviderKey() {
+        return NodeRecommendationManager.getNodeTripleProviders().stream().filter(NodeTripleProvider::isEnabled)
+            .map(p -> p.getClass().getName() + '@' + p.getLastUpdate().map(Object::toString).orElse(""))
+            .collect(Collectors.joining(","));
+    }
+}